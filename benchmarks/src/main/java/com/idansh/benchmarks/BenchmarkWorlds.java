@@ -0,0 +1,147 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.actions.CalculationAction;
+import com.idansh.engine.actions.DecreaseAction;
+import com.idansh.engine.actions.IncreaseAction;
+import com.idansh.engine.actions.ReplaceAction;
+import com.idansh.engine.actions.condition.ProximityConditionAction;
+import com.idansh.engine.actions.condition.SingleConditionAction;
+import com.idansh.engine.actions.condition.ThenOrElseActions;
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.expression.functions.EnvironmentFunctionExpression;
+import com.idansh.engine.expression.functions.EvaluateFunctionExpression;
+import com.idansh.engine.expression.functions.PercentFunctionExpression;
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.creator.factory.PropertyCreator;
+import com.idansh.engine.property.creator.generator.value.fixed.FixedValueGenerator;
+import com.idansh.engine.property.creator.generator.value.random.RandomFloatValueGenerator;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.rule.RuleActivation;
+import com.idansh.engine.rule.TerminationRule;
+import com.idansh.engine.world.World;
+
+/**
+ * Abstract class that contains static methods which create the worlds the benchmarks run on.
+ * A world has two entities, "prey" (80% of the population) and "predator" (20% of the population),
+ * on a square grid sized so the population fills the received density of its cells.
+ * The rules are taken in turn from a fixed set of rule templates, so worlds with more rules do more work on each tick
+ * while the population stays about the same size (the prey that die are replaced).
+ */
+public abstract class BenchmarkWorlds {
+    public static final String PREY = "prey";
+    public static final String PREDATOR = "predator";
+    public static final String RATE = "rate";
+    private static final int NOF_RULE_TEMPLATES = 4;
+
+
+    /**
+     * Creates a world that is not activated, runs should be created from it with World(World, Long).
+     * The predators of the world make the heavy prey they choose lighter (see create(int, int, double, int, boolean)).
+     * @param nofEntities the amount of entity instances in the population.
+     * @param nofRules the amount of rules, each invoked on every tick.
+     * @param density the part of the grid's cells that the population fills, in (0, 1].
+     * @param nofTicks the amount of ticks a run of the world runs.
+     */
+    public static World create(int nofEntities, int nofRules, double density, int nofTicks) {
+        return create(nofEntities, nofRules, density, nofTicks, true);
+    }
+
+
+    /**
+     * Creates a world that is not activated, runs should be created from it with World(World, Long).
+     * @param nofEntities the amount of entity instances in the population.
+     * @param nofRules the amount of rules, each invoked on every tick.
+     * @param density the part of the grid's cells that the population fills, in (0, 1].
+     * @param nofTicks the amount of ticks a run of the world runs.
+     * @param isHeavyPreyChanged if true the predators make the heavy prey they choose lighter, which changes the weight their choice reads,
+     *                           so the heavy prey are chosen from the whole population on every invocation (see SecondaryEntityCandidates).
+     *                           If false the predators lose energy instead, and the heavy prey are chosen from cached candidates.
+     */
+    public static World create(int nofEntities, int nofRules, double density, int nofTicks, boolean isHeavyPreyChanged) {
+        int gridSize = (int) Math.ceil(Math.sqrt(nofEntities / density));
+        World world = new World(gridSize, gridSize);
+        world.setThreadCount(1);
+
+        world.addEnvironmentVariableFactory(new PropertyCreator<>(RATE, PropertyType.FLOAT, new FixedValueGenerator<>(1f), new Range(0, 10)));
+        world.initEnvironmentVariables();
+
+        EntityFactory prey = new EntityFactory(PREY);
+        prey.addProperty(new PropertyCreator<>("age", PropertyType.FLOAT, new RandomFloatValueGenerator(new Range(0, 100)), new Range(0, 100)));
+        prey.addProperty(new PropertyCreator<>("weight", PropertyType.FLOAT, new RandomFloatValueGenerator(new Range(1, 10)), new Range(0, 100)));
+        prey.setInitPopulation(nofEntities - nofEntities / 5);
+        world.entityManager.addEntityFactory(prey);
+
+        EntityFactory predator = new EntityFactory(PREDATOR);
+        predator.addProperty(new PropertyCreator<>("energy", PropertyType.FLOAT, new RandomFloatValueGenerator(new Range(0, 100)), new Range(0, 100)));
+        predator.setInitPopulation(nofEntities / 5);
+        world.entityManager.addEntityFactory(predator);
+
+        for (int i = 0; i < nofRules; i++) {
+            world.addRule(createRule(world, i, isHeavyPreyChanged));
+        }
+
+        world.addTerminationRule(new TerminationRule(TerminationRule.Type.TICKS, nofTicks));
+        return world;
+    }
+
+
+    /**
+     * Creates a run of a world, with its environment variables activated and its rules folded, as they are when the run starts.
+     */
+    public static World createRun(World world, long seed) {
+        World run = new World(world, seed);
+        run.initEnvironmentVariables();
+        run.getRulesMap().values().forEach(
+                rule -> rule.fold(run.getActiveEnvironmentVariables())
+        );
+
+        return run;
+    }
+
+
+    private static Rule createRule(World world, int ruleIndex, boolean isHeavyPreyChanged) {
+        Rule rule = new Rule("rule-" + ruleIndex, new RuleActivation(1), world);
+
+        switch (ruleIndex % NOF_RULE_TEMPLATES) {
+            case 0:
+                // The prey age, and are replaced by new prey when they are too old
+                rule.addAction(new IncreaseAction(world, PREY, PREY, "age", new EnvironmentFunctionExpression(world.getActiveEnvironmentVariables(), RATE)));
+                ThenOrElseActions replaceOld = new ThenOrElseActions();
+                replaceOld.addAction(new ReplaceAction(world, PREY, null, PREY, PREY, "scratch"));
+                rule.addAction(new SingleConditionAction(world, PREY, PREY, new EvaluateFunctionExpression(world.entityManager, PREY, "age"),
+                        "bt", new FixedValueExpression(99, PropertyType.INTEGER), replaceOld, new ThenOrElseActions(), true));
+                break;
+
+            case 1:
+                // The predators hunt a prey that is near
+                ThenOrElseActions eat = new ThenOrElseActions();
+                eat.addAction(new IncreaseAction(world, PREDATOR, new SecondaryEntity(PREY), PREDATOR, "energy",
+                        new PercentFunctionExpression(new EvaluateFunctionExpression(world.entityManager, PREY, "weight"), new FixedValueExpression(10f, PropertyType.FLOAT))));
+                rule.addAction(new ProximityConditionAction(world, PREDATOR, new SecondaryEntity(PREY), PREDATOR, PREY, eat, new FixedValueExpression(1, PropertyType.INTEGER)));
+                rule.addAction(new DecreaseAction(world, PREDATOR, PREDATOR, "energy", new FixedValueExpression(0.5f, PropertyType.FLOAT)));
+                break;
+
+            case 2:
+                // The prey gain weight
+                rule.addAction(new CalculationAction(world, PREY, PREY, "weight",
+                        new EvaluateFunctionExpression(world.entityManager, PREY, "weight"), new FixedValueExpression(1.01f, PropertyType.FLOAT), CalculationAction.Type.MULTIPLY));
+                break;
+
+            default:
+                // The predators scare a few of the heavy prey, or only chase them
+                SecondaryEntity heavyPrey = new SecondaryEntity(PREY, "3");
+                heavyPrey.addNewConditionAction(new SingleConditionAction(world, PREDATOR, new SecondaryEntity(PREY), PREY, new EvaluateFunctionExpression(world.entityManager, PREY, "weight"),
+                        "bt", new FixedValueExpression(5, PropertyType.INTEGER), new ThenOrElseActions(), new ThenOrElseActions(), true));
+                if (isHeavyPreyChanged)
+                    rule.addAction(new DecreaseAction(world, PREDATOR, heavyPrey, PREY, "weight", new FixedValueExpression(0.1f, PropertyType.FLOAT)));
+                else
+                    rule.addAction(new DecreaseAction(world, PREDATOR, heavyPrey, PREDATOR, "energy", new FixedValueExpression(0.1f, PropertyType.FLOAT)));
+                break;
+        }
+
+        return rule;
+    }
+}
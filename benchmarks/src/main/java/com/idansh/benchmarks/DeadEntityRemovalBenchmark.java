@@ -0,0 +1,63 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.EntityManager;
+import com.idansh.engine.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removing the dead entity instances from the population at the end of a tick (EntityManager.removeDeadEntitiesFromPopulation),
+ * by the size of the population and the part of it that died.
+ * The dead instances are replaced by new ones, so the population stays the same size between invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeadEntityRemovalBenchmark {
+    @Param({"10000", "100000"})
+    public int nofEntities;
+
+    @Param({"0.01", "0.1", "0.5"})
+    public double churn;
+
+    @Param({"true", "false"})
+    public boolean isFromScratch;
+
+    private EntityManager entityManager;
+    private final Random random = new Random(1);
+
+
+    @Setup(Level.Trial)
+    public void createPopulation() {
+        World run = BenchmarkWorlds.createRun(BenchmarkWorlds.create(nofEntities, 0, 0.5, 1), 1L);
+        entityManager = run.entityManager;
+    }
+
+
+    @Setup(Level.Invocation)
+    public void killEntities() {
+        List<Entity> prey = new ArrayList<>(entityManager.getAllEntityInstancesInPopulation(BenchmarkWorlds.PREY));
+        Collections.shuffle(prey, random);
+
+        int nofToKill = (int) (entityManager.getPopulationSize() * churn);
+        for (int i = 0; i < nofToKill && i < prey.size(); i++) {
+            entityManager.replaceEntity(prey.get(i), BenchmarkWorlds.PREY, isFromScratch);
+        }
+    }
+
+
+    @Benchmark
+    public int removeDeadEntities() {
+        entityManager.removeDeadEntitiesFromPopulation();
+        return entityManager.getPopulationSize();
+    }
+}
@@ -0,0 +1,90 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.expression.functions.EnvironmentFunctionExpression;
+import com.idansh.engine.expression.functions.EvaluateFunctionExpression;
+import com.idansh.engine.expression.functions.PercentFunctionExpression;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating a numeric expression on an entity instance, by the kind of the expression.
+ * Compares the boxed evaluation of the expression tree (Expression.getValue) with the compiled evaluator the actions use,
+ * each invocation evaluates the expression on the next prey instance in the population.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluationBenchmark {
+    private static final int NOF_ENTITIES = 10000;
+
+    @Param({"fixed", "property", "environment", "percent"})
+    public String expressionKind;
+
+    private Expression expression;
+    private FloatEvaluator evaluator;
+    private List<Entity> prey;
+    private int nextPrey;
+
+
+    @Setup(Level.Trial)
+    public void createExpression() {
+        World run = BenchmarkWorlds.createRun(BenchmarkWorlds.create(NOF_ENTITIES, 0, 0.5, 1), 1L);
+
+        switch (expressionKind) {
+            case "fixed":
+                expression = new FixedValueExpression(5f, PropertyType.FLOAT);
+                break;
+
+            case "property":
+                expression = new EvaluateFunctionExpression(run.entityManager, BenchmarkWorlds.PREY, "weight");
+                break;
+
+            case "environment":
+                expression = new EnvironmentFunctionExpression(run.getActiveEnvironmentVariables(), BenchmarkWorlds.RATE);
+                break;
+
+            case "percent":
+                expression = new PercentFunctionExpression(new EvaluateFunctionExpression(run.entityManager, BenchmarkWorlds.PREY, "weight"),
+                        new EnvironmentFunctionExpression(run.getActiveEnvironmentVariables(), BenchmarkWorlds.RATE));
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown expression kind \"" + expressionKind + "\".");
+        }
+
+        evaluator = ExpressionCompiler.compileFloat(expression.fold(run.getActiveEnvironmentVariables()));
+        prey = run.entityManager.getAllEntityInstancesInPopulation(BenchmarkWorlds.PREY);
+        nextPrey = 0;
+    }
+
+
+    private Entity nextPrey() {
+        Entity entity = prey.get(nextPrey);
+        nextPrey = nextPrey + 1 == prey.size() ? 0 : nextPrey + 1;
+        return entity;
+    }
+
+
+    @Benchmark
+    public Object getValue() {
+        return expression.getValue(nextPrey());
+    }
+
+
+    @Benchmark
+    public float evaluateCompiled() {
+        return evaluator.evaluate(nextPrey(), null);
+    }
+}
@@ -0,0 +1,41 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.entity.Grid;
+import com.idansh.engine.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moving all the entity instances on the grid once (Grid.moveEntities), by the size of the population and the density of the grid.
+ * The denser the grid, the more moves are blocked by occupied cells.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridMovementBenchmark {
+    @Param({"10000", "100000"})
+    public int nofEntities;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    private Grid grid;
+
+
+    @Setup(Level.Trial)
+    public void createGrid() {
+        World run = BenchmarkWorlds.createRun(BenchmarkWorlds.create(nofEntities, 0, density, 1), 1L);
+        grid = new Grid(run.entityManager.getNofGridRows(), run.entityManager.getNofGridColumns());
+        grid.populateGrid(run.entityManager.getPopulation());
+    }
+
+
+    @Benchmark
+    public void moveEntities() {
+        grid.moveEntities();
+    }
+}
@@ -0,0 +1,67 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.actions.DecreaseAction;
+import com.idansh.engine.actions.condition.ProximityConditionAction;
+import com.idansh.engine.actions.condition.ThenOrElseActions;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.rule.RuleActivation;
+import com.idansh.engine.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoking a proximity condition (ProximityConditionAction.invoke) on a predator instance, by the depth of the proximity
+ * and the density of the prey on the grid. Each invocation takes the next predator instance in the population.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProximityConditionBenchmark {
+    private static final int NOF_ENTITIES = 100000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int depth;
+
+    @Param({"0.05", "0.5"})
+    public double density;
+
+    private Action proximityAction;
+    private List<Entity> predators;
+    private int nextPredator;
+
+
+    @Setup(Level.Trial)
+    public void createAction() {
+        World world = BenchmarkWorlds.create(NOF_ENTITIES, 0, density, 1);
+
+        // The then action does not change the prey, so the grid stays the same through the benchmark
+        ThenOrElseActions thenActions = new ThenOrElseActions();
+        thenActions.addAction(new DecreaseAction(world, BenchmarkWorlds.PREDATOR, BenchmarkWorlds.PREDATOR, "energy", new FixedValueExpression(0f, PropertyType.FLOAT)));
+        Rule rule = new Rule("proximity", new RuleActivation(1), world);
+        rule.addAction(new ProximityConditionAction(world, BenchmarkWorlds.PREDATOR, new SecondaryEntity(BenchmarkWorlds.PREY),
+                BenchmarkWorlds.PREDATOR, BenchmarkWorlds.PREY, thenActions, new FixedValueExpression(depth, PropertyType.INTEGER)));
+        world.addRule(rule);
+
+        World run = BenchmarkWorlds.createRun(world, 1L);
+        proximityAction = run.getRulesMap().get("proximity").getActionsList().get(0);
+        predators = run.entityManager.getAllEntityInstancesInPopulation(BenchmarkWorlds.PREDATOR);
+        nextPredator = 0;
+    }
+
+
+    @Benchmark
+    public void invoke() {
+        proximityAction.invoke(predators.get(nextPredator));
+        nextPredator = nextPredator + 1 == predators.size() ? 0 : nextPredator + 1;
+    }
+}
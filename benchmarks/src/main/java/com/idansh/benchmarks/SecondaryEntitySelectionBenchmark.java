@@ -0,0 +1,68 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.actions.condition.SingleConditionAction;
+import com.idansh.engine.actions.condition.ThenOrElseActions;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.entity.SecondaryEntityCandidates;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.expression.functions.EvaluateFunctionExpression;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Choosing the secondary entity instances of an action, by the amount chosen and whether the secondary entity has a condition.
+ * Compares choosing from the whole population on each choice (SecondaryEntity.chooseSecondaryEntitiesFromPopulation)
+ * with choosing from the candidates cached between choices (SecondaryEntityCandidates.choose), as the actions do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecondaryEntitySelectionBenchmark {
+    private static final int NOF_ENTITIES = 100000;
+
+    @Param({"1", "10", "ALL"})
+    public String amount;
+
+    @Param({"true", "false"})
+    public boolean isWithCondition;
+
+    private World run;
+    private SecondaryEntity secondaryEntity;
+    private SecondaryEntityCandidates candidates;
+
+
+    @Setup(Level.Trial)
+    public void createSecondaryEntity() {
+        run = BenchmarkWorlds.createRun(BenchmarkWorlds.create(NOF_ENTITIES, 0, 0.5, 1), 1L);
+
+        secondaryEntity = new SecondaryEntity(BenchmarkWorlds.PREY, amount);
+        if (isWithCondition) {
+            // About half of the prey are heavier than 5
+            secondaryEntity.addNewConditionAction(new SingleConditionAction(run, BenchmarkWorlds.PREDATOR, new SecondaryEntity(BenchmarkWorlds.PREY), BenchmarkWorlds.PREY,
+                    new EvaluateFunctionExpression(run.entityManager, BenchmarkWorlds.PREY, "weight"), "bt", new FixedValueExpression(5, PropertyType.INTEGER),
+                    new ThenOrElseActions(), new ThenOrElseActions(), true));
+        }
+
+        candidates = new SecondaryEntityCandidates(secondaryEntity, run.entityManager);
+    }
+
+
+    @Benchmark
+    public List<Entity> chooseFromPopulation() {
+        return secondaryEntity.chooseSecondaryEntitiesFromPopulation(run.entityManager);
+    }
+
+
+    @Benchmark
+    public List<Entity> chooseFromCandidates() {
+        return candidates.choose();
+    }
+}
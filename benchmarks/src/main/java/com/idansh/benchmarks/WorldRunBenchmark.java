@@ -0,0 +1,55 @@
+package com.idansh.benchmarks;
+
+import com.idansh.engine.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks per second of a whole simulation run (World.run), by the size of the population and the amount of rules,
+ * and by whether the predators change the heavy prey they choose, which stops their choice from being cached (see BenchmarkWorlds).
+ * Each invocation runs a new run of the world for a fixed amount of ticks, so the score is in ticks per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldRunBenchmark {
+    private static final int NOF_TICKS = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int nofEntities;
+
+    @Param({"1", "4", "16"})
+    public int nofRules;
+
+    @Param({"true", "false"})
+    public boolean isHeavyPreyChanged;
+
+    private World world;
+    private World run;
+    private long seed;
+
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        world = BenchmarkWorlds.create(nofEntities, nofRules, 0.5, NOF_TICKS, isHeavyPreyChanged);
+    }
+
+
+    @Setup(Level.Invocation)
+    public void createRun() {
+        run = new World(world, seed++);
+        run.initEnvironmentVariables();
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(NOF_TICKS)
+    public int run() {
+        run.run();
+        return run.getTickCount();
+    }
+}
@@ -0,0 +1,386 @@
+package com.idansh.cli;
+
+import com.idansh.dto.entity.EntityDTO;
+import com.idansh.dto.environment.EnvironmentVariableDTO;
+import com.idansh.dto.simulation.LoadedSimulationDTO;
+import com.idansh.dto.sweep.SweepDTO;
+import com.idansh.dto.sweep.SweepParameterDTO;
+import com.idansh.dto.sweep.SweepPointResultDTO;
+import com.idansh.dto.sweep.SweepResultDTO;
+import com.idansh.dto.sweep.SweepRunResultDTO;
+import com.idansh.engine.events.SimulationEventRecorder;
+import com.idansh.engine.manager.EngineManager;
+import com.idansh.engine.manager.sweep.Sweep;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs simulations of a world from the command line, without the JavaFX UI.
+ * Loads a world XML file, runs a number of simulations of it in a thread pool,
+ * and writes a CSV row for each simulation into the output file as soon as the simulation ends.
+ * The simulations are the replicas of a single point of a parameter sweep,
+ * so all of them are created from the same loaded world, each with its own seed.
+ * <p>
+ * Usage: world.xml nofSimulations --population entity=amount... [--env name=value]...
+ *        [--threads N] [--parallel-ticks N] [--seed S] [--output file.csv] [--jfr file.jfr]
+ */
+public class PredictionsCli {
+    private static final String USAGE =
+            "Usage: java -jar engine.jar <world.xml> <nof-simulations> [options]\n" +
+            "Options:\n" +
+            "  --threads <n>                 max number of simulations that run simultaneously (default: the world's thread count)\n" +
+            "  --parallel-ticks <n>          max number of threads that invoke the rules of a single tick (default: 1)\n" +
+            "  --seed <seed>                 seed of the simulations' seeds, the same seed gives the same results (default: random)\n" +
+            "  --output <file>               CSV file to write the results into (default: results.csv)\n" +
+            "  --jfr <file>                  record the ticks of the simulations with the flight recorder, into the file\n" +
+            "  --env <name>=<value>          value of an environment variable, can be repeated\n" +
+            "  --population <entity>=<n>     initial amount of an entity, required for each entity of the world";
+
+    private static final int EXIT_FAILED_RUNS = 1;
+    private static final int EXIT_INVALID_ARGUMENTS = 2;
+
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            System.exit(EXIT_INVALID_ARGUMENTS);
+        }
+    }
+
+
+    /**
+     * Runs the simulations and writes their results.
+     * @return the exit code of the runner, 0 if all the simulations completed.
+     * @throws IllegalArgumentException in case the arguments are invalid.
+     */
+    private static int run(String[] args) {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Missing arguments.");
+
+        File worldFile = new File(args[0]);
+        int nofSimulations = parseInt("number of simulations", args[1]);
+        Integer threadCount = null;
+        int parallelism = 1;
+        Long seed = null;
+        Path outputFile = Paths.get("results.csv");
+        Path recordingFile = null;
+        Map<String, String> environmentVariables = new LinkedHashMap<>();
+        Map<String, String> entityPopulations = new LinkedHashMap<>();
+
+        for (int i = 2; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing value of the option \"" + option + "\".");
+
+            String value = args[++i];
+            switch (option) {
+                case "--threads":
+                    threadCount = parseInt("thread count", value);
+                    break;
+
+                case "--parallel-ticks":
+                    parallelism = parseInt("parallel ticks", value);
+                    break;
+
+                case "--seed":
+                    try {
+                        seed = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid seed \"" + value + "\".");
+                    }
+                    break;
+
+                case "--output":
+                    outputFile = Paths.get(value);
+                    break;
+
+                case "--jfr":
+                    recordingFile = Paths.get(value);
+                    break;
+
+                case "--env":
+                    putAssignment(environmentVariables, option, value);
+                    break;
+
+                case "--population":
+                    putAssignment(entityPopulations, option, value);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown option \"" + option + "\".");
+            }
+        }
+
+        if (!worldFile.isFile())
+            throw new IllegalArgumentException("The world file \"" + worldFile + "\" does not exist.");
+
+        EngineManager engineManager = new EngineManager();
+        engineManager.loadSimulationFromFile(worldFile);
+        if (threadCount != null)
+            engineManager.setThreadCount(threadCount);
+        engineManager.setParallelTicks(parallelism);
+
+        Recording recording = null;
+        if (recordingFile != null) {
+            if (!SimulationEventRecorder.isAvailable())
+                throw new IllegalArgumentException("Cannot use --jfr, flight recording is not available in this JVM.");
+
+            engineManager.setEventRecording(true);
+            recording = startRecording(recordingFile);
+        }
+
+        try {
+            LoadedSimulationDTO loadedSimulationDTO = engineManager.getLoadedSimulationDetails();
+            setEntityAmounts(entityPopulations, loadedSimulationDTO, engineManager);
+
+            SweepDTO sweepDTO = new SweepDTO(SweepDTO.GRID, 0, nofSimulations, seed);
+            addEnvironmentVariableParameters(sweepDTO, environmentVariables, loadedSimulationDTO);
+
+            Sweep sweep = engineManager.runSweep(sweepDTO);
+            System.out.println("Running " + sweep.getNofRuns() + " simulations of \"" + worldFile + "\" with the seed " + sweep.getSeed() + ", writing the results into \"" + outputFile + "\".");
+
+            SweepResultDTO sweepResultDTO = writeResults(sweep, outputFile);
+            printSummary(sweepResultDTO);
+
+            return sweepResultDTO.getNofFailedRuns() == 0 ? 0 : EXIT_FAILED_RUNS;
+        } finally {
+            engineManager.shutdown();
+
+            // The recording is written into its file when it is stopped
+            if (recording != null) {
+                recording.stop();
+                recording.close();
+                System.out.println("The flight recording was written into \"" + recordingFile + "\".");
+            }
+        }
+    }
+
+
+    /**
+     * Starts a flight recording with the default JVM settings, which also records the events of the simulations.
+     * @param recordingFile the file the recording is written into when it is stopped.
+     */
+    private static Recording startRecording(Path recordingFile) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setDestination(recordingFile);
+            recording.start();
+            return recording;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the flight recording into the file \"" + recordingFile + "\".", e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not read the default flight recording settings: " + e.getMessage(), e);
+        }
+    }
+
+
+    /**
+     * Sets the initial amount of each entity of the loaded world, as the UI does before the simulations are created.
+     * @throws IllegalArgumentException in case the amount of an entity was not received, or an entity does not exist.
+     */
+    private static void setEntityAmounts(Map<String, String> entityPopulations, LoadedSimulationDTO loadedSimulationDTO, EngineManager engineManager) {
+        Set<String> entityNames = new HashSet<>();
+        for (EntityDTO entityDTO : loadedSimulationDTO.getEntityDTOList()) {
+            entityNames.add(entityDTO.getName());
+            if (!entityPopulations.containsKey(entityDTO.getName()))
+                throw new IllegalArgumentException("Missing the initial amount of the entity \"" + entityDTO.getName() + "\".");
+        }
+
+        entityPopulations.forEach(
+                (entityName, amount) -> {
+                    if (!entityNames.contains(entityName))
+                        throw new IllegalArgumentException("The world has no entity with the name \"" + entityName + "\".");
+
+                    engineManager.setEntityAmount(entityName, parseInt("amount of the entity \"" + entityName + "\"", amount));
+                }
+        );
+    }
+
+
+    /**
+     * Adds a sweep parameter of a single value for each received environment variable,
+     * the values are parsed by the types of the environment variables in the loaded world.
+     */
+    private static void addEnvironmentVariableParameters(SweepDTO sweepDTO, Map<String, String> environmentVariables, LoadedSimulationDTO loadedSimulationDTO) {
+        Map<String, String> types = new HashMap<>();
+        for (EnvironmentVariableDTO environmentVariableDTO : loadedSimulationDTO.getEnvironmentVariablesListDTO().getEnvironmentVariableInputDTOs()) {
+            types.put(environmentVariableDTO.getName(), environmentVariableDTO.getType());
+        }
+
+        environmentVariables.forEach(
+                (name, value) -> {
+                    String type = types.get(name);
+                    if (type == null)
+                        throw new IllegalArgumentException("The world has no environment variable with the name \"" + name + "\".");
+
+                    sweepDTO.addParameterDTO(new SweepParameterDTO(
+                            name, SweepParameterDTO.ENVIRONMENT_VARIABLE, Collections.singletonList(parseValue(name, type, value))
+                    ));
+                }
+        );
+    }
+
+
+    /**
+     * Writes the header of the CSV file, and a row for each simulation as soon as it ends.
+     * @return the result table of all the simulations, once they all ended.
+     */
+    private static SweepResultDTO writeResults(Sweep sweep, Path outputFile) {
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            List<CompletableFuture<SweepRunResultDTO>> runFutures = sweep.getRunFutures();
+            List<CompletableFuture<Void>> writeFutures = new ArrayList<>();
+
+            // The header has a column for each entity, which are known only once a simulation ended
+            Object writerLock = new Object();
+            boolean[] isHeaderWritten = { false };
+            for (CompletableFuture<SweepRunResultDTO> runFuture : runFutures) {
+                writeFutures.add(runFuture.thenAccept(
+                        runResultDTO -> {
+                            synchronized (writerLock) {
+                                try {
+                                    if (!isHeaderWritten[0]) {
+                                        writer.write(getCsvHeader(runResultDTO));
+                                        writer.newLine();
+                                        isHeaderWritten[0] = true;
+                                    }
+
+                                    writer.write(getCsvRow(runResultDTO));
+                                    writer.newLine();
+                                    writer.flush();
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            }
+                        }
+                ));
+            }
+
+            SweepResultDTO sweepResultDTO = sweep.getResult().join();
+            for (CompletableFuture<Void> writeFuture : writeFutures) {
+                try {
+                    writeFuture.join();
+                } catch (RuntimeException e) {
+                    if (e.getCause() instanceof UncheckedIOException)
+                        throw (UncheckedIOException) e.getCause();
+                    // The simulation itself failed, it is counted in the result table
+                }
+            }
+
+            return sweepResultDTO;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the results into the file \"" + outputFile + "\".", e);
+        }
+    }
+
+
+    private static String getCsvHeader(SweepRunResultDTO runResultDTO) {
+        StringJoiner header = new StringJoiner(",");
+        header.add("simulation").add("seed");
+        runResultDTO.getParameterValues().keySet().forEach(header::add);
+        header.add("completed_ticks").add("run_time_ms").add("end_reason");
+        runResultDTO.getFinalPopulations().keySet().forEach(header::add);
+
+        return header.toString();
+    }
+
+
+    private static String getCsvRow(SweepRunResultDTO runResultDTO) {
+        StringJoiner row = new StringJoiner(",");
+        row.add(String.valueOf(runResultDTO.getReplicaIndex() + 1)).add(String.valueOf(runResultDTO.getSeed()));
+        runResultDTO.getParameterValues().values().forEach(value -> row.add(escapeCsv(String.valueOf(value))));
+        row.add(String.valueOf(runResultDTO.getCompletedTicks()))
+                .add(String.valueOf(runResultDTO.getRunTime()))
+                .add(escapeCsv(runResultDTO.getEndReason()));
+        runResultDTO.getFinalPopulations().values().forEach(amount -> row.add(String.valueOf(amount)));
+
+        return row.toString();
+    }
+
+
+    /**
+     * Quotes a value that contains a comma, a quote or a line break.
+     */
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1)
+            return value;
+
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+
+    private static void printSummary(SweepResultDTO sweepResultDTO) {
+        int nofCompletedRuns = sweepResultDTO.getNofRuns() - sweepResultDTO.getNofFailedRuns();
+        System.out.println("Completed " + nofCompletedRuns + " of " + sweepResultDTO.getNofRuns() + " simulations.");
+
+        for (SweepPointResultDTO pointResultDTO : sweepResultDTO.getPointResultDTOList()) {
+            if (pointResultDTO.getNofCompletedReplicas() == 0)
+                continue;
+
+            System.out.printf("Mean completed ticks: %.2f%n", pointResultDTO.getMeanCompletedTicks());
+            pointResultDTO.getMeanFinalPopulations().forEach(
+                    (entityName, mean) -> System.out.printf("Final population of \"%s\": mean %.2f, standard deviation %.2f%n",
+                            entityName, mean, pointResultDTO.getFinalPopulationStandardDeviations().get(entityName))
+            );
+        }
+    }
+
+
+    private static void putAssignment(Map<String, String> assignments, String option, String assignment) {
+        int separatorIndex = assignment.indexOf('=');
+        if (separatorIndex <= 0)
+            throw new IllegalArgumentException("Invalid value \"" + assignment + "\" of the option \"" + option + "\", the format should be <name>=<value>.");
+
+        assignments.put(assignment.substring(0, separatorIndex), assignment.substring(separatorIndex + 1));
+    }
+
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " \"" + value + "\", should be an integer.");
+        }
+    }
+
+
+    /**
+     * Parses the value of an environment variable by its type string ("int", "float", "boolean" or "string").
+     */
+    private static Object parseValue(String name, String type, String value) {
+        try {
+            switch (type) {
+                case "int":
+                    return Integer.parseInt(value);
+
+                case "float":
+                    return Float.parseFloat(value);
+
+                case "boolean":
+                    if (!value.equals("true") && !value.equals("false"))
+                        throw new NumberFormatException();
+                    return Boolean.parseBoolean(value);
+
+                default:
+                    return value;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value \"" + value + "\" of the environment variable \"" + name + "\", should be of type " + type + ".");
+        }
+    }
+}
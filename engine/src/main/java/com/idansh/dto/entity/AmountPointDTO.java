@@ -0,0 +1,36 @@
+package com.idansh.dto.entity;
+
+/**
+ * A point of the amount of an entity in the population over the ticks.
+ * A point of a single tick has the amount of that tick, a point of several older ticks
+ * is in the middle of them and has the mean of their amounts, with their min and max amounts.
+ */
+public class AmountPointDTO {
+    private final double tick;
+    private final double amount;
+    private final int minAmount;
+    private final int maxAmount;
+
+    public AmountPointDTO(double tick, double amount, int minAmount, int maxAmount) {
+        this.tick = tick;
+        this.amount = amount;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    public double getTick() {
+        return tick;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public int getMinAmount() {
+        return minAmount;
+    }
+
+    public int getMaxAmount() {
+        return maxAmount;
+    }
+}
@@ -13,9 +13,9 @@ public class EntityDTO {
     private final Integer currAmountInPopulation;
     private final Integer initAmountInPopulation;
     private final List<PropertyDTO> propertyDTOList;
-    private final List<Integer> amountHistogram;
+    private final List<AmountPointDTO> amountHistogram;     // The amount on each tick, downsampled (see AmountHistogramView)
 
-    public EntityDTO(String name, Integer currAmountInPopulation, Integer initAmountInPopulation, List<Integer> amountHistogram) {
+    public EntityDTO(String name, Integer currAmountInPopulation, Integer initAmountInPopulation, List<AmountPointDTO> amountHistogram) {
         this.name = name;
         this.currAmountInPopulation = currAmountInPopulation;
         this.initAmountInPopulation = initAmountInPopulation;
@@ -43,7 +43,7 @@ public class EntityDTO {
         return propertyDTOList;
     }
 
-    public List<Integer> getAmountHistogram() {
+    public List<AmountPointDTO> getAmountHistogram() {
         return amountHistogram;
     }
 
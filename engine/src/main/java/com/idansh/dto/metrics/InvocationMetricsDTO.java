@@ -0,0 +1,40 @@
+package com.idansh.dto.metrics;
+
+/**
+ * DTO with the invocations of a rule, or of all the actions of a single type, in a simulation.
+ */
+public class InvocationMetricsDTO {
+    private final String name;
+    private final long invocationCount;
+    private final long activationCount;
+    private final double activationRate;
+    private final double cumulativeTimeMillis;     // Estimated from a sample of the activations
+
+    public InvocationMetricsDTO(String name, long invocationCount, long activationCount, double activationRate, double cumulativeTimeMillis) {
+        this.name = name;
+        this.invocationCount = invocationCount;
+        this.activationCount = activationCount;
+        this.activationRate = activationRate;
+        this.cumulativeTimeMillis = cumulativeTimeMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    public long getActivationCount() {
+        return activationCount;
+    }
+
+    public double getActivationRate() {
+        return activationRate;
+    }
+
+    public double getCumulativeTimeMillis() {
+        return cumulativeTimeMillis;
+    }
+}
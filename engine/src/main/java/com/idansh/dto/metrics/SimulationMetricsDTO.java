@@ -0,0 +1,79 @@
+package com.idansh.dto.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO with the runtime metrics of a simulation:
+ * the rate and latency of its ticks, and the invocations of each of its rules and each type of action.
+ */
+public class SimulationMetricsDTO {
+    private final int simulationID;
+    private final long measuredTickCount;
+    private final double ticksPerSecond;
+    private final double tickLatencyMeanMillis, tickLatencyP50Millis, tickLatencyP90Millis, tickLatencyP99Millis, tickLatencyMaxMillis;
+    private final List<InvocationMetricsDTO> ruleMetricsDTOList;
+    private final List<InvocationMetricsDTO> actionTypeMetricsDTOList;
+
+    public SimulationMetricsDTO(int simulationID, long measuredTickCount, double ticksPerSecond, double tickLatencyMeanMillis,
+                                double tickLatencyP50Millis, double tickLatencyP90Millis, double tickLatencyP99Millis, double tickLatencyMaxMillis) {
+        this.simulationID = simulationID;
+        this.measuredTickCount = measuredTickCount;
+        this.ticksPerSecond = ticksPerSecond;
+        this.tickLatencyMeanMillis = tickLatencyMeanMillis;
+        this.tickLatencyP50Millis = tickLatencyP50Millis;
+        this.tickLatencyP90Millis = tickLatencyP90Millis;
+        this.tickLatencyP99Millis = tickLatencyP99Millis;
+        this.tickLatencyMaxMillis = tickLatencyMaxMillis;
+        this.ruleMetricsDTOList = new ArrayList<>();
+        this.actionTypeMetricsDTOList = new ArrayList<>();
+    }
+
+    public void addRuleMetricsDTO(InvocationMetricsDTO ruleMetricsDTO) {
+        ruleMetricsDTOList.add(ruleMetricsDTO);
+    }
+
+    public void addActionTypeMetricsDTO(InvocationMetricsDTO actionTypeMetricsDTO) {
+        actionTypeMetricsDTOList.add(actionTypeMetricsDTO);
+    }
+
+    public int getSimulationID() {
+        return simulationID;
+    }
+
+    public long getMeasuredTickCount() {
+        return measuredTickCount;
+    }
+
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public double getTickLatencyMeanMillis() {
+        return tickLatencyMeanMillis;
+    }
+
+    public double getTickLatencyP50Millis() {
+        return tickLatencyP50Millis;
+    }
+
+    public double getTickLatencyP90Millis() {
+        return tickLatencyP90Millis;
+    }
+
+    public double getTickLatencyP99Millis() {
+        return tickLatencyP99Millis;
+    }
+
+    public double getTickLatencyMaxMillis() {
+        return tickLatencyMaxMillis;
+    }
+
+    public List<InvocationMetricsDTO> getRuleMetricsDTOList() {
+        return ruleMetricsDTOList;
+    }
+
+    public List<InvocationMetricsDTO> getActionTypeMetricsDTOList() {
+        return actionTypeMetricsDTOList;
+    }
+}
@@ -0,0 +1,101 @@
+package com.idansh.dto.property;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the distribution of the values of a property over the population of an entity.
+ * A numeric property has the moments of its values and the amount of values in each of a fixed amount of buckets,
+ * a property of other types has the most common values and the amount of each.
+ */
+public class PropertyValuesDTO {
+    private final String name;
+    private final int count;                    // Amount of instances in the population
+    private final int nofDistinctValues;        // Only of properties that are not numeric
+    private final Double mean;                  // The moments are only of numeric properties with values
+    private final Double variance;
+    private final Double min;
+    private final Double max;
+    private final List<ValueBucketDTO> valueBucketDTOList;
+    private final List<ValueCountDTO> valueCountDTOList;
+
+    /**
+     * Constructor of the values of a numeric property.
+     */
+    public PropertyValuesDTO(String name, int count, Double mean, Double variance, Double min, Double max) {
+        this.name = name;
+        this.count = count;
+        this.nofDistinctValues = 0;
+        this.mean = mean;
+        this.variance = variance;
+        this.min = min;
+        this.max = max;
+        this.valueBucketDTOList = new ArrayList<>();
+        this.valueCountDTOList = new ArrayList<>();
+    }
+
+    /**
+     * Constructor of the values of a property that is not numeric.
+     */
+    public PropertyValuesDTO(String name, int count, int nofDistinctValues) {
+        this.name = name;
+        this.count = count;
+        this.nofDistinctValues = nofDistinctValues;
+        this.mean = null;
+        this.variance = null;
+        this.min = null;
+        this.max = null;
+        this.valueBucketDTOList = new ArrayList<>();
+        this.valueCountDTOList = new ArrayList<>();
+    }
+
+    public void addValueBucketDTO(ValueBucketDTO valueBucketDTO) {
+        valueBucketDTOList.add(valueBucketDTO);
+    }
+
+    public void addValueCountDTO(ValueCountDTO valueCountDTO) {
+        valueCountDTOList.add(valueCountDTO);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getNofDistinctValues() {
+        return nofDistinctValues;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public Double getVariance() {
+        return variance;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    /**
+     * @return the buckets of a numeric property, ordered by their values.
+     */
+    public List<ValueBucketDTO> getValueBucketDTOList() {
+        return valueBucketDTOList;
+    }
+
+    /**
+     * @return the most common values of a property that is not numeric, the most common first.
+     */
+    public List<ValueCountDTO> getValueCountDTOList() {
+        return valueCountDTOList;
+    }
+}
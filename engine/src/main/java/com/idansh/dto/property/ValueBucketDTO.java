@@ -0,0 +1,28 @@
+package com.idansh.dto.property;
+
+/**
+ * The amount of instances of an entity with a numeric property's value in a range of values.
+ */
+public class ValueBucketDTO {
+    private final double from;      // Inclusive
+    private final double to;        // Exclusive
+    private final int count;
+
+    public ValueBucketDTO(double from, double to, int count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    public double getFrom() {
+        return from;
+    }
+
+    public double getTo() {
+        return to;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,22 @@
+package com.idansh.dto.property;
+
+/**
+ * The amount of instances of an entity with a property's value.
+ */
+public class ValueCountDTO {
+    private final Object value;
+    private final int count;
+
+    public ValueCountDTO(Object value, int count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
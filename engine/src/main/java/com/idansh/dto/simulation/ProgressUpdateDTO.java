@@ -0,0 +1,31 @@
+package com.idansh.dto.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of progress that is pushed to a progress subscriber,
+ * with the progress of each simulation that changed since the previous batch, and the current load on the thread pool.
+ */
+public class ProgressUpdateDTO {
+    private final List<SimulationProgressDTO> simulationProgressDTOList;
+    private final ThreadsDTO threadsDTO;
+
+
+    public ProgressUpdateDTO(ThreadsDTO threadsDTO) {
+        this.simulationProgressDTOList = new ArrayList<>();
+        this.threadsDTO = threadsDTO;
+    }
+
+    public void addSimulationProgressDTO(SimulationProgressDTO simulationProgressDTO) {
+        simulationProgressDTOList.add(simulationProgressDTO);
+    }
+
+    public List<SimulationProgressDTO> getSimulationProgressDTOList() {
+        return simulationProgressDTOList;
+    }
+
+    public ThreadsDTO getThreadsDTO() {
+        return threadsDTO;
+    }
+}
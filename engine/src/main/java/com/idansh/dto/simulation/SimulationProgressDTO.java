@@ -0,0 +1,49 @@
+package com.idansh.dto.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact progress of a single simulation: the completed ticks, the elapsed time and the amount of each entity in the population.
+ * Unlike RunningSimulationDTO, does not contain the definition of the simulation.
+ */
+public class SimulationProgressDTO {
+    private final int simulationID;
+    private final int completedTicks;
+    private final long elapsedTimeMillis;
+    private final boolean isFinished;
+    private final Map<String, Integer> entityAmounts;     // Key = name of the entity, Value = its current amount in the population
+
+
+    public SimulationProgressDTO(int simulationID, int completedTicks, long elapsedTimeMillis, boolean isFinished) {
+        this.simulationID = simulationID;
+        this.completedTicks = completedTicks;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+        this.isFinished = isFinished;
+        this.entityAmounts = new LinkedHashMap<>();
+    }
+
+    public void addEntityAmount(String entityName, int amount) {
+        entityAmounts.put(entityName, amount);
+    }
+
+    public int getSimulationID() {
+        return simulationID;
+    }
+
+    public int getCompletedTicks() {
+        return completedTicks;
+    }
+
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    public Map<String, Integer> getEntityAmounts() {
+        return entityAmounts;
+    }
+}
@@ -0,0 +1,53 @@
+package com.idansh.dto.sweep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created from user input in the UI, and sent into the engine manager to run a parameter sweep over the loaded simulation.
+ * The sampling is either "grid", all the combinations of the parameters' values,
+ * or "latin-hypercube", a fixed amount of samples that are spread evenly over the range of each parameter.
+ * Each sampled point runs a number of replicas, each with a different seed.
+ */
+public class SweepDTO {
+    public static final String GRID = "grid";
+    public static final String LATIN_HYPERCUBE = "latin-hypercube";
+
+    private final String sampling;
+    private final int nofSamples;       // Amount of points to sample, used only by Latin hypercube sampling
+    private final int nofReplicas;
+    private final Long seed;            // Seed of the sampling and of the replicas' seeds, if null a random seed is used
+    private final List<SweepParameterDTO> parameterDTOList;
+
+    public SweepDTO(String sampling, int nofSamples, int nofReplicas, Long seed) {
+        this.sampling = sampling;
+        this.nofSamples = nofSamples;
+        this.nofReplicas = nofReplicas;
+        this.seed = seed;
+        this.parameterDTOList = new ArrayList<>();
+    }
+
+    public void addParameterDTO(SweepParameterDTO parameterDTO) {
+        parameterDTOList.add(parameterDTO);
+    }
+
+    public String getSampling() {
+        return sampling;
+    }
+
+    public int getNofSamples() {
+        return nofSamples;
+    }
+
+    public int getNofReplicas() {
+        return nofReplicas;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public List<SweepParameterDTO> getParameterDTOList() {
+        return parameterDTOList;
+    }
+}
@@ -0,0 +1,56 @@
+package com.idansh.dto.sweep;
+
+import com.idansh.dto.range.RangeDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created from user input in the UI, a single parameter of a parameter sweep:
+ * an environment variable or the initial amount of an entity in the population, with the values to sweep it over.
+ * The values are either given explicitly, or as a numeric range to sample from (Latin hypercube sampling only).
+ */
+public class SweepParameterDTO {
+    public static final String ENVIRONMENT_VARIABLE = "environment-variable";
+    public static final String ENTITY_POPULATION = "entity-population";
+
+    private final String name;
+    private final String kind;
+    private final List<Object> values;
+    private final RangeDTO range;
+
+    public SweepParameterDTO(String name, String kind, List<Object> values) {
+        this.name = name;
+        this.kind = kind;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        this.range = null;
+    }
+
+    public SweepParameterDTO(String name, String kind, RangeDTO range) {
+        this.name = name;
+        this.kind = kind;
+        this.values = null;
+        this.range = range;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    public RangeDTO getRange() {
+        return range;
+    }
+
+    public boolean isEntityPopulation() {
+        return ENTITY_POPULATION.equals(kind);
+    }
+}
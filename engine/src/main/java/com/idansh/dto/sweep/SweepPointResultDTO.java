@@ -0,0 +1,49 @@
+package com.idansh.dto.sweep;
+
+import java.util.Map;
+
+/**
+ * Contains the results of all the replicas of a single point of a parameter sweep, aggregated.
+ */
+public class SweepPointResultDTO {
+    private final int pointIndex;
+    private final Map<String, Object> parameterValues;
+    private final int nofCompletedReplicas;
+    private final double meanCompletedTicks;
+    private final Map<String, Double> meanFinalPopulations;                     // By the name of the entity
+    private final Map<String, Double> finalPopulationStandardDeviations;        // Sample standard deviation, by the name of the entity
+
+    public SweepPointResultDTO(int pointIndex, Map<String, Object> parameterValues, int nofCompletedReplicas, double meanCompletedTicks,
+                               Map<String, Double> meanFinalPopulations, Map<String, Double> finalPopulationStandardDeviations) {
+        this.pointIndex = pointIndex;
+        this.parameterValues = parameterValues;
+        this.nofCompletedReplicas = nofCompletedReplicas;
+        this.meanCompletedTicks = meanCompletedTicks;
+        this.meanFinalPopulations = meanFinalPopulations;
+        this.finalPopulationStandardDeviations = finalPopulationStandardDeviations;
+    }
+
+    public int getPointIndex() {
+        return pointIndex;
+    }
+
+    public Map<String, Object> getParameterValues() {
+        return parameterValues;
+    }
+
+    public int getNofCompletedReplicas() {
+        return nofCompletedReplicas;
+    }
+
+    public double getMeanCompletedTicks() {
+        return meanCompletedTicks;
+    }
+
+    public Map<String, Double> getMeanFinalPopulations() {
+        return meanFinalPopulations;
+    }
+
+    public Map<String, Double> getFinalPopulationStandardDeviations() {
+        return finalPopulationStandardDeviations;
+    }
+}
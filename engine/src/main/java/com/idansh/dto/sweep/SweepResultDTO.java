@@ -0,0 +1,46 @@
+package com.idansh.dto.sweep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the result table of a parameter sweep:
+ * a row for each completed run, and a row for each point with the results of its replicas aggregated.
+ */
+public class SweepResultDTO {
+    private final int nofRuns;
+    private final int nofFailedRuns;
+    private final List<SweepRunResultDTO> runResultDTOList;
+    private final List<SweepPointResultDTO> pointResultDTOList;
+
+    public SweepResultDTO(int nofRuns, int nofFailedRuns) {
+        this.nofRuns = nofRuns;
+        this.nofFailedRuns = nofFailedRuns;
+        this.runResultDTOList = new ArrayList<>();
+        this.pointResultDTOList = new ArrayList<>();
+    }
+
+    public void addRunResultDTO(SweepRunResultDTO runResultDTO) {
+        runResultDTOList.add(runResultDTO);
+    }
+
+    public void addPointResultDTO(SweepPointResultDTO pointResultDTO) {
+        pointResultDTOList.add(pointResultDTO);
+    }
+
+    public int getNofRuns() {
+        return nofRuns;
+    }
+
+    public int getNofFailedRuns() {
+        return nofFailedRuns;
+    }
+
+    public List<SweepRunResultDTO> getRunResultDTOList() {
+        return runResultDTOList;
+    }
+
+    public List<SweepPointResultDTO> getPointResultDTOList() {
+        return pointResultDTOList;
+    }
+}
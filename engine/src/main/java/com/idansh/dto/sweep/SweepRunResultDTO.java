@@ -0,0 +1,61 @@
+package com.idansh.dto.sweep;
+
+import java.util.Map;
+
+/**
+ * Contains the result of a single run of a parameter sweep, a row in the sweep's result table.
+ */
+public class SweepRunResultDTO {
+    private final int pointIndex;
+    private final int replicaIndex;
+    private final long seed;                                    // The seed of the run, creating a simulation with it and the same values has the same results
+    private final Map<String, Object> parameterValues;         // The value of each parameter of the sweep in this run, by its name
+    private final int completedTicks;
+    private final long runTime;                                 // Milliseconds the run took
+    private final String endReason;
+    private final Map<String, Integer> finalPopulations;        // The amount of each entity at the end of the run, by its name
+
+    public SweepRunResultDTO(int pointIndex, int replicaIndex, long seed, Map<String, Object> parameterValues,
+                             int completedTicks, long runTime, String endReason, Map<String, Integer> finalPopulations) {
+        this.pointIndex = pointIndex;
+        this.replicaIndex = replicaIndex;
+        this.seed = seed;
+        this.parameterValues = parameterValues;
+        this.completedTicks = completedTicks;
+        this.runTime = runTime;
+        this.endReason = endReason;
+        this.finalPopulations = finalPopulations;
+    }
+
+    public int getPointIndex() {
+        return pointIndex;
+    }
+
+    public int getReplicaIndex() {
+        return replicaIndex;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<String, Object> getParameterValues() {
+        return parameterValues;
+    }
+
+    public int getCompletedTicks() {
+        return completedTicks;
+    }
+
+    public long getRunTime() {
+        return runTime;
+    }
+
+    public String getEndReason() {
+        return endReason;
+    }
+
+    public Map<String, Integer> getFinalPopulations() {
+        return finalPopulations;
+    }
+}
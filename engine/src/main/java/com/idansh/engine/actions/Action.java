@@ -3,8 +3,16 @@ package com.idansh.engine.actions;
 import com.idansh.dto.action.ActionDTO;
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.entity.SecondaryEntityCandidates;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.metrics.InvocationMetrics;
 import com.idansh.engine.world.World;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
 public abstract class Action {
     public enum Type{
         CALCULATION, CONDITION, DECREASE, INCREASE, SET, KILL, REPLACE, PROXIMITY;
@@ -49,29 +57,42 @@ public abstract class Action {
     private final String mainEntityContext;
     private final World worldContext;
     private final SecondaryEntity secondaryEntity; // Optional
+    private final SecondaryEntityCandidates secondaryEntityCandidates;  // Cached choice of the secondary entity, set only if an amount is defined
     private final String entityToInvokeOnName;
+    private final int mainEntityTypeId;             // Type ID of the main entity, -1 if no main entity is defined
+    private final int entityToInvokeOnTypeId;       // Type ID of the entity to invoke on, resolved when the world is built
+    private final InvocationMetrics metrics;        // Activations of the action by its rule, counted only if the world counts invocations, not copied with the action
 
 
     public Action(World worldContext, String mainEntityContext, String entityToInvokeOnName) {
         this.mainEntityContext = mainEntityContext;
         this.worldContext = worldContext;
         this.secondaryEntity = null;
+        this.secondaryEntityCandidates = null;
 
         checkEntityToInvokeOn(entityToInvokeOnName);
         this.entityToInvokeOnName = entityToInvokeOnName;
 
         checkEntityContext(mainEntityContext);
+        this.mainEntityTypeId = getEntityTypeId(mainEntityContext);
+        this.entityToInvokeOnTypeId = getEntityTypeId(entityToInvokeOnName);
+        this.metrics = new InvocationMetrics();
     }
 
     public Action(World worldContext, String mainEntityContext, SecondaryEntity secondaryEntity, String entityToInvokeOnName) {
         this.mainEntityContext = mainEntityContext;
         this.worldContext = worldContext;
         this.secondaryEntity = secondaryEntity;
+        this.secondaryEntityCandidates = secondaryEntity != null && secondaryEntity.isAmountDefined() ?
+                new SecondaryEntityCandidates(secondaryEntity, worldContext.entityManager) : null;
 
         checkEntityToInvokeOn(entityToInvokeOnName);
         this.entityToInvokeOnName = entityToInvokeOnName;
 
         checkEntityContext(mainEntityContext);
+        this.mainEntityTypeId = getEntityTypeId(mainEntityContext);
+        this.entityToInvokeOnTypeId = getEntityTypeId(entityToInvokeOnName);
+        this.metrics = new InvocationMetrics();
     }
 
 
@@ -92,18 +113,30 @@ public abstract class Action {
     }
 
 
+    /**
+     * Resolves the name of an entity into the type ID of its entity factory.
+     * @return the type ID, or -1 if no entity factory with the given name exists.
+     */
+    private int getEntityTypeId(String entityName) {
+        if(entityName == null || !worldContext.entityManager.getEntityFactories().containsKey(entityName))
+            return -1;
+
+        return worldContext.entityManager.getEntityFactory(entityName).getTypeId();
+    }
+
+
     /**
      * Checks on which entity the action should be performed,
      * returns that entity.
-     * Decides it by the entityToInvokeOnName's value.
+     * Decides it by the type ID of the entityToInvokeOnName.
      */
     public Entity getEntityToInvokeOn(Entity mainEntity, Entity secondaryEntity) {
         if (secondaryEntity == null) return mainEntity;
 
         // Check if the action can be invoked on each entity instance received
-        if (entityToInvokeOnName.equals(mainEntity.getName())) {
+        if (entityToInvokeOnTypeId == mainEntity.getTypeId()) {
             return mainEntity;
-        } else if (entityToInvokeOnName.equals(secondaryEntity.getName())) {
+        } else if (entityToInvokeOnTypeId == secondaryEntity.getTypeId()) {
             return secondaryEntity;
         } else {
             throw new IllegalArgumentException("Cannot perform action on " + entityToInvokeOnName +
@@ -138,6 +171,48 @@ public abstract class Action {
     public abstract void invoke(Entity mainEntity, Entity secondaryEntity);
 
 
+    /**
+     * Prepares invoking the action with a main entity instance and each of many secondary entity instances
+     * (secondary entity amount "ALL", see PairwiseInteractionKernel).
+     * Extending actions evaluate the parts that depend only on the main entity instance once, instead of once per pair.
+     * @return invokes the action with the main entity instance and a received secondary entity instance.
+     */
+    public Consumer<Entity> bindMainEntity(Entity mainEntity) {
+        return secondaryEntity -> invoke(mainEntity, secondaryEntity);
+    }
+
+
+    /**
+     * @return true if the expression reads only properties of the main entity, false otherwise.
+     */
+    protected boolean isOfMainEntityOnly(Expression expression) {
+        return expression.collectReadProperties(mainEntityTypeId, new HashSet<>());
+    }
+
+
+    /**
+     * Checks if values that depend only on the main entity instance can be evaluated once for all its pairs,
+     * that is if the main entity instance cannot be changed while the pairs are invoked,
+     * which is only if the action changes secondary instances of another entity.
+     * Does not depend on whether the tick is parallel, since a parallel tick reads the writes of its chunk as well.
+     */
+    protected boolean canBindMainEntityValues() {
+        return entityToInvokeOnTypeId != mainEntityTypeId;
+    }
+
+
+    /**
+     * Folds the constant parts of the expressions of the action, and of the actions nested in it.
+     * Called once when the world is activated, after its environment variables were set and before its first tick.
+     * Folds the conditions of the secondary entity, actions with expressions should call it before folding their own.
+     * @param activeEnvironmentVariables the environment variables of the activated world.
+     */
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        if (secondaryEntity != null)
+            secondaryEntity.fold(activeEnvironmentVariables);
+    }
+
+
     /**
      * @return The type of action.
      */
@@ -171,10 +246,32 @@ public abstract class Action {
         return mainEntityContext;
     }
 
+    /**
+     * Chooses the secondary entity instances to invoke the action with, by the amount and conditions of the secondary entity.
+     * Should only be called if the secondary entity of the action has a defined amount.
+     */
+    public List<Entity> chooseSecondaryEntities() {
+        return secondaryEntityCandidates.choose();
+    }
+
+
+    public InvocationMetrics getMetrics() {
+        return metrics;
+    }
+
     public SecondaryEntity getSecondaryEntity() {
         return secondaryEntity;
     }
 
+
+    /**
+     * @return a copy of the secondary entity of the action with its conditions set to the given world context, for a copy of the action.
+     *         Null if no secondary entity was defined.
+     */
+    protected SecondaryEntity copySecondaryEntity(World worldContext) {
+        return secondaryEntity != null ? new SecondaryEntity(secondaryEntity, worldContext) : null;
+    }
+
     public World getWorldContext() {
         return worldContext;
     }
@@ -182,4 +279,21 @@ public abstract class Action {
     public String getEntityToInvokeOnName() {
         return entityToInvokeOnName;
     }
+
+    public int getMainEntityTypeId() {
+        return mainEntityTypeId;
+    }
+
+    public int getEntityToInvokeOnTypeId() {
+        return entityToInvokeOnTypeId;
+    }
+
+
+    /**
+     * Resolves the name of a property of the entity to invoke on into its slot.
+     * @throws IllegalArgumentException in case the entity to invoke on does not have a property with the given name.
+     */
+    protected int getEntityToInvokeOnPropertySlot(String propertyName) {
+        return worldContext.entityManager.getEntityFactory(entityToInvokeOnName).getPropertySlot(propertyName);
+    }
 }
@@ -0,0 +1,189 @@
+package com.idansh.engine.actions;
+
+import com.idansh.dto.action.ActionDTO;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.property.instance.Property;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.world.World;
+
+import java.util.function.Consumer;
+
+/**
+ * Perform a mathematical calculation using two arguments, and saves the result
+ * in the property defined.
+ * Possible calculations: Multiply / Divide
+ * Receives two argument expressions (arg1, arg2) that will be used for the calculation.
+ */
+public class CalculationAction extends Action {
+    public enum Type {
+        MULTIPLY, DIVIDE
+    }
+
+    private final String propertyName;
+    private Expression arg1, arg2;
+    private final Type type;
+    private final int propertySlot;     // Slot of the property in the entity to invoke on, resolved from the property's name
+    private final boolean isIntegerCalculation;         // True if both arguments are integers, then the calculation is done on integers
+    private IntEvaluator intArg1, intArg2;              // Set only for integer calculations
+    private FloatEvaluator floatArg1, floatArg2;        // Set only for float calculations
+    private boolean isArg1OfMainEntity, isArg2OfMainEntity;    // True if the argument reads only properties of the main entity
+
+    /**
+     * Perform a mathematical calculation on a value of a property of the entity,
+     * Using two argument expressions.
+     * @param worldContext reference to the simulated world in which the action is preformed.
+     * @param mainEntityContext name entity on which the action will be preformed.
+     * @param propertyName name of the property whose value will be changed.
+     */
+    public CalculationAction(World worldContext, String mainEntityContext, SecondaryEntity secondaryEntity, String entityName, String propertyName, Expression arg1, Expression arg2, Type type) {
+        super(worldContext, mainEntityContext, secondaryEntity, entityName);
+        this.propertyName = propertyName;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.type = type;
+        this.propertySlot = getNumericPropertySlot(propertyName);
+        this.isIntegerCalculation = PropertyType.INTEGER.equals(arg1.getType()) && PropertyType.INTEGER.equals(arg2.getType());
+        compileArguments();
+    }
+
+    public CalculationAction(World worldContext, String mainEntityContext, String entityName, String propertyName, Expression arg1, Expression arg2, Type type) {
+        super(worldContext, mainEntityContext, entityName);
+        this.propertyName = propertyName;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.type = type;
+        this.propertySlot = getNumericPropertySlot(propertyName);
+        this.isIntegerCalculation = PropertyType.INTEGER.equals(arg1.getType()) && PropertyType.INTEGER.equals(arg2.getType());
+        compileArguments();
+    }
+
+    /**
+     * Resolves the slot of the property to save the result in, and checks that the property is numeric.
+     * @throws IllegalArgumentException in case the property does not exist or is not numeric.
+     */
+    private int getNumericPropertySlot(String propertyName) {
+        PropertyFactory propertyFactory = getWorldContext().entityManager.getEntityFactory(getEntityToInvokeOnName()).getPropertyFactory(propertyName);
+
+        if (!propertyFactory.isNumericProperty())
+            throw new IllegalArgumentException("can preform calculation only on numeric properties! the property if of type \"" + propertyFactory.getType() + "\".");
+
+        return getEntityToInvokeOnPropertySlot(propertyName);
+    }
+
+    /**
+     * Compiles the arguments into evaluators of the type of the calculation.
+     */
+    private void compileArguments() {
+        if (isIntegerCalculation) {
+            intArg1 = ExpressionCompiler.compileInt(arg1);
+            intArg2 = ExpressionCompiler.compileInt(arg2);
+        } else {
+            floatArg1 = ExpressionCompiler.compileFloat(arg1);
+            floatArg2 = ExpressionCompiler.compileFloat(arg2);
+        }
+
+        isArg1OfMainEntity = isOfMainEntityOnly(arg1);
+        isArg2OfMainEntity = isOfMainEntityOnly(arg2);
+    }
+
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        arg1 = arg1.fold(activeEnvironmentVariables);
+        arg2 = arg2.fold(activeEnvironmentVariables);
+        compileArguments();
+    }
+
+    @Override
+    public void invoke(Entity mainEntity, Entity secondaryEntity) {
+        if (isIntegerCalculation)
+            calculateInt(mainEntity, secondaryEntity, intArg1, intArg2);
+        else
+            calculateFloat(mainEntity, secondaryEntity, floatArg1, floatArg2);
+    }
+
+
+    /**
+     * Evaluates the arguments that read only properties of the main entity once, for all the pairs of the main entity instance.
+     */
+    @Override
+    public Consumer<Entity> bindMainEntity(Entity mainEntity) {
+        if (!(isArg1OfMainEntity || isArg2OfMainEntity) || !canBindMainEntityValues())
+            return super.bindMainEntity(mainEntity);
+
+        if (isIntegerCalculation) {
+            IntEvaluator boundArg1 = isArg1OfMainEntity ? ExpressionCompiler.bindInt(intArg1, mainEntity) : intArg1;
+            IntEvaluator boundArg2 = isArg2OfMainEntity ? ExpressionCompiler.bindInt(intArg2, mainEntity) : intArg2;
+            return secondaryEntity -> calculateInt(mainEntity, secondaryEntity, boundArg1, boundArg2);
+        }
+
+        FloatEvaluator boundArg1 = isArg1OfMainEntity ? ExpressionCompiler.bindFloat(floatArg1, mainEntity) : floatArg1;
+        FloatEvaluator boundArg2 = isArg2OfMainEntity ? ExpressionCompiler.bindFloat(floatArg2, mainEntity) : floatArg2;
+        return secondaryEntity -> calculateFloat(mainEntity, secondaryEntity, boundArg1, boundArg2);
+    }
+
+
+    private void calculateInt(Entity mainEntity, Entity secondaryEntity, IntEvaluator arg1Evaluator, IntEvaluator arg2Evaluator) {
+        Property propertyToSave = getEntityToInvokeOn(mainEntity, secondaryEntity).getPropertyBySlot(propertySlot);
+        int val1 = arg1Evaluator.evaluate(mainEntity, secondaryEntity);
+        int val2 = arg2Evaluator.evaluate(mainEntity, secondaryEntity);
+        propertyToSave.setNumericValue(type.equals(Type.MULTIPLY) ? val1 * val2 : val1 / val2);
+    }
+
+
+    private void calculateFloat(Entity mainEntity, Entity secondaryEntity, FloatEvaluator arg1Evaluator, FloatEvaluator arg2Evaluator) {
+        Property propertyToSave = getEntityToInvokeOn(mainEntity, secondaryEntity).getPropertyBySlot(propertySlot);
+        float val1 = arg1Evaluator.evaluate(mainEntity, secondaryEntity);
+        float val2 = arg2Evaluator.evaluate(mainEntity, secondaryEntity);
+        propertyToSave.setNumericValue(type.equals(Type.MULTIPLY) ? val1 * val2 : val1 / val2);
+    }
+
+    @Override
+    public void invoke(Entity entity) {
+        invoke(entity, null);
+    }
+
+
+    @Override
+    public Action copy(World worldContext) {
+        return new CalculationAction(
+                worldContext,
+                getMainEntityContext(),
+                copySecondaryEntity(worldContext),
+                getEntityToInvokeOnName(),
+                propertyName,
+                arg1,
+                arg2,
+                type
+        );
+    }
+
+
+    @Override
+    public ActionDTO getActionDTO() {
+        ActionDTO retActionDTO = getBasicActionDTO();
+
+        retActionDTO.addArgument("Entity Name", getEntityToInvokeOnName());
+        retActionDTO.addArgument("Result Property Name", propertyName);
+
+        if(type.equals(Type.DIVIDE))
+            retActionDTO.addExtraInfo("Divide", arg1.getAsString() + " / " + arg2.getAsString());
+        else
+            retActionDTO.addExtraInfo("Multiply", arg1.getAsString() + " * " + arg2.getAsString());
+
+        return retActionDTO;
+    }
+
+
+    @Override
+    public String getActionTypeString() {
+        return "calculation";
+    }
+}
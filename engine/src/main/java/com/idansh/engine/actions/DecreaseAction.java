@@ -3,11 +3,16 @@ package com.idansh.engine.actions;
 import com.idansh.dto.action.ActionDTO;
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
 import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
 import com.idansh.engine.property.creator.factory.PropertyFactory;
 import com.idansh.engine.property.instance.Property;
 import com.idansh.engine.world.World;
 
+import java.util.function.Consumer;
+
 /**
  * Decreases the value of a numeric property of an entity.
 
@@ -15,6 +20,9 @@ import com.idansh.engine.world.World;
 public class DecreaseAction extends Action {
     String propertyName;
     Expression amount;
+    private final int propertySlot;     // Slot of the property in the entity to invoke on, resolved from the property's name
+    private FloatEvaluator amountEvaluator;
+    private boolean isAmountOfMainEntity;   // True if the amount reads only properties of the main entity
 
     /**
      * @param worldContext reference to the simulated world in which the action is preformed.
@@ -26,30 +34,57 @@ public class DecreaseAction extends Action {
         super(worldContext, mainEntityContext, secondaryEntity, entityName);
         this.propertyName = propertyName;
         this.amount = amount;
+        this.propertySlot = getNumericPropertySlot(propertyName);
+        this.amountEvaluator = ExpressionCompiler.compileFloat(amount);
+        this.isAmountOfMainEntity = isOfMainEntityOnly(amount);
     }
 
     public DecreaseAction(World worldContext, String mainEntityContext, String entityName, String propertyName, Expression amount) {
         super(worldContext, mainEntityContext, entityName);
         this.propertyName = propertyName;
         this.amount = amount;
+        this.propertySlot = getNumericPropertySlot(propertyName);
+        this.amountEvaluator = ExpressionCompiler.compileFloat(amount);
+        this.isAmountOfMainEntity = isOfMainEntityOnly(amount);
     }
 
-    @Override
-    public void invoke(Entity mainEntity, Entity secondaryEntity) {
+    /**
+     * Resolves the slot of the property to decrease, and checks that the property is numeric.
+     * @throws IllegalArgumentException in case the property does not exist or is not numeric.
+     */
+    private int getNumericPropertySlot(String propertyName) {
         PropertyFactory propertyFactory = getWorldContext().entityManager.getEntityFactory(getEntityToInvokeOnName()).getPropertyFactory(propertyName);
-        Property property;
 
         if (!propertyFactory.isNumericProperty())
             throw new IllegalArgumentException("Can preform decrease only on numeric properties!\n" +
                     "the property if of type \"" + propertyFactory.getType() + "\".");
 
+        return getEntityToInvokeOnPropertySlot(propertyName);
+    }
+
+    @Override
+    public void invoke(Entity mainEntity, Entity secondaryEntity) {
         Entity entityToInvokeOn = getEntityToInvokeOn(mainEntity, secondaryEntity);
-        property = entityToInvokeOn.getPropertyByName(propertyName);
+        Property property = entityToInvokeOn.getPropertyBySlot(propertySlot);
 
-        if(property != null)
-            property.addNumToValue(invertValue(amount.getValue(mainEntity, secondaryEntity)));
-        else throw new IllegalArgumentException("Cannot perform decrease action on " + getEntityToInvokeOnName() +
-                " invalid property name defined.");
+        property.addNumToValue(-amountEvaluator.evaluate(mainEntity, secondaryEntity));
+    }
+
+    @Override
+    public Consumer<Entity> bindMainEntity(Entity mainEntity) {
+        if (!isAmountOfMainEntity || !canBindMainEntityValues())
+            return super.bindMainEntity(mainEntity);
+
+        float boundAmount = -amountEvaluator.evaluate(mainEntity, null);
+        return secondaryEntity -> getEntityToInvokeOn(mainEntity, secondaryEntity).getPropertyBySlot(propertySlot).addNumToValue(boundAmount);
+    }
+
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        amount = amount.fold(activeEnvironmentVariables);
+        amountEvaluator = ExpressionCompiler.compileFloat(amount);
+        isAmountOfMainEntity = isOfMainEntityOnly(amount);
     }
 
     @Override
@@ -60,7 +95,7 @@ public class DecreaseAction extends Action {
 
     @Override
     public Action copy(World worldContext) {
-        return new DecreaseAction(worldContext, getMainEntityContext(), getEntityToInvokeOnName(), propertyName, amount);
+        return new DecreaseAction(worldContext, getMainEntityContext(), copySecondaryEntity(worldContext), getEntityToInvokeOnName(), propertyName, amount);
     }
 
 
@@ -76,20 +111,6 @@ public class DecreaseAction extends Action {
     }
 
 
-    /**
-     * Inverts a number, from positive to negative or from negative to positive.
-     * @param valueToInvert number of the type Integer or Float (non-primitive).
-     * @return inverted value of the number received.
-     */
-    private Object invertValue(Object valueToInvert) {
-        if(valueToInvert instanceof Integer)
-            return ((int) valueToInvert) * (-1);
-        if(valueToInvert instanceof Float)
-            return ((float) valueToInvert) * (-1);
-
-        throw new IllegalArgumentException("invertValue can be preformed only on Integer or Float values! got value to invert of type \"" + valueToInvert.getClass() + "\".");
-    }
-
     @Override
     public String getActionTypeString() {
         return "decrease";
@@ -3,17 +3,25 @@ package com.idansh.engine.actions;
 import com.idansh.dto.action.ActionDTO;
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
 import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
 import com.idansh.engine.property.creator.factory.PropertyFactory;
 import com.idansh.engine.property.instance.Property;
 import com.idansh.engine.world.World;
 
+import java.util.function.Consumer;
+
 /**
  * Increases the value of a numeric property of an entity.
  */
 public class IncreaseAction extends Action {
     String propertyName;
     Expression amount;
+    private final int propertySlot;     // Slot of the property in the entity to invoke on, resolved from the property's name
+    private FloatEvaluator amountEvaluator;
+    private boolean isAmountOfMainEntity;   // True if the amount reads only properties of the main entity
 
     /**
      * @param worldContext reference to the simulated world in which the action is preformed.
@@ -25,30 +33,57 @@ public class IncreaseAction extends Action {
         super(worldContext, mainEntityContext, secondaryEntity, entityName);
         this.propertyName = propertyName;
         this.amount = amount;
+        this.propertySlot = getNumericPropertySlot(propertyName);
+        this.amountEvaluator = ExpressionCompiler.compileFloat(amount);
+        this.isAmountOfMainEntity = isOfMainEntityOnly(amount);
     }
 
     public IncreaseAction(World worldContext, String mainEntityContext, String entityName, String propertyName, Expression amount) {
         super(worldContext, mainEntityContext, entityName);
         this.propertyName = propertyName;
         this.amount = amount;
+        this.propertySlot = getNumericPropertySlot(propertyName);
+        this.amountEvaluator = ExpressionCompiler.compileFloat(amount);
+        this.isAmountOfMainEntity = isOfMainEntityOnly(amount);
     }
 
-    @Override
-    public void invoke(Entity mainEntity, Entity secondaryEntity) {
+    /**
+     * Resolves the slot of the property to increase, and checks that the property is numeric.
+     * @throws IllegalArgumentException in case the property does not exist or is not numeric.
+     */
+    private int getNumericPropertySlot(String propertyName) {
         PropertyFactory propertyFactory = getWorldContext().entityManager.getEntityFactory(getEntityToInvokeOnName()).getPropertyFactory(propertyName);
-        Property property;
 
         if (!propertyFactory.isNumericProperty())
             throw new IllegalArgumentException("Can preform increase only on numeric properties!\n" +
                     "the property if of type \"" + propertyFactory.getType() + "\".");
 
+        return getEntityToInvokeOnPropertySlot(propertyName);
+    }
+
+    @Override
+    public void invoke(Entity mainEntity, Entity secondaryEntity) {
         Entity entityToInvokeOn = getEntityToInvokeOn(mainEntity, secondaryEntity);
-        property = entityToInvokeOn.getPropertyByName(propertyName);
+        Property property = entityToInvokeOn.getPropertyBySlot(propertySlot);
+
+        property.addNumToValue(amountEvaluator.evaluate(mainEntity, secondaryEntity));
+    }
+
+    @Override
+    public Consumer<Entity> bindMainEntity(Entity mainEntity) {
+        if (!isAmountOfMainEntity || !canBindMainEntityValues())
+            return super.bindMainEntity(mainEntity);
+
+        float boundAmount = amountEvaluator.evaluate(mainEntity, null);
+        return secondaryEntity -> getEntityToInvokeOn(mainEntity, secondaryEntity).getPropertyBySlot(propertySlot).addNumToValue(boundAmount);
+    }
 
-        if(property != null)
-            property.addNumToValue(amount.getValue(mainEntity, secondaryEntity));
-        else throw new IllegalArgumentException("Cannot perform increase action on " + getEntityToInvokeOnName() +
-                " invalid property name defined.");
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        amount = amount.fold(activeEnvironmentVariables);
+        amountEvaluator = ExpressionCompiler.compileFloat(amount);
+        isAmountOfMainEntity = isOfMainEntityOnly(amount);
     }
 
     @Override
@@ -62,7 +97,7 @@ public class IncreaseAction extends Action {
         return new IncreaseAction(
                 worldContext,
                 getMainEntityContext(),
-                getSecondaryEntity(),
+                copySecondaryEntity(worldContext),
                 getEntityToInvokeOnName(),
                 propertyName,
                 amount
@@ -29,10 +29,10 @@ public class KillAction extends Action {
 
     @Override
     public void invoke(Entity mainEntity, Entity secondaryEntity) {
-        if (mainEntity != null && getEntityToInvokeOnName().equals(mainEntity.getName())) {
+        if (mainEntity != null && getEntityToInvokeOnTypeId() == mainEntity.getTypeId()) {
             mainEntity.kill();
         }
-        else if (secondaryEntity != null && getEntityToInvokeOnName().equals(secondaryEntity.getName())) {
+        else if (secondaryEntity != null && getEntityToInvokeOnTypeId() == secondaryEntity.getTypeId()) {
             secondaryEntity.kill();
         }
     }
@@ -42,7 +42,7 @@ public class KillAction extends Action {
     public void invoke(Entity entity) {
         World worldContext = getWorldContext();
 
-        if(entity != null && getEntityToInvokeOnName().equals(entity.getName())) {
+        if(entity != null && getEntityToInvokeOnTypeId() == entity.getTypeId()) {
             worldContext.entityManager.killEntity(entity);
         }
     }
@@ -53,7 +53,7 @@ public class KillAction extends Action {
         return new KillAction(
                 worldContext,
                 getMainEntityContext(),
-                getSecondaryEntity(),
+                copySecondaryEntity(worldContext),
                 getEntityToInvokeOnName()
         );
     }
@@ -92,7 +92,7 @@ public class ReplaceAction extends Action {
         return new ReplaceAction(
                 worldContext,
                 getMainEntityContext(),
-                getSecondaryEntity(),
+                copySecondaryEntity(worldContext),
                 getEntityToInvokeOnName(),
                 entityToCreate,
                 Mode.getModeString(mode)
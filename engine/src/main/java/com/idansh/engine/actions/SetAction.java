@@ -0,0 +1,149 @@
+package com.idansh.engine.actions;
+
+import com.idansh.dto.action.ActionDTO;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.property.instance.Property;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.world.World;
+
+import java.util.function.Consumer;
+
+/**
+ * Sets the value of a property (of any type) of an entity.
+ */
+public class SetAction extends Action {
+    private final String propertyName;
+    private Expression amount;
+    private final int propertySlot;     // Slot of the property in the entity to invoke on, resolved from the property's name
+    private FloatEvaluator numericAmountEvaluator;    // Set only when a numeric value is set to a numeric property, null otherwise
+    private boolean isAmountOfMainEntity;             // True if the amount reads only properties of the main entity
+
+
+    /**
+     * @param worldContext Reference to the simulated world in which the action is preformed.
+     * @param mainEntityContext Name entity on which the action will be preformed.
+     * @param entityName Name of the entity whose property value will be changed.
+     * @param propertyName Name of the property whose value will be changed.
+     * @param amount Amount to be added to the property's value.
+     */
+    public SetAction(World worldContext, String mainEntityContext, String entityName, String propertyName, Expression amount) {
+        super(worldContext, mainEntityContext, entityName);
+        this.propertyName = propertyName;
+        this.amount = amount;
+        this.propertySlot = getEntityToInvokeOnPropertySlot(propertyName);
+        this.numericAmountEvaluator = compileNumericAmount();
+        this.isAmountOfMainEntity = isOfMainEntityOnly(amount);
+    }
+
+
+    /**
+     * @param worldContext reference to the simulated world in which the action is preformed.
+     * @param mainEntityContext name entity on which the action will be preformed.
+     * @param entityName Name of the entity whose property value will be changed.
+     * @param propertyName name of the property whose value will be changed.
+     * @param amount the amount to be added to the property's value.
+     */
+    public SetAction(World worldContext, String mainEntityContext, SecondaryEntity secondaryEntity, String entityName, String propertyName, Expression amount) {
+        super(worldContext, mainEntityContext, secondaryEntity, entityName);
+        this.propertyName = propertyName;
+        this.amount = amount;
+        this.propertySlot = getEntityToInvokeOnPropertySlot(propertyName);
+        this.numericAmountEvaluator = compileNumericAmount();
+        this.isAmountOfMainEntity = isOfMainEntityOnly(amount);
+    }
+
+
+    /**
+     * Compiles the amount into a numeric evaluator if a number is set to a numeric property,
+     * an integer property can only be set to an integer amount.
+     * @return the numeric evaluator of the amount, or null if the value should be set as is.
+     */
+    private FloatEvaluator compileNumericAmount() {
+        PropertyType propertyType = getWorldContext().entityManager.getEntityFactory(getEntityToInvokeOnName()).getPropertyFactory(propertyName).getType();
+        PropertyType amountType = amount.getType();
+
+        if (PropertyType.FLOAT.equals(propertyType) && amountType.isNumeric()
+                || PropertyType.INTEGER.equals(propertyType) && PropertyType.INTEGER.equals(amountType))
+            return ExpressionCompiler.compileFloat(amount);
+
+        return null;
+    }
+
+
+    @Override
+    public void invoke(Entity mainEntity, Entity secondaryEntity) {
+        Entity entityToInvokeOn = getEntityToInvokeOn(mainEntity, secondaryEntity);
+        Property property = entityToInvokeOn.getPropertyBySlot(propertySlot);
+
+        if (numericAmountEvaluator != null)
+            property.setNumericValue(numericAmountEvaluator.evaluate(mainEntity, secondaryEntity));
+        else
+            property.setValue(amount.getValue(mainEntity, secondaryEntity));
+    }
+
+
+    @Override
+    public Consumer<Entity> bindMainEntity(Entity mainEntity) {
+        if (!isAmountOfMainEntity || !canBindMainEntityValues())
+            return super.bindMainEntity(mainEntity);
+
+        if (numericAmountEvaluator != null) {
+            float boundAmount = numericAmountEvaluator.evaluate(mainEntity, null);
+            return secondaryEntity -> getEntityToInvokeOn(mainEntity, secondaryEntity).getPropertyBySlot(propertySlot).setNumericValue(boundAmount);
+        }
+
+        Object boundAmount = amount.getValue(mainEntity, null);
+        return secondaryEntity -> getEntityToInvokeOn(mainEntity, secondaryEntity).getPropertyBySlot(propertySlot).setValue(boundAmount);
+    }
+
+
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        amount = amount.fold(activeEnvironmentVariables);
+        numericAmountEvaluator = compileNumericAmount();
+        isAmountOfMainEntity = isOfMainEntityOnly(amount);
+    }
+
+
+    @Override
+    public void invoke(Entity entity) {
+        invoke(entity, null);
+    }
+
+
+    @Override
+    public Action copy(World worldContext) {
+        return new SetAction(
+                worldContext,
+                getMainEntityContext(),
+                copySecondaryEntity(worldContext),
+                getEntityToInvokeOnName(),
+                propertyName,
+                amount
+        );
+    }
+
+
+    @Override
+    public ActionDTO getActionDTO() {
+        ActionDTO retActionDTO = getBasicActionDTO();
+
+        retActionDTO.addArgument("Entity Name", getEntityToInvokeOnName());
+        retActionDTO.addArgument("Property Name", propertyName);
+        retActionDTO.addArgument("Value", amount.getAsString());
+
+        return retActionDTO;
+    }
+
+
+    @Override
+    public String getActionTypeString() {
+        return "set";
+    }
+}
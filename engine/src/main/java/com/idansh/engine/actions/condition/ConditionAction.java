@@ -3,14 +3,16 @@ package com.idansh.engine.actions.condition;
 import com.idansh.engine.actions.Action;
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
 import com.idansh.engine.world.World;
 
+import java.util.Set;
+
 
 public abstract class ConditionAction extends Action {
     private final ThenOrElseActions thenActions;
     private final ThenOrElseActions elseActions;
     private final boolean isMainCondition;      // Whether this condition action has "then" and "else" actions blocks, which are set only on the outermost condition action.
-    private boolean isActivated;
 
 
     public ConditionAction(World worldContext, String mainEntityContext, SecondaryEntity secondaryEntity, String entityToInvokeOn, ThenOrElseActions thenActions, ThenOrElseActions elseActions, boolean isMainCondition) {
@@ -18,7 +20,6 @@ public abstract class ConditionAction extends Action {
         this.thenActions = thenActions;
         this.elseActions = elseActions;
         this.isMainCondition = isMainCondition;
-        this.isActivated = false;
     }
 
     public ConditionAction(World worldContext, String mainEntityContext, String entityName, ThenOrElseActions thenActions, ThenOrElseActions elseActions, boolean isMainCondition) {
@@ -26,7 +27,50 @@ public abstract class ConditionAction extends Action {
         this.thenActions = thenActions;
         this.elseActions = elseActions;
         this.isMainCondition = isMainCondition;
-        this.isActivated = false;
+    }
+
+
+    /**
+     * Evaluates the condition without invoking any of its actions.
+     * Does not change the state of the condition action, so it can be evaluated from multiple threads.
+     * @return true if the condition is met on the received entity instances, false otherwise.
+     */
+    public abstract boolean evaluate(Entity mainEntity, Entity secondaryEntity);
+
+
+    /**
+     * Evaluates the condition without invoking any of its actions.
+     * Does not change the state of the condition action, so it can be evaluated from multiple threads.
+     * @return true if the condition is met on the received entity instance, false otherwise.
+     */
+    public abstract boolean evaluate(Entity entity);
+
+
+    /**
+     * Adds the slots of the properties of an entity type that the condition reads into the received set,
+     * used to know when a cached result of the condition is outdated.
+     * Extending conditions that can tell which properties they read should override this.
+     * @param entityTypeId the type ID of the entity instance the condition is evaluated on.
+     * @return true if the result of the condition depends only on those properties, for the length of a tick,
+     *         false if it can change otherwise and cannot be cached.
+     */
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        return false;
+    }
+
+
+    /**
+     * Folds the "then" and "else" actions sets,
+     * extending conditions should also fold their own expressions.
+     */
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        if (thenActions != null)
+            thenActions.fold(activeEnvironmentVariables);
+
+        if (elseActions != null)
+            elseActions.fold(activeEnvironmentVariables);
     }
 
 
@@ -63,14 +107,6 @@ public abstract class ConditionAction extends Action {
         return isMainCondition;
     }
 
-    public boolean isActivated() {
-        return isActivated;
-    }
-
-    public void setActivated(boolean activated) {
-        isActivated = activated;
-    }
-
     public ThenOrElseActions getThenActions() {
         return thenActions;
     }
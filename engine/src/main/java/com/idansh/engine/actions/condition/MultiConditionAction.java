@@ -4,10 +4,12 @@ import com.idansh.dto.action.ActionDTO;
 import com.idansh.engine.actions.Action;
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
 import com.idansh.engine.world.World;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Defines a single logical OR/AND condition that will be invoked on multiple inner conditions.
@@ -78,76 +80,97 @@ public class MultiConditionAction extends ConditionAction{
 
 
     @Override
-    public void invoke(Entity mainEntity, Entity secondaryEntity) {
-        List<Boolean> innerConditionsResults = new ArrayList<>();
+    public boolean evaluate(Entity mainEntity, Entity secondaryEntity) {
+        boolean isAnyTrue = false, isAnyFalse = false;
 
         if(innerConditions.size() == 0)
             throw new RuntimeException("no inner conditions were set inside multi-condition action!");
 
+        // Evaluate each inner condition, and keep whether any of them resulted as "true" or as "false"
         for (ConditionAction conditionAction : innerConditions) {
-            // Try to activate the inner condition
-            conditionAction.invoke(mainEntity, secondaryEntity);
-
-            // Check if the inner condition was activated, add the result to the list
-            if (conditionAction.isActivated()) {
-                innerConditionsResults.add(true);
-
-                // Reset condition activation for future use
-                conditionAction.setActivated(false);
-            } else
-                innerConditionsResults.add(false);
+            if (conditionAction.evaluate(mainEntity, secondaryEntity))
+                isAnyTrue = true;
+            else
+                isAnyFalse = true;
         }
 
-        setActivated(innerConditionsResults);
-
-        // Invoke "then" actions if both the multi-condition was activated and the condition is a main condition, otherwise invoke "else" actions
-        invokeActionsSet(mainEntity, secondaryEntity, isActivated() && isMainCondition());
+        return getLogicResult(isAnyTrue, isAnyFalse);
     }
 
     @Override
-    public void invoke(Entity entity) {
-        List<Boolean> innerConditionsResults = new ArrayList<>();
+    public boolean evaluate(Entity entity) {
+        boolean isAnyTrue = false, isAnyFalse = false;
 
         if(innerConditions.size() == 0)
             throw new RuntimeException("no inner conditions were set inside multi-condition action!");
 
+        // Evaluate each inner condition, and keep whether any of them resulted as "true" or as "false"
         for (ConditionAction conditionAction : innerConditions) {
-            // Try to activate the inner condition
-            conditionAction.invoke(entity);
+            if (conditionAction.evaluate(entity))
+                isAnyTrue = true;
+            else
+                isAnyFalse = true;
+        }
+
+        return getLogicResult(isAnyTrue, isAnyFalse);
+    }
 
-            // Check if the inner condition was activated, add the result to the list
-            if (conditionAction.isActivated()) {
-                innerConditionsResults.add(true);
 
-                // Reset condition activation for future use
-                conditionAction.setActivated(false);
-            } else
-                innerConditionsResults.add(false);
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        for (ConditionAction conditionAction : innerConditions) {
+            if (!conditionAction.collectReadProperties(entityTypeId, propertySlots))
+                return false;
         }
 
-        setActivated(innerConditionsResults);
+        return true;
+    }
+
+
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        innerConditions.forEach(
+                conditionAction -> conditionAction.fold(activeEnvironmentVariables)
+        );
+    }
+
+
+    @Override
+    public void invoke(Entity mainEntity, Entity secondaryEntity) {
+        boolean res = evaluate(mainEntity, secondaryEntity);
 
         // Invoke "then" actions if both the multi-condition was activated and the condition is a main condition, otherwise invoke "else" actions
-        invokeActionsSet(entity, isActivated() && isMainCondition());
+        invokeActionsSet(mainEntity, secondaryEntity, res && isMainCondition());
+    }
+
+    @Override
+    public void invoke(Entity entity) {
+        boolean res = evaluate(entity);
+
+        // Invoke "then" actions if both the multi-condition was activated and the condition is a main condition, otherwise invoke "else" actions
+        invokeActionsSet(entity, res && isMainCondition());
     }
 
 
     /**
      * Check if the condition is activated.
-     * @param innerConditionsResults Boolean results of inner conditions.
+     * @param isAnyTrue whether at least one of the inner conditions resulted as "true".
+     * @param isAnyFalse whether at least one of the inner conditions resulted as "false".
      */
-    private void setActivated(List<Boolean> innerConditionsResults) {
+    private boolean getLogicResult(boolean isAnyTrue, boolean isAnyFalse) {
         switch (logicOp) {
             case OR:
                 // Check if at least one of the inner conditions resulted as "true", if so activate this condition
-                setActivated(innerConditionsResults.contains(true));
-                break;
+                return isAnyTrue;
 
             case AND:
                 // Check if at least one of the inner conditions resulted as "false",
                 // if so deactivate this condition, otherwise activate it
-                setActivated(!innerConditionsResults.contains(false));
-                break;
+                return !isAnyFalse;
+
+            default:
+                throw new IllegalArgumentException("invalid logic operand \"" + logicOp + "\" received!");
         }
     }
 
@@ -166,7 +189,7 @@ public class MultiConditionAction extends ConditionAction{
                 new MultiConditionAction(
                         worldContext,
                         getMainEntityContext(),
-                        getSecondaryEntity(),
+                        copySecondaryEntity(worldContext),
                         getEntityToInvokeOnName(),
                         LogicOp.getLogicOpString(logicOp),
                         thenActions,
@@ -4,19 +4,22 @@ import com.idansh.dto.action.ActionDTO;
 import com.idansh.engine.actions.Action;
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
 import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
 import com.idansh.engine.property.instance.PropertyType;
 import com.idansh.engine.world.World;
 
-import java.awt.*;
-
 /**
  * Defines a condition that on invoke checks the distance between two entities.
  * If the distance is within the defined range, the condition will invoke all actions defined within it on the main entity defined.
  */
 public class ProximityConditionAction extends ConditionAction {
     private final String targetEntityName;          // Will be searched in the population within the proximity of the source entity
-    private final Expression proximityDepth;    // The distance (location radius) of which the target entity will be searched from the source entity
+    private final int targetEntityTypeId;           // Type ID of the target entity, resolved from its name
+    private Expression proximityDepth;    // The distance (location radius) of which the target entity will be searched from the source entity
+    private FloatEvaluator proximityDepthEvaluator;
 
 
     public ProximityConditionAction(World worldContext, String mainEntityContext, SecondaryEntity secondaryEntity, String sourceEntity, String targetEntityName, ThenOrElseActions thenActions, Expression proximityDepth) {
@@ -26,7 +29,9 @@ public class ProximityConditionAction extends ConditionAction {
             throw new IllegalArgumentException("Cannot create proximity action with an non-numeric expression, got expression of type \"" + proximityDepth.getType() + "\".");
 
         this.targetEntityName = targetEntityName;
+        this.targetEntityTypeId = worldContext.entityManager.getEntityFactory(targetEntityName).getTypeId();
         this.proximityDepth = proximityDepth;
+        this.proximityDepthEvaluator = ExpressionCompiler.compileFloat(proximityDepth);
     }
 
     public ProximityConditionAction(World worldContext, String mainEntityContext, String sourceEntity, String targetEntityName, ThenOrElseActions thenActions, Expression proximityDepth) {
@@ -36,7 +41,9 @@ public class ProximityConditionAction extends ConditionAction {
             throw new IllegalArgumentException("Cannot create proximity action with an non-numeric expression, got expression of type \"" + proximityDepth.getType() + "\".");
 
         this.targetEntityName = targetEntityName;
+        this.targetEntityTypeId = worldContext.entityManager.getEntityFactory(targetEntityName).getTypeId();
         this.proximityDepth = proximityDepth;
+        this.proximityDepthEvaluator = ExpressionCompiler.compileFloat(proximityDepth);
     }
 
 
@@ -46,33 +53,34 @@ public class ProximityConditionAction extends ConditionAction {
     }
 
 
+    @Override
+    public boolean evaluate(Entity mainEntity, Entity secondaryEntity) {
+        int depth = (int) proximityDepthEvaluator.evaluate(mainEntity, secondaryEntity);
+        return getWorldContext().entityManager.isEntityOfTypeNear(mainEntity.getGridLocation(), targetEntityTypeId, depth);
+    }
+
+
+    @Override
+    public boolean evaluate(Entity entity) {
+        return evaluate(entity, null);
+    }
+
+
     @Override
     public void invoke(Entity mainEntity, Entity secondaryEntity) {
-        int depth;
-        Object val = proximityDepth.getValue(mainEntity, secondaryEntity);
-
-        if (val instanceof Integer)
-            depth = (Integer) proximityDepth.getValue(mainEntity, secondaryEntity);
-        else if (val instanceof Float)
-            depth = ((Float) proximityDepth.getValue(mainEntity, secondaryEntity)).intValue();
-        else
-            throw new RuntimeException("Failed to invoke proximity, depth expression is not of a numeric type...");
-
-        Point entityLocation = mainEntity.getGridLocation();
-
-        for (int i = -depth; i <= depth; i++) {
-            for (int j = -depth; j <= depth; j++) {
-                int x = getWorldContext().entityManager.getAxisLocation(getWorldContext().entityManager.getNofGridRows(), entityLocation.x + i);
-                int y = getWorldContext().entityManager.getAxisLocation(getWorldContext().entityManager.getNofGridColumns(), entityLocation.y + j);
-
-                // Check if current entity is if the target entity, if so activate the actions set and quit
-                Entity currEntity = getWorldContext().entityManager.getEntityFromGrid(new Point(x, y));
-                if (currEntity != null && currEntity.getName().equals(targetEntityName)) {
-                    invokeActionsSet(mainEntity, currEntity, true);
-                    return;
-                }
-            }
-        }
+        Entity targetEntity = findTargetEntity(mainEntity, secondaryEntity);
+
+        // If a target entity was found in the proximity, activate the actions set
+        if (targetEntity != null)
+            invokeActionsSet(mainEntity, targetEntity, true);
+    }
+
+
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        proximityDepth = proximityDepth.fold(activeEnvironmentVariables);
+        proximityDepthEvaluator = ExpressionCompiler.compileFloat(proximityDepth);
     }
 
 
@@ -82,6 +90,17 @@ public class ProximityConditionAction extends ConditionAction {
     }
 
 
+    /**
+     * Searches the grid around the main entity for an instance of the target entity, using the grid's spatial index.
+     * @return the nearest target entity instance found within the proximity depth, or null if none was found.
+     */
+    private Entity findTargetEntity(Entity mainEntity, Entity secondaryEntity) {
+        int depth = (int) proximityDepthEvaluator.evaluate(mainEntity, secondaryEntity);
+
+        return getWorldContext().entityManager.findEntityOfTypeNear(mainEntity.getGridLocation(), targetEntityTypeId, depth);
+    }
+
+
     @Override
     public ActionDTO getActionDTO() {
         ActionDTO retActionDTO = getBasicActionDTO();
@@ -102,7 +121,7 @@ public class ProximityConditionAction extends ConditionAction {
         return new ProximityConditionAction(
                 worldContext,
                 getMainEntityContext(),
-                getSecondaryEntity(),
+                copySecondaryEntity(worldContext),
                 getEntityToInvokeOnName(),
                 targetEntityName,
                 thenActions,
@@ -0,0 +1,243 @@
+package com.idansh.engine.actions.condition;
+
+import com.idansh.dto.action.ActionDTO;
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.BooleanEvaluator;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.world.World;
+
+import java.util.Set;
+
+
+/**
+ * Defines a single condition, defined by two Expressions which will be compared by a given Operator.
+ * When the condition is invoked, the comparison will be performed.
+ * When the condition is invoked:
+ *      If resulted "true", a collection of "then" actions will be invoked,
+ *      otherwise (resulted "false"), a collection of "else" actions will be invoked.
+ */
+public class SingleConditionAction extends ConditionAction{
+    /**
+     * The kind of values compared by the condition, decided by the types of the expressions when the condition is created.
+     */
+    private enum ComparisonType {
+        NUMERIC, BOOLEAN, STRING
+    }
+
+    private Expression functionExpression;
+    private final ConditionOperator operator;
+    private Expression expression;
+    private ComparisonType comparisonType;
+    private FloatEvaluator numericFunctionExpression, numericExpression;   // Set only for numeric comparisons
+    private BooleanEvaluator booleanFunctionExpression, booleanExpression; // Set only for boolean comparisons
+
+    /**
+     * @param worldContext  The simulated world in which the action is defined.
+     * @param mainEntityContext Name of the main entity on which the condition is set.
+     * @param secondaryEntity Name of the secondary entity on which the condition is set.
+     * @param operator      comparison operator for the condition.
+     *                      possible values:  = (equal) / != (not equal) / bt (greater than) / lt (less than)
+     * @param value         a number that will be compared to the property's value
+     */
+    public SingleConditionAction(World worldContext, String mainEntityContext, SecondaryEntity secondaryEntity, String entityName, Expression functionExpression, String operator, Expression value, ThenOrElseActions thenActions, ThenOrElseActions elseActions, boolean isMainCondition) {
+        super(worldContext, mainEntityContext, secondaryEntity, entityName, thenActions, elseActions, isMainCondition);
+        this.functionExpression = functionExpression;
+        this.expression = value;
+        this.operator = ConditionOperator.getConditionOperator(operator); // Try to convert to ConditionOperator, if fails throw exception
+        this.comparisonType = compileComparison();
+    }
+
+    /**
+     * @param worldContext  The simulated world in which the action is defined.
+     * @param mainEntityContext Name of the main entity on which the condition is set.
+     * @param operator      comparison operator for the condition.
+     *                      possible values:  = (equal) / != (not equal) / bt (greater than) / lt (less than)
+     * @param value         a number that will be compared to the property's value
+     */
+    public SingleConditionAction(World worldContext, String mainEntityContext, String entityName, Expression functionExpression, String operator, Expression value, ThenOrElseActions thenActions, ThenOrElseActions elseActions, boolean isMainCondition) {
+        super(worldContext, mainEntityContext, entityName, thenActions, elseActions, isMainCondition);
+        this.functionExpression = functionExpression;
+        this.expression = value;
+        this.operator = ConditionOperator.getConditionOperator(operator); // Try to convert to ConditionOperator, if fails throw exception
+        this.comparisonType = compileComparison();
+    }
+
+
+    @Override
+    public String getActionTypeString() {
+        return "condition";
+    }
+
+
+    /**
+     * Checks that the expressions can be compared with the condition's operator,
+     * and compiles them into evaluators of the compared type.
+     * @return the kind of values compared by the condition.
+     * @throws IllegalArgumentException in case the expressions cannot be compared.
+     */
+    private ComparisonType compileComparison() {
+        PropertyType functionExpressionType = functionExpression.getType();
+        PropertyType expressionType = expression.getType();
+
+        if (functionExpressionType.isNumeric() && expressionType.isNumeric()) {
+            numericFunctionExpression = ExpressionCompiler.compileFloat(functionExpression);
+            numericExpression = ExpressionCompiler.compileFloat(expression);
+            return ComparisonType.NUMERIC;
+        }
+
+        if (operator.equals(ConditionOperator.LESS_THAN) || operator.equals(ConditionOperator.MORE_THAN))
+            throw new IllegalArgumentException("can only perform less than or more than on numeric values! " +
+                    "got types \"" + functionExpressionType + "\" and \"" + expressionType + "\".");
+
+        if (!functionExpressionType.equals(expressionType))
+            throw new IllegalArgumentException("can only check if values are equal on values" +
+                    " of the same type! got types \"" + functionExpressionType + "\" and \"" + expressionType + "\".");
+
+        if (PropertyType.BOOLEAN.equals(functionExpressionType)) {
+            booleanFunctionExpression = ExpressionCompiler.compileBoolean(functionExpression);
+            booleanExpression = ExpressionCompiler.compileBoolean(expression);
+            return ComparisonType.BOOLEAN;
+        }
+
+        return ComparisonType.STRING;
+    }
+
+
+    @Override
+    public boolean evaluate(Entity mainEntity, Entity secondaryEntity) {
+        switch (comparisonType) {
+            case NUMERIC:
+                return compare(numericFunctionExpression.evaluate(mainEntity, secondaryEntity), numericExpression.evaluate(mainEntity, secondaryEntity));
+
+            case BOOLEAN:
+                return compare(booleanFunctionExpression.evaluate(mainEntity, secondaryEntity) == booleanExpression.evaluate(mainEntity, secondaryEntity));
+
+            case STRING:
+                return compare(functionExpression.getValue(mainEntity, secondaryEntity).equals(expression.getValue(mainEntity, secondaryEntity)));
+
+            default:
+                throw new IllegalArgumentException("Unhandled comparison type received \"" + comparisonType + "\" in single condition action.");
+        }
+    }
+
+
+    @Override
+    public boolean evaluate(Entity entityInstance) {
+        return evaluate(entityInstance, null);
+    }
+
+
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        return functionExpression.collectReadProperties(entityTypeId, propertySlots)
+                && expression.collectReadProperties(entityTypeId, propertySlots);
+    }
+
+
+    @Override
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        super.fold(activeEnvironmentVariables);
+        functionExpression = functionExpression.fold(activeEnvironmentVariables);
+        expression = expression.fold(activeEnvironmentVariables);
+        comparisonType = compileComparison();
+    }
+
+
+    @Override
+    public void invoke(Entity mainEntity, Entity secondaryEntity) {
+        boolean res = evaluate(mainEntity, secondaryEntity);
+
+        if (isMainCondition())
+            invokeActionsSet(mainEntity, secondaryEntity, res);
+    }
+
+
+    @Override
+    public void invoke(Entity entityInstance) {
+        boolean res = evaluate(entityInstance);
+
+        if (isMainCondition())
+            invokeActionsSet(entityInstance, res);
+    }
+
+
+    /**
+     * Compares the property's numeric value with the expression's numeric value, using the condition's operator.
+     * @return the result of the comparison.
+     */
+    private boolean compare(float propertyValue, float expressionValue) {
+        switch (operator) {
+            case EQUAL:
+                return propertyValue == expressionValue;
+
+            case NOT_EQUAL:
+                return propertyValue != expressionValue;
+
+            case LESS_THAN:
+                // Check if the property's value is less than the expression's value
+                return propertyValue < expressionValue;
+
+            case MORE_THAN:
+                // Check if the property's value is more than the expression's value
+                return propertyValue > expressionValue;
+
+            default:
+                throw new IllegalArgumentException("Unhandled condition operator received \"" + operator + "\" in single condition action.");
+        }
+    }
+
+
+    /**
+     * Applies the condition's equality operator on the result of an equality check of the values.
+     * @return the result of the comparison.
+     */
+    private boolean compare(boolean isEqual) {
+        return operator.equals(ConditionOperator.NOT_EQUAL) != isEqual;
+    }
+
+
+    @Override
+    public Action copy(World worldContext) {
+        ThenOrElseActions thenActions = null, elseActions = null;
+
+        // Single condition can be nested inside a multi condition, and not have "Then" or "Else" actions
+        if (isMainCondition()) {
+            thenActions = new ThenOrElseActions(getThenActions(), worldContext);
+            elseActions = new ThenOrElseActions(getElseActions(), worldContext);
+        }
+
+        return new SingleConditionAction(
+                worldContext,
+                getMainEntityContext(),
+                copySecondaryEntity(worldContext),
+                getEntityToInvokeOnName(),
+                functionExpression,
+                ConditionOperator.getConditionOperatorString(operator),
+                expression,
+                thenActions,
+                elseActions,
+                isMainCondition()
+        );
+    }
+
+
+    @Override
+    public ActionDTO getActionDTO() {
+        ActionDTO retActionDTO = getBasicActionDTO();
+
+        retActionDTO.addArgument("Entity Name", getEntityToInvokeOnName());
+        retActionDTO.addArgument("Property", functionExpression.getAsString());
+        retActionDTO.addArgument("Operator", ConditionOperator.getConditionOperatorString(operator));
+
+        retActionDTO.addExtraInfo("Amount of 'then' Actions", Integer.valueOf(getThenActions().getActionsToInvoke().size()).toString());
+        retActionDTO.addExtraInfo("Amount of 'else' Actions", Integer.valueOf(getElseActions().getActionsToInvoke().size()).toString());
+
+        return retActionDTO;
+    }
+}
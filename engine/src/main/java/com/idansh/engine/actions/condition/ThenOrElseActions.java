@@ -2,6 +2,7 @@ package com.idansh.engine.actions.condition;
 
 import com.idansh.engine.actions.Action;
 import com.idansh.engine.entity.Entity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
 import com.idansh.engine.world.World;
 
 import java.util.ArrayList;
@@ -68,6 +69,16 @@ public class ThenOrElseActions {
     }
 
 
+    /**
+     * Folds the constant parts of the expressions of each action in the Then/Else set of actions.
+     */
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        actionsToInvoke.forEach(
+                action -> action.fold(activeEnvironmentVariables)
+        );
+    }
+
+
     public List<Action> getActionsToInvoke() {
         return actionsToInvoke;
     }
@@ -0,0 +1,135 @@
+package com.idansh.engine.entity;
+
+import java.util.Arrays;
+
+/**
+ * Immutable buckets of the amounts of an entity on consecutive ticks, each keeping the min, max and sum of its amounts.
+ * Bucket i holds the ticks from i * width, all the buckets are full except maybe the last one.
+ * Appending amounts creates new buckets, and when there are more than the max amount of buckets,
+ * every two adjacent buckets are merged into one of double the width.
+ */
+public class AmountBuckets {
+    private final int width;        // Amount of ticks of a full bucket
+    private final int size;         // Amount of buckets
+    private final int[] counts;     // Amount of ticks in each bucket
+    private final int[] mins;
+    private final int[] maxs;
+    private final long[] sums;
+
+
+    public AmountBuckets(int width, int size, int[] counts, int[] mins, int[] maxs, long[] sums) {
+        if (width < 1 || size < 0 || counts.length < size || mins.length < size || maxs.length < size || sums.length < size)
+            throw new IllegalArgumentException("Invalid amount buckets of width " + width + " and size " + size + ".");
+
+        this.width = width;
+        this.size = size;
+        this.counts = counts;
+        this.mins = mins;
+        this.maxs = maxs;
+        this.sums = sums;
+    }
+
+
+    /**
+     * Creates empty buckets of the given width.
+     */
+    public AmountBuckets(int width) {
+        this(width, 0, new int[0], new int[0], new int[0], new long[0]);
+    }
+
+
+    /**
+     * Creates new buckets with the given amounts added after the ticks of these buckets, these buckets are not changed.
+     * @param amounts the amounts of the ticks that follow the ticks of these buckets.
+     * @param maxSize the max amount of buckets, adjacent buckets are merged until there are no more than it.
+     */
+    AmountBuckets append(int[] amounts, int maxSize) {
+        int capacity = size + amounts.length / width + 1;
+        int[] newCounts = Arrays.copyOf(counts, capacity);
+        int[] newMins = Arrays.copyOf(mins, capacity);
+        int[] newMaxs = Arrays.copyOf(maxs, capacity);
+        long[] newSums = Arrays.copyOf(sums, capacity);
+        int newSize = size;
+
+        for (int amount : amounts) {
+            // Start a new bucket if the last one is full
+            if (newSize == 0 || newCounts[newSize - 1] == width) {
+                newCounts[newSize] = 0;
+                newSums[newSize] = 0;
+                newMins[newSize] = amount;
+                newMaxs[newSize] = amount;
+                newSize++;
+            }
+
+            int bucket = newSize - 1;
+            newCounts[bucket]++;
+            newMins[bucket] = Math.min(newMins[bucket], amount);
+            newMaxs[bucket] = Math.max(newMaxs[bucket], amount);
+            newSums[bucket] += amount;
+        }
+
+        int newWidth = width;
+        while (newSize > maxSize) {
+            // Merge every two adjacent buckets, in place since the new arrays are not shared yet
+            int mergedSize = (newSize + 1) / 2;
+            for (int bucket = 0; bucket < mergedSize; bucket++) {
+                int first = bucket * 2, second = first + 1;
+                newCounts[bucket] = newCounts[first];
+                newMins[bucket] = newMins[first];
+                newMaxs[bucket] = newMaxs[first];
+                newSums[bucket] = newSums[first];
+
+                if (second < newSize) {
+                    newCounts[bucket] += newCounts[second];
+                    newMins[bucket] = Math.min(newMins[bucket], newMins[second]);
+                    newMaxs[bucket] = Math.max(newMaxs[bucket], newMaxs[second]);
+                    newSums[bucket] += newSums[second];
+                }
+            }
+            newSize = mergedSize;
+            newWidth *= 2;
+        }
+
+        return new AmountBuckets(newWidth, newSize, newCounts, newMins, newMaxs, newSums);
+    }
+
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the amount of ticks in all the buckets.
+     */
+    public int getNofTicks() {
+        return size == 0 ? 0 : (size - 1) * width + counts[size - 1];
+    }
+
+    public int getFirstTick(int bucket) {
+        return bucket * width;
+    }
+
+    public int getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    public int getMin(int bucket) {
+        return mins[bucket];
+    }
+
+    public int getMax(int bucket) {
+        return maxs[bucket];
+    }
+
+    public long getSum(int bucket) {
+        return sums[bucket];
+    }
+
+    public double getMean(int bucket) {
+        return (double) sums[bucket] / counts[bucket];
+    }
+}
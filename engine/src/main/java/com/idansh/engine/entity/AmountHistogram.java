@@ -0,0 +1,78 @@
+package com.idansh.engine.entity;
+
+import java.util.Arrays;
+
+/**
+ * The amount of instances of an entity in the population on each tick, in a bounded amount of memory however long the simulation runs.
+ * The amounts of the recent ticks are kept at full resolution as primitive ints, in chunks of CHUNK_SIZE ticks.
+ * When there are more than MAX_FULL_CHUNKS full chunks, the oldest one is folded into buckets that keep the min, max and mean
+ * of the amounts of consecutive ticks, and the buckets are merged when there are more than MAX_BUCKETS of them (see AmountBuckets).
+ * Nothing that was added is overwritten (full chunks and buckets are replaced by new arrays), so a view of the histogram
+ * stays the same while amounts keep being added, and can be read from other threads once it was safely published (see WorldSnapshot).
+ */
+public class AmountHistogram {
+    static final int CHUNK_SIZE = 1024;
+    static final int MAX_FULL_CHUNKS = 8;
+    static final int MAX_BUCKETS = 2048;
+    private static final int INITIAL_BUCKET_WIDTH = 16;
+
+    private AmountBuckets buckets;      // The ticks before the full chunks
+    private int[][] fullChunks;         // The full chunks of the recent ticks, oldest first
+    private int[] openChunk;            // The chunk the next amounts are added to
+    private int openChunkSize;
+
+    public AmountHistogram() {
+        clear();
+    }
+
+
+    public void add(int amount) {
+        openChunk[openChunkSize++] = amount;
+
+        if (openChunkSize == CHUNK_SIZE) {
+            int[][] newFullChunks = Arrays.copyOf(fullChunks, fullChunks.length + 1);
+            newFullChunks[fullChunks.length] = openChunk;
+
+            // Fold the oldest chunk into the buckets, if there are too many chunks at full resolution
+            if (newFullChunks.length > MAX_FULL_CHUNKS) {
+                buckets = buckets.append(newFullChunks[0], MAX_BUCKETS);
+                newFullChunks = Arrays.copyOfRange(newFullChunks, 1, newFullChunks.length);
+            }
+
+            fullChunks = newFullChunks;
+            openChunk = new int[CHUNK_SIZE];
+            openChunkSize = 0;
+        }
+    }
+
+
+    /**
+     * Removes all the amounts, views that were taken before keep their amounts.
+     */
+    public void clear() {
+        buckets = new AmountBuckets(INITIAL_BUCKET_WIDTH);
+        fullChunks = new int[0][];
+        openChunk = new int[CHUNK_SIZE];
+        openChunkSize = 0;
+    }
+
+
+    /**
+     * Replaces the amounts with the amounts of the given view, e.g. of a checkpoint.
+     */
+    public void restore(AmountBuckets buckets, int[] recentAmounts) {
+        clear();
+        this.buckets = buckets;
+        for (int amount : recentAmounts) {
+            add(amount);
+        }
+    }
+
+
+    /**
+     * @return an immutable view of the amounts added so far, without copying them.
+     */
+    public AmountHistogramView getView() {
+        return new AmountHistogramView(buckets, fullChunks, openChunk, openChunkSize);
+    }
+}
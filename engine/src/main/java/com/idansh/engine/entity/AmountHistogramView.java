@@ -0,0 +1,126 @@
+package com.idansh.engine.entity;
+
+import com.idansh.dto.entity.AmountPointDTO;
+import com.idansh.engine.helpers.Downsampling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable view of the amounts of an entity on each tick, taken from an AmountHistogram.
+ * The older ticks are only kept as buckets of consecutive ticks, the recent ticks are kept at full resolution.
+ */
+public class AmountHistogramView {
+    private final AmountBuckets buckets;
+    private final int[][] fullChunks;
+    private final int[] openChunk;
+    private final int openChunkSize;      // Only the amounts before it are part of the view
+
+
+    AmountHistogramView(AmountBuckets buckets, int[][] fullChunks, int[] openChunk, int openChunkSize) {
+        this.buckets = buckets;
+        this.fullChunks = fullChunks;
+        this.openChunk = openChunk;
+        this.openChunkSize = openChunkSize;
+    }
+
+
+    /**
+     * @return the amount of ticks the histogram has amounts for.
+     */
+    public int getNofTicks() {
+        return getFirstRecentTick() + fullChunks.length * AmountHistogram.CHUNK_SIZE + openChunkSize;
+    }
+
+    /**
+     * @return the first tick that has its own amount, the ticks before it are only kept in the buckets.
+     */
+    public int getFirstRecentTick() {
+        return buckets.getNofTicks();
+    }
+
+    public AmountBuckets getBuckets() {
+        return buckets;
+    }
+
+
+    /**
+     * @return a copy of the amounts of the ticks from the first recent tick.
+     */
+    public int[] getRecentAmounts() {
+        int[] recentAmounts = new int[getNofTicks() - getFirstRecentTick()];
+        int index = 0;
+        for (int[] fullChunk : fullChunks) {
+            System.arraycopy(fullChunk, 0, recentAmounts, index, fullChunk.length);
+            index += fullChunk.length;
+        }
+        System.arraycopy(openChunk, 0, recentAmounts, index, openChunkSize);
+
+        return recentAmounts;
+    }
+
+
+    /**
+     * Gets the amounts of a range of ticks, downsampled to at most the given amount of points with Largest-Triangle-Three-Buckets,
+     * which keeps the shape of the series. A bucket of older ticks is a single point in the middle of its ticks, with the mean of their amounts,
+     * and both the min and max amounts of the bucket. The cost does not depend on the amount of ticks, since the histogram is bounded.
+     * @param fromTick first tick of the range (inclusive).
+     * @param toTick last tick of the range (exclusive), ticks after the last tick of the histogram are ignored.
+     * @param maxPoints max amount of points to return, at least 2.
+     * @return the points of the range, ordered by their tick.
+     * @throws IllegalArgumentException in case the range or the amount of points is invalid.
+     */
+    public List<AmountPointDTO> getPoints(int fromTick, int toTick, int maxPoints) {
+        if (fromTick < 0 || toTick < fromTick)
+            throw new IllegalArgumentException("Invalid range of ticks [" + fromTick + ", " + toTick + ").");
+        if (maxPoints < 2)
+            throw new IllegalArgumentException("Invalid amount of points " + maxPoints + ", at least 2 points are needed.");
+
+        toTick = Math.min(toTick, getNofTicks());
+        int firstRecentTick = getFirstRecentTick();
+
+        // Collect the buckets and the recent ticks in the range, as points
+        int maxNofPoints = buckets.size() + Math.max(0, toTick - Math.max(fromTick, firstRecentTick));
+        double[] ticks = new double[maxNofPoints];
+        double[] amounts = new double[maxNofPoints];
+        int[] mins = new int[maxNofPoints];
+        int[] maxs = new int[maxNofPoints];
+        int nofPoints = 0;
+
+        for (int bucket = 0; bucket < buckets.size(); bucket++) {
+            int bucketFirstTick = buckets.getFirstTick(bucket);
+            if (bucketFirstTick >= toTick || bucketFirstTick + buckets.getCount(bucket) <= fromTick)
+                continue;
+
+            ticks[nofPoints] = bucketFirstTick + (buckets.getCount(bucket) - 1) / 2.0;
+            amounts[nofPoints] = buckets.getMean(bucket);
+            mins[nofPoints] = buckets.getMin(bucket);
+            maxs[nofPoints] = buckets.getMax(bucket);
+            nofPoints++;
+        }
+
+        for (int tick = Math.max(fromTick, firstRecentTick); tick < toTick; tick++) {
+            int amount = getRecentAmount(tick - firstRecentTick);
+            ticks[nofPoints] = tick;
+            amounts[nofPoints] = amount;
+            mins[nofPoints] = amount;
+            maxs[nofPoints] = amount;
+            nofPoints++;
+        }
+
+        int[] chosenPoints = Downsampling.largestTriangleThreeBuckets(ticks, amounts, nofPoints, maxPoints);
+
+        List<AmountPointDTO> amountPointDTOList = new ArrayList<>(chosenPoints.length);
+        for (int point : chosenPoints) {
+            amountPointDTOList.add(new AmountPointDTO(ticks[point], amounts[point], mins[point], maxs[point]));
+        }
+
+        return amountPointDTOList;
+    }
+
+
+    private int getRecentAmount(int index) {
+        int chunk = index / AmountHistogram.CHUNK_SIZE;
+        return chunk < fullChunks.length ? fullChunks[chunk][index % AmountHistogram.CHUNK_SIZE] : openChunk[index % AmountHistogram.CHUNK_SIZE];
+    }
+}
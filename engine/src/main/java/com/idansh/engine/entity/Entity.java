@@ -0,0 +1,255 @@
+package com.idansh.engine.entity;
+
+
+import com.idansh.engine.property.column.BooleanColumn;
+import com.idansh.engine.property.column.FloatColumn;
+import com.idansh.engine.property.column.PropertyColumn;
+import com.idansh.engine.property.instance.ColumnProperty;
+import com.idansh.engine.property.instance.Property;
+import com.idansh.engine.world.TickWriteBuffer;
+
+import java.awt.*;
+
+/**
+ * Defines an instance of an entity created by an EntityFactory.
+ * The values of the entity's properties are kept in the property columns of its entity factory,
+ * the entity only holds the index of its row in those columns.
+ */
+public class Entity {
+    private final EntityFactory entityFactory;  // The factory of this entity's type (e.g. "Smoker"), which holds the properties' values
+    private final int row;                      // The row of this entity in the property columns of its factory
+    private final int generation;               // The generation of the row when this entity was created, the entity is live while it matches its row's generation
+    private int populationIndex;                // Index of this entity in the population, kept by the entity manager
+    private int typeIndex;                      // Index of this entity in the population's partition of its entity factory, kept by the entity manager
+    private boolean isAlive;
+    private boolean createAnotherFromScratch;
+    private boolean createAnotherDerived;
+    private String entityNameToCreate;
+    private final Point gridLocation;
+
+    public Entity(EntityFactory entityFactory, int row, int generation) {
+        this.entityFactory = entityFactory;
+        this.row = row;
+        this.generation = generation;
+        this.populationIndex = this.typeIndex = -1;
+        this.isAlive = true;
+        this.createAnotherFromScratch = false;
+        this.createAnotherDerived = false;
+        this.gridLocation = new Point();
+    }
+
+    public String getName() {
+        return entityFactory.getName();
+    }
+
+    public int getTypeId() {
+        return entityFactory.getTypeId();
+    }
+
+    public EntityFactory getEntityFactory() {
+        return entityFactory;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    int getPopulationIndex() {
+        return populationIndex;
+    }
+
+    void setPopulationIndex(int populationIndex) {
+        this.populationIndex = populationIndex;
+    }
+
+    int getTypeIndex() {
+        return typeIndex;
+    }
+
+    void setTypeIndex(int typeIndex) {
+        this.typeIndex = typeIndex;
+    }
+
+
+    /**
+     * Finds and returns a property of the entity.
+     * @param name The name of the property (which is unique to one property)
+     * @return Returns a view of the property with the provided name
+     * @throws IllegalArgumentException in case the property was not found
+     */
+    public Property getPropertyByName(String name) {
+        return new ColumnProperty(entityFactory.getPropertyColumn(name), row);
+    }
+
+
+    /**
+     * @param slot The slot of the property, resolved from its name when the world was built.
+     * @return Returns a view of the property in the given slot.
+     */
+    public Property getPropertyBySlot(int slot) {
+        return new ColumnProperty(entityFactory.getPropertyColumn(slot), row);
+    }
+
+
+    /**
+     * @param slot The slot of the property, resolved from its name when the world was built.
+     * @return Returns the value of the property in the given slot, without creating a view of the property.
+     */
+    public Object getPropertyValue(int slot) {
+        PropertyColumn column = entityFactory.getPropertyColumn(slot);
+
+        // During a parallel tick, read through the buffer of the chunk so its own writes are seen
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        return writeBuffer == null ? column.getValue(row) : writeBuffer.readValue(column, row);
+    }
+
+
+    /**
+     * @param slot The slot of a numeric property, resolved from its name when the world was built.
+     * @return Returns the value of the property in the given slot, without boxing.
+     */
+    public float getFloatPropertyValue(int slot) {
+        FloatColumn column = (FloatColumn) entityFactory.getPropertyColumn(slot);
+
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        return writeBuffer == null ? column.getFloat(row) : writeBuffer.readFloat(column, row);
+    }
+
+
+    /**
+     * @param slot The slot of a boolean property, resolved from its name when the world was built.
+     * @return Returns the value of the property in the given slot, without boxing.
+     */
+    public boolean getBooleanPropertyValue(int slot) {
+        BooleanColumn column = (BooleanColumn) entityFactory.getPropertyColumn(slot);
+
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        return writeBuffer == null ? column.getBoolean(row) : writeBuffer.readBoolean(column, row);
+    }
+
+
+    /**
+     * Sets the entity to be killed, and queues it in its entity factory.
+     * On the next simulation tick this entity needs to be removed from the population.
+     */
+    public void kill() {
+        // During a parallel tick, defer the kill until the chunk is committed
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        if(writeBuffer != null) {
+            writeBuffer.addKill(this);
+            return;
+        }
+
+        // An entity that is already dead was already queued
+        if(!isAlive)
+            return;
+
+        isAlive = false;
+        entityFactory.addDeadEntity(this);
+    }
+
+
+    /**
+     * Sets the entity to be killed, and sets that another
+     * entity instance will be created from it.
+     * @param entityName Name of the entity of which the new instance will be created.
+     * @param isFromScratch if true will create a completely new instance of the entity,
+     *                      otherwise will create a new instance that is derived from
+     *                      this entity with some old properties used in the new entity.
+     */
+    public void replace(String entityName, boolean isFromScratch) {
+        // During a parallel tick, defer the replacement until the chunk is committed
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        if(writeBuffer != null) {
+            writeBuffer.addReplace(this, entityName, isFromScratch);
+            return;
+        }
+
+        // An entity that is already dead was already queued
+        if(isAlive)
+            entityFactory.addDeadEntity(this);
+
+        this.isAlive = false; // this entity should be killed
+        this.entityNameToCreate = entityName;
+
+        if(isFromScratch)
+            this.createAnotherFromScratch = true;
+        else
+            this.createAnotherDerived = true;
+    }
+
+
+    /**
+     * Restores the state of an entity that was kept in a checkpoint, without queueing it in its entity factory.
+     */
+    void restoreState(boolean isAlive, boolean createAnotherFromScratch, boolean createAnotherDerived, String entityNameToCreate) {
+        this.isAlive = isAlive;
+        this.createAnotherFromScratch = createAnotherFromScratch;
+        this.createAnotherDerived = createAnotherDerived;
+        this.entityNameToCreate = entityNameToCreate;
+    }
+
+
+    public boolean isToReplace() {
+        return createAnotherDerived || createAnotherFromScratch;
+    }
+
+    public boolean isAlive() {
+        return isAlive;
+    }
+
+    public boolean isCreateAnotherFromScratch() {
+        return createAnotherFromScratch;
+    }
+
+    public boolean isCreateAnotherDerived() {
+        return createAnotherDerived;
+    }
+
+    public String getEntityNameToCreate() {
+        return entityNameToCreate;
+    }
+
+    public int getNofTicksPropertyValueUnchanged(String propertyName) {
+        return entityFactory.getPropertyColumn(propertyName).getNofTicksValueUnchanged(row);
+    }
+
+    public int getNofTicksPropertyValueUnchanged(int slot) {
+        return entityFactory.getPropertyColumn(slot).getNofTicksValueUnchanged(row);
+    }
+
+
+    /**
+     * Set the location of the entity in the grid,
+     * where X is the row and Y is the column.
+     */
+    public void setGridLocation(int x, int y) {
+        gridLocation.x = x;
+        gridLocation.y = y;
+    }
+
+
+    /**
+     * Set the location of the entity in the grid,
+     * @param location Point containing:
+     *                 X = value of the row
+     *                 Y = value of the column
+     */
+    public void setGridLocation(Point location) {
+        gridLocation.x = location.x;
+        gridLocation.y = location.y;
+    }
+
+
+    /**
+     * Get the location of the entity in the grid,
+     * where X is the row and Y is the column.
+     */
+    public Point getGridLocation() {
+        return gridLocation;
+    }
+}
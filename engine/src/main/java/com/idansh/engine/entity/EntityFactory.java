@@ -0,0 +1,435 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.helpers.Consistency;
+import com.idansh.engine.helpers.Counter;
+import com.idansh.engine.property.column.PropertyColumn;
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.world.checkpoint.EntityFactoryCheckpoint;
+
+import java.util.*;
+
+/**
+ * Factory class for creating instances of entities.
+ * Each EntityFactory has a unique name, a counter for the amount of entities of its type and
+ * the properties that will be assigned to entity instances that will be created using the factory method.
+ * The properties' values of all the instances are kept in a column per property, each instance is a row in the columns.
+ * Using the Factory Method Design Pattern.
+ */
+public class EntityFactory {
+    private final String name;        // Unique name for this type of entity creation, e.g. "Smoker"
+    private int typeId;               // Index of the entity factory in its entity manager, resolved instead of the name on the simulation's hot paths
+    private Counter populationCounter;     // Amount of entities of this type in the environment
+    private Integer initPopulation;
+    private final Map<String, PropertyFactory> propertiesToAssign;   // Properties that define this entity, the value of which will be assigned on instance creation
+    private final AmountHistogram amountHistogram;                  // Amount of instances on each tick
+    private final Map<String, Integer> propertySlots;               // The slot of each property, key is the property's name
+    private final List<PropertyColumn> propertyColumns;             // The values of each property for all the instances, by the slot of the property
+    private int nofRows;                                            // Amount of rows allocated in the columns, including released rows
+    private int[] releasedRows;                                     // Stack of rows of removed instances, to be reused by new instances
+    private int nofReleasedRows;
+    private int[] rowGenerations;                                   // Generation of each row, increased when the row is released, so stale instances can be detected
+    private final List<Entity> deadInstances;                       // Instances that were killed or set to be replaced, removed from the population on the next tick
+
+    /**
+     * Constructor that defines the properties of new instances' information.
+     * @param name Unique name of the new type of entity.
+     */
+    public EntityFactory(String name) {
+        this.name = name;
+        this.propertiesToAssign = new LinkedHashMap<>();
+        this.initPopulation = null;
+        this.amountHistogram = new AmountHistogram();
+        this.propertySlots = new HashMap<>();
+        this.propertyColumns = new ArrayList<>();
+        this.releasedRows = new int[0];
+        this.rowGenerations = new int[0];
+        this.deadInstances = new ArrayList<>();
+        this.typeId = -1;
+    }
+
+    public EntityFactory(EntityFactory entityFactory) {
+        this.name = entityFactory.getName();
+        this.typeId = entityFactory.getTypeId();
+        this.populationCounter = new Counter(entityFactory.getPopulationCount());
+        this.initPopulation = entityFactory.getInitPopulation();
+        this.propertiesToAssign = new LinkedHashMap<>();
+        this.amountHistogram = new AmountHistogram();
+        this.propertySlots = new HashMap<>();
+        this.propertyColumns = new ArrayList<>();
+        this.releasedRows = new int[0];
+        this.rowGenerations = new int[0];
+        this.deadInstances = new ArrayList<>();
+
+        entityFactory.getPropertiesToAssign().forEach(
+                (name, propertyFactory) -> addProperty(propertyFactory.copy())
+        );
+    }
+
+    public void addAmountHistogramItem() {
+        amountHistogram.add(populationCounter.getCount());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTypeId() {
+        return typeId;
+    }
+
+    public void setTypeId(int typeId) {
+        this.typeId = typeId;
+    }
+
+
+    /**
+     * @return the current amount of entity instances of this entity factory.
+     */
+    public int getPopulationCount() {
+        return populationCounter.getCount();
+    }
+
+
+    /**
+     * @param name name of a property factory to get.
+     * @return a property factory that defines this entity factory.
+     */
+    public PropertyFactory getPropertyFactory(String name) {
+        if(!propertiesToAssign.containsKey(name))
+            throw new IllegalArgumentException("the property factory with the given name \"" + name + "\" does not exist!");
+
+        return propertiesToAssign.get(name);
+    }
+
+
+    /**
+     * Resolves the name of a property into its slot, should be called once when the world is built,
+     * so the property can be accessed by its slot while the simulation runs.
+     * Slots are kept when the entity factory is copied.
+     * @param name name of a property of the entity.
+     * @return the slot of the property.
+     * @throws IllegalArgumentException in case the property does not exist.
+     */
+    public int getPropertySlot(String name) {
+        Integer slot = propertySlots.get(name);
+
+        if(slot == null)
+            throw new IllegalArgumentException("Error: the property with the given name \"" + name + "\" does not exist!");
+
+        return slot;
+    }
+
+
+    /**
+     * @param name name of a property of the entity.
+     * @return the column that holds the values of the property for all the instances of this entity factory.
+     * @throws IllegalArgumentException in case the property does not exist.
+     */
+    public PropertyColumn getPropertyColumn(String name) {
+        return propertyColumns.get(getPropertySlot(name));
+    }
+
+
+    /**
+     * @param slot slot of a property of the entity, received from getPropertySlot.
+     * @return the column that holds the values of the property for all the instances of this entity factory.
+     */
+    public PropertyColumn getPropertyColumn(int slot) {
+        return propertyColumns.get(slot);
+    }
+
+
+    /**
+     * Factory Method for creating a single instance of this entity according to the properties defined.
+     * The properties' values will be defined randomly or by the fixed values that were set.
+     * @return a newly created instance of this entity.
+     */
+    public Entity createEntityFromScratch() {
+        int row = allocateRow();
+        Entity entityInstance = new Entity(this, row, rowGenerations[row]);
+
+        // Iterate through all the properties to assign,
+        // and set the value of each property from the corresponding property creator
+        propertiesToAssign.forEach(
+                (key, value) -> getPropertyColumn(key).initRow(entityInstance.getRow(), value.getValue()));
+
+        return entityInstance;
+    }
+
+
+    /**
+     * Factory Method for creating a single instance of this entity according to the properties defined,
+     * and the properties of the entity to create from.
+     * The properties' values will be defined randomly or by the fixed values that were set.
+     * @param entityToCreateFrom Entity instance that its properties will be used in the entity creation process.
+     *                           Only properties that exist in the entity factory will be used.
+     * @return a newly created instance of this entity.
+     */
+    public Entity createEntityDerived(Entity entityToCreateFrom) {
+        int row = allocateRow();
+        Entity entityInstance = new Entity(this, row, rowGenerations[row]);
+        EntityFactory factoryToCreateFrom = entityToCreateFrom.getEntityFactory();
+
+        // Iterate through all the properties to assign
+        propertiesToAssign.forEach(
+                (key, value) -> {
+                    PropertyColumn propertyColumn = getPropertyColumn(key);
+                    Integer slotToCreateFrom = factoryToCreateFrom.propertySlots.get(key);
+                    PropertyColumn columnToCreateFrom = slotToCreateFrom == null ? null : factoryToCreateFrom.getPropertyColumn(slotToCreateFrom);
+
+                    // If the entity to create from has a property with the same name and type then copy its value,
+                    // otherwise set the value from the corresponding property creator
+                    if(columnToCreateFrom != null && columnToCreateFrom.getType().equals(propertyColumn.getType()))
+                        propertyColumn.copyRow(entityInstance.getRow(), columnToCreateFrom, entityToCreateFrom.getRow());
+                    else
+                        propertyColumn.initRow(entityInstance.getRow(), value.getValue());
+                });
+
+        entityInstance.setGridLocation(entityToCreateFrom.getGridLocation());
+        return entityInstance;
+    }
+
+
+    /**
+     * Allocates a row in the property columns for a new instance,
+     * reuses a row of a removed instance if one exists.
+     * @return index of the allocated row.
+     */
+    private int allocateRow() {
+        if(nofReleasedRows > 0)
+            return releasedRows[--nofReleasedRows];
+
+        for (PropertyColumn propertyColumn : propertyColumns) {
+            propertyColumn.ensureCapacity(nofRows + 1);
+        }
+
+        if(nofRows == rowGenerations.length)
+            rowGenerations = Arrays.copyOf(rowGenerations, Math.max(16, rowGenerations.length * 2));
+
+        return nofRows++;
+    }
+
+
+    /**
+     * Releases the row of an instance that was removed from the population, so it can be reused.
+     * The generation of the row is increased, so the instance is no longer live.
+     * The instance must not be used after its row was released.
+     */
+    public void releaseEntity(Entity entity) {
+        if(nofReleasedRows == releasedRows.length)
+            releasedRows = Arrays.copyOf(releasedRows, Math.max(16, releasedRows.length * 2));
+
+        rowGenerations[entity.getRow()]++;
+        releasedRows[nofReleasedRows++] = entity.getRow();
+
+        for (PropertyColumn propertyColumn : propertyColumns) {
+            propertyColumn.releaseRow(entity.getRow());
+        }
+    }
+
+
+    /**
+     * Checks in O(1) if an instance was created by this entity factory and was not removed from the population,
+     * by comparing the generation of the instance with the current generation of its row.
+     * @return true if the instance is live, false otherwise.
+     */
+    public boolean isLive(Entity entity) {
+        return entity.getEntityFactory() == this && rowGenerations[entity.getRow()] == entity.getGeneration();
+    }
+
+
+    /**
+     * Queues an instance that was killed or set to be replaced, to be removed from the population on the next tick.
+     * Each instance should be queued only once.
+     */
+    void addDeadEntity(Entity entity) {
+        deadInstances.add(entity);
+    }
+
+
+    /**
+     * @return the instances that were killed or set to be replaced since the dead instances were last cleared, in the order they died.
+     */
+    List<Entity> getDeadEntities() {
+        return deadInstances;
+    }
+
+
+    void clearDeadEntities() {
+        deadInstances.clear();
+    }
+
+
+    /**
+     * Takes a checkpoint of the entity factory and of its instances in the population,
+     * the columns share their pages with the checkpoint copy-on-write, so the checkpoint is not changed by the ticks that follow.
+     * @param entityInstances the population's partition of this entity factory, in order.
+     */
+    EntityFactoryCheckpoint createCheckpoint(List<Entity> entityInstances) {
+        PropertyColumn[] columns = new PropertyColumn[propertyColumns.size()];
+        Consistency[] consistencies = new Consistency[propertyColumns.size()];
+        int slot = 0;
+        for (PropertyFactory propertyFactory : propertiesToAssign.values()) {
+            columns[slot] = propertyColumns.get(slot).copy();
+            consistencies[slot] = propertyFactory.getTicksConsistency();
+            slot++;
+        }
+
+        int nofInstances = entityInstances.size();
+        int[] instanceRows = new int[nofInstances];
+        int[] populationIndexes = new int[nofInstances];
+        int[] gridRows = new int[nofInstances];
+        int[] gridColumns = new int[nofInstances];
+        byte[] instanceStates = new byte[nofInstances];
+        String[] entityNamesToCreate = new String[nofInstances];
+        for (int i = 0; i < nofInstances; i++) {
+            Entity entity = entityInstances.get(i);
+            instanceRows[i] = entity.getRow();
+            populationIndexes[i] = entity.getPopulationIndex();
+            gridRows[i] = entity.getGridLocation().x;
+            gridColumns[i] = entity.getGridLocation().y;
+            instanceStates[i] = (byte) ((entity.isAlive() ? EntityFactoryCheckpoint.STATE_ALIVE : 0)
+                    | (entity.isCreateAnotherFromScratch() ? EntityFactoryCheckpoint.STATE_CREATE_FROM_SCRATCH : 0)
+                    | (entity.isCreateAnotherDerived() ? EntityFactoryCheckpoint.STATE_CREATE_DERIVED : 0));
+            entityNamesToCreate[i] = entity.getEntityNameToCreate();
+        }
+
+        int[] deadRows = new int[deadInstances.size()];
+        for (int i = 0; i < deadRows.length; i++) {
+            deadRows[i] = deadInstances.get(i).getRow();
+        }
+
+        AmountHistogramView amountHistogramView = amountHistogram.getView();
+        return new EntityFactoryCheckpoint(
+                name, getPopulationCount(), amountHistogramView.getBuckets(), amountHistogramView.getRecentAmounts(),
+                nofRows, Arrays.copyOf(rowGenerations, nofRows), Arrays.copyOf(releasedRows, nofReleasedRows),
+                columns, consistencies,
+                instanceRows, populationIndexes, gridRows, gridColumns, instanceStates, entityNamesToCreate, deadRows
+        );
+    }
+
+
+    /**
+     * Restores the entity factory and its instances from a checkpoint, the entity factory should not have any instances.
+     * The instances that died and were not removed before the checkpoint are queued again in the same order.
+     * @return the restored instances, in the order of the population's partition of this entity factory.
+     */
+    List<Entity> restoreCheckpoint(EntityFactoryCheckpoint checkpoint) {
+        if (nofRows != 0)
+            throw new IllegalStateException("Cannot restore the entity \"" + name + "\" from a checkpoint, it already has instances!");
+
+        populationCounter = new Counter(checkpoint.getPopulationCount());
+        amountHistogram.restore(checkpoint.getAmountBuckets(), checkpoint.getRecentAmounts());
+
+        nofRows = checkpoint.getNofRows();
+        rowGenerations = Arrays.copyOf(checkpoint.getRowGenerations(), Math.max(16, nofRows));
+        releasedRows = checkpoint.getReleasedRows().clone();
+        nofReleasedRows = releasedRows.length;
+
+        int slot = 0;
+        for (PropertyFactory propertyFactory : propertiesToAssign.values()) {
+            propertyColumns.get(slot).copyRowsFrom(checkpoint.getColumn(slot));
+            propertyColumns.get(slot).ensureCapacity(nofRows);
+            propertyFactory.setTicksConsistency(checkpoint.getConsistency(slot));
+            slot++;
+        }
+
+        List<Entity> entityInstances = new ArrayList<>(checkpoint.getNofInstances());
+        Map<Integer, Entity> entitiesByRow = new HashMap<>();
+        for (int i = 0; i < checkpoint.getNofInstances(); i++) {
+            int row = checkpoint.getInstanceRow(i);
+            byte state = checkpoint.getInstanceState(i);
+            Entity entity = new Entity(this, row, rowGenerations[row]);
+            entity.restoreState(
+                    (state & EntityFactoryCheckpoint.STATE_ALIVE) != 0,
+                    (state & EntityFactoryCheckpoint.STATE_CREATE_FROM_SCRATCH) != 0,
+                    (state & EntityFactoryCheckpoint.STATE_CREATE_DERIVED) != 0,
+                    checkpoint.getEntityNameToCreate(i)
+            );
+            entity.setPopulationIndex(checkpoint.getPopulationIndex(i));
+            entity.setGridLocation(checkpoint.getGridRow(i), checkpoint.getGridColumn(i));
+
+            entityInstances.add(entity);
+            entitiesByRow.put(row, entity);
+        }
+
+        deadInstances.clear();
+        for (int deadRow : checkpoint.getDeadRows()) {
+            Entity deadEntity = entitiesByRow.get(deadRow);
+            if (deadEntity == null)
+                throw new IllegalArgumentException("The checkpoint of the entity \"" + name + "\" has a dead instance that is not in the population.");
+
+            deadInstances.add(deadEntity);
+        }
+
+        return entityInstances;
+    }
+
+
+    /**
+     * Check for each of the instances if its properties' values have changed,
+     * going over the columns one at a time, only the rows that changed are visited.
+     */
+    public void checkPropertiesValueChange() {
+        for (PropertyColumn propertyColumn : propertyColumns) {
+            propertyColumn.checkValueChanges();
+        }
+    }
+
+
+    /**
+     * Adds a new property factory to the map of properties to assign,
+     * and creates the column that will hold the property's values in the next slot.
+     * @param propertyFactory property factory to add, must have a unique name.
+     */
+    public void addProperty(PropertyFactory propertyFactory) {
+        if(propertySlots.containsKey(propertyFactory.getName()))
+            throw new IllegalArgumentException("received property's name \"" + propertyFactory.getName() + "\" already exists in the entity \"" + name + "\"!");
+
+        PropertyColumn propertyColumn = PropertyColumn.create(propertyFactory);
+        propertyColumn.ensureCapacity(nofRows);
+
+        propertiesToAssign.put(propertyFactory.getName(), propertyFactory);
+        propertySlots.put(propertyFactory.getName(), propertyColumns.size());
+        propertyColumns.add(propertyColumn);
+    }
+
+
+    public Map<String, PropertyFactory> getPropertiesToAssign() {
+        return propertiesToAssign;
+    }
+
+
+    /**
+     * Increases the counter for the amount of entity instances in the population of this entity factory.
+     */
+    public void increasePopulationCounter() {
+        populationCounter.increaseCount();
+    }
+
+
+    /**
+     * Decreases the counter for the amount of entity instances in the population of this entity factory.
+     */
+    public void decreasePopulationCounter() {
+        populationCounter.decreaseCount();
+    }
+
+
+    /**
+     * @return the initial amount of entity instances created in the population of this entity factory.
+     */
+    public Integer getInitPopulation() {
+        return initPopulation;
+    }
+
+    public void setInitPopulation(int initPopulation) {
+        this.initPopulation = initPopulation;
+        this.populationCounter = new Counter(initPopulation);
+    }
+
+
+    public AmountHistogram getAmountHistogram() {
+        return amountHistogram;
+    }
+}
@@ -0,0 +1,502 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.events.SimulationEventRecorder;
+import com.idansh.engine.events.TickPhase;
+import com.idansh.engine.world.checkpoint.EntityFactoryCheckpoint;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class EntityManager {
+    private final Map<String, EntityFactory> entityFactories;   // Each entity factory will define instructions on how to instantiate a single entity with a unique name
+    private final List<Entity> population;
+    private final Map<String, List<Entity>> populationByType;   // The population partitioned by the entity factories, key is the name of the factory
+    private final List<List<Entity>> populationByTypeId;        // The same partitions, by the type ID of the factory
+    private final Grid grid;
+    private int modificationCount;                              // Increased on each tick and on each change of the population
+    private SimulationEventRecorder eventRecorder;              // Records the phases of the tick advance, null if the simulation does not record events
+
+
+    public EntityManager(int gridRows, int gridColumns) {
+        this.entityFactories = new LinkedHashMap<>();
+        this.population = new ArrayList<>();
+        this.populationByType = new LinkedHashMap<>();
+        this.populationByTypeId = new ArrayList<>();
+        this.grid = new Grid(gridRows, gridColumns);
+        this.modificationCount = 0;
+        this.eventRecorder = null;
+    }
+
+    public EntityManager(EntityManager entityManager) {
+        this.entityFactories = new LinkedHashMap<>();
+        this.population = new ArrayList<>();    // Dead entities are removed through their factories' queues, not while iterating on the population
+        this.populationByType = new LinkedHashMap<>();
+        this.populationByTypeId = new ArrayList<>();
+
+        entityManager.getEntityFactories().forEach(
+                (name, entityFactory) -> {
+                    List<Entity> entityInstances = new ArrayList<>();
+                    this.entityFactories.put(name, new EntityFactory(entityFactory));
+                    this.populationByType.put(name, entityInstances);
+                    this.populationByTypeId.add(entityInstances);
+                }
+        );
+
+        this.grid = new Grid(entityManager.grid);
+        this.modificationCount = 0;
+        this.eventRecorder = null;
+    }
+
+
+    /**
+     * Adds a new EntityFactory to the simulated world, from which entities will be created.
+     */
+    public void addEntityFactory(EntityFactory entityFactory) {
+        if(entityFactories.containsKey(entityFactory.getName()))
+            throw new IllegalArgumentException("received entityFactory's name \"" + entityFactory.getName() + "\" already exists!");
+
+        List<Entity> entityInstances = new ArrayList<>();
+        entityFactory.setTypeId(entityFactories.size());
+        entityFactories.put(entityFactory.getName(), entityFactory);
+        populationByType.put(entityFactory.getName(), entityInstances);
+        populationByTypeId.add(entityInstances);
+    }
+
+
+    /**
+     * Initializes the population of the world with entities using the entity factories,
+     * and initializes the grid to hold the population.
+     */
+    public void initEntityPopulation() {
+        // Run through all the entity factories, on each factory create populationCount instances.
+        entityFactories.forEach(
+                (name , factory) -> {
+                    for (int i = 0; i < factory.getPopulationCount(); i++) {
+                        addToPopulation(factory.createEntityFromScratch());
+                    }
+                }
+        );
+
+        grid.populateGrid(population);  // Initialize the grid with the population
+    }
+
+
+    /**
+     * Takes a checkpoint of each entity factory and of its instances in the population, should be called at a tick boundary.
+     * @return the checkpoints, in the order of the type IDs of the entity factories.
+     */
+    public List<EntityFactoryCheckpoint> createCheckpoint() {
+        List<EntityFactoryCheckpoint> checkpoints = new ArrayList<>();
+
+        for (EntityFactory entityFactory : entityFactories.values()) {
+            checkpoints.add(entityFactory.createCheckpoint(populationByTypeId.get(entityFactory.getTypeId())));
+        }
+
+        return checkpoints;
+    }
+
+
+    /**
+     * Restores the population and the grid from the checkpoints of the entity factories,
+     * instead of initializing the population.
+     * @param checkpoints the checkpoints of the entity factories, in the order of their type IDs.
+     */
+    public void restoreCheckpoint(List<EntityFactoryCheckpoint> checkpoints) {
+        if (!population.isEmpty())
+            throw new IllegalStateException("Cannot restore a population from a checkpoint into a world that already has a population!");
+
+        if (checkpoints.size() != entityFactories.size())
+            throw new IllegalArgumentException("Received checkpoints of " + checkpoints.size() + " entities, where the world has " + entityFactories.size() + " entities.");
+
+        int populationSize = 0;
+        for (EntityFactoryCheckpoint checkpoint : checkpoints) {
+            populationSize += checkpoint.getNofInstances();
+        }
+
+        Entity[] populationOrder = new Entity[populationSize];
+        for (EntityFactory entityFactory : entityFactories.values()) {
+            List<Entity> entityInstances = populationByTypeId.get(entityFactory.getTypeId());
+
+            for (Entity entity : entityFactory.restoreCheckpoint(checkpoints.get(entityFactory.getTypeId()))) {
+                int populationIndex = entity.getPopulationIndex();
+                if (populationIndex < 0 || populationIndex >= populationSize || populationOrder[populationIndex] != null)
+                    throw new IllegalArgumentException("The checkpoint of the entity \"" + entityFactory.getName() + "\" has an invalid population index " + populationIndex + ".");
+
+                populationOrder[populationIndex] = entity;
+                entity.setTypeIndex(entityInstances.size());
+                entityInstances.add(entity);
+
+                grid.addEntityToGrid(entity.getGridLocation(), entity);
+            }
+        }
+
+        population.addAll(Arrays.asList(populationOrder));
+        modificationCount++;
+    }
+
+
+    /**
+     * Returns reference to an existing entity factory.
+     * @param name The name of the entity factory to search.
+     * @throws IllegalArgumentException In case an entity factory with the given name doesn't exist.
+     */
+    public EntityFactory getEntityFactory(String name) {
+        if(!entityFactories.containsKey(name))
+            throw new IllegalArgumentException("could not find an entity factory with the name \"" + name + "\"!");
+
+        return entityFactories.get(name);
+    }
+
+
+    /**
+     * @param name Name of the entity factory to check if exists.
+     * @return true if exists, false otherwise.
+     */
+    public boolean isEntityFactoryValid(String name) {
+        if(name == null) return true;
+
+        return entityFactories.containsKey(name);
+    }
+
+
+    /**
+     * Returns an entity in the population with the given name.
+     */
+    public Entity getEntityInPopulationByName(String name) {
+        List<Entity> entityInstances = populationByType.get(name);
+
+        return entityInstances == null || entityInstances.isEmpty() ? null : entityInstances.get(0);
+    }
+
+
+    /**
+     * Returns an entity in the population in the given index.
+     */
+    public Entity getEntityInPopulationByIndex(int ind) {
+        if(ind < 0 || ind > population.size() - 1)
+            throw new IndexOutOfBoundsException("Out of bounds index given, cannot get entity in population in index of \"" + ind + "\".");
+
+        return population.get(ind);
+    }
+
+
+    /**
+     * Kills a single entity from the population.
+     * @param entityToKill an entity instance in the population to kill.
+     */
+    public void killEntity(Entity entityToKill) {
+        if(!isInPopulation(entityToKill))
+            return;
+
+        entityToKill.kill();
+    }
+
+
+    /**
+     * Kills and replaces a single entity from the population.
+     * @param entityToReplace an entity instance in the population to replace.
+     * @param isFromScratch if true will create a completely new instance of the entity,
+     *                      otherwise will create a new instance that is derived from
+     *                      this entity with some old properties used in the new entity.
+     */
+    public void replaceEntity(Entity entityToReplace, String entityName, boolean isFromScratch) {
+        if(!isInPopulation(entityToReplace))
+            return;
+
+        entityToReplace.replace(entityName, isFromScratch);
+    }
+
+
+    /**
+     * Creates a new entity and adds it to the population.
+     * @param entityToCreate Name of the entity factory of which an instance
+     *                       will be created and added into the population.
+     * @throws IllegalArgumentException In case an entity factory with the given name doesn't exist.
+     * @return the entity that was created and added to the population.
+     */
+    public Entity createEntityFromScratch(String entityToCreate) {
+        Entity newEntity = getEntityFactory(entityToCreate).createEntityFromScratch();
+        addToPopulation(newEntity);
+        return newEntity;
+    }
+
+
+    /**
+     * Creates a new entity from an existing entity and adds it to the population.
+     * @param entityToCreateFrom Entity instance of which the new instance will be created.
+     * @param entityToCreate Name of the entity factory of which an instance
+     *                       will be created and added into the population.
+     * @throws IllegalArgumentException In case an entity factory with the given name doesn't exist.
+     * @return the entity that was created and added to the population.
+     */
+    public Entity createEntityDerived(Entity entityToCreateFrom, String entityToCreate) {
+        Entity newEntity = getEntityFactory(entityToCreate).createEntityDerived(entityToCreateFrom);
+        addToPopulation(newEntity);
+        return newEntity;
+    }
+
+
+    /**
+     * Returns all entity instances that live in the population with a given name,
+     * without scanning the population.
+     * @return an unmodifiable view of the population's partition of the entity,
+     *         an empty list if no entity factory with the given name exists.
+     */
+    public List<Entity> getAllEntityInstancesInPopulation(String entityName) {
+        List<Entity> entityInstances = populationByType.get(entityName);
+
+        return entityInstances == null ? Collections.emptyList() : Collections.unmodifiableList(entityInstances);
+    }
+
+
+    /**
+     * Returns all entity instances that live in the population of the entity factory with the given type ID.
+     * @return an unmodifiable view of the population's partition of the entity.
+     */
+    public List<Entity> getAllEntityInstancesInPopulation(int typeId) {
+        return Collections.unmodifiableList(populationByTypeId.get(typeId));
+    }
+
+
+    /**
+     * Adds an entity instance to the end of the population, and to the end of the partition of its entity factory.
+     */
+    private void addToPopulation(Entity entity) {
+        List<Entity> entityInstances = populationByTypeId.get(entity.getTypeId());
+
+        entity.setPopulationIndex(population.size());
+        population.add(entity);
+        entity.setTypeIndex(entityInstances.size());
+        entityInstances.add(entity);
+        modificationCount++;
+    }
+
+
+    /**
+     * Removes an entity instance from the population, and from the partition of its entity factory,
+     * and releases its row in the property columns of the factory.
+     * The last entity of each list is moved into the place of the removed entity, so the removal is done in O(1).
+     */
+    private void removeFromPopulation(Entity entity) {
+        int populationIndex = entity.getPopulationIndex();
+        Entity lastEntity = population.remove(population.size() - 1);
+        if (lastEntity != entity) {
+            population.set(populationIndex, lastEntity);
+            lastEntity.setPopulationIndex(populationIndex);
+        }
+
+        List<Entity> entityInstances = populationByTypeId.get(entity.getTypeId());
+        int typeIndex = entity.getTypeIndex();
+        lastEntity = entityInstances.remove(entityInstances.size() - 1);
+        if (lastEntity != entity) {
+            entityInstances.set(typeIndex, lastEntity);
+            lastEntity.setTypeIndex(typeIndex);
+        }
+
+        entity.setPopulationIndex(-1);
+        entity.setTypeIndex(-1);
+        modificationCount++;
+        entity.getEntityFactory().releaseEntity(entity);
+    }
+
+
+    /**
+     * @return true if the entity instance lives in the population, false otherwise.
+     */
+    private boolean isInPopulation(Entity entity) {
+        return entity.getEntityFactory().isLive(entity) && entityFactories.get(entity.getName()) == entity.getEntityFactory();
+    }
+
+
+    /**
+     * Removes all dead entities from the population,
+     * and decreases the population counter for the dead entity instance's main entity.
+     * Also replaces some entities that were set up from replacement.
+     * Only the entities queued in the entity factories when they died are visited, not the whole population.
+     */
+    public void removeDeadEntitiesFromPopulation() {
+        for (EntityFactory entityFactory : entityFactories.values()) {
+            List<Entity> deadEntities = entityFactory.getDeadEntities();
+            if (deadEntities.isEmpty())
+                continue;
+
+            for (Entity entity : deadEntities) {
+                removeDeadEntity(entity);
+            }
+
+            entityFactory.clearDeadEntities();
+        }
+    }
+
+
+    /**
+     * Removes a single dead entity from the population, and creates its replacement if it was set to be replaced.
+     */
+    private void removeDeadEntity(Entity entity) {
+        Entity newEntity;
+
+        // Check if the entity is set to be replaced
+        if (entity.isToReplace()) {
+            if(entity.isCreateAnotherFromScratch()) {
+                newEntity = createEntityFromScratch(entity.getEntityNameToCreate());
+                newEntity.setGridLocation(entity.getGridLocation());        // Replace the entity at the same location as the entity that was replaced
+            }
+            else {
+                newEntity = createEntityDerived(entity, entity.getEntityNameToCreate());
+            }
+            entityFactories.get(entity.getEntityNameToCreate()).increasePopulationCounter();
+            grid.addEntityToGrid(newEntity.getGridLocation(), newEntity);   // Override the old entity in the grid with the newly created entity
+        } else {
+            grid.removeEntityFromLocation(entity.getGridLocation());        // Remove the entity to kill from the grid
+        }
+
+        // Kill the entity
+        entityFactories.get(entity.getName()).decreasePopulationCounter();
+        removeFromPopulation(entity);
+    }
+
+
+    /**
+     * Check for each entity if its properties' values have changed.
+     */
+    public void checkPropertiesValueChange() {
+        for (EntityFactory entityFactory : entityFactories.values()) {
+            entityFactory.checkPropertiesValueChange();
+        }
+    }
+
+
+    /**
+     * Add the current amount of each entity in the population to its histogram.
+     */
+    private void addEntityAmountHistogram() {
+        for (EntityFactory entityFactory : entityFactories.values()) {
+            entityFactory.addAmountHistogramItem();
+        }
+    }
+
+
+    /**
+     * Called on tick advance in the simulation, performs multiple
+     * actions on the entities to set them up for the new tick.
+     */
+    public void tickAdvance() {
+        modificationCount++;
+
+        if (eventRecorder == null) {
+            // Check if the properties' values have changed for each entity in the population
+            checkPropertiesValueChange();
+
+            // Remove all previously killed entities from the population
+            removeDeadEntitiesFromPopulation();
+
+            // Add the current amount of each entity in the population to its histogram
+            addEntityAmountHistogram();
+
+            // Move entities in the grid
+            grid.moveEntities();
+        } else {
+            // The same phases, each recorded as a flight recorder event
+            eventRecorder.recordPhase(TickPhase.CONSISTENCY_CHECK, this::checkPropertiesValueChange);
+            eventRecorder.recordPhase(TickPhase.DEAD_ENTITY_REMOVAL, this::removeDeadEntitiesFromPopulation);
+            eventRecorder.recordPhase(TickPhase.HISTOGRAM, this::addEntityAmountHistogram);
+            eventRecorder.recordPhase(TickPhase.GRID_MOVEMENT, grid::moveEntities);
+        }
+    }
+
+    /**
+     * @return a count that is increased on each tick and on each change of the population,
+     *         used to know when results calculated from the population are outdated.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    public Map<String, EntityFactory> getEntityFactories() {
+        return entityFactories;
+    }
+
+    public List<Entity> getPopulation() {
+        return population;
+    }
+
+    public int getPopulationSize() {
+        return population.size();
+    }
+
+    public int getMaxNumOfEntities() {
+        return grid.getNofColumns() * grid.getNofRows();
+    }
+
+
+    /**
+     * Get the entity that at the specified location in the grid.
+     * If there is no entity at that location, returns null.
+     */
+    public Entity getEntityFromGrid(Point location) {
+        grid.validateGridLocation(location);
+        return grid.getEntityFromGrid(location);
+    }
+
+
+    /**
+     * Returns a correct axis location of a given new location and a maximum size of the axis.
+     * @param axisSize      The size of the axis in which the new location is on.
+     * @param newLocation   The new location in the axis.
+     */
+    public int getAxisLocation(int axisSize, int newLocation) {
+        return grid.getAxisLocation(axisSize, newLocation);
+    }
+
+    /**
+     * Searches the grid for the nearest entity of a type within a proximity depth of a location.
+     * @param location  the location to search around.
+     * @param typeId    the type ID of the entity to search for.
+     * @param depth     the proximity depth to search in.
+     * @return the entity found, or null if there is no entity of the type within the proximity depth.
+     */
+    public Entity findEntityOfTypeNear(Point location, int typeId, int depth) {
+        return grid.findEntityOfTypeNear(location.x, location.y, typeId, depth);
+    }
+
+
+    /**
+     * Checks if there is an entity of a type within a proximity depth of a location in the grid.
+     */
+    public boolean isEntityOfTypeNear(Point location, int typeId, int depth) {
+        return grid.isEntityOfTypeNear(location.x, location.y, typeId, depth);
+    }
+
+    public int getNofGridRows() {
+        return grid.getNofRows();
+    }
+
+    public int getNofGridColumns() {
+        return grid.getNofColumns();
+    }
+
+
+    /**
+     * Sets the pool that will be used to move the entities of the grid in parallel.
+     * @param movementPool the fork-join pool to use, or null to move the entities on the simulation's thread.
+     */
+    public void setMovementPool(ForkJoinPool movementPool) {
+        grid.setMovementPool(movementPool);
+    }
+
+
+    /**
+     * Sets the recorder of the flight recorder events of the simulation, used for the phases of the tick advance
+     * and for choosing secondary entities.
+     * @param eventRecorder the recorder, or null to not record events.
+     */
+    public void setEventRecorder(SimulationEventRecorder eventRecorder) {
+        this.eventRecorder = eventRecorder;
+    }
+
+    public SimulationEventRecorder getEventRecorder() {
+        return eventRecorder;
+    }
+}
@@ -0,0 +1,649 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.helpers.RandomStream;
+import com.idansh.engine.helpers.RandomValue;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static com.idansh.engine.entity.GridTile.*;
+
+/**
+ * a Two dimensional grid that contains the world's entity instances.
+ * Each point in the grid can contain one entity instance at most.
+ * The entity instances in the grid can move on each tick in one of four directions:
+ * LEFT, RIGHT, TOP, BOTTOM.
+ * On each tick every entity in the grid will move in a random direction, while moving outside the grid
+ * will move the entity to the other side of it.
+ * Also, an entity cannot move into an occupied spot, so another direction will be rolled. If every side is occupied,
+ * the entity will stay at its place.
+ * The grid is sparse, the cells are kept in tiles that are allocated only while entities are inside of them,
+ * and the movement goes only through the occupied tiles. Each row of a tile is a single word of its bitsets,
+ * so the movement does not allocate per entity.
+ */
+public class Grid {
+    private enum Direction {
+        LEFT, RIGHT, UP, DOWN
+    }
+
+    private static final int MIN_GRID_SIZE = 10;
+    private static final int MAX_GRID_SIZE = 10000;
+    private static final int DENSE_POPULATE_MAX_CELLS = 100 * 100;             // Grids up to this size are populated from a list of all the free cells
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int ALL_DIRECTIONS = (1 << DIRECTIONS.length) - 1;    // Bitmask of the directions, the bit of each direction is its ordinal
+    private static final int MIN_STRIP_TILE_ROWS = 2;                           // Tile rows in a strip of the checkerboard movement, strips of the same parity only touch different tile rows of the strip between them
+
+    private final GridTile[] tiles;         // The tile of each tile location, by the index tileRow * nofTileColumns + tileColumn, null if it has no entities
+    private final int nofRows;
+    private final int nofColumns;
+    private final int nofTileRows;
+    private final int nofTileColumns;
+    private final int nofStrips;            // Amount of tile row strips the grid is split into for the checkerboard movement, always even
+    private int movementTick;               // Number of the current movement, to know when the moved bits of a tile are outdated
+    private ForkJoinPool movementPool;      // Optional, moves the strips of the grid in parallel when set
+
+    public Grid(int nofRows, int nofColumns) {
+        validateGridSize(nofRows, nofColumns);
+
+        this.nofRows = nofRows;
+        this.nofColumns = nofColumns;
+        this.nofTileRows = (nofRows + TILE_ROWS - 1) >>> ROW_BITS;
+        this.nofTileColumns = (nofColumns + TILE_COLUMNS - 1) >>> COLUMN_BITS;
+        this.tiles = new GridTile[nofTileRows * nofTileColumns];
+        this.nofStrips = getNofStrips(nofTileRows);
+        this.movementTick = 0;
+        this.movementPool = null;
+    }
+
+    public Grid(Grid grid) {
+        // Create the new grid with the same size, without any entities inside of it
+        this.nofRows = grid.nofRows;
+        this.nofColumns = grid.nofColumns;
+        this.nofTileRows = grid.nofTileRows;
+        this.nofTileColumns = grid.nofTileColumns;
+        this.tiles = new GridTile[nofTileRows * nofTileColumns];
+        this.nofStrips = grid.nofStrips;
+        this.movementTick = 0;
+        this.movementPool = grid.movementPool;
+    }
+
+    public int getNofRows() {
+        return nofRows;
+    }
+
+    public int getNofColumns() {
+        return nofColumns;
+    }
+
+
+    /**
+     * Sets the pool that will be used to move the entities in parallel (checkerboard movement).
+     * @param movementPool the fork-join pool to use, or null to move the entities on the simulation's thread.
+     */
+    public void setMovementPool(ForkJoinPool movementPool) {
+        this.movementPool = movementPool;
+    }
+
+
+    /**
+     * @return the largest even amount of strips the tile rows can be split into, with at least MIN_STRIP_TILE_ROWS tile rows in each strip.
+     *         Depends only on the size of the grid, so the movement does not depend on the amount of threads.
+     */
+    private static int getNofStrips(int nofTileRows) {
+        int nofStrips = nofTileRows / MIN_STRIP_TILE_ROWS;
+        return nofStrips - nofStrips % 2;
+    }
+
+
+    /**
+     * Validates that a grid can be created with the received size.
+     * @param rows      the number of rows to set to the new grid.
+     * @param columns   the number of columns to set to the new grid.
+     */
+    private void validateGridSize(int rows, int columns) {
+        if(rows < MIN_GRID_SIZE || rows > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Cannot create grid with number of rows "
+                    + rows + ". \nCan only create grid with number of rows that is between " + MIN_GRID_SIZE + " and " + MAX_GRID_SIZE + " (included).");
+        }
+
+        if(columns < MIN_GRID_SIZE || columns > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Cannot create grid with number of columns "
+                    + columns + ". \nCan only create grid with number of columns that is between " + MIN_GRID_SIZE + " and " + MAX_GRID_SIZE + " (included).");
+        }
+    }
+
+
+    /**
+     * Validates that a grid location is not out of bounds.
+     * @param point the location of the grid to check if out of bounds.
+     *              x is the number of row, y is the number of column.
+     */
+    public void validateGridLocation(Point point) {
+        if (point.x >= nofRows || point.x < 0) {
+            throw new IllegalArgumentException("Received out of bounds location of ("
+                    + point.x + ", " + point.y + "). \nRows must be between " + 0 + " and " + (nofRows - 1) + " (included).");
+        }
+
+        if (point.y >= nofColumns || point.y < 0) {
+            throw new IllegalArgumentException("Received out of bounds location of ("
+                    + point.x + ", " + point.y + "). \nColumns must be between " + 0 + " and " + (nofColumns - 1) + " (included).");
+        }
+    }
+
+
+    /**
+     * Add an entity to the grid, at a specified location.
+     * @param location  the location in which to add the entity instance.
+     * @param entity    an entity instance to add at the location.
+     */
+    public void addEntityToGrid(Point location, Entity entity) {
+        validateGridLocation(location);
+
+        if (entity == null)
+            removeEntityFromLocation(location);
+        else
+            placeEntity(location.x, location.y, entity);
+    }
+
+
+    /**
+     * Try to move each entity in the grid, each entity moves at most once.
+     * Call for this method on each simulation tick.
+     */
+    public void moveEntities() {
+        movementTick++;
+
+        if (nofStrips < 2) {
+            moveEntitiesInTileRows(0, nofTileRows);
+        } else {
+            moveEntitiesInStrips();
+        }
+    }
+
+
+    /**
+     * Try to move each entity in the tile rows [fromTileRow, toTileRow), row by row,
+     * going over the occupied words of the occupied tiles of each row.
+     * Tiles that were emptied are released when their tile row is reached.
+     * Entities that moved into a cell on this tick are skipped.
+     */
+    private void moveEntitiesInTileRows(int fromTileRow, int toTileRow) {
+        int[] occupiedTileColumns = new int[nofTileColumns];
+
+        for (int tileRow = fromTileRow; tileRow < toTileRow; tileRow++) {
+            int rowTilesIndex = tileRow * nofTileColumns;
+
+            // Find the occupied tiles of the tile row
+            int nofOccupiedTiles = 0;
+            for (int tileColumn = 0; tileColumn < nofTileColumns; tileColumn++) {
+                GridTile tile = tiles[rowTilesIndex + tileColumn];
+                if (tile == null)
+                    continue;
+
+                if (tile.population == 0)
+                    tiles[rowTilesIndex + tileColumn] = null;
+                else
+                    occupiedTileColumns[nofOccupiedTiles++] = tileColumn;
+            }
+
+            int tileRowStart = tileRow << ROW_BITS;
+            int nofRowsInTile = Math.min(TILE_ROWS, nofRows - tileRowStart);
+
+            for (int r = 0; r < nofRowsInTile; r++) {
+                int x = tileRowStart + r;
+
+                for (int i = 0; i < nofOccupiedTiles; i++) {
+                    int tileColumn = occupiedTileColumns[i];
+                    GridTile tile = tiles[rowTilesIndex + tileColumn];
+                    long entitiesToMove = tile.occupiedBits[r] & ~tile.getMovedBits(movementTick)[r];
+
+                    // Entities only move out of a cell when the cell is visited, so the cells of the word cannot be emptied before they are visited
+                    while (entitiesToMove != 0) {
+                        int y = (tileColumn << COLUMN_BITS) + Long.numberOfTrailingZeros(entitiesToMove);
+                        entitiesToMove &= entitiesToMove - 1;
+
+                        if (!isMoved(x, y))
+                            tryToMoveEntity(x, y);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Moves the entities with the tile rows split into an even amount of strips (checkerboard movement).
+     * First all the even strips move, then all the odd strips, concurrently if a movement pool was set.
+     * An entity moves at most one row, and each strip has at least two tile rows,
+     * so strips of the same parity never read or write the same tile, and the result does not depend on the order they ran in.
+     * Each strip gets its own random stream, split in order from the stream of the simulation's thread,
+     * so the result is the same with or without a movement pool.
+     */
+    private void moveEntitiesInStrips() {
+        RandomStream tickStream = RandomValue.getStream();
+        RandomStream[] stripStreams = new RandomStream[nofStrips];
+        for (int strip = 0; strip < nofStrips; strip++) {
+            stripStreams[strip] = tickStream.split();
+        }
+
+        for (int parity = 0; parity < 2; parity++) {
+            List<Callable<Void>> stripTasks = new ArrayList<>(nofStrips / 2);
+
+            for (int strip = parity; strip < nofStrips; strip += 2) {
+                int fromTileRow = strip * nofTileRows / nofStrips;
+                int toTileRow = (strip + 1) * nofTileRows / nofStrips;
+                RandomStream stripStream = stripStreams[strip];
+
+                stripTasks.add(() -> {
+                    RandomStream previousStream = RandomValue.bindStream(stripStream);
+                    try {
+                        moveEntitiesInTileRows(fromTileRow, toTileRow);
+                    } finally {
+                        RandomValue.bindStream(previousStream);
+                    }
+                    return null;
+                });
+            }
+
+            try {
+                if (movementPool == null) {
+                    for (Callable<Void> stripTask : stripTasks) {
+                        stripTask.call();
+                    }
+                } else {
+                    for (Future<Void> stripResult : movementPool.invokeAll(stripTasks)) {
+                        stripResult.get();
+                    }
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to move the entities in the grid in parallel.", e);
+            }
+        }
+    }
+
+
+    /**
+     * Tries to move the entity in a cell in a random direction.
+     * If the randomized location is occupied, tries to move in another random direction.
+     * If all directions are occupied, keeps the entity at its location without moving it.
+     * The directions left to try are kept as a bitmask, a random one of its set bits is picked on each try.
+     */
+    private void tryToMoveEntity(int x, int y) {
+        int possibleDirections = ALL_DIRECTIONS;
+
+        // Try to move in each direction left, if all fails keep unchanged
+        while (possibleDirections != 0) {
+            int rndDirectionInd = RandomValue.getRandomInt(0, Integer.bitCount(possibleDirections) - 1); // Get a random direction index from the possible directions
+            Direction direction = DIRECTIONS[getIndexOfSetBit(possibleDirections, rndDirectionInd)];
+
+            // Try to move in the randomized direction received, if successful then finish working
+            if (tryToMoveEntityInDirection(x, y, direction)) {
+                return;
+            }
+
+            possibleDirections &= ~(1 << direction.ordinal());  // Move was unsuccessful, remove the direction from the possible directions
+        }
+    }
+
+
+    /**
+     * @return the index of the n-th set bit (counting from zero) of the received bitmask.
+     */
+    private static int getIndexOfSetBit(int bitmask, int n) {
+        for (int i = 0; i < n; i++) {
+            bitmask &= bitmask - 1; // Clear the lowest set bit
+        }
+
+        return Integer.numberOfTrailingZeros(bitmask);
+    }
+
+
+    /**
+     * Tries to move the entity in a cell in a given direction if possible
+     * (no other entity is occupying the new location).
+     * @param direction   Direction to try to move to.
+     * @return true if the move occurred, false otherwise.
+     */
+    private boolean tryToMoveEntityInDirection(int x, int y, Direction direction) {
+        int newX = x, newY = y;
+
+        switch (direction) {
+            case UP:
+                newX = x == 0 ? nofRows - 1 : x - 1;
+                break;
+
+            case DOWN:
+                newX = x == nofRows - 1 ? 0 : x + 1;
+                break;
+
+            case LEFT:
+                newY = y == 0 ? nofColumns - 1 : y - 1;
+                break;
+
+            case RIGHT:
+                newY = y == nofColumns - 1 ? 0 : y + 1;
+                break;
+
+            default:
+                throw new RuntimeException("Unhandled direction received " + direction.name() + " in Grid.");
+        }
+
+        // Check if the location is not occupied
+        if (isOccupied(newX, newY))
+            return false;
+
+        Entity entity = getCell(x, y);
+        clearCell(x, y);                        // Empty the previous location
+        placeEntity(newX, newY, entity);        // Add to the new location
+        setMoved(newX, newY);
+        entity.setGridLocation(newX, newY);     // Update the entity's location
+        return true;
+    }
+
+
+    /**
+     * Returns a correct axis location of a given new location and a maximum size of the axis.
+     * @param axisSize      The size of the axis in which the new location is on.
+     * @param newLocation   The new location in the axis.
+     */
+    public int getAxisLocation(int axisSize, int newLocation) {
+        if (newLocation < 0)
+            return axisSize + newLocation;
+        else
+            return newLocation % axisSize;
+    }
+
+
+    /**
+     * Returns an entity from a specified grid location.
+     * If there is no entity in that location, returns null.
+     * @param location The location of the entity in the grid.
+     */
+    public Entity getEntityFromGrid(Point location) {
+        validateGridLocation(location);
+
+        return getCell(location.x, location.y);
+    }
+
+
+    /**
+     * Clears the grid in the received location, and releases its tile if it was emptied.
+     * @return the entity that was removed from the location,
+     * or null if no entity was at that location.
+     */
+    public Entity removeEntityFromLocation(Point location) {
+        validateGridLocation(location);
+
+        Entity entityInLocation = getCell(location.x, location.y);
+        clearCell(location.x, location.y);    // Remove entity from location
+
+        int tileIndex = getTileIndex(location.x, location.y);
+        if (tiles[tileIndex] != null && tiles[tileIndex].population == 0)
+            tiles[tileIndex] = null;
+
+        return entityInLocation;
+    }
+
+
+    /**
+     * Checks if there is an entity of a type within a proximity depth of a location,
+     * that is in the square of (2 * depth + 1) cells around it, including the location itself.
+     * Each row of the square is checked a word at a time using the type bits of the tiles.
+     * @param x         the row of the location.
+     * @param y         the column of the location.
+     * @param typeId    the type ID of the entity to search for.
+     * @param depth     the proximity depth to search in.
+     * @return true if there is an entity of the type within the proximity depth, false otherwise.
+     */
+    public boolean isEntityOfTypeNear(int x, int y, int typeId, int depth) {
+        if (depth < 0)
+            return false;
+
+        int rowsDepth = Math.min(depth, nofRows / 2);   // A deeper square only repeats rows
+        for (int i = -rowsDepth; i <= rowsDepth; i++) {
+            if (findTypeInRowSpan(typeId, Math.floorMod(x + i, nofRows), y - depth, y + depth) >= 0)
+                return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Searches for the nearest entity of a type within a proximity depth of a location,
+     * going over rings of growing distance from the location, starting with the location itself.
+     * In each ring, the top and bottom rows are checked first from left to right, then the sides from top to bottom.
+     * @param x         the row of the location.
+     * @param y         the column of the location.
+     * @param typeId    the type ID of the entity to search for.
+     * @param depth     the proximity depth to search in.
+     * @return an entity of the type in the nearest ring that contains one, or null if none is within the proximity depth.
+     */
+    public Entity findEntityOfTypeNear(int x, int y, int typeId, int depth) {
+        // Checking the whole square first is cheaper than the ring search when there is no such entity
+        if (!isEntityOfTypeNear(x, y, typeId, depth))
+            return null;
+
+        int maxRing = Math.min(depth, Math.max(nofRows / 2, nofColumns / 2));   // Deeper rings only repeat cells
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Top and bottom rows of the ring
+            int topRow = Math.floorMod(x - ring, nofRows), bottomRow = Math.floorMod(x + ring, nofRows);
+
+            int column = findTypeInRowSpan(typeId, topRow, y - ring, y + ring);
+            if (column >= 0)
+                return getCell(topRow, column);
+
+            column = findTypeInRowSpan(typeId, bottomRow, y - ring, y + ring);
+            if (column >= 0)
+                return getCell(bottomRow, column);
+
+            // Sides of the ring, without the corners
+            int leftColumn = Math.floorMod(y - ring, nofColumns), rightColumn = Math.floorMod(y + ring, nofColumns);
+            for (int i = -ring + 1; i < ring; i++) {
+                int row = Math.floorMod(x + i, nofRows);
+
+                if (isOfType(row, leftColumn, typeId))
+                    return getCell(row, leftColumn);
+
+                if (isOfType(row, rightColumn, typeId))
+                    return getCell(row, rightColumn);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Searches a span of columns in a row for an entity of a type, a word at a time.
+     * The span may exceed the sides of the grid, in which case it wraps to the other side.
+     * @param fromY the first column of the span, can be negative.
+     * @param toY   the last column of the span (included), can be larger than the last column of the grid.
+     * @return the first column in the span with an entity of the type, or -1 if there is none.
+     */
+    private int findTypeInRowSpan(int typeId, int x, int fromY, int toY) {
+        if (toY - fromY + 1 >= nofColumns)
+            return findTypeInRowRange(typeId, x, 0, nofColumns - 1);
+
+        int from = Math.floorMod(fromY, nofColumns), to = Math.floorMod(toY, nofColumns);
+        if (from <= to)
+            return findTypeInRowRange(typeId, x, from, to);
+
+        // The span wraps around the right side of the grid
+        int column = findTypeInRowRange(typeId, x, from, nofColumns - 1);
+        return column >= 0 ? column : findTypeInRowRange(typeId, x, 0, to);
+    }
+
+
+    /**
+     * Searches the columns [from, to] of a row for an entity of a type, a word at a time, skipping unallocated tiles.
+     * @return the first column in the range with an entity of the type, or -1 if there is none.
+     */
+    private int findTypeInRowRange(int typeId, int x, int from, int to) {
+        int rowTilesIndex = (x >>> ROW_BITS) * nofTileColumns;
+        int rowInTile = x & (TILE_ROWS - 1);
+        int fromTileColumn = from >>> COLUMN_BITS, toTileColumn = to >>> COLUMN_BITS;
+
+        for (int tileColumn = fromTileColumn; tileColumn <= toTileColumn; tileColumn++) {
+            GridTile tile = tiles[rowTilesIndex + tileColumn];
+            if (tile == null)
+                continue;
+
+            long typeBits = tile.getTypeRowBits(typeId, rowInTile);
+            if (tileColumn == fromTileColumn)
+                typeBits &= -1L << from;            // Shift is modulo 64, so this keeps the bits from the column within the tile
+            if (tileColumn == toTileColumn)
+                typeBits &= -1L >>> (63 - (to & (TILE_COLUMNS - 1)));
+
+            if (typeBits != 0)
+                return (tileColumn << COLUMN_BITS) + Long.numberOfTrailingZeros(typeBits);
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Scatters the population of a world across the grid,
+     * in randomized locations.
+     * Small or crowded grids are populated from a list of the free cells,
+     * large grids with a low occupancy roll random cells until a free one is found, so no list of all the cells is created.
+     * @param population The population of the world to add into random locations in the grid.
+     */
+    public void populateGrid(List<Entity> population) {
+        int nofCells = nofRows * nofColumns;
+
+        if (nofCells <= DENSE_POPULATE_MAX_CELLS || population.size() > nofCells / 2)
+            populateGridFromFreeCells(population, nofCells);
+        else
+            populateGridByRandomCells(population, nofCells);
+    }
+
+
+    private void populateGridFromFreeCells(List<Entity> population, int nofCells) {
+        int[] possibleCells = new int[nofCells];    // Indexes of the cells in the grid that are still free, in no particular order
+        int nofPossibleCells = possibleCells.length;
+        for (int i = 0; i < nofPossibleCells; i++) {
+            possibleCells[i] = i;
+        }
+
+        for (Entity entity : population) {
+            int rndLocationInd = RandomValue.getRandomInt(0, nofPossibleCells - 1); // Get a random cell index from the possible locations set
+            int cell = possibleCells[rndLocationInd];
+            int x = cell / nofColumns, y = cell % nofColumns;
+
+            placeEntity(x, y, entity);
+            entity.setGridLocation(x, y);
+
+            // Remove the location from the possible locations by moving the last possible location into its place
+            possibleCells[rndLocationInd] = possibleCells[--nofPossibleCells];
+        }
+    }
+
+
+    private void populateGridByRandomCells(List<Entity> population, int nofCells) {
+        for (Entity entity : population) {
+            int cell, x, y;
+
+            // At most half of the cells are occupied, so a free cell is expected within two rolls
+            do {
+                cell = RandomValue.getRandomInt(0, nofCells - 1);
+                x = cell / nofColumns;
+                y = cell % nofColumns;
+            } while (isOccupied(x, y));
+
+            placeEntity(x, y, entity);
+            entity.setGridLocation(x, y);
+        }
+    }
+
+
+    private int getTileIndex(int x, int y) {
+        return (x >>> ROW_BITS) * nofTileColumns + (y >>> COLUMN_BITS);
+    }
+
+    private static int getCellIndexInTile(int x, int y) {
+        return ((x & (TILE_ROWS - 1)) << COLUMN_BITS) + (y & (TILE_COLUMNS - 1));
+    }
+
+    private Entity getCell(int x, int y) {
+        GridTile tile = tiles[getTileIndex(x, y)];
+        return tile == null ? null : tile.cells[getCellIndexInTile(x, y)];
+    }
+
+
+    /**
+     * Sets an entity in a cell, and marks the cell as occupied.
+     * Allocates the tile of the cell if it has none.
+     */
+    private void placeEntity(int x, int y, Entity entity) {
+        int tileIndex = getTileIndex(x, y);
+        GridTile tile = tiles[tileIndex];
+        if (tile == null) {
+            tile = new GridTile();
+            tiles[tileIndex] = tile;
+        }
+
+        long bit = 1L << y;
+        long[] occupiedBits = tile.occupiedBits;
+        int rowInTile = x & (TILE_ROWS - 1);
+        int cellIndex = getCellIndexInTile(x, y);
+        if ((occupiedBits[rowInTile] & bit) == 0) {
+            occupiedBits[rowInTile] |= bit;
+            tile.population++;
+        } else {
+            tile.setTypeBit(tile.cells[cellIndex].getTypeId(), rowInTile, bit, false);     // Overriding the entity in the cell
+        }
+
+        tile.cells[cellIndex] = entity;
+        tile.setTypeBit(entity.getTypeId(), rowInTile, bit, true);
+    }
+
+
+    /**
+     * Empties a cell, and marks the cell as unoccupied.
+     * The tile is kept even if it was emptied, the movement and removal of entities release empty tiles.
+     */
+    private void clearCell(int x, int y) {
+        GridTile tile = tiles[getTileIndex(x, y)];
+        if (tile == null)
+            return;
+
+        long bit = 1L << y;
+        long[] occupiedBits = tile.occupiedBits;
+        int rowInTile = x & (TILE_ROWS - 1);
+        int cellIndex = getCellIndexInTile(x, y);
+        if ((occupiedBits[rowInTile] & bit) != 0) {
+            occupiedBits[rowInTile] &= ~bit;
+            tile.setTypeBit(tile.cells[cellIndex].getTypeId(), rowInTile, bit, false);
+            tile.population--;
+        }
+
+        tile.cells[cellIndex] = null;
+    }
+
+    private boolean isOccupied(int x, int y) {
+        GridTile tile = tiles[getTileIndex(x, y)];
+        return tile != null && (tile.occupiedBits[x & (TILE_ROWS - 1)] & (1L << y)) != 0;
+    }
+
+    private boolean isOfType(int x, int y, int typeId) {
+        GridTile tile = tiles[getTileIndex(x, y)];
+        return tile != null && (tile.getTypeRowBits(typeId, x & (TILE_ROWS - 1)) & (1L << y)) != 0;
+    }
+
+    private boolean isMoved(int x, int y) {
+        GridTile tile = tiles[getTileIndex(x, y)];
+        return tile != null && (tile.getMovedBits(movementTick)[x & (TILE_ROWS - 1)] & (1L << y)) != 0;
+    }
+
+    private void setMoved(int x, int y) {
+        tiles[getTileIndex(x, y)].getMovedBits(movementTick)[x & (TILE_ROWS - 1)] |= 1L << y;
+    }
+}
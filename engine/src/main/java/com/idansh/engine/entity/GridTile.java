@@ -0,0 +1,74 @@
+package com.idansh.engine.entity;
+
+import java.util.Arrays;
+
+/**
+ * A tile of TILE_ROWS x TILE_COLUMNS cells of the grid, allocated only while entities are inside of it.
+ * Each row of the tile is a single word of the tile's bitsets.
+ * The tile also keeps a bitset of the cells of each entity type, as a spatial index for proximity searches.
+ */
+class GridTile {
+    static final int ROW_BITS = 3;
+    static final int COLUMN_BITS = 6;
+    static final int TILE_ROWS = 1 << ROW_BITS;
+    static final int TILE_COLUMNS = 1 << COLUMN_BITS;       // Same as the bits in a long
+
+    final Entity[] cells;           // The entity in each cell, by the index row * TILE_COLUMNS + column (relative to the tile)
+    final long[] occupiedBits;      // Bit of each occupied cell, one word per row
+    private long[][] typeBits;      // Bit of each cell occupied by an entity of each type, by the type ID, one word per row
+    private final long[] movedBits; // Bit of each cell that an entity moved into on the current movement, one word per row
+    private int movedBitsTick;      // The movement that the moved bits belong to
+    int population;                 // Amount of occupied cells in the tile
+
+
+    GridTile() {
+        this.cells = new Entity[TILE_ROWS * TILE_COLUMNS];
+        this.occupiedBits = new long[TILE_ROWS];
+        this.movedBits = new long[TILE_ROWS];
+        this.typeBits = new long[0][];
+        this.movedBitsTick = 0;
+        this.population = 0;
+    }
+
+
+    /**
+     * @param movementTick the number of the current movement of the grid.
+     * @return the moved bits of the movement, cleared when the tile is first accessed on the movement.
+     */
+    long[] getMovedBits(int movementTick) {
+        if (movedBitsTick != movementTick) {
+            Arrays.fill(movedBits, 0L);
+            movedBitsTick = movementTick;
+        }
+
+        return movedBits;
+    }
+
+
+    /**
+     * @return the row's word of the cells occupied by entities of the received type, without allocating.
+     */
+    long getTypeRowBits(int typeId, int rowInTile) {
+        if (typeId >= typeBits.length || typeBits[typeId] == null)
+            return 0L;
+
+        return typeBits[typeId][rowInTile];
+    }
+
+
+    /**
+     * Marks a cell of the tile as occupied or unoccupied by an entity of the received type.
+     */
+    void setTypeBit(int typeId, int rowInTile, long bit, boolean value) {
+        if (typeId >= typeBits.length)
+            typeBits = Arrays.copyOf(typeBits, typeId + 1);
+
+        if (typeBits[typeId] == null)
+            typeBits[typeId] = new long[TILE_ROWS];
+
+        if (value)
+            typeBits[typeId][rowInTile] |= bit;
+        else
+            typeBits[typeId][rowInTile] &= ~bit;
+    }
+}
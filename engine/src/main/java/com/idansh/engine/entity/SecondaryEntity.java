@@ -0,0 +1,235 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.actions.condition.ConditionAction;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.helpers.RandomValue;
+import com.idansh.engine.world.World;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Defines how a secondary entity can be chosen within an Action.
+ * Can Choose secondary entities from the population according to the settings that
+ * were set up during the object's creation.
+ */
+public class SecondaryEntity {
+    private final String name;                      // Name of the secondary entity
+    private final Integer amount;                   // Amount of secondary entity instances to choose
+    private final List<ConditionAction> conditions; // Optional conditions on which secondary entity instances to choose
+    private final boolean isWithReplacement;        // Whether the same instance can be chosen more than once
+
+    /**
+     * Create instruction on how to choose secondary entities, the instances are chosen with replacement.
+     * @param amount String containing a positive number, or the String "ALL".
+     */
+    public SecondaryEntity(String name, String amount) {
+        this(name, amount, true);
+    }
+
+    /**
+     * Create instruction on how to choose secondary entities.
+     * @param amount String containing a positive number, or the String "ALL".
+     * @param isWithReplacement true if the same instance can be chosen more than once,
+     *                          false to choose distinct instances only.
+     */
+    public SecondaryEntity(String name, String amount, boolean isWithReplacement) {
+        this.name = name;
+        this.conditions = new ArrayList<>();
+        this.isWithReplacement = isWithReplacement;
+
+        // Get the amount of secondary entities to choose
+        if(amount.equals("ALL"))
+            this.amount = -1;
+        else {
+            try {
+                this.amount = Integer.parseInt(amount);
+
+                if (this.amount < 1)
+                    throw new IllegalArgumentException("Received negative secondary entity amount of \"" + amount + "\"." +
+                            " Accepts only positive numbers, or the String \"ALL\".");
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Received invalid secondary entity amount of \"" + amount + "\"." +
+                        " Please set a positive number or \"ALL\".");
+            }
+        }
+    }
+
+    /**
+     * Create empty secondary entity with only a name.
+     */
+    public SecondaryEntity(String name) {
+        this.name = name;
+        this.amount = null;
+        this.conditions = null;
+        this.isWithReplacement = true;
+    }
+
+    /**
+     * Copy constructor that creates a new secondary entity from the given secondary entity,
+     * with copies of its conditions that are set to the given world context.
+     */
+    public SecondaryEntity(SecondaryEntity secondaryEntity, World worldContext) {
+        this.name = secondaryEntity.name;
+        this.amount = secondaryEntity.amount;
+        this.isWithReplacement = secondaryEntity.isWithReplacement;
+
+        if (secondaryEntity.conditions == null) {
+            this.conditions = null;
+        } else {
+            this.conditions = new ArrayList<>(secondaryEntity.conditions.size());
+            for (ConditionAction conditionAction : secondaryEntity.conditions) {
+                conditions.add((ConditionAction) conditionAction.copy(worldContext));     // A copy of a condition action is a condition action
+            }
+        }
+    }
+
+    public void addNewConditionAction(ConditionAction conditionAction) {
+        conditions.add(conditionAction);
+    }
+
+
+    /**
+     * Folds the constant parts of the expressions of the conditions, same as the actions (see Action.fold).
+     */
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        if (conditions != null)
+            conditions.forEach(
+                    conditionAction -> conditionAction.fold(activeEnvironmentVariables)
+            );
+    }
+
+
+    /**
+     * Create a list of secondary entity instances from the population, by the received size and conditions.
+     * Evaluates the conditions on the whole population of the secondary entity,
+     * when choosing the same secondary entities repeatedly use SecondaryEntityCandidates instead.
+     */
+    public List<Entity> chooseSecondaryEntitiesFromPopulation(EntityManager entityManager) {
+        List<Entity> allSecondaryEntityInstances = entityManager.getAllEntityInstancesInPopulation(name);
+
+        if(isChoosingAll())
+            return allSecondaryEntityInstances; // Choose all population
+
+        if(!isWithReplacement)
+            return chooseFromPopulationWithoutReplacement(allSecondaryEntityInstances);
+
+        return chooseFromCandidates(filterCandidates(allSecondaryEntityInstances));
+    }
+
+
+    /**
+     * @return the instances that at least one of the conditions applies to, or all the instances if no conditions were set.
+     */
+    List<Entity> filterCandidates(List<Entity> secondaryEntityInstances) {
+        if (conditions.isEmpty())
+            return secondaryEntityInstances;
+
+        List<Entity> secondaryEntityInstancesThatConditionApplies = new ArrayList<>();
+
+        // Go through the instances, create new list only with the entities that the conditions are activated on
+        for (Entity entity : secondaryEntityInstances) {
+            if (isConditionApplied(entity))
+                secondaryEntityInstancesThatConditionApplies.add(entity);
+        }
+
+        return secondaryEntityInstancesThatConditionApplies;
+    }
+
+
+    private boolean isConditionApplied(Entity entity) {
+        for (ConditionAction conditionAction : conditions) {
+            if (conditionAction.evaluate(entity))
+                return true;
+        }
+
+        return conditions.isEmpty();
+    }
+
+
+    /**
+     * Chooses the amount of secondary entity instances from instances that the conditions were already applied to.
+     * Takes O(amount) time, and does not change the received candidates.
+     * @param candidates the instances to choose from.
+     */
+    List<Entity> chooseFromCandidates(List<Entity> candidates) {
+        // The maximum amount that is possible to choose is the amount of candidates
+        int amountToChoose = Math.min(amount, candidates.size());
+        List<Entity> chosenSecondaryEntities = new ArrayList<>(amountToChoose);
+
+        if (isWithReplacement) {
+            for (int i = 0; i < amountToChoose; i++) {
+                int rndIndex = RandomValue.getRandomInt(0, candidates.size() - 1); // Choose a random index in the candidates
+                chosenSecondaryEntities.add(candidates.get(rndIndex));
+            }
+            return chosenSecondaryEntities;
+        }
+
+        // Choose distinct indexes (Floyd's algorithm), each index is equally likely to be chosen
+        Set<Integer> chosenIndexes = new HashSet<>();
+        for (int last = candidates.size() - amountToChoose; last < candidates.size(); last++) {
+            int rndIndex = RandomValue.getRandomInt(0, last);
+            int chosenIndex = chosenIndexes.add(rndIndex) ? rndIndex : last;
+
+            chosenIndexes.add(chosenIndex);
+            chosenSecondaryEntities.add(candidates.get(chosenIndex));
+        }
+
+        return chosenSecondaryEntities;
+    }
+
+
+    /**
+     * Chooses distinct instances that the conditions apply to in a single pass over the population (reservoir sampling),
+     * without creating a list of all the instances that the conditions apply to.
+     */
+    private List<Entity> chooseFromPopulationWithoutReplacement(List<Entity> secondaryEntityInstances) {
+        List<Entity> reservoir = new ArrayList<>(amount);
+        int nofCandidatesSeen = 0;
+
+        for (Entity entity : secondaryEntityInstances) {
+            if (!isConditionApplied(entity))
+                continue;
+
+            nofCandidatesSeen++;
+            if (reservoir.size() < amount) {
+                reservoir.add(entity);
+            } else {
+                int rndIndex = RandomValue.getRandomInt(0, nofCandidatesSeen - 1);
+                if (rndIndex < amount)
+                    reservoir.set(rndIndex, entity);
+            }
+        }
+
+        return reservoir;
+    }
+
+
+    List<ConditionAction> getConditions() {
+        return conditions;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if the amount is defined, false otherwise.
+     */
+    public boolean isAmountDefined() {
+        return amount != null;
+    }
+
+    /**
+     * @return true if the whole population of the secondary entity is chosen, false otherwise.
+     */
+    public boolean isChoosingAll() {
+        return amount == -1;
+    }
+
+    public boolean isWithReplacement() {
+        return isWithReplacement;
+    }
+}
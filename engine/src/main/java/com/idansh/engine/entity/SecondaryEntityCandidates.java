@@ -0,0 +1,165 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.actions.condition.ConditionAction;
+import com.idansh.engine.events.SimulationEventRecorder;
+import com.idansh.engine.property.column.PropertyColumn;
+import com.idansh.engine.world.TickWriteBuffer;
+
+import java.util.*;
+
+/**
+ * The instances of a secondary entity that its conditions apply to, in a single world,
+ * cached between choices so the conditions are not evaluated on the whole population for each main entity instance.
+ * The cache is rebuilt when the tick advances, when the population changes,
+ * or when a property that the conditions read is changed.
+ * If the conditions read anything else (e.g. random values), the conditions are evaluated on every choice.
+ * Can be used from multiple threads while the population is not changed (parallel ticks),
+ * the chunks of a parallel tick record that they read the columns of the cached candidates (see TickWriteBuffer).
+ */
+public class SecondaryEntityCandidates {
+    private final SecondaryEntity secondaryEntity;
+    private final EntityManager entityManager;
+    private final PropertyColumn[] readColumns;     // The columns that the conditions read, null if the candidates cannot be cached
+    private volatile Snapshot snapshot;             // The last candidates calculated, null if none were calculated yet
+
+    /**
+     * The candidates as calculated at a certain state of the population.
+     */
+    private static class Snapshot {
+        private final List<Entity> candidates;
+        private final int populationModificationCount;
+        private final int[] columnModificationCounts;
+
+        private Snapshot(List<Entity> candidates, int populationModificationCount, int[] columnModificationCounts) {
+            this.candidates = candidates;
+            this.populationModificationCount = populationModificationCount;
+            this.columnModificationCounts = columnModificationCounts;
+        }
+    }
+
+
+    /**
+     * @param secondaryEntity the definition of the secondary entity, with its conditions already set.
+     * @param entityManager the entity manager of the world in which the secondary entities are chosen.
+     */
+    public SecondaryEntityCandidates(SecondaryEntity secondaryEntity, EntityManager entityManager) {
+        this.secondaryEntity = secondaryEntity;
+        this.entityManager = entityManager;
+        this.readColumns = getReadColumns(secondaryEntity, entityManager.getEntityFactory(secondaryEntity.getName()));
+        this.snapshot = null;
+    }
+
+
+    /**
+     * @return the columns of the properties that the conditions read,
+     *         or null if the result of the conditions depends on anything other than properties of the secondary entity.
+     */
+    private static PropertyColumn[] getReadColumns(SecondaryEntity secondaryEntity, EntityFactory entityFactory) {
+        Set<Integer> readSlots = new TreeSet<>();
+
+        for (ConditionAction conditionAction : secondaryEntity.getConditions()) {
+            if (!conditionAction.collectReadProperties(entityFactory.getTypeId(), readSlots))
+                return null;
+        }
+
+        PropertyColumn[] readColumns = new PropertyColumn[readSlots.size()];
+        int i = 0;
+        for (int slot : readSlots) {
+            readColumns[i++] = entityFactory.getPropertyColumn(slot);
+        }
+
+        return readColumns;
+    }
+
+
+    /**
+     * Chooses secondary entity instances by the amount and conditions of the secondary entity.
+     * @return the chosen instances, or the whole population of the secondary entity if all should be chosen.
+     */
+    public List<Entity> choose() {
+        if (secondaryEntity.isChoosingAll())
+            return entityManager.getAllEntityInstancesInPopulation(secondaryEntity.getName());
+
+        if (readColumns == null) {
+            SimulationEventRecorder eventRecorder = entityManager.getEventRecorder();
+            return eventRecorder == null ?
+                    secondaryEntity.chooseSecondaryEntitiesFromPopulation(entityManager) :
+                    eventRecorder.recordSecondarySelection(secondaryEntity.getName(), false, () -> secondaryEntity.chooseSecondaryEntitiesFromPopulation(entityManager));
+        }
+
+        return secondaryEntity.chooseFromCandidates(getCandidates());
+    }
+
+
+    /**
+     * @return the cached instances that the conditions apply to, rebuilt first if they are outdated.
+     */
+    private List<Entity> getCandidates() {
+        // During a parallel tick the cache holds the candidates of the population as it was at the start of the tick,
+        // if the chunk already changed what the conditions read, its candidates are different
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        if (writeBuffer != null) {
+            if (writeBuffer.isAnyWritten(readColumns))
+                return secondaryEntity.filterCandidates(entityManager.getAllEntityInstancesInPopulation(secondaryEntity.getName()));
+
+            writeBuffer.readColumns(readColumns);
+        }
+
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null && isUpToDate(currentSnapshot))
+            return currentSnapshot.candidates;
+
+        return updateCandidates();
+    }
+
+
+    private synchronized List<Entity> updateCandidates() {
+        // Another thread may have already updated the candidates
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null && isUpToDate(currentSnapshot))
+            return currentSnapshot.candidates;
+
+        int[] columnModificationCounts = new int[readColumns.length];
+        for (int i = 0; i < readColumns.length; i++) {
+            columnModificationCounts[i] = readColumns[i].getModificationCount();
+        }
+
+        // The candidates are shared by all the chunks of a parallel tick, so they are calculated without the writes of the current chunk
+        SimulationEventRecorder eventRecorder = entityManager.getEventRecorder();
+        TickWriteBuffer previousBuffer = TickWriteBuffer.unbind();
+        List<Entity> candidates;
+        try {
+            candidates = eventRecorder == null ?
+                    filterCandidates() :
+                    eventRecorder.recordSecondarySelection(secondaryEntity.getName(), true, this::filterCandidates);
+        } finally {
+            TickWriteBuffer.restore(previousBuffer);
+        }
+
+        snapshot = new Snapshot(candidates, entityManager.getModificationCount(), columnModificationCounts);
+        return candidates;
+    }
+
+
+    /**
+     * @return the instances of the secondary entity in the population that the conditions apply to.
+     */
+    private List<Entity> filterCandidates() {
+        return new ArrayList<>(
+                secondaryEntity.filterCandidates(entityManager.getAllEntityInstancesInPopulation(secondaryEntity.getName()))
+        );
+    }
+
+
+    private boolean isUpToDate(Snapshot snapshot) {
+        if (snapshot.populationModificationCount != entityManager.getModificationCount())
+            return false;
+
+        for (int i = 0; i < readColumns.length; i++) {
+            if (snapshot.columnModificationCounts[i] != readColumns[i].getModificationCount())
+                return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.idansh.engine.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Recorded only when the secondary entity instances are chosen by going over the population,
+ * choosing from candidates that are already cached is not recorded.
+ * Can happen for every main entity instance, so only choices that take at least 1 ms are recorded by default.
+ */
+@Name("com.idansh.predictions.SecondarySelection")
+@Label("Secondary Entity Selection")
+@Description("Choosing the secondary entity instances of an action by going over the population of the secondary entity")
+@Threshold("1 ms")
+public class SecondarySelectionEvent extends SimulationEvent {
+    @Label("Secondary Entity")
+    String entityName;
+
+    @Label("Cached")
+    @Description("True if the candidates were rebuilt to be cached, false if the conditions cannot be cached and were evaluated for this choice only")
+    boolean isCached;
+
+    @Label("Chosen Instances")
+    int nofChosen;
+}
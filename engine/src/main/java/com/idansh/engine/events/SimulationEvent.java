@@ -0,0 +1,25 @@
+package com.idansh.engine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the flight recorder events of a simulation, with the state of the simulation when the event began.
+ * The events are emitted from the same few places on every tick, so their stack traces are not recorded.
+ */
+@Category("Predictions")
+@StackTrace(false)
+public abstract class SimulationEvent extends jdk.jfr.Event {
+    @Label("Simulation ID")
+    int simulationId;
+
+    @Label("Tick Count")
+    @Description("The amount of ticks the simulation completed when the event began")
+    int tickCount;
+
+    @Label("Population Size")
+    @Description("The amount of entity instances in the population when the event began")
+    int populationSize;
+}
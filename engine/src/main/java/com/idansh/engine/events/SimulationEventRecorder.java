@@ -0,0 +1,128 @@
+package com.idansh.engine.events;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.world.World;
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Emits the flight recorder events of a single simulation, with the ID, tick count and population size of the simulation.
+ * Only created for simulations that are set to record events (see World.setEventRecording),
+ * the engine checks for a null recorder otherwise, so no events are created and the JFR classes are not used.
+ * While no flight recording is running the events are created but not committed,
+ * and the state of the simulation is not read into them.
+ */
+public class SimulationEventRecorder {
+    private final World world;
+
+    public SimulationEventRecorder(World world) {
+        this.world = world;
+    }
+
+
+    /**
+     * @return true if the JVM supports flight recording, false otherwise.
+     */
+    public static boolean isAvailable() {
+        try {
+            return FlightRecorder.isAvailable();
+        } catch (NoClassDefFoundError e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Sets the state of the simulation into the event, should be called when the event begins.
+     */
+    private void setSimulationState(SimulationEvent event) {
+        event.simulationId = world.getId();
+        event.tickCount = world.getTickCount();
+        event.populationSize = world.entityManager.getPopulationSize();
+    }
+
+
+    /**
+     * Begins the event of a tick, should be committed with commitTick when the tick ends.
+     * The state of the simulation is only read into the event if the event is enabled in the running flight recording.
+     */
+    public TickEvent beginTick() {
+        TickEvent event = new TickEvent();
+        if (event.isEnabled())
+            setSimulationState(event);
+
+        event.begin();
+        return event;
+    }
+
+
+    public void commitTick(TickEvent event) {
+        event.end();
+        if (event.shouldCommit())
+            event.commit();
+    }
+
+
+    /**
+     * Runs a phase of a tick, and records its duration.
+     * The state of the simulation is only read into the event if the event is enabled in the running flight recording.
+     */
+    public void recordPhase(TickPhase phase, Runnable phaseRunner) {
+        TickPhaseEvent event = new TickPhaseEvent();
+        if (!event.isEnabled()) {
+            phaseRunner.run();
+            return;
+        }
+
+        setSimulationState(event);
+        event.phase = phase.getName();
+        event.begin();
+        phaseRunner.run();
+        event.end();
+
+        if (event.shouldCommit())
+            event.commit();
+    }
+
+
+    /**
+     * Chooses secondary entity instances by going over the population, and records the duration of the choice.
+     * @param isCached true if the chosen instances are cached as the candidates of the secondary entity.
+     * @return the chosen instances.
+     */
+    public List<Entity> recordSecondarySelection(String entityName, boolean isCached, Supplier<List<Entity>> selection) {
+        SecondarySelectionEvent event = new SecondarySelectionEvent();
+        event.begin();
+        List<Entity> chosen = selection.get();
+        event.end();
+
+        if (event.shouldCommit()) {
+            setSimulationState(event);
+            event.entityName = entityName;
+            event.isCached = isCached;
+            event.nofChosen = chosen.size();
+            event.commit();
+        }
+
+        return chosen;
+    }
+
+
+    /**
+     * Records a change of the state of the simulation.
+     * @param state one of the states defined in SimulationLifecycleEvent.
+     * @param endReason the reason the simulation ended, null if the state is not "end".
+     */
+    public void recordLifecycle(String state, String endReason) {
+        SimulationLifecycleEvent event = new SimulationLifecycleEvent();
+        if (!event.shouldCommit())
+            return;
+
+        setSimulationState(event);
+        event.state = state;
+        event.endReason = endReason;
+        event.commit();
+    }
+}
@@ -0,0 +1,23 @@
+package com.idansh.engine.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.idansh.predictions.SimulationLifecycle")
+@Label("Simulation Lifecycle")
+@Description("A change of the state of a simulation: start, pause, resume, stop or end")
+public class SimulationLifecycleEvent extends SimulationEvent {
+    public static final String START = "start";
+    public static final String PAUSE = "pause";
+    public static final String RESUME = "resume";
+    public static final String STOP = "stop";
+    public static final String END = "end";
+
+    @Label("State")
+    String state;
+
+    @Label("End Reason")
+    @Description("The reason the simulation ended, set only when the state is \"end\"")
+    String endReason;
+}
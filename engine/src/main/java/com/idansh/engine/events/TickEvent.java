@@ -0,0 +1,11 @@
+package com.idansh.engine.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.idansh.predictions.Tick")
+@Label("Simulation Tick")
+@Description("A single tick of a simulation, from the tick advance of the entity manager until the rules of the tick were invoked")
+public class TickEvent extends SimulationEvent {
+}
@@ -0,0 +1,22 @@
+package com.idansh.engine.events;
+
+/**
+ * The phases of a simulation tick that are recorded as flight recorder events.
+ */
+public enum TickPhase {
+    CONSISTENCY_CHECK("consistency-check"),         // Checking which properties' values have changed
+    DEAD_ENTITY_REMOVAL("dead-entity-removal"),     // Removing and replacing the entity instances that died in the previous tick
+    HISTOGRAM("histogram"),                         // Adding the amount of each entity to its histogram
+    GRID_MOVEMENT("grid-movement"),                 // Moving the entity instances on the grid
+    RULE_EVALUATION("rule-evaluation");             // Invoking the due rules on the population
+
+    private final String name;
+
+    TickPhase(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
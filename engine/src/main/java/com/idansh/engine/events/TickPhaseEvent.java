@@ -0,0 +1,13 @@
+package com.idansh.engine.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.idansh.predictions.TickPhase")
+@Label("Simulation Tick Phase")
+@Description("A phase of a simulation tick, see TickPhase")
+public class TickPhaseEvent extends SimulationEvent {
+    @Label("Phase")
+    String phase;
+}
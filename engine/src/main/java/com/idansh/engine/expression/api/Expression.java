@@ -0,0 +1,103 @@
+package com.idansh.engine.expression.api;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.compiled.BooleanEvaluator;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.util.Set;
+
+/**
+ * Base interface for - helper functions / entity's property / a free value.
+ */
+public interface Expression {
+    /**
+     * @return The value of the expression,
+     * using an entity instance's properties' values.
+     */
+    Object getValue(Entity entityInstance);
+
+
+    /**
+     * @return The value of the expression,
+     * using a main or secondary entity instance's properties' values,
+     * according to the entity defined in the expression.
+     */
+    Object getValue(Entity mainEntityInstance, Entity secondaryEntityInstance);
+
+
+    /**
+     * @return The type of the expression.
+     */
+    PropertyType getType();
+
+
+    /**
+     * @return The expression in a string format,
+     * without getting the real value if it's a function expression.
+     */
+    String getAsString();
+
+
+    /**
+     * @return true if the expression has the same value on every evaluation, false otherwise.
+     */
+    default boolean isConstant() {
+        return false;
+    }
+
+
+    /**
+     * Adds the slots of the properties of an entity type that the expression reads into the received set,
+     * used to know when a cached result of the expression is outdated.
+     * @param entityTypeId the type ID of the entity instance the expression is evaluated on.
+     * @param propertySlots the set to add the slots of the properties read to.
+     * @return true if the value of the expression depends only on those properties, for the length of a tick,
+     *         false if it can change otherwise (e.g. random values) and cannot be cached.
+     */
+    default boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        return false;
+    }
+
+
+    /**
+     * Folds the subtrees of the expression that have the same value on every evaluation into constants,
+     * environment variables are replaced by their values, which do not change during a simulation run.
+     * The expression itself is not changed, so it can be shared between worlds.
+     * @param activeEnvironmentVariables the environment variables of the world that is about to run,
+     *                                   if null the environment variables are not folded.
+     * @return the folded expression, or this expression if nothing could be folded.
+     */
+    default Expression fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        return this;
+    }
+
+
+    /**
+     * Compiles the expression into a numeric evaluator,
+     * should only be called through the ExpressionCompiler, after the type of the expression was checked.
+     */
+    default FloatEvaluator compileFloat() {
+        throw new IllegalArgumentException("Expression \"" + getAsString() + "\" cannot be compiled as a numeric expression.");
+    }
+
+
+    /**
+     * Compiles the expression into an integer evaluator,
+     * should only be called through the ExpressionCompiler, after the type of the expression was checked.
+     */
+    default IntEvaluator compileInt() {
+        throw new IllegalArgumentException("Expression \"" + getAsString() + "\" cannot be compiled as an integer expression.");
+    }
+
+
+    /**
+     * Compiles the expression into a boolean evaluator,
+     * should only be called through the ExpressionCompiler, after the type of the expression was checked.
+     */
+    default BooleanEvaluator compileBoolean() {
+        throw new IllegalArgumentException("Expression \"" + getAsString() + "\" cannot be compiled as a boolean expression.");
+    }
+}
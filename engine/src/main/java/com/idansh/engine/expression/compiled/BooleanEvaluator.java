@@ -0,0 +1,16 @@
+package com.idansh.engine.expression.compiled;
+
+import com.idansh.engine.entity.Entity;
+
+/**
+ * A compiled boolean expression, evaluates to a primitive boolean without boxing.
+ */
+@FunctionalInterface
+public interface BooleanEvaluator {
+    /**
+     * @param mainEntityInstance the main entity instance in context.
+     * @param secondaryEntityInstance the secondary entity instance in context, null if there is none.
+     * @return The value of the expression.
+     */
+    boolean evaluate(Entity mainEntityInstance, Entity secondaryEntityInstance);
+}
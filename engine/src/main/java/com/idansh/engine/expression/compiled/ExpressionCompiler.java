@@ -0,0 +1,70 @@
+package com.idansh.engine.expression.compiled;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.property.instance.PropertyType;
+
+/**
+ * Abstract class that contains static methods which compile an expression tree
+ * into an evaluator of a primitive type.
+ * The type of the expression is checked once, when the compiling action is created,
+ * so the evaluators do not check types or box values when they are invoked.
+ */
+public abstract class ExpressionCompiler {
+    /**
+     * Compiles a numeric (integer or float) expression.
+     * @throws IllegalArgumentException in case the expression is not numeric.
+     */
+    public static FloatEvaluator compileFloat(Expression expression) {
+        if (!expression.getType().isNumeric())
+            throw new IllegalArgumentException("Cannot compile expression \"" + expression.getAsString() + "\" of type \"" + expression.getType() + "\" as a numeric expression.");
+
+        return expression.compileFloat();
+    }
+
+
+    /**
+     * Compiles an integer expression.
+     * @throws IllegalArgumentException in case the expression is not of the type integer.
+     */
+    public static IntEvaluator compileInt(Expression expression) {
+        if (!PropertyType.INTEGER.equals(expression.getType()))
+            throw new IllegalArgumentException("Cannot compile expression \"" + expression.getAsString() + "\" of type \"" + expression.getType() + "\" as an integer expression.");
+
+        return expression.compileInt();
+    }
+
+
+    /**
+     * Compiles a boolean expression.
+     * @throws IllegalArgumentException in case the expression is not of the type boolean.
+     */
+    public static BooleanEvaluator compileBoolean(Expression expression) {
+        if (!PropertyType.BOOLEAN.equals(expression.getType()))
+            throw new IllegalArgumentException("Cannot compile expression \"" + expression.getAsString() + "\" of type \"" + expression.getType() + "\" as a boolean expression.");
+
+        return expression.compileBoolean();
+    }
+
+
+    /**
+     * Evaluates a numeric evaluator once on a main entity instance, so it can be invoked with many secondary entity instances.
+     * Should only be used for expressions that read only properties of the main entity (see Expression.collectReadProperties).
+     * @return an evaluator that returns the value of the received evaluator for the main entity instance.
+     */
+    public static FloatEvaluator bindFloat(FloatEvaluator evaluator, Entity mainEntity) {
+        float value = evaluator.evaluate(mainEntity, null);
+        return (ignored1, ignored2) -> value;
+    }
+
+
+    /**
+     * Evaluates an integer evaluator once on a main entity instance, so it can be invoked with many secondary entity instances.
+     * Should only be used for expressions that read only properties of the main entity (see Expression.collectReadProperties).
+     * @return an evaluator that returns the value of the received evaluator for the main entity instance.
+     */
+    public static IntEvaluator bindInt(IntEvaluator evaluator, Entity mainEntity) {
+        int value = evaluator.evaluate(mainEntity, null);
+        return (ignored1, ignored2) -> value;
+    }
+}
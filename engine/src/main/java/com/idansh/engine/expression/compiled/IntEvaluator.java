@@ -0,0 +1,16 @@
+package com.idansh.engine.expression.compiled;
+
+import com.idansh.engine.entity.Entity;
+
+/**
+ * A compiled integer expression, evaluates to a primitive int without boxing.
+ */
+@FunctionalInterface
+public interface IntEvaluator {
+    /**
+     * @param mainEntityInstance the main entity instance in context.
+     * @param secondaryEntityInstance the secondary entity instance in context, null if there is none.
+     * @return The value of the expression.
+     */
+    int evaluate(Entity mainEntityInstance, Entity secondaryEntityInstance);
+}
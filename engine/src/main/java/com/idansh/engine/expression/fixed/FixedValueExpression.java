@@ -0,0 +1,82 @@
+package com.idansh.engine.expression.fixed;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.BooleanEvaluator;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.util.Set;
+
+/**
+ * An expression with a fixed value.
+ * Can be numeric/boolean/string, depends on its context
+ */
+public class FixedValueExpression implements Expression {
+    private final Object value;
+    private final PropertyType type;
+    private final String foldedExpressionString;    // The string of the expression this constant was folded from, null if defined as a fixed value
+
+    public FixedValueExpression(Object value, PropertyType type) {
+        this(value, type, null);
+    }
+
+    /**
+     * Creates a constant that was folded from another expression,
+     * the constant is shown as the expression it was folded from.
+     */
+    public FixedValueExpression(Object value, PropertyType type, String foldedExpressionString) {
+        this.value = value;
+        this.type = type;
+        this.foldedExpressionString = foldedExpressionString;
+    }
+
+    @Override
+    public Object getValue(Entity ignored) {
+        return value;
+    }
+
+    @Override
+    public Object getValue(Entity ignored1, Entity ignored2) {
+        return value;
+    }
+
+    @Override
+    public PropertyType getType() {
+        return type;
+    }
+
+    @Override
+    public String getAsString() {
+        return foldedExpressionString != null ? foldedExpressionString : value.toString();
+    }
+
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        return true;
+    }
+
+    @Override
+    public FloatEvaluator compileFloat() {
+        float floatValue = ((Number) value).floatValue();
+        return (ignored1, ignored2) -> floatValue;
+    }
+
+    @Override
+    public IntEvaluator compileInt() {
+        int intValue = ((Number) value).intValue();
+        return (ignored1, ignored2) -> intValue;
+    }
+
+    @Override
+    public BooleanEvaluator compileBoolean() {
+        boolean booleanValue = (Boolean) value;
+        return (ignored1, ignored2) -> booleanValue;
+    }
+}
@@ -2,8 +2,16 @@ package com.idansh.engine.expression.functions;
 
 import com.idansh.engine.entity.Entity;
 import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.BooleanEvaluator;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.property.instance.Property;
 import com.idansh.engine.property.instance.PropertyType;
 
+import java.util.Set;
+
 public class EnvironmentFunctionExpression extends FunctionActivationExpression {
     private final String environmentVariableName;
     private final ActiveEnvironmentVariables activeEnvironmentVariables;
@@ -39,8 +47,46 @@ public class EnvironmentFunctionExpression extends FunctionActivationExpression
         return activeEnvironmentVariables.getActiveEnvironmentVariable(environmentVariableName).getType();
     }
 
+    /**
+     * Environment variables do not change while the simulation runs.
+     */
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        return true;
+    }
+
+
     @Override
     public String getAsString() {
         return "EnvironmentVariable(" + environmentVariableName + ")";
     }
+
+
+    /**
+     * Replaces the environment variable with its value in the received environment variables,
+     * which does not change during the simulation run.
+     */
+    @Override
+    public Expression fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        if (activeEnvironmentVariables == null)
+            return this;
+
+        Property environmentVariable = activeEnvironmentVariables.getActiveEnvironmentVariable(environmentVariableName);
+        return new FixedValueExpression(environmentVariable.getValue(), environmentVariable.getType(), getAsString());
+    }
+
+    @Override
+    public FloatEvaluator compileFloat() {
+        return (ignored1, ignored2) -> ((Number) getValue(null)).floatValue();
+    }
+
+    @Override
+    public IntEvaluator compileInt() {
+        return (ignored1, ignored2) -> ((Number) getValue(null)).intValue();
+    }
+
+    @Override
+    public BooleanEvaluator compileBoolean() {
+        return (ignored1, ignored2) -> (Boolean) getValue(null);
+    }
 }
@@ -0,0 +1,113 @@
+package com.idansh.engine.expression.functions;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.EntityManager;
+import com.idansh.engine.expression.compiled.BooleanEvaluator;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.util.Set;
+
+/**
+ * Gets an entity instance's property value.
+ * The entity and property names are resolved to a type ID and a slot when the expression is created.
+ */
+public class EvaluateFunctionExpression extends FunctionActivationExpression {
+    private final String entityName;
+    private final String propertyName;
+    private final int entityTypeId;
+    private final int propertySlot;
+    private final PropertyType propertyType;
+
+    /**
+     * @throws IllegalArgumentException in case the entity or the property do not exist.
+     */
+    public EvaluateFunctionExpression(EntityManager entityManager, String entityName, String propertyName) {
+        super(Type.EVALUATE);
+        EntityFactory entityFactory = entityManager.getEntityFactory(entityName);
+
+        this.entityName = entityName;
+        this.propertyName = propertyName;
+        this.entityTypeId = entityFactory.getTypeId();
+        this.propertySlot = entityFactory.getPropertySlot(propertyName);
+        this.propertyType = entityFactory.getPropertyFactory(propertyName).getType();
+    }
+
+    @Override
+    public PropertyType getType() {
+        return propertyType;
+    }
+
+    @Override
+    public Object getValue(Entity entityInstance) {
+        if(entityInstance.getTypeId() != entityTypeId)
+            throw new IllegalArgumentException("Cannot get entity instance's value in the evaluate expression, " +
+                    "received entity instance's name \"" + entityInstance.getName() + "\" does not have the defined entity name \"" + entityName + " or property name \"" + propertyName + "\".");
+
+        return entityInstance.getPropertyValue(propertySlot);
+    }
+
+    @Override
+    public Object getValue(Entity mainEntityInstance, Entity secondaryEntityInstance) {
+        return getEntityInstanceInContext(mainEntityInstance, secondaryEntityInstance).getPropertyValue(propertySlot);
+    }
+
+
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        // Properties of other entity types are not tracked
+        if (entityTypeId != this.entityTypeId)
+            return false;
+
+        propertySlots.add(propertySlot);
+        return true;
+    }
+
+
+    @Override
+    public FloatEvaluator compileFloat() {
+        return (mainEntityInstance, secondaryEntityInstance) ->
+                getEntityInstanceInContext(mainEntityInstance, secondaryEntityInstance).getFloatPropertyValue(propertySlot);
+    }
+
+
+    @Override
+    public IntEvaluator compileInt() {
+        return (mainEntityInstance, secondaryEntityInstance) ->
+                (int) getEntityInstanceInContext(mainEntityInstance, secondaryEntityInstance).getFloatPropertyValue(propertySlot);
+    }
+
+
+    @Override
+    public BooleanEvaluator compileBoolean() {
+        return (mainEntityInstance, secondaryEntityInstance) ->
+                getEntityInstanceInContext(mainEntityInstance, secondaryEntityInstance).getBooleanPropertyValue(propertySlot);
+    }
+
+
+    /**
+     * @return the main or secondary entity instance, according to the entity defined in the expression.
+     * @throws IllegalArgumentException in case none of the entity instances received is of the defined entity.
+     */
+    private Entity getEntityInstanceInContext(Entity mainEntityInstance, Entity secondaryEntityInstance) {
+        if (mainEntityInstance.getTypeId() == entityTypeId) {
+            return mainEntityInstance;
+        } else if (secondaryEntityInstance != null && secondaryEntityInstance.getTypeId() == entityTypeId) {
+            return secondaryEntityInstance;
+        } else {
+            throw new IllegalArgumentException("Cannot get entity instance's value in the evaluate function expression.\n" +
+                    "main entity \"" + mainEntityInstance.getName() + "\" and secondary entity \"" +
+                    (secondaryEntityInstance != null ? secondaryEntityInstance.getName() : "N/A") +
+                    "\" instances received does not have the defined entity name \"" + entityName +
+                    "\" or property name \"" + propertyName + "\".");
+        }
+    }
+
+
+    @Override
+    public String getAsString() {
+        return "Evaluate(" + entityName  + ", " + propertyName + ")";
+    }
+}
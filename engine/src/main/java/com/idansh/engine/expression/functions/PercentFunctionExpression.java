@@ -0,0 +1,92 @@
+package com.idansh.engine.expression.functions;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.expression.api.Expression;
+import com.idansh.engine.expression.compiled.ExpressionCompiler;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.util.Set;
+
+public class PercentFunctionExpression extends FunctionActivationExpression {
+    Expression whole;
+    Expression percentage;
+    private final FloatEvaluator percentEvaluator;
+
+    public PercentFunctionExpression(Expression whole, Expression percentage) {
+        super(Type.PERCENT);
+
+        // Can only calculate percentage on numeric values
+        if(!whole.getType().isNumeric() || !percentage.getType().isNumeric())
+            throw new IllegalArgumentException("Cannot create percent function expression," +
+                    "expressions received are not numeric." +
+                    "first expression type is \"" + whole.getType() + "\"," +
+                    "second expression type is \"" + percentage.getType() + "\".");
+
+        this.whole = whole;
+        this.percentage = percentage;
+        this.percentEvaluator = compileFloat();
+    }
+
+    @Override
+    public PropertyType getType() {
+        return PropertyType.FLOAT;
+    }
+
+    @Override
+    public Object getValue(Entity entityInstance) {
+        return percentEvaluator.evaluate(entityInstance, null);
+    }
+
+    @Override
+    public Object getValue(Entity mainEntityInstance, Entity secondaryEntityInstance) {
+        return percentEvaluator.evaluate(mainEntityInstance, secondaryEntityInstance);
+    }
+
+
+    /**
+     * Folds both arguments, if both are constant the percentage is calculated once into a constant.
+     */
+    @Override
+    public Expression fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        Expression foldedWhole = whole.fold(activeEnvironmentVariables);
+        Expression foldedPercentage = percentage.fold(activeEnvironmentVariables);
+
+        if (foldedWhole.isConstant() && foldedPercentage.isConstant()) {
+            PercentFunctionExpression foldedPercent = new PercentFunctionExpression(foldedWhole, foldedPercentage);
+            return new FixedValueExpression(foldedPercent.getValue(null, null), PropertyType.FLOAT, getAsString());
+        }
+
+        if (foldedWhole == whole && foldedPercentage == percentage)
+            return this;
+
+        return new PercentFunctionExpression(foldedWhole, foldedPercentage);
+    }
+
+
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        return whole.collectReadProperties(entityTypeId, propertySlots)
+                && percentage.collectReadProperties(entityTypeId, propertySlots);
+    }
+
+
+    @Override
+    public FloatEvaluator compileFloat() {
+        FloatEvaluator wholeEvaluator = ExpressionCompiler.compileFloat(whole);
+        FloatEvaluator percentageEvaluator = ExpressionCompiler.compileFloat(percentage);
+
+        // Calculate and return the percentage
+        return (mainEntityInstance, secondaryEntityInstance) ->
+                wholeEvaluator.evaluate(mainEntityInstance, secondaryEntityInstance)
+                        * percentageEvaluator.evaluate(mainEntityInstance, secondaryEntityInstance) / 100;
+    }
+
+
+    @Override
+    public String getAsString() {
+        return "Percent(" + whole.getAsString() + ", " + percentage.getAsString() + ")";
+    }
+}
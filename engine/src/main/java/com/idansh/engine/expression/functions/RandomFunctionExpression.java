@@ -1,10 +1,11 @@
 package com.idansh.engine.expression.functions;
 
 import com.idansh.engine.entity.Entity;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.helpers.RandomValue;
 import com.idansh.engine.property.instance.PropertyType;
 
-import java.util.Random;
-
 /**
  * Generate a random integer between 0 and the received integer.
  */
@@ -25,15 +26,13 @@ public class RandomFunctionExpression extends FunctionActivationExpression {
      */
     @Override
     public Object getValue(Entity ignored) {
-        Random random = new Random();
-        return random.nextInt(maxValue + 1);
+        return RandomValue.getRandomInt(0, maxValue);
     }
 
 
     @Override
     public Object getValue(Entity ignored1, Entity ignored2) {
-        Random random = new Random();
-        return random.nextInt(maxValue + 1);
+        return RandomValue.getRandomInt(0, maxValue);
     }
 
 
@@ -47,4 +46,16 @@ public class RandomFunctionExpression extends FunctionActivationExpression {
     public String getAsString() {
         return "Random(" + maxValue + ")";
     }
+
+
+    @Override
+    public FloatEvaluator compileFloat() {
+        return (ignored1, ignored2) -> RandomValue.getRandomInt(0, maxValue);
+    }
+
+
+    @Override
+    public IntEvaluator compileInt() {
+        return (ignored1, ignored2) -> RandomValue.getRandomInt(0, maxValue);
+    }
 }
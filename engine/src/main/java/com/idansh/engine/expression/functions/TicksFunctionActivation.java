@@ -0,0 +1,100 @@
+package com.idansh.engine.expression.functions;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.EntityManager;
+import com.idansh.engine.expression.compiled.FloatEvaluator;
+import com.idansh.engine.expression.compiled.IntEvaluator;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.util.Set;
+
+/**
+ * Gets the amount of ticks an entity instance's property value was unchanged.
+ * The entity and property names are resolved to a type ID and a slot when the expression is created.
+ */
+public class TicksFunctionActivation extends FunctionActivationExpression {
+    private final String entityName;
+    private final String propertyName;
+    private final int entityTypeId;
+    private final int propertySlot;
+
+    /**
+     * @throws IllegalArgumentException in case the entity or the property do not exist.
+     */
+    public TicksFunctionActivation(EntityManager entityManager, String entityName, String propertyName) {
+        super(Type.TICKS);
+        EntityFactory entityFactory = entityManager.getEntityFactory(entityName);
+
+        this.entityName = entityName;
+        this.propertyName = propertyName;
+        this.entityTypeId = entityFactory.getTypeId();
+        this.propertySlot = entityFactory.getPropertySlot(propertyName);
+    }
+
+    @Override
+    public PropertyType getType() {
+        return PropertyType.INTEGER;
+    }
+
+    @Override
+    public Object getValue(Entity entityInstance) {
+        if(entityInstance.getTypeId() != entityTypeId)
+            throw new IllegalArgumentException("Cannot get entity instance's value in the ticks expression, " +
+                    "entity instance \"" + entityInstance.getName() + "\" received does not have the defined entity name \"" + entityName + "\" or property name \"" + propertyName + "\".");
+
+        return entityInstance.getNofTicksPropertyValueUnchanged(propertySlot);
+    }
+
+
+    @Override
+    public Object getValue(Entity mainEntityInstance, Entity secondaryEntityInstance) {
+        return getNofTicksUnchanged(mainEntityInstance, secondaryEntityInstance);
+    }
+
+
+    @Override
+    public boolean collectReadProperties(int entityTypeId, Set<Integer> propertySlots) {
+        // Properties of other entity types are not tracked
+        if (entityTypeId != this.entityTypeId)
+            return false;
+
+        propertySlots.add(propertySlot);
+        return true;
+    }
+
+
+    @Override
+    public FloatEvaluator compileFloat() {
+        return this::getNofTicksUnchanged;
+    }
+
+
+    @Override
+    public IntEvaluator compileInt() {
+        return this::getNofTicksUnchanged;
+    }
+
+
+    /**
+     * @return the amount of ticks the property of the main or secondary entity instance was unchanged,
+     * according to the entity defined in the expression.
+     * @throws IllegalArgumentException in case none of the entity instances received is of the defined entity.
+     */
+    private int getNofTicksUnchanged(Entity mainEntityInstance, Entity secondaryEntityInstance) {
+        if (mainEntityInstance.getTypeId() == entityTypeId) {
+            return mainEntityInstance.getNofTicksPropertyValueUnchanged(propertySlot);
+        } else if (secondaryEntityInstance != null && secondaryEntityInstance.getTypeId() == entityTypeId) {
+            return secondaryEntityInstance.getNofTicksPropertyValueUnchanged(propertySlot);
+        } else {
+            throw new IllegalArgumentException("Cannot get entity instance's value in the ticks function expression, " +
+                    "main and secondary entity instances received does not have the defined entity name \"" + entityName + " or property name \"" + propertyName + "\".");
+        }
+    }
+
+
+    @Override
+    public String getAsString() {
+        return "Ticks(" + entityName + ", " + propertyName + ")";
+    }
+}
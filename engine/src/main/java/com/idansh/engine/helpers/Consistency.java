@@ -16,11 +16,28 @@ public class Consistency {
         nofItems = 0;
     }
 
+    public Consistency(int sum, int nofItems) {
+        this.sum = sum;
+        this.nofItems = nofItems;
+    }
+
+    public Consistency(Consistency consistency) {
+        this(consistency.sum, consistency.nofItems);
+    }
+
     public void addItem(int value) {
         sum += value;
         nofItems++;
     }
 
+    public int getSum() {
+        return sum;
+    }
+
+    public int getNofItems() {
+        return nofItems;
+    }
+
     public float getConsistency() {
         if (nofItems == 0)
             return 0;
@@ -0,0 +1,69 @@
+package com.idansh.engine.helpers;
+
+/**
+ * Abstract class that contains static methods which
+ * reduce the amount of points of a series, while keeping its visual shape.
+ */
+public abstract class Downsampling {
+    /**
+     * Chooses at most the given amount of points of a series with Largest-Triangle-Three-Buckets (Steinarsson, 2013).
+     * The first and last points are always chosen, the points between them are split into equal buckets,
+     * and from each bucket the point that forms the largest triangle with the point chosen from the previous bucket
+     * and the average point of the next bucket is chosen.
+     * @param x the x values of the points, ascending.
+     * @param y the y values of the points.
+     * @param nofPoints amount of points of the series, from the start of the arrays.
+     * @param maxPoints max amount of points to choose, at least 2.
+     * @return the indexes of the chosen points, ascending. All the points if there are not more than maxPoints of them.
+     */
+    public static int[] largestTriangleThreeBuckets(double[] x, double[] y, int nofPoints, int maxPoints) {
+        if (maxPoints < 2)
+            throw new IllegalArgumentException("Invalid amount of points " + maxPoints + ", at least 2 points are needed.");
+
+        if (nofPoints <= maxPoints) {
+            int[] allPoints = new int[nofPoints];
+            for (int i = 0; i < nofPoints; i++) {
+                allPoints[i] = i;
+            }
+            return allPoints;
+        }
+
+        int[] chosenPoints = new int[maxPoints];
+        double bucketSize = (double) (nofPoints - 2) / (maxPoints - 2);
+        int previousPoint = 0;
+        chosenPoints[0] = 0;
+
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            // Average point of the next bucket, the last point is the next bucket of the last bucket
+            int nextBucketStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextBucketEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, nofPoints);
+            double averageX = 0, averageY = 0;
+            for (int point = nextBucketStart; point < nextBucketEnd; point++) {
+                averageX += x[point];
+                averageY += y[point];
+            }
+            averageX /= nextBucketEnd - nextBucketStart;
+            averageY /= nextBucketEnd - nextBucketStart;
+
+            // Choose the point of the current bucket with the largest triangle
+            int bucketStart = (int) (bucket * bucketSize) + 1;
+            int bucketEnd = (int) ((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int chosenPoint = bucketStart;
+            for (int point = bucketStart; point < bucketEnd; point++) {
+                double area = Math.abs((x[previousPoint] - averageX) * (y[point] - y[previousPoint])
+                        - (x[previousPoint] - x[point]) * (averageY - y[previousPoint]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosenPoint = point;
+                }
+            }
+
+            chosenPoints[bucket + 1] = chosenPoint;
+            previousPoint = chosenPoint;
+        }
+
+        chosenPoints[maxPoints - 1] = nofPoints - 1;
+        return chosenPoints;
+    }
+}
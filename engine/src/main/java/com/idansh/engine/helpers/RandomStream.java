@@ -0,0 +1,137 @@
+package com.idansh.engine.helpers;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A stream of pseudorandom values whose whole state is two longs, so the state can be saved and the stream restored from it
+ * (e.g. into a checkpoint of a running simulation) without changing the values the stream generates.
+ * Uses the SplitMix64 algorithm, the same as java.util.SplittableRandom, and generates the same values as it for the same seed,
+ * though unlike it the state of the stream can be read.
+ * Not thread safe, each thread should use its own stream, created with split() or from a seed.
+ */
+public class RandomStream {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long seed;          // Advanced by the gamma before each value is generated
+    private final long gamma;   // Always odd, streams with different gammas generate different sequences
+
+
+    /**
+     * Creates a stream from a seed, two streams created from the same seed generate the same values.
+     */
+    public RandomStream(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+
+    /**
+     * Creates a stream with a random seed, for values that do not need to be reproduced.
+     */
+    public RandomStream() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+
+    /**
+     * Restores a stream from its state, as returned by getSeed() and getGamma().
+     * The restored stream generates the same values the saved stream would generate from that point.
+     * @throws IllegalArgumentException in case the gamma is even, so it was not taken from a stream.
+     */
+    public RandomStream(long seed, long gamma) {
+        if ((gamma & 1) == 0)
+            throw new IllegalArgumentException("Cannot create a random stream with the even gamma " + gamma + ", the gamma of a stream is always odd.");
+
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getGamma() {
+        return gamma;
+    }
+
+
+    /**
+     * Creates a new stream that generates different values than this stream, advancing this stream.
+     * Streams split in the same order from streams of the same state are the same.
+     */
+    public RandomStream split() {
+        return new RandomStream(nextLong(), mixGamma(nextSeed()));
+    }
+
+
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+
+    /**
+     * @return a random int from 0 (included) to the bound (excluded), each with the same probability.
+     * @throws IllegalArgumentException in case the bound is not positive.
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("Cannot generate a random int with a bound of " + bound + ", the bound must be positive.");
+
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            r &= m;     // The bound is a power of 2
+        } else {
+            // Reject the values of the last partial range of the bound, so each value has the same probability
+            for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1)
+                ;
+        }
+
+        return r;
+    }
+
+
+    /**
+     * @return a random double from 0 (included) to 1 (excluded).
+     */
+    public double nextDouble() {
+        return (mix64(nextSeed()) >>> 11) * DOUBLE_UNIT;
+    }
+
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+
+    /**
+     * @return an odd gamma for a split stream, with enough bit transitions that the values of the stream are well mixed.
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -1,21 +1,43 @@
 package com.idansh.engine.helpers;
 
-import java.util.Random;
 
 /**
  * Abstract class that contains static methods which
  * returns random values of various types.
+ * Values are taken from the random stream bound to the current thread,
+ * a thread without a bound stream uses its own unseeded stream.
  */
 public abstract class RandomValue {
-    private static final Random rnd = new Random();
+    private static final ThreadLocal<RandomStream> boundStream = ThreadLocal.withInitial(RandomStream::new);
     private static final String VALID_CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789!?,-(). ";
 
 
+    /**
+     * Binds a random stream to the current thread, all the random values generated
+     * on the current thread will be taken from this stream until another stream is bound.
+     * @param stream the stream to bind, usually split from the stream of a simulation.
+     * @return the stream that was bound to the current thread before, to be bound back when done.
+     */
+    public static RandomStream bindStream(RandomStream stream) {
+        RandomStream previousStream = boundStream.get();
+        boundStream.set(stream);
+        return previousStream;
+    }
+
+
+    /**
+     * @return the random stream that is bound to the current thread.
+     */
+    public static RandomStream getStream() {
+        return boundStream.get();
+    }
+
+
     /**
      * Get a random boolean value.
      */
     public static Boolean getRandomBoolean() {
-        return rnd.nextBoolean();
+        return boundStream.get().nextBoolean();
     }
 
 
@@ -28,7 +50,7 @@ public abstract class RandomValue {
     public static int getRandomInt(double from, double to) {
         int fromInt = (int) from;
         int toInt = (int) to;
-        return rnd.nextInt(toInt + 1 - fromInt) + fromInt;
+        return boundStream.get().nextInt(toInt + 1 - fromInt) + fromInt;
     }
 
 
@@ -38,7 +60,7 @@ public abstract class RandomValue {
      * @param to maximum number of the range.
      */
     public static float getRandomFloatFromRange(double from, double to) {
-        double randomDouble = from + (to - from) * rnd.nextDouble(); // Get a random double within the specified range
+        double randomDouble = from + (to - from) * boundStream.get().nextDouble(); // Get a random double within the specified range
         return (float) randomDouble; // Convert to float and return it
     }
 
@@ -46,6 +68,7 @@ public abstract class RandomValue {
      * Get a random float number without a range.
      */
     public static float getRandomFloatWithoutRange() {
+        RandomStream rnd = boundStream.get();
         double randomDouble = rnd.nextInt() * rnd.nextDouble(); // Get a random double within the specified range
         return (float) randomDouble; // Convert to float and return it
     }
@@ -55,7 +78,7 @@ public abstract class RandomValue {
      * Get a random double number from 0 to 1, including both the bottom and top bounds.
      */
     public static double getRandomDouble() {
-        return rnd.nextInt(1001) / 1000.0;
+        return boundStream.get().nextInt(1001) / 1000.0;
     }
 
 
@@ -66,9 +89,10 @@ public abstract class RandomValue {
     public static String getRandomString() {
         final int maxStringLen = 52;        // The maximum length of a possible generated string
         final int minStringLen = 1;         // The minimum length of a possible generated string
-        int stringLen = rnd.nextInt(maxStringLen - minStringLen) + minStringLen;  // Generate a random string length
+        int stringLen = boundStream.get().nextInt(maxStringLen - minStringLen) + minStringLen;  // Generate a random string length
 
         // Start building the string:
+        RandomStream rnd = boundStream.get();
         StringBuilder stringBuilder = new StringBuilder();
 
         for (int i = 0; i < stringLen; i++) {
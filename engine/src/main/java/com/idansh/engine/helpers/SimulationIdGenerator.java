@@ -3,6 +3,7 @@ package com.idansh.engine.helpers;
 /**
  * Generates a unique ID for each simulation ran.
  * Will generate a number starting from 1 for each simulation.
+ * Simulations can be created from multiple threads (forks), so the IDs are generated synchronously.
  */
 public class SimulationIdGenerator {
     private static int counter = 1;
@@ -10,7 +11,7 @@ public class SimulationIdGenerator {
     /**
      * @return int ID generated.
      */
-    public static int getID() {
+    public static synchronized int getID() {
         return counter++;
     }
 }
@@ -34,6 +34,16 @@ public class SimulationTime {
         this.isPaused = false;
     }
 
+    /**
+     * Set the simulation's start times to the current time,
+     * for a simulation that continues a run which already ran for the received time.
+     * @param elapsedTime the time in milliseconds that the previous run ran.
+     */
+    public SimulationTime(long elapsedTime) {
+        this();
+        this.elapsedTime = elapsedTime;
+    }
+
     /**
      * Copy a given simulation time's start date and current elapsed time,
      * and finish it.
@@ -49,6 +59,19 @@ public class SimulationTime {
             this.elapsedTime += System.currentTimeMillis() - lastContinueTime;
     }
 
+    /**
+     * Copy a given simulation time's start date, with the elapsed time it had at a snapshot of the simulation.
+     * The copied time does not advance.
+     * @param elapsedTime the time in milliseconds that the simulation ran until the snapshot.
+     */
+    public SimulationTime(SimulationTime simulationTime, long elapsedTime) {
+        this.startDate = simulationTime.startDate;
+        this.elapsedTime = elapsedTime;
+        this.lastContinueTime = 0;
+        this.isPaused = true;
+        this.endDate = null;
+    }
+
     /**
      * Sets the simulation's end times to the current time.
      */
@@ -76,6 +99,16 @@ public class SimulationTime {
         return elapsedTime / 1000f;
     }
 
+    /**
+     * @return The time in milliseconds that has passed from the start of the simulation, up to this moment.
+     */
+    public long getElapsedTimeMillis() {
+        if(isPaused)
+            return elapsedTime;
+
+        return elapsedTime + System.currentTimeMillis() - lastContinueTime;
+    }
+
     public LocalDateTime getStartDate() {
         return startDate;
     }
@@ -835,6 +835,7 @@ public class PRDAction {
          *         &lt;element ref="{}PRD-condition" minOccurs="0"/>
          *       &lt;/choice>
          *       &lt;attribute name="count" use="required" type="{http://www.w3.org/2001/XMLSchema}string" />
+         *       &lt;attribute name="with-replacement" type="{http://www.w3.org/2001/XMLSchema}boolean" default="true" />
          *     &lt;/restriction>
          *   &lt;/complexContent>
          * &lt;/complexType>
@@ -852,6 +853,8 @@ public class PRDAction {
             protected PRDCondition prdCondition;
             @XmlAttribute(name = "count", required = true)
             protected String count;
+            @XmlAttribute(name = "with-replacement")
+            protected Boolean withReplacement;
 
             /**
              * Gets the value of the prdCondition property.
@@ -901,6 +904,34 @@ public class PRDAction {
                 this.count = value;
             }
 
+            /**
+             * Gets the value of the withReplacement property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Boolean }
+             *     
+             */
+            public boolean isWithReplacement() {
+                if (withReplacement == null) {
+                    return true;
+                } else {
+                    return withReplacement;
+                }
+            }
+
+            /**
+             * Sets the value of the withReplacement property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Boolean }
+             *     
+             */
+            public void setWithReplacement(Boolean value) {
+                this.withReplacement = value;
+            }
+
         }
 
     }
@@ -27,6 +27,7 @@ import javax.xml.bind.annotation.XmlType;
  *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
  *       &lt;all>
  *         &lt;element name="PRD-thread-count" type="{http://www.w3.org/2001/XMLSchema}int"/>
+ *         &lt;element name="PRD-seed" type="{http://www.w3.org/2001/XMLSchema}long" minOccurs="0"/>
  *         &lt;element ref="{}PRD-environment"/>
  *         &lt;element name="PRD-grid">
  *           &lt;complexType>
@@ -58,6 +59,8 @@ public class PRDWorld {
 
     @XmlElement(name = "PRD-thread-count")
     protected int prdThreadCount;
+    @XmlElement(name = "PRD-seed")
+    protected Long prdSeed;
     @XmlElement(name = "PRD-environment", required = true)
     protected PRDEnvironment prdEnvironment;
     @XmlElement(name = "PRD-grid", required = true)
@@ -85,6 +88,30 @@ public class PRDWorld {
         this.prdThreadCount = value;
     }
 
+    /**
+     * Gets the value of the prdSeed property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Long }
+     *     
+     */
+    public Long getPRDSeed() {
+        return prdSeed;
+    }
+
+    /**
+     * Sets the value of the prdSeed property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Long }
+     *     
+     */
+    public void setPRDSeed(Long value) {
+        this.prdSeed = value;
+    }
+
     /**
      * Gets the value of the prdEnvironment property.
      * 
@@ -36,6 +36,7 @@ public abstract class Converter {
         World retWorld = new World(prdGrid.getRows(), prdGrid.getColumns());
 
         retWorld.setThreadCount(prdWorld.getPRDThreadCount());
+        retWorld.setSeed(prdWorld.getPRDSeed());
 
         // Iterates over all PRDEnvironmentProperties, converts each property and adds it to the world
         prdWorld.getPRDEnvironment().getPRDEnvProperty().forEach(
@@ -721,7 +722,8 @@ public abstract class Converter {
 
             SecondaryEntity secondaryEntity = new SecondaryEntity(
                     prdSecondaryEntity.getEntity(),
-                    prdSecondaryEntity.getPRDSelection().getCount()
+                    prdSecondaryEntity.getPRDSelection().getCount(),
+                    prdSecondaryEntity.getPRDSelection().isWithReplacement()
             );
 
             secondaryEntity.addNewConditionAction(
@@ -9,7 +9,9 @@ import com.idansh.engine.expression.fixed.FixedValueExpression;
 import com.idansh.engine.expression.functions.*;
 import com.idansh.engine.property.instance.PropertyType;
 import com.idansh.engine.world.World;
-import javafx.util.Pair;
+
+import java.util.AbstractMap;
+import java.util.Map;
 
 /**
  * Class that converts expressions from generated XML file classes to Expression object,
@@ -162,7 +164,7 @@ public class ExpressionConverter {
     private Expression getFunctionExpression(String actionType, String mainEntityName, SecondaryEntity secondaryEntity, String propertyName, String expressionStr) {
         Expression retFunctionExpression = null;
         String functionName = getFunctionName(expressionStr);
-        Pair<String, String> entityPropertyPair;
+        Map.Entry<String, String> entityPropertyPair;
 
         if (functionName != null) {
             switch (FunctionActivationExpression.Type.getType(functionName)) {
@@ -185,7 +187,7 @@ public class ExpressionConverter {
                     break;
 
                 case PERCENT:
-                    Pair<String, String> percentExpressions = getPercentageExpressionsFromArgument(expressionStr);
+                    Map.Entry<String, String> percentExpressions = getPercentageExpressionsFromArgument(expressionStr);
                     retFunctionExpression = new PercentFunctionExpression(
                             convertExpression(
                                     actionType, mainEntityName, secondaryEntity, propertyName, percentExpressions.getKey()),
@@ -199,7 +201,7 @@ public class ExpressionConverter {
                     checkEntityContext(entityPropertyPair, mainEntityName, secondaryEntity);
 
                     retFunctionExpression = new TicksFunctionActivation(
-                            entityPropertyPair.getKey(), entityPropertyPair.getValue());
+                            entityManager, entityPropertyPair.getKey(), entityPropertyPair.getValue());
                     break;
             }
         }
@@ -217,7 +219,7 @@ public class ExpressionConverter {
      * @param entityPropertyPair Pair of entity name and property name arguments of a function expression.
      * @throws IllegalArgumentException in case that the entity context name doesn't equal to the function argument's entity name.
      */
-    private void checkEntityContext(Pair<String, String> entityPropertyPair, String mainEntityContext, SecondaryEntity secondaryEntityContext) {
+    private void checkEntityContext(Map.Entry<String, String> entityPropertyPair, String mainEntityContext, SecondaryEntity secondaryEntityContext) {
         if(!mainEntityContext.equals(entityPropertyPair.getKey()) && !(secondaryEntityContext != null && secondaryEntityContext.getName().equals(entityPropertyPair.getKey()))) {
             throw new IllegalArgumentException("Invalid function expression argument of entity \"" + entityPropertyPair.getKey()
                     + "\", on main entity context \"" + mainEntityContext + "\" and secondary entity context \"" + (secondaryEntityContext == null ? "N/A" : secondaryEntityContext.getName()) + "\"."
@@ -266,7 +268,7 @@ public class ExpressionConverter {
      * "<function_name>(<first_expression>,<second_expression>)".
      * @return a pair of two expression names to be converted to expression.
      */
-    private Pair<String, String> getPercentageExpressionsFromArgument(String str) {
+    private Map.Entry<String, String> getPercentageExpressionsFromArgument(String str) {
         String withoutParenthesis = getFunctionArgument(str);
         String[] parts = withoutParenthesis.split(",");
 
@@ -275,7 +277,7 @@ public class ExpressionConverter {
                 throw new IllegalArgumentException("Invalid percentage argument, " +
                         "at least one of the expressions received is empty.");
 
-            return new Pair<>(parts[0], parts[1]);
+            return new AbstractMap.SimpleImmutableEntry<>(parts[0], parts[1]);
         } else {
             throw new IllegalArgumentException("Invalid percentage argument, " +
                     "format should be \"<first_expression>,<second_expression>\".");
@@ -289,7 +291,7 @@ public class ExpressionConverter {
      * @param str str in the format specified.
      * @return a pair where the first word is the entity name, and the second word is the property name.
      */
-    private Pair<String, String> getEntityPropertyFunctionArguments(String str) {
+    private Map.Entry<String, String> getEntityPropertyFunctionArguments(String str) {
         String withoutParenthesis = getFunctionArgument(str);
         String[] parts = withoutParenthesis.split("\\.");
 
@@ -298,7 +300,7 @@ public class ExpressionConverter {
                 throw new IllegalArgumentException("Invalid entity-property argument, " +
                         "at least one of the words received is empty.");
 
-            return new Pair<>(parts[0], parts[1]);
+            return new AbstractMap.SimpleImmutableEntry<>(parts[0], parts[1]);
         } else
             throw new IllegalArgumentException("Invalid entity-property argument, " +
                     "format should be \"<first_word>.<second_word>\".");
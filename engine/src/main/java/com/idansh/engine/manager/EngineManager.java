@@ -0,0 +1,847 @@
+package com.idansh.engine.manager;
+
+import com.idansh.dto.entity.AmountPointDTO;
+import com.idansh.dto.entity.EntityDTO;
+import com.idansh.dto.environment.EnvironmentVariablesListDTO;
+import com.idansh.dto.metrics.InvocationMetricsDTO;
+import com.idansh.dto.metrics.SimulationMetricsDTO;
+import com.idansh.dto.property.PropertyDTO;
+import com.idansh.dto.property.PropertyValuesDTO;
+import com.idansh.dto.range.RangeDTO;
+import com.idansh.dto.rule.RuleDTO;
+import com.idansh.dto.rule.TerminationRuleDTO;
+import com.idansh.dto.simulation.LoadedSimulationDTO;
+import com.idansh.dto.simulation.ProgressUpdateDTO;
+import com.idansh.dto.simulation.RunningSimulationDTO;
+import com.idansh.dto.simulation.SimulationResultDTO;
+import com.idansh.dto.simulation.ThreadsDTO;
+import com.idansh.dto.sweep.SweepDTO;
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.events.SimulationEventRecorder;
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.helpers.SimulationTime;
+import com.idansh.engine.manager.progress.ProgressPublisher;
+import com.idansh.engine.manager.progress.ProgressSubscription;
+import com.idansh.engine.manager.result.SimulationResult;
+import com.idansh.engine.manager.sweep.Sweep;
+import com.idansh.engine.metrics.SimulationMetrics;
+import com.idansh.engine.metrics.SimulationMetricsMBeans;
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.rule.TerminationRule;
+import com.idansh.engine.world.World;
+import com.idansh.engine.world.checkpoint.WorldCheckpoint;
+import com.idansh.engine.world.snapshot.EntitySnapshot;
+import com.idansh.engine.world.snapshot.WorldSnapshot;
+import com.idansh.engine.jaxb.unmarshal.reader.Reader;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * The UI will handle the engine through this class.
+ * Some methods will return a DTO that contains data from the simulation (without the logic of the engine elements).
+ */
+public class EngineManager {
+    private static final int MAX_HISTOGRAM_POINTS = 1000;    // Max points of the amount histogram of each entity in the executions' DTOs
+    private static final int MAX_PROPERTY_VALUES = 20;       // Max most common values of a property that is not numeric in its values' DTO
+    private World loadedWorld;                              // The currently loaded world. This world will not run but only be used to create instances for running
+    private ThreadPoolExecutor threadPool;                  // Thread management for simulation runs
+    private ForkJoinPool tickPool;                          // Optional, shared by all simulations to invoke the rules of each tick in parallel
+    private final Map<Integer, World> simulationsPool;      // Simulated worlds map, also updated by forks in the background: currently running simulations and finished simulations. Key = ID of the simulation, Value = simulated world
+    private final Map<Integer, World> loadedWorldsMap;            // Contains the initial values of all the loaded worlds that were loaded and ran in the system.
+    private final ExecutorService checkpointExecutor;       // Writes and forks the checkpoints of the simulations, so the simulations do not wait for them
+    private boolean isRecordingEvents;                      // If true, simulations created from now on emit flight recorder events
+    private boolean isCountingInvocations;                  // If true, simulations created from now on count the invocations of their rules
+    private final ProgressPublisher progressPublisher;      // Pushes the progress of the simulations in the simulations pool to the subscribers
+
+
+    public EngineManager() {
+        loadedWorld = null;
+        simulationsPool = new ConcurrentHashMap<>();
+        loadedWorldsMap = new ConcurrentHashMap<>();
+        threadPool = null;
+        tickPool = null;
+        isRecordingEvents = false;
+        isCountingInvocations = false;
+        checkpointExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progressPublisher = new ProgressPublisher(this::getThreadsDTO);
+    }
+
+    /**
+     * Create and add a new Thread Pool into the engine.
+     * @param threadCount max number of threads that can run simultaneously.
+     */
+    private void createThreadPool(int threadCount) {
+        threadPool = (ThreadPoolExecutor) Executors.newFixedThreadPool(threadCount);
+    }
+
+    /**
+     * Sets the max number of simulations that can run simultaneously, replacing the thread count of the loaded simulation.
+     * @param threadCount max number of threads that can run simultaneously, at least 1.
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount < 1)
+            throw new IllegalArgumentException("Invalid thread count " + threadCount + ", at least one thread is needed.");
+
+        if (threadPool == null) {
+            createThreadPool(threadCount);
+        } else if (threadCount > threadPool.getMaximumPoolSize()) {
+            // The core size cannot be bigger than the max size, so the max size is set first when growing, and last when shrinking
+            threadPool.setMaximumPoolSize(threadCount);
+            threadPool.setCorePoolSize(threadCount);
+        } else {
+            threadPool.setCorePoolSize(threadCount);
+            threadPool.setMaximumPoolSize(threadCount);
+        }
+    }
+
+
+    /**
+     * Shuts down the thread pool of the engine, the simulations that were already created still run until they end.
+     * No simulations can be created after, the metrics of the simulations are unregistered from JMX,
+     * and all the progress subscriptions are cancelled.
+     */
+    public void shutdown() {
+        if (threadPool != null)
+            threadPool.shutdown();
+
+        checkpointExecutor.shutdown();
+        simulationsPool.keySet().forEach(SimulationMetricsMBeans::unregister);
+        progressPublisher.shutdown();
+    }
+
+
+    /**
+     * Enables or disables invoking the rules of each tick in parallel, for simulations created from now on.
+     * A simulation with a given seed has the same results whether its ticks are parallel or not,
+     * and whatever the parallelism level is (see ParallelTickEngine).
+     * @param parallelism max number of threads that will invoke the rules of a single tick,
+     *                    1 or less disables parallel ticks.
+     */
+    public void setParallelTicks(int parallelism) {
+        // A previous pool is not shut down, since simulations that are still running may be using it
+        tickPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+
+    /**
+     * Enables or disables flight recorder (JFR) events for simulations created from now on (see World.setEventRecording).
+     * The events are only saved while a flight recording is running, e.g. with -XX:StartFlightRecording or from JDK Mission Control.
+     * @throws IllegalStateException in case the JVM does not support flight recording.
+     */
+    public void setEventRecording(boolean isRecordingEvents) {
+        if (isRecordingEvents && !SimulationEventRecorder.isAvailable())
+            throw new IllegalStateException("Cannot record events, flight recording is not available in this JVM.");
+
+        this.isRecordingEvents = isRecordingEvents;
+    }
+
+
+    /**
+     * Enables or disables counting the invocations of the rules and actions for simulations created from now on (see World.setInvocationCounting).
+     * While disabled, the metrics of the simulations include only the latencies of their ticks.
+     */
+    public void setInvocationCounting(boolean isCountingInvocations) {
+        this.isCountingInvocations = isCountingInvocations;
+    }
+
+
+    /**
+     * @return returns to the UI a DTO that contains information on the current loaded simulated world.
+     */
+    public LoadedSimulationDTO getLoadedSimulationDetails() {
+        LoadedSimulationDTO loadedSimulationDTO =
+                new LoadedSimulationDTO(getEnvironmentVariablesListDTO(loadedWorld));
+
+        // Add Entities:
+        loadedWorld.entityManager.getEntityFactories().forEach(
+                (entityFactoryName, entityFactory) -> {
+                    // Create entity DTO
+                    EntityDTO entityDTO = new EntityDTO(
+                            entityFactoryName,
+                            null,
+                            entityFactory.getInitPopulation(),
+                            null
+                    );
+
+                    // Create properties for the entity DTO
+                    entityFactory.getPropertiesToAssign().forEach(
+                            (propertyFactoryName, propertyFactory) -> {
+                                Range range = propertyFactory.getRange();
+                                RangeDTO rangeDTO;
+
+                                // Check if range exists, if so then create DTO from it
+                                if(range != null)
+                                    rangeDTO = new RangeDTO(range.getBottom(), range.getTop());
+                                else
+                                    rangeDTO = null;
+
+                                PropertyDTO propertyDTO = new PropertyDTO(
+                                        propertyFactoryName,
+                                        propertyFactory.getType().getTypeString(),
+                                        rangeDTO,
+                                        propertyFactory.isRandomGenerated(),
+                                        propertyFactory.isRandomGenerated() ? null : propertyFactory.getValue()    // If the value is not random, then get the fixed initial value
+                                );
+                                entityDTO.addPropertyDTOtoList(propertyDTO);
+                            }
+                    );
+                    loadedSimulationDTO.addEntityDTO(entityDTO);
+                }
+        );
+
+        // Add Rules:
+        loadedWorld.getRulesMap().forEach(
+                (ruleName, rule) -> {
+                    // Create rule DTO
+                    RuleDTO ruleDTO = new RuleDTO(
+                            ruleName,
+                            rule.getActivation().getTicks(),
+                            rule.getActivation().getProbability(),
+                            rule.getActionsList().size()
+                    );
+
+                    // Add actions' names to the DTO
+                    for (Action action : rule.getActionsList()) {
+                        ruleDTO.addActionDTO(action.getActionDTO());
+                    }
+
+                    loadedSimulationDTO.addRuleDTO(ruleDTO);
+                }
+        );
+
+        // Add Termination Rules:
+        loadedWorld.getTerminationRules().forEach(
+                (terminationRuleType, terminationRule) -> {
+                    TerminationRuleDTO terminationRuleDTO = new TerminationRuleDTO(
+                            TerminationRule.Type.getTypeString(terminationRuleType),
+                            terminationRule.getValue()
+                    );
+
+                    loadedSimulationDTO.addTerminationRuleDTO(terminationRuleDTO);
+                }
+        );
+
+        return loadedSimulationDTO;
+    }
+
+
+    /**
+     * Loads a simulation for XML file.
+     * @param file XML file with world data.
+     */
+    public void loadSimulationFromFile(File file) {
+            loadedWorld = Reader.readWorld(file);
+
+            // If one does not already exist, create a thread pool with the received thread count
+            if(threadPool == null) {
+                createThreadPool(loadedWorld.getThreadCount());
+            }
+    }
+
+
+    public LoadedSimulationDTO loadPreviouslyLoadedSimulation(int id) {
+        World worldReceived = loadedWorldsMap.get(id);
+        if (worldReceived == null)
+            throw new IllegalArgumentException("Invalid ID " + id + ", no simulation with this ID previously ran.");
+
+        loadedWorld = worldReceived;
+        return getLoadedSimulationDetails();
+    }
+
+
+    /**
+     * Create a runnable World object and add it to the thread pool,
+     * load user received input of environment variables into the runnable World,
+     * and execute the thread.
+     * This thread will run sometime in the future, according to the JVM thread pool choice.
+     * @param environmentVariablesListDTO contains data of environment variables to update in the simulation.
+     * @return ID of the simulation created.
+     */
+    public int createAndPutSimulation(EnvironmentVariablesListDTO environmentVariablesListDTO) {
+        return createAndPutSimulation(environmentVariablesListDTO, null);
+    }
+
+
+    /**
+     * Create a runnable World object with a given seed and add it to the thread pool,
+     * a simulation that is created again with the same seed and input will have the same results.
+     * @param environmentVariablesListDTO contains data of environment variables to update in the simulation.
+     * @param seed the seed of the simulation's random values, if null the seed of the loaded world is used (or a random one).
+     * @return ID of the simulation created.
+     */
+    public int createAndPutSimulation(EnvironmentVariablesListDTO environmentVariablesListDTO, Long seed) {
+        World runnableWorld = new World(loadedWorld, seed);
+        runnableWorld.generateNewID();
+        runnableWorld.setTickPool(tickPool);
+        runnableWorld.setEventRecording(isRecordingEvents);
+        runnableWorld.setInvocationCounting(isCountingInvocations);
+        World loadedWorldToSave = new World(loadedWorld);
+
+        updateEnvironmentVariablesFromInput(loadedWorldToSave, environmentVariablesListDTO);
+        updateEnvironmentVariablesFromInput(runnableWorld, environmentVariablesListDTO);
+
+        // Save the currently loaded world for future use
+        loadedWorldsMap.put(runnableWorld.getId(), loadedWorldToSave);
+
+        // Add the simulation world to the simulations pool
+        simulationsPool.put(runnableWorld.getId(), runnableWorld);
+        SimulationMetricsMBeans.register(runnableWorld);
+        runnableWorld.setProgressListener(progressPublisher);
+        progressPublisher.onProgress(runnableWorld);
+
+        // Run the simulation thread at some time in the future
+        threadPool.execute(runnableWorld);
+
+        return runnableWorld.getId();
+    }
+
+
+    /**
+     * Runs a parameter sweep over the loaded simulation, a number of replicas for each point sampled from the sweep's parameters.
+     * The runs are scheduled in the thread pool as they are sampled, and are created from a single copy of the loaded world.
+     * @param sweepDTO contains the parameters to sweep over, the sampling, and the amount of replicas of each point.
+     * @return the sweep, with a future for the result of each run and a future for the aggregated result table.
+     * @throws IllegalArgumentException in case the sweep's input is invalid for the loaded simulation.
+     */
+    public Sweep runSweep(SweepDTO sweepDTO) {
+        if (loadedWorld == null)
+            throw new IllegalStateException("Cannot run a parameter sweep, no simulation is loaded.");
+
+        World model = new World(loadedWorld);
+        model.setEventRecording(isRecordingEvents);
+        model.setInvocationCounting(isCountingInvocations);
+        return new Sweep(model, sweepDTO, threadPool, tickPool);
+    }
+
+
+    /**
+     * Checkpoints a running simulation into a binary file at its next tick boundary, so it can be resumed later as a new run.
+     * The file is written in the background while the simulation keeps running.
+     * @param simulationID ID of the simulation to checkpoint.
+     * @param file the file to write the checkpoint into, replaced if it exists.
+     * @param isCompressed if true the checkpoint is compressed with GZIP.
+     * @return a future that is completed with the file once the checkpoint is written,
+     *         or completed exceptionally in case the simulation ended first or the file could not be written.
+     */
+    public CompletableFuture<Path> checkpointSimulation(int simulationID, Path file, boolean isCompressed) {
+        return getSimulation(simulationID).requestCheckpoint().thenApplyAsync(
+                checkpoint -> {
+                    checkpoint.write(file, isCompressed);
+                    return file;
+                },
+                checkpointExecutor
+        );
+    }
+
+
+    /**
+     * Forks a running or paused simulation at its next tick boundary into branches that continue from the same state,
+     * each with its own environment variables, for comparing "what-if" scenarios without running from the first tick again.
+     * The branches share the property columns of the simulation copy-on-write, so each branch only copies the pages of the columns it writes.
+     * All the branches continue from the same random stream, so branches with the same environment variables have the same results.
+     * The forked simulation keeps running with the same results it would have if it was not forked.
+     * @param simulationID ID of the simulation to fork.
+     * @param branchesEnvironmentVariables the environment variables to update in each branch,
+     *                                     variables that are not received keep their values from the simulation.
+     * @return a future that is completed with the IDs of the branches once they were created and put in the thread pool,
+     *         in the order of the received environment variables,
+     *         or completed exceptionally in case the simulation ended before the next tick boundary.
+     */
+    public CompletableFuture<List<Integer>> forkSimulation(int simulationID, List<EnvironmentVariablesListDTO> branchesEnvironmentVariables) {
+        World world = getSimulation(simulationID);
+        World simulationDefinition = loadedWorldsMap.get(simulationID);
+        if (simulationDefinition == null)
+            throw new IllegalArgumentException("Invalid ID " + simulationID + ", the simulation with this ID was not created from a loaded simulation.");
+
+        List<EnvironmentVariablesListDTO> branches = new ArrayList<>(branchesEnvironmentVariables);
+        return world.requestCheckpoint().thenApplyAsync(
+                checkpoint -> {
+                    List<Integer> branchIDs = new ArrayList<>();
+                    for (EnvironmentVariablesListDTO environmentVariablesListDTO : branches) {
+                        branchIDs.add(putSimulationFromCheckpoint(simulationDefinition, checkpoint, environmentVariablesListDTO));
+                    }
+                    return branchIDs;
+                },
+                checkpointExecutor
+        );
+    }
+
+
+    /**
+     * Creates a runnable World object that resumes from a checkpoint and adds it to the thread pool.
+     * The branch is saved with the definition of the simulation it was forked from, as its loaded world.
+     * @return ID of the simulation created.
+     */
+    private int putSimulationFromCheckpoint(World simulationDefinition, WorldCheckpoint checkpoint, EnvironmentVariablesListDTO environmentVariablesListDTO) {
+        World runnableWorld = new World(simulationDefinition, checkpoint);
+        runnableWorld.generateNewID();
+        runnableWorld.setTickPool(tickPool);
+        runnableWorld.setEventRecording(isRecordingEvents);
+        runnableWorld.setInvocationCounting(isCountingInvocations);
+        updateEnvironmentVariablesFromInput(runnableWorld, environmentVariablesListDTO);
+
+        loadedWorldsMap.put(runnableWorld.getId(), simulationDefinition);
+        simulationsPool.put(runnableWorld.getId(), runnableWorld);
+        SimulationMetricsMBeans.register(runnableWorld);
+        runnableWorld.setProgressListener(progressPublisher);
+        progressPublisher.onProgress(runnableWorld);
+        threadPool.execute(runnableWorld);
+
+        return runnableWorld.getId();
+    }
+
+
+    /**
+     * Resumes a simulation from a checkpoint file as a new run of the currently loaded world,
+     * which must be the world the checkpointed simulation was created from.
+     * The resumed simulation has the same results the checkpointed simulation had after the checkpoint.
+     * @param file a checkpoint file written by checkpointSimulation.
+     * @return ID of the simulation created.
+     * @throws IllegalArgumentException in case the checkpoint does not match the loaded world.
+     */
+    public int resumeSimulationFromCheckpoint(Path file) {
+        if (loadedWorld == null)
+            throw new IllegalStateException("Cannot resume a simulation from a checkpoint, no simulation is loaded.");
+
+        WorldCheckpoint checkpoint = WorldCheckpoint.read(file, loadedWorld.entityManager);
+        World runnableWorld = new World(loadedWorld, checkpoint);
+        runnableWorld.generateNewID();
+        runnableWorld.setTickPool(tickPool);
+        runnableWorld.setEventRecording(isRecordingEvents);
+        runnableWorld.setInvocationCounting(isCountingInvocations);
+
+        // Save the loaded world with the environment variables of the checkpoint for future use
+        World loadedWorldToSave = new World(loadedWorld);
+        checkpoint.getEnvironmentVariables().forEach(
+                (name, value) -> loadedWorldToSave.environmentVariablesManager.getEnvironmentVariable(name).updateValue(value)
+        );
+        loadedWorldToSave.initEnvironmentVariables();
+        loadedWorldsMap.put(runnableWorld.getId(), loadedWorldToSave);
+
+        simulationsPool.put(runnableWorld.getId(), runnableWorld);
+        SimulationMetricsMBeans.register(runnableWorld);
+        runnableWorld.setProgressListener(progressPublisher);
+        progressPublisher.onProgress(runnableWorld);
+        threadPool.execute(runnableWorld);
+
+        return runnableWorld.getId();
+    }
+
+
+    /**
+     * @return the seed that all the random values of the simulation were generated from,
+     * can be used to create the same simulation again.
+     */
+    public long getSimulationSeed(int simulationID) {
+        return getSimulation(simulationID).getRunSeed();
+    }
+
+
+    /**
+     * @return the running or finished simulation with the received ID.
+     * @throws IllegalArgumentException in case no simulation with the ID exists.
+     */
+    private World getSimulation(int simulationID) {
+        World world = simulationsPool.get(simulationID);
+        if (world == null)
+            throw new IllegalArgumentException("Invalid ID " + simulationID + ", no simulation with this ID exists.");
+
+        return world;
+    }
+
+
+    /**
+     * Updates the values of received environment variables of a simulated world.
+     * @param runningWorldInstance a World object that is initialized for a simulation run.
+     * @param environmentVariablesListDTO DTO that contains data of multiple environment variables received from the user.
+     */
+    private void updateEnvironmentVariablesFromInput(World runningWorldInstance, EnvironmentVariablesListDTO environmentVariablesListDTO) {
+        environmentVariablesListDTO.getEnvironmentVariableInputDTOs().forEach(
+                e -> {
+                    PropertyFactory environmentVariable = runningWorldInstance.environmentVariablesManager.getEnvironmentVariable(e.getName());
+                    environmentVariable.updateValue(e.getValue());
+                }
+        );
+
+        runningWorldInstance.initEnvironmentVariables();
+    }
+
+
+    /**
+     * Transfer all active environment variables from the engine to the UI.
+     * @return EnvironmentVariablesSetDTO containing a list of all active environment variables,
+     * with their names and values.
+     */
+    public EnvironmentVariablesListDTO getEnvironmentVariablesListDTO(World world) {
+        EnvironmentVariablesListDTO environmentVariablesListDTO = new EnvironmentVariablesListDTO();
+
+        world.getActiveEnvironmentVariables().getEnvironmentVariables().forEach(
+                (name, envVar) -> {
+                    Range range = envVar.getRange();
+                    environmentVariablesListDTO.addEnvironmentVariableInput(
+                            name, envVar.getValue(),
+                            envVar.getType().getTypeString(),
+                            range == null ? null : new RangeDTO(range.getBottom(), range.getTop()));
+                }
+        );
+        return environmentVariablesListDTO;
+    }
+
+
+    /**
+     * Get a simulation execution, past and present.
+     * Past simulations will be in the form of SimulationResultDTO,
+     * while currently running simulations will be in the form of RunningSimulationDTO.
+     * @param chosenExecutionID ID of the simulation execution to get.
+     * @return a DTO in an Object form, that contains information on a currently running simulation execution,
+     * or a finished simulation execution.
+     */
+    public Object getSimulationExecutionDTO(int chosenExecutionID) {
+        Object retExecution;
+
+        World world = simulationsPool.get(chosenExecutionID);
+
+        if(world == null) {
+            throw new IllegalArgumentException("cannot find simulation execution with ID " + chosenExecutionID + " in the running/finished simulation executions pool.");
+        }
+
+        // The simulation is read only through its last snapshot, so it is not locked or raced with while it runs
+        WorldSnapshot snapshot = world.getSnapshot();
+        if (snapshot.isFinal()) {
+            retExecution = getSimulationResultDTO(world, snapshot);
+        } else {
+            retExecution = getRunningSimulationDTO(world, snapshot);
+        }
+
+        return retExecution;
+    }
+
+
+    /**
+     * Given a finished simulation world, get the result as a DTO object.
+     * @param world instance of a simulated world that has finished working.
+     * @param snapshot the final snapshot of the world.
+     * @return DTO that contains information about the simulation and its result.
+     */
+    private SimulationResultDTO getSimulationResultDTO(World world, WorldSnapshot snapshot) {
+        SimulationResult simulationResult = world.getSimulationResult();
+
+        // Create simulation result DTO
+        SimulationResultDTO simulationResultDTO = new SimulationResultDTO(
+                simulationResult.getId(),
+                simulationResult.getSimulationTime(),
+                simulationResult.getCompletedTicks(),
+                simulationResult.getMaxTicks(),
+                simulationResult.getEndReason()
+        );
+
+        simulationResult.getEntityManager().getEntityFactories().forEach(
+                (entityName, entityFactory) -> {
+                    EntitySnapshot entitySnapshot = snapshot.getEntitySnapshot(entityName);
+                    EntityDTO entityDTO = new EntityDTO(
+                            entityName,
+                            entitySnapshot.getPopulationCount(),
+                            entityFactory.getInitPopulation(),
+                            entitySnapshot.getAmountHistogram().getPoints(0, Integer.MAX_VALUE, MAX_HISTOGRAM_POINTS)
+                    );
+
+                    // Add properties DTOs to the entity DTO
+                    entityFactory.getPropertiesToAssign().forEach(
+                            (propertyFactoryName, propertyFactory) -> {
+                                Range range = propertyFactory.getRange();
+                                RangeDTO rangeDTO = null;
+
+                                if (range != null)
+                                    rangeDTO = new RangeDTO(range.getBottom(), range.getTop());
+
+                                entityDTO.addPropertyDTOtoList(
+                                        new PropertyDTO(
+                                                propertyFactoryName,
+                                                propertyFactory.getType().getTypeString(),
+                                                rangeDTO,
+                                                propertyFactory.isRandomGenerated(),
+                                                propertyFactory.getValue(),
+                                                propertyFactory.getConsistency()
+                                        )
+                                );
+                            }
+                    );
+                    // Add the created Entity DTO to the Simulation Result DTO
+                    simulationResultDTO.addEntityDTO(entityDTO);
+                }
+        );
+
+        return simulationResultDTO;
+    }
+
+
+    /**
+     * Get a running simulation as a DTO object, with its definition and with its state at the given snapshot.
+     * @return DTO of the running simulation.
+     */
+    private RunningSimulationDTO getRunningSimulationDTO(World world, WorldSnapshot snapshot) {
+        Integer maxTicks = null;
+        if(world.getTerminationRules().containsKey(TerminationRule.Type.TICKS))
+            maxTicks = world.getTerminationRules().get(TerminationRule.Type.TICKS).getValue();
+
+        RunningSimulationDTO runningSimulationDTO =
+                new RunningSimulationDTO(
+                        world.getId(),
+                        getEnvironmentVariablesListDTO(world),
+                        new SimulationTime(world.getSimulationTime(), snapshot.getElapsedTimeMillis()),
+                        snapshot.getTickCount(),
+                        maxTicks
+                );
+
+        // Add Entities:
+        world.entityManager.getEntityFactories().forEach(
+                (entityFactoryName, entityFactory) -> {
+                    // Create entity DTO
+                    EntitySnapshot entitySnapshot = snapshot.getEntitySnapshot(entityFactoryName);
+                    EntityDTO entityDTO = new EntityDTO(
+                            entityFactoryName,
+                            entitySnapshot.getPopulationCount(),
+                            entityFactory.getInitPopulation(),
+                            entitySnapshot.getAmountHistogram().getPoints(0, Integer.MAX_VALUE, MAX_HISTOGRAM_POINTS)
+                    );
+
+                    // Create properties for the entity DTO
+                    entityFactory.getPropertiesToAssign().forEach(
+                            (propertyFactoryName, propertyFactory) -> {
+                                Range range = propertyFactory.getRange();
+                                RangeDTO rangeDTO;
+
+                                // Check if range exists, if so then create DTO from it
+                                if (range != null)
+                                    rangeDTO = new RangeDTO(range.getBottom(), range.getTop());
+                                else
+                                    rangeDTO = null;
+
+                                PropertyDTO propertyDTO = new PropertyDTO(
+                                        propertyFactoryName,
+                                        propertyFactory.getType().getTypeString(),
+                                        rangeDTO,
+                                        propertyFactory.isRandomGenerated(),
+                                        propertyFactory.isRandomGenerated() ? null : propertyFactory.getValue()    // If the value is not random, then get the fixed initial value
+                                );
+                                entityDTO.addPropertyDTOtoList(propertyDTO);
+                            }
+                    );
+                    runningSimulationDTO.addEntityDTO(entityDTO);
+                }
+        );
+
+        // Add Rules:
+        world.getRulesMap().forEach(
+                (ruleName, rule) -> {
+                    // Create rule DTO
+                    RuleDTO ruleDTO = new RuleDTO(
+                            ruleName,
+                            rule.getActivation().getTicks(),
+                            rule.getActivation().getProbability(),
+                            rule.getActionsList().size()
+                    );
+
+                    // Add actions' names to the DTO
+                    for (Action action : rule.getActionsList()) {
+                        ruleDTO.addActionDTO(action.getActionDTO());
+                    }
+
+                    runningSimulationDTO.addRuleDTO(ruleDTO);
+                }
+        );
+
+        // Add Termination Rules:
+        world.getTerminationRules().forEach(
+                (terminationRuleType, terminationRule) -> {
+                    TerminationRuleDTO terminationRuleDTO = new TerminationRuleDTO(
+                            TerminationRule.Type.getTypeString(terminationRuleType),
+                            terminationRule.getValue()
+                    );
+
+                    runningSimulationDTO.addTerminationRuleDTO(terminationRuleDTO);
+                }
+        );
+
+        return runningSimulationDTO;
+    }
+
+
+    /**
+     * Checks whether of not a simulation is currently loaded into the program.
+     * @return true if a simulation is loaded, false otherwise.
+     */
+    public boolean isSimulationLoaded() {
+        return loadedWorld != null;
+    }
+
+
+    /**
+     * Gets the amount of an entity in the population over a range of ticks, downsampled to at most the given amount of points,
+     * so a range of any length can be shown at once. Can be called while the simulation runs.
+     * @param simulationID ID of a running or finished simulation.
+     * @param fromTick first tick of the range (inclusive).
+     * @param toTick last tick of the range (exclusive).
+     * @param maxPoints max amount of points to return, at least 2.
+     * @throws IllegalArgumentException in case the simulation or the entity does not exist, or the range is invalid.
+     */
+    public List<AmountPointDTO> getAmountHistogram(int simulationID, String entityName, int fromTick, int toTick, int maxPoints) {
+        return getSimulation(simulationID).getSnapshot()
+                .getEntitySnapshot(entityName)
+                .getAmountHistogram()
+                .getPoints(fromTick, toTick, maxPoints);
+    }
+
+
+    /**
+     * Gets the distribution of the values of a property over the population of an entity, in O(buckets) without visiting the population.
+     * Numeric properties have the moments of their values and the amount of values in each of a fixed amount of buckets,
+     * other properties have their most common values. Can be called while the simulation runs.
+     * @param simulationID ID of a running or finished simulation.
+     * @param entityName Name of the entity in which the property is defined.
+     * @param propertyName Name of the property to get its values.
+     * @throws IllegalArgumentException in case the simulation, the entity or the property does not exist.
+     */
+    public PropertyValuesDTO getPropertyValuesDTO(int simulationID, String entityName, String propertyName) {
+        return getSimulation(simulationID).getSnapshot()
+                .getEntitySnapshot(entityName)
+                .getValueDistribution(propertyName)
+                .createPropertyValuesDTO(propertyName, MAX_PROPERTY_VALUES);
+    }
+
+
+    /**
+     * Sets an initial amount of instances in the population of the entity with the given name.
+     */
+    public void setEntityAmount(String entityName, int amount) {
+        loadedWorld.entityManager.getEntityFactory(entityName).setInitPopulation(amount);
+    }
+
+
+    /**
+     * Subscribes to the progress of the simulations in the simulations pool, instead of polling each simulation.
+     * Each batch contains the progress (ticks, elapsed time, entity amounts) of the simulations that changed since the previous batch,
+     * the first batch contains all the simulations, and every batch contains the current load on the thread pool.
+     * A subscriber that is slower than the simulations gets their changes merged into fewer batches, the simulations never wait for it.
+     * @param subscriber receives the batches of progress, a simulation that has finished can then be taken with getSimulationExecutionDTO.
+     * @param executor the subscriber is called on, e.g. the thread of the UI.
+     * @param minIntervalMillis minimal time between two batches.
+     * @return the subscription, which should be cancelled when the progress is no longer needed.
+     */
+    public ProgressSubscription subscribeToProgress(Consumer<ProgressUpdateDTO> subscriber, Executor executor, long minIntervalMillis) {
+        return progressPublisher.subscribe(subscriber, executor, minIntervalMillis, simulationsPool.values());
+    }
+
+
+    /**
+     * Get the number of running, queueing and finished threads in the thread pool.
+     */
+    public ThreadsDTO getThreadsDTO() {
+        if (threadPool == null)
+            return new ThreadsDTO(0, 0 , 0);
+
+        return new ThreadsDTO(
+                threadPool.getQueue().size(),
+                threadPool.getActiveCount(),
+                Long.valueOf(threadPool.getCompletedTaskCount()).intValue()
+        );
+    }
+
+
+    /**
+     * Get the runtime metrics of a running or finished simulation: the rate and latency of its ticks,
+     * and the invocations and the time spent on each of its rules and each type of action, to find the rules that slow it down.
+     * The invocations are only counted for simulations created while invocation counting was enabled (see setInvocationCounting).
+     * The same metrics are registered in JMX while the engine is up (see SimulationMetricsMBeans).
+     * @param simulationID ID of the simulation.
+     */
+    public SimulationMetricsDTO getSimulationMetricsDTO(int simulationID) {
+        SimulationMetrics metrics = getSimulation(simulationID).getMetrics();
+        SimulationMetricsDTO simulationMetricsDTO = new SimulationMetricsDTO(
+                simulationID,
+                metrics.getMeasuredTickCount(),
+                metrics.getTicksPerSecond(),
+                metrics.getTickLatencyMeanMillis(),
+                metrics.getTickLatencyP50Millis(),
+                metrics.getTickLatencyP90Millis(),
+                metrics.getTickLatencyP99Millis(),
+                metrics.getTickLatencyMaxMillis()
+        );
+
+        for (Rule rule : metrics.getRules()) {
+            simulationMetricsDTO.addRuleMetricsDTO(new InvocationMetricsDTO(
+                    rule.getName(),
+                    rule.getMetrics().getInvocationCount(),
+                    rule.getMetrics().getActivationCount(),
+                    rule.getMetrics().getActivationRate(),
+                    rule.getMetrics().getCumulativeTimeMillis()
+            ));
+        }
+
+        metrics.getActionTypesMetrics().forEach(
+                (actionType, actionTypeMetrics) -> simulationMetricsDTO.addActionTypeMetricsDTO(new InvocationMetricsDTO(
+                        actionType,
+                        actionTypeMetrics.getInvocationCount(),
+                        actionTypeMetrics.getActivationCount(),
+                        actionTypeMetrics.getActivationRate(),
+                        actionTypeMetrics.getCumulativeTimeMillis()
+                ))
+        );
+
+        return simulationMetricsDTO;
+    }
+
+
+    /**
+     * Command a simulation to stop at the next Simulation Tick.
+     * @param simulationID ID of the simulation to stop.
+     */
+    public void stopSimulation(int simulationID) {
+        simulationsPool.get(simulationID).stop();
+    }
+
+
+
+    /**
+     * Command a simulation to pause at the next Simulation Tick.
+     * @param simulationID ID of the simulation to pause.
+     */
+    public void pauseSimulation(int simulationID) {
+        simulationsPool.get(simulationID).pause();
+    }
+
+
+
+
+    /**
+     * Command a simulation to resume from the Simulation Tick where it was paused.
+     * @param simulationID ID of the simulation to resume.
+     */
+    public void resumeSimulation(int simulationID) {
+        simulationsPool.get(simulationID).resume();
+    }
+
+
+    /**
+     * Returns the max number of entity instances that can be created
+     * in the currently loaded simulation.
+     */
+    public int getMaxNofEntities() {
+        return loadedWorld.entityManager.getMaxNumOfEntities();
+    }
+}
\ No newline at end of file
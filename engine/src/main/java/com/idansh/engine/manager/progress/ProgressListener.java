@@ -0,0 +1,13 @@
+package com.idansh.engine.manager.progress;
+
+import com.idansh.engine.world.World;
+
+/**
+ * Is told by a running simulation that its progress changed,
+ * at the boundaries between its ticks, when it pauses or resumes, and when it ends.
+ * Called on the thread of the simulation, so it should only note the change and return.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    void onProgress(World world);
+}
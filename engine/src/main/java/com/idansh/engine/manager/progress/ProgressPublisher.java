@@ -0,0 +1,124 @@
+package com.idansh.engine.manager.progress;
+
+import com.idansh.dto.simulation.ProgressUpdateDTO;
+import com.idansh.dto.simulation.SimulationProgressDTO;
+import com.idansh.dto.simulation.ThreadsDTO;
+import com.idansh.engine.world.World;
+import com.idansh.engine.world.snapshot.WorldSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pushes the progress of the simulations to subscribers, instead of them polling each simulation.
+ * The simulations only mark themselves as changed in each subscription (see ProgressListener),
+ * and a single dispatcher thread builds the progress of the changed simulations at the interval of each subscriber,
+ * so the cost grows with the changes and not with the amount of simulations, and the simulations never wait for a subscriber.
+ */
+public class ProgressPublisher implements ProgressListener {
+    private final Supplier<ThreadsDTO> threadsDTOSupplier;      // Gets the current load on the thread pool of the simulations
+    private final List<ProgressSubscription> subscriptions;
+    private ScheduledExecutorService dispatcher;                // Created on the first subscription
+
+
+    public ProgressPublisher(Supplier<ThreadsDTO> threadsDTOSupplier) {
+        this.threadsDTOSupplier = threadsDTOSupplier;
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.dispatcher = null;
+    }
+
+
+    /**
+     * Subscribes to the progress of the simulations.
+     * The first batch contains all the received simulations, and each batch after only the simulations that changed since the previous one.
+     * A batch is not delivered while the previous one is still being delivered, the changes are merged into the next batch instead.
+     * @param subscriber receives the batches of progress.
+     * @param executor the subscriber is called on, e.g. the thread of the UI.
+     * @param minIntervalMillis minimal time between two batches.
+     * @param simulations the simulations that currently exist.
+     * @return the subscription, which should be cancelled when the progress is no longer needed.
+     * @throws IllegalArgumentException in case the interval is not positive.
+     */
+    public synchronized ProgressSubscription subscribe(Consumer<ProgressUpdateDTO> subscriber, Executor executor, long minIntervalMillis, Collection<World> simulations) {
+        if (minIntervalMillis <= 0)
+            throw new IllegalArgumentException("Invalid progress interval " + minIntervalMillis + ", the interval must be positive.");
+
+        if (dispatcher == null) {
+            dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "progress-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        ProgressSubscription subscription = new ProgressSubscription(this, subscriber, executor);
+        simulations.forEach(subscription::markChanged);
+        subscriptions.add(subscription);
+        subscription.setDispatchFuture(
+                dispatcher.scheduleWithFixedDelay(subscription::dispatch, 0, minIntervalMillis, TimeUnit.MILLISECONDS)
+        );
+
+        return subscription;
+    }
+
+
+    /**
+     * Marks the simulation as changed in all the subscriptions, called on the thread of the simulation.
+     */
+    @Override
+    public void onProgress(World world) {
+        for (ProgressSubscription subscription : subscriptions) {
+            subscription.markChanged(world);
+        }
+    }
+
+
+    /**
+     * Cancels all the subscriptions and stops the dispatcher thread.
+     */
+    public synchronized void shutdown() {
+        subscriptions.forEach(ProgressSubscription::cancel);
+
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+            dispatcher = null;
+        }
+    }
+
+
+    void removeSubscription(ProgressSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+
+    ThreadsDTO getThreadsDTO() {
+        return threadsDTOSupplier.get();
+    }
+
+
+    /**
+     * Creates the progress of a simulation from its last snapshot, without stopping it.
+     */
+    static SimulationProgressDTO createSimulationProgressDTO(World world) {
+        WorldSnapshot snapshot = world.getSnapshot();
+        SimulationProgressDTO simulationProgressDTO = new SimulationProgressDTO(
+                world.getId(),
+                snapshot.getTickCount(),
+                snapshot.getElapsedTimeMillis(),
+                snapshot.isFinal()
+        );
+
+        snapshot.getEntitySnapshots().forEach(
+                (entityName, entitySnapshot) -> simulationProgressDTO.addEntityAmount(entityName, entitySnapshot.getPopulationCount())
+        );
+
+        return simulationProgressDTO;
+    }
+}
@@ -0,0 +1,115 @@
+package com.idansh.engine.manager.progress;
+
+import com.idansh.dto.simulation.ProgressUpdateDTO;
+import com.idansh.dto.simulation.ThreadsDTO;
+import com.idansh.engine.world.World;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A subscriber to the progress of the simulations (see ProgressPublisher).
+ * Keeps the simulations that changed since the last batch, a simulation that changes many times between two batches is delivered once.
+ */
+public class ProgressSubscription {
+    private final ProgressPublisher publisher;
+    private final Consumer<ProgressUpdateDTO> subscriber;
+    private final Executor executor;
+    private final Map<Integer, World> changedSimulations;     // Key = ID of the simulation, Value = the simulation
+    private final AtomicBoolean isDelivering;                 // Set while a batch is delivered to the subscriber
+    private ThreadsDTO lastThreadsDTO;                        // The load on the thread pool in the last delivered batch, only used by the dispatcher thread
+    private ScheduledFuture<?> dispatchFuture;
+    private volatile boolean isCancelled;
+
+
+    ProgressSubscription(ProgressPublisher publisher, Consumer<ProgressUpdateDTO> subscriber, Executor executor) {
+        this.publisher = publisher;
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.changedSimulations = new ConcurrentHashMap<>();
+        this.isDelivering = new AtomicBoolean(false);
+        this.lastThreadsDTO = null;
+        this.isCancelled = false;
+    }
+
+
+    void setDispatchFuture(ScheduledFuture<?> dispatchFuture) {
+        this.dispatchFuture = dispatchFuture;
+    }
+
+
+    void markChanged(World world) {
+        if (!isCancelled)
+            changedSimulations.put(world.getId(), world);
+    }
+
+
+    /**
+     * Delivers the progress of the simulations that changed since the last batch, called periodically by the dispatcher thread.
+     * Nothing is delivered if nothing changed, or if the previous batch is still being delivered.
+     */
+    void dispatch() {
+        if (isCancelled || isDelivering.get())
+            return;
+
+        ThreadsDTO threadsDTO = publisher.getThreadsDTO();
+        if (changedSimulations.isEmpty() && isSameLoad(threadsDTO, lastThreadsDTO))
+            return;
+
+        // A simulation is removed before its progress is taken, so a change after it is kept for the next batch
+        ProgressUpdateDTO progressUpdateDTO = new ProgressUpdateDTO(threadsDTO);
+        for (Integer simulationID : changedSimulations.keySet()) {
+            World world = changedSimulations.remove(simulationID);
+            if (world != null)
+                progressUpdateDTO.addSimulationProgressDTO(ProgressPublisher.createSimulationProgressDTO(world));
+        }
+        lastThreadsDTO = threadsDTO;
+
+        isDelivering.set(true);
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!isCancelled)
+                        subscriber.accept(progressUpdateDTO);
+                } finally {
+                    isDelivering.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The subscriber's executor no longer accepts tasks, so nothing can be delivered to it anymore
+            isDelivering.set(false);
+            cancel();
+        }
+    }
+
+
+    private static boolean isSameLoad(ThreadsDTO threadsDTO, ThreadsDTO otherThreadsDTO) {
+        return otherThreadsDTO != null
+                && threadsDTO.getNofQueueThreads() == otherThreadsDTO.getNofQueueThreads()
+                && threadsDTO.getNofRunningThreads() == otherThreadsDTO.getNofRunningThreads()
+                && threadsDTO.getNofFinishedThreads() == otherThreadsDTO.getNofFinishedThreads();
+    }
+
+
+    /**
+     * Stops delivering progress to the subscriber, a batch that is already being delivered is dropped.
+     */
+    public void cancel() {
+        isCancelled = true;
+        if (dispatchFuture != null)
+            dispatchFuture.cancel(false);
+
+        changedSimulations.clear();
+        publisher.removeSubscription(this);
+    }
+
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+}
@@ -0,0 +1,228 @@
+package com.idansh.engine.manager.sweep;
+
+import com.idansh.dto.sweep.SweepDTO;
+import com.idansh.dto.sweep.SweepPointResultDTO;
+import com.idansh.dto.sweep.SweepResultDTO;
+import com.idansh.dto.sweep.SweepRunResultDTO;
+import com.idansh.engine.manager.result.SimulationResult;
+import com.idansh.engine.world.World;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A parameter sweep over a simulation: runs a number of replicas of the simulation for each sampled point, in a thread pool.
+ * All the runs are created from the same world, that is copied once from the loaded simulation when the sweep is created,
+ * so loading another simulation or changing the loaded one does not change the sweep.
+ * Replica i of every point runs with the same seed, so the differences between the points come only from their parameters.
+ * A run's world is created only when the run starts and is released when it ends, only its row in the result table is kept,
+ * so the runs of a sweep are not added to the simulations pool of the engine.
+ */
+public class Sweep {
+    private final World model;                                                  // The world all the runs are created from
+    private final long seed;
+    private final List<SweepPoint> points;
+    private final long[] replicaSeeds;                                          // The seed of each replica, the same for all the points
+    private final ForkJoinPool tickPool;
+    private final List<CompletableFuture<SweepRunResultDTO>> runFutures;        // By point and then by replica
+    private final CompletableFuture<SweepResultDTO> resultFuture;
+    private final Set<World> runningWorlds;                                     // The worlds of the runs that are currently running, to stop them
+    private volatile boolean isToStop;
+
+
+    /**
+     * Samples the points of the sweep and schedules all of its runs.
+     * @param model the world to create the runs from, should not be changed after.
+     * @param executor the thread pool to run the simulations in.
+     * @param tickPool optional pool to invoke the rules of each tick in parallel, null if the ticks are serial.
+     * @throws IllegalArgumentException in case the sweep's input is invalid for the simulation.
+     */
+    public Sweep(World model, SweepDTO sweepDTO, Executor executor, ForkJoinPool tickPool) {
+        if (sweepDTO.getNofReplicas() < 1)
+            throw new IllegalArgumentException("Invalid amount of replicas " + sweepDTO.getNofReplicas() + ", at least one replica is needed.");
+
+        this.model = model;
+        this.seed = sweepDTO.getSeed() != null ? sweepDTO.getSeed() : new SplittableRandom().nextLong();
+        this.tickPool = tickPool;
+        this.runningWorlds = ConcurrentHashMap.newKeySet();
+        this.isToStop = false;
+
+        SplittableRandom sweepStream = new SplittableRandom(seed);
+        this.points = SweepSampler.createPoints(sweepDTO, model, sweepStream.split());
+        this.replicaSeeds = new long[sweepDTO.getNofReplicas()];
+        for (int replicaIndex = 0; replicaIndex < replicaSeeds.length; replicaIndex++) {
+            replicaSeeds[replicaIndex] = sweepStream.nextLong();
+        }
+
+        this.runFutures = new ArrayList<>(Math.multiplyExact(points.size(), replicaSeeds.length));
+        for (SweepPoint point : points) {
+            for (int replicaIndex = 0; replicaIndex < replicaSeeds.length; replicaIndex++) {
+                int runReplicaIndex = replicaIndex;
+                runFutures.add(CompletableFuture.supplyAsync(() -> run(point, runReplicaIndex), executor));
+            }
+        }
+
+        this.resultFuture = CompletableFuture.allOf(runFutures.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, exception) -> createResultDTO());
+    }
+
+
+    /**
+     * Runs a single replica of a point on the current thread.
+     * @return the row of the run in the result table.
+     * @throws CancellationException in case the sweep was stopped before the run started, the run's world is not run.
+     */
+    private SweepRunResultDTO run(SweepPoint point, int replicaIndex) {
+        if (isToStop)
+            throw new CancellationException("The sweep was stopped before the run started.");
+
+        long runSeed = replicaSeeds[replicaIndex];
+        World runnableWorld = new World(model, runSeed, point.getEntityPopulations());
+        runnableWorld.generateNewID();      // Tells the runs apart in the flight recorder events
+        runnableWorld.setTickPool(tickPool);
+        point.getEnvironmentVariables().forEach(
+                (name, value) -> runnableWorld.environmentVariablesManager.getEnvironmentVariable(name).updateValue(value)
+        );
+        runnableWorld.initEnvironmentVariables();
+
+        runningWorlds.add(runnableWorld);
+        try {
+            // The sweep may have been stopped before the world was added, after the stopped worlds were gone through.
+            // A world that is stopped after it was added and before it starts running ends before its first tick (see World.stop)
+            if (isToStop)
+                throw new CancellationException("The sweep was stopped before the run started.");
+
+            runnableWorld.run();
+        } finally {
+            runningWorlds.remove(runnableWorld);
+        }
+
+        SimulationResult simulationResult = runnableWorld.getSimulationResult();
+        Map<String, Integer> finalPopulations = new LinkedHashMap<>();
+        runnableWorld.entityManager.getEntityFactories().forEach(
+                (entityName, entityFactory) -> finalPopulations.put(entityName, entityFactory.getPopulationCount())
+        );
+
+        return new SweepRunResultDTO(
+                point.getIndex(),
+                replicaIndex,
+                runSeed,
+                point.getParameterValues(),
+                simulationResult.getCompletedTicks(),
+                simulationResult.getSimulationTime().getElapsedTimeMillis(),
+                simulationResult.getEndReason(),
+                finalPopulations
+        );
+    }
+
+
+    /**
+     * Creates the result table from the runs that completed, the runs that failed or were stopped before they started are only counted.
+     */
+    private SweepResultDTO createResultDTO() {
+        int nofFailedRuns = 0;
+        List<List<SweepRunResultDTO>> runResultsByPoint = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            runResultsByPoint.add(new ArrayList<>());
+        }
+
+        List<SweepRunResultDTO> runResultDTOList = new ArrayList<>();
+        for (CompletableFuture<SweepRunResultDTO> runFuture : runFutures) {
+            if (runFuture.isCompletedExceptionally()) {
+                nofFailedRuns++;
+            } else {
+                SweepRunResultDTO runResultDTO = runFuture.join();
+                runResultDTOList.add(runResultDTO);
+                runResultsByPoint.get(runResultDTO.getPointIndex()).add(runResultDTO);
+            }
+        }
+
+        SweepResultDTO sweepResultDTO = new SweepResultDTO(runFutures.size(), nofFailedRuns);
+        runResultDTOList.forEach(sweepResultDTO::addRunResultDTO);
+        for (SweepPoint point : points) {
+            sweepResultDTO.addPointResultDTO(createPointResultDTO(point, runResultsByPoint.get(point.getIndex())));
+        }
+
+        return sweepResultDTO;
+    }
+
+
+    /**
+     * Aggregates the completed replicas of a point into the mean and the sample standard deviation of each result.
+     */
+    private SweepPointResultDTO createPointResultDTO(SweepPoint point, List<SweepRunResultDTO> runResultDTOList) {
+        int nofReplicas = runResultDTOList.size();
+        double meanCompletedTicks = 0;
+        for (SweepRunResultDTO runResultDTO : runResultDTOList) {
+            meanCompletedTicks += runResultDTO.getCompletedTicks();
+        }
+        meanCompletedTicks = nofReplicas > 0 ? meanCompletedTicks / nofReplicas : Double.NaN;
+
+        Map<String, Double> meanFinalPopulations = new LinkedHashMap<>();
+        Map<String, Double> finalPopulationStandardDeviations = new LinkedHashMap<>();
+        for (String entityName : model.entityManager.getEntityFactories().keySet()) {
+            double sum = 0, sumOfSquares = 0;
+            for (SweepRunResultDTO runResultDTO : runResultDTOList) {
+                int amount = runResultDTO.getFinalPopulations().get(entityName);
+                sum += amount;
+                sumOfSquares += (double) amount * amount;
+            }
+
+            double mean = nofReplicas > 0 ? sum / nofReplicas : Double.NaN;
+            double variance = nofReplicas > 1 ? Math.max(0, (sumOfSquares - sum * mean) / (nofReplicas - 1)) : 0;
+            meanFinalPopulations.put(entityName, mean);
+            finalPopulationStandardDeviations.put(entityName, Math.sqrt(variance));
+        }
+
+        return new SweepPointResultDTO(point.getIndex(), point.getParameterValues(), nofReplicas, meanCompletedTicks,
+                meanFinalPopulations, finalPopulationStandardDeviations);
+    }
+
+
+    /**
+     * Stops the sweep: the runs that are running are stopped at their next tick,
+     * and the runs that did not start yet are cancelled.
+     * The result table is still completed, with the runs that were stopped.
+     */
+    public void stop() {
+        isToStop = true;
+        for (World runningWorld : runningWorlds) {
+            runningWorld.stop();
+        }
+    }
+
+
+    /**
+     * @return the seed the points and the replicas' seeds were sampled from, can be used to create the same sweep again.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getNofPoints() {
+        return points.size();
+    }
+
+    public int getNofRuns() {
+        return runFutures.size();
+    }
+
+    /**
+     * @return a future for each run, that is completed with the run's row in the result table when the run ends,
+     *         by point and then by replica.
+     */
+    public List<CompletableFuture<SweepRunResultDTO>> getRunFutures() {
+        return Collections.unmodifiableList(runFutures);
+    }
+
+    /**
+     * @return a future that is completed with the result table once all the runs ended.
+     */
+    public CompletableFuture<SweepResultDTO> getResult() {
+        return resultFuture;
+    }
+}
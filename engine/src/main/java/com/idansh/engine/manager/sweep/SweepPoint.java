@@ -0,0 +1,51 @@
+package com.idansh.engine.manager.sweep;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single point of a parameter sweep: the values of the environment variables
+ * and the initial amounts of the entities that the runs of the point are created with.
+ */
+public class SweepPoint {
+    private final int index;
+    private final Map<String, Object> environmentVariables;     // The value of each swept environment variable, by its name
+    private final Map<String, Integer> entityPopulations;       // The initial amount of each swept entity, by its name
+    private final Map<String, Object> parameterValues;          // The value of each parameter, in the order of the sweep's parameters
+
+
+    public SweepPoint(int index) {
+        this.index = index;
+        this.environmentVariables = new LinkedHashMap<>();
+        this.entityPopulations = new LinkedHashMap<>();
+        this.parameterValues = new LinkedHashMap<>();
+    }
+
+
+    public void addEnvironmentVariable(String name, Object value) {
+        environmentVariables.put(name, value);
+        parameterValues.put(name, value);
+    }
+
+    public void addEntityPopulation(String entityName, int amount) {
+        entityPopulations.put(entityName, amount);
+        parameterValues.put(entityName, amount);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Map<String, Object> getEnvironmentVariables() {
+        return Collections.unmodifiableMap(environmentVariables);
+    }
+
+    public Map<String, Integer> getEntityPopulations() {
+        return Collections.unmodifiableMap(entityPopulations);
+    }
+
+    public Map<String, Object> getParameterValues() {
+        return Collections.unmodifiableMap(parameterValues);
+    }
+}
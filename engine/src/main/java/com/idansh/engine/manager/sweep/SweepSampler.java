@@ -0,0 +1,239 @@
+package com.idansh.engine.manager.sweep;
+
+import com.idansh.dto.range.RangeDTO;
+import com.idansh.dto.sweep.SweepDTO;
+import com.idansh.dto.sweep.SweepParameterDTO;
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Abstract class that contains static methods which create the points of a parameter sweep from the sweep's input.
+ * Grid sampling creates a point for every combination of the parameters' values, the last parameter changing the fastest.
+ * Latin hypercube sampling divides the values of each parameter into as many equal strata as there are samples,
+ * and takes a single value from each stratum, in an order that is shuffled separately for each parameter.
+ * All the values are checked against the simulation before any run starts.
+ */
+public abstract class SweepSampler {
+
+    /**
+     * Creates the points of a sweep over a simulation.
+     * @param model the world the runs of the sweep are created from.
+     * @param samplingStream the random stream to sample the points with.
+     * @throws IllegalArgumentException in case the sweep's input is invalid for the simulation.
+     */
+    public static List<SweepPoint> createPoints(SweepDTO sweepDTO, World model, SplittableRandom samplingStream) {
+        for (SweepParameterDTO parameterDTO : sweepDTO.getParameterDTOList()) {
+            checkParameter(parameterDTO, model);
+        }
+
+        List<SweepPoint> points;
+        switch (sweepDTO.getSampling()) {
+            case SweepDTO.GRID:
+                points = createGridPoints(sweepDTO.getParameterDTOList(), model);
+                break;
+
+            case SweepDTO.LATIN_HYPERCUBE:
+                points = createLatinHypercubePoints(sweepDTO.getParameterDTOList(), sweepDTO.getNofSamples(), model, samplingStream);
+                break;
+
+            default:
+                throw new IllegalArgumentException("invalid sampling \"" + sweepDTO.getSampling() + "\", the sampling should be \"" + SweepDTO.GRID + "\" or \"" + SweepDTO.LATIN_HYPERCUBE + "\"");
+        }
+
+        for (SweepPoint point : points) {
+            checkPopulationSize(point, model);
+        }
+
+        return points;
+    }
+
+
+    private static List<SweepPoint> createGridPoints(List<SweepParameterDTO> parameterDTOList, World model) {
+        int nofPoints = 1;
+        for (SweepParameterDTO parameterDTO : parameterDTOList) {
+            if (parameterDTO.getValues() == null || parameterDTO.getValues().isEmpty())
+                throw new IllegalArgumentException("The parameter \"" + parameterDTO.getName() + "\" has no values, a grid can only be sampled from the values of each parameter.");
+
+            nofPoints = Math.multiplyExact(nofPoints, parameterDTO.getValues().size());
+        }
+
+        List<SweepPoint> points = new ArrayList<>(nofPoints);
+        for (int pointIndex = 0; pointIndex < nofPoints; pointIndex++) {
+            SweepPoint point = new SweepPoint(pointIndex);
+
+            // Take the index of each parameter's value from the point's index, as digits of mixed radixes
+            int[] valueIndexes = new int[parameterDTOList.size()];
+            int remainder = pointIndex;
+            for (int i = parameterDTOList.size() - 1; i >= 0; i--) {
+                int nofValues = parameterDTOList.get(i).getValues().size();
+                valueIndexes[i] = remainder % nofValues;
+                remainder /= nofValues;
+            }
+
+            for (int i = 0; i < parameterDTOList.size(); i++) {
+                SweepParameterDTO parameterDTO = parameterDTOList.get(i);
+                addValue(point, parameterDTO, parameterDTO.getValues().get(valueIndexes[i]), model);
+            }
+            points.add(point);
+        }
+
+        return points;
+    }
+
+
+    private static List<SweepPoint> createLatinHypercubePoints(List<SweepParameterDTO> parameterDTOList, int nofSamples, World model, SplittableRandom samplingStream) {
+        if (nofSamples < 1)
+            throw new IllegalArgumentException("Invalid amount of samples " + nofSamples + ", at least one sample is needed.");
+
+        List<SweepPoint> points = new ArrayList<>(nofSamples);
+        for (int pointIndex = 0; pointIndex < nofSamples; pointIndex++) {
+            points.add(new SweepPoint(pointIndex));
+        }
+
+        for (SweepParameterDTO parameterDTO : parameterDTOList) {
+            int[] strata = shuffledStrata(nofSamples, samplingStream);
+            for (int pointIndex = 0; pointIndex < nofSamples; pointIndex++) {
+                // A uniform position in [0, 1), inside the stratum of the point
+                double position = (strata[pointIndex] + samplingStream.nextDouble()) / nofSamples;
+                addValue(points.get(pointIndex), parameterDTO, sampleValue(parameterDTO, position, model), model);
+            }
+        }
+
+        return points;
+    }
+
+
+    /**
+     * @return the strata 0 to nofStrata - 1, in a random order.
+     */
+    private static int[] shuffledStrata(int nofStrata, SplittableRandom samplingStream) {
+        int[] strata = new int[nofStrata];
+        for (int i = 0; i < nofStrata; i++) {
+            strata[i] = i;
+        }
+
+        for (int i = nofStrata - 1; i > 0; i--) {
+            int j = samplingStream.nextInt(i + 1);
+            int temp = strata[i];
+            strata[i] = strata[j];
+            strata[j] = temp;
+        }
+
+        return strata;
+    }
+
+
+    /**
+     * @param position a position in [0, 1) of the value among the parameter's values, or in its range.
+     * @return the value of the parameter at the position.
+     */
+    private static Object sampleValue(SweepParameterDTO parameterDTO, double position, World model) {
+        List<Object> values = parameterDTO.getValues();
+        if (values != null) {
+            if (values.isEmpty())
+                throw new IllegalArgumentException("The parameter \"" + parameterDTO.getName() + "\" has no values.");
+
+            return values.get((int) (position * values.size()));
+        }
+
+        RangeDTO range = parameterDTO.getRange();
+        if (getParameterType(parameterDTO, model) == PropertyType.FLOAT)
+            return (float) (range.getFrom() + position * (range.getTo() - range.getFrom()));
+
+        // Each integer in the range is a stratum of the same width
+        int from = (int) Math.ceil(range.getFrom());
+        int to = (int) Math.floor(range.getTo());
+        return Math.min(to, from + (int) (position * ((long) to - from + 1)));
+    }
+
+
+    private static void addValue(SweepPoint point, SweepParameterDTO parameterDTO, Object value, World model) {
+        PropertyType type = getParameterType(parameterDTO, model);
+        if (!getValueClass(type).isInstance(value))
+            throw new IllegalArgumentException("The value " + value + " of the parameter \"" + parameterDTO.getName() + "\" is not of the parameter's type " + type.getTypeString() + ".");
+
+        if (parameterDTO.isEntityPopulation()) {
+            int amount = (Integer) value;
+            if (amount < 0)
+                throw new IllegalArgumentException("Invalid amount " + amount + " of the entity \"" + parameterDTO.getName() + "\", the amount cannot be negative.");
+
+            point.addEntityPopulation(parameterDTO.getName(), amount);
+        } else {
+            point.addEnvironmentVariable(parameterDTO.getName(), value);
+        }
+    }
+
+
+    private static void checkParameter(SweepParameterDTO parameterDTO, World model) {
+        String name = parameterDTO.getName();
+        if (parameterDTO.isEntityPopulation()) {
+            if (name == null || !model.entityManager.isEntityFactoryValid(name))
+                throw new IllegalArgumentException("could not find an entity with the name \"" + name + "\" to sweep its population!");
+        } else if (!SweepParameterDTO.ENVIRONMENT_VARIABLE.equals(parameterDTO.getKind())) {
+            throw new IllegalArgumentException("invalid kind \"" + parameterDTO.getKind() + "\" of the parameter \"" + name + "\", the kind should be \"" + SweepParameterDTO.ENVIRONMENT_VARIABLE + "\" or \"" + SweepParameterDTO.ENTITY_POPULATION + "\"");
+        } else {
+            model.environmentVariablesManager.getEnvironmentVariable(name);
+        }
+
+        if (parameterDTO.getValues() == null) {
+            RangeDTO range = parameterDTO.getRange();
+            if (range == null)
+                throw new IllegalArgumentException("The parameter \"" + name + "\" has neither values nor a range.");
+
+            PropertyType type = getParameterType(parameterDTO, model);
+            if (type != PropertyType.INTEGER && type != PropertyType.FLOAT)
+                throw new IllegalArgumentException("The parameter \"" + name + "\" is of type " + type.getTypeString() + ", only numeric parameters can be sampled from a range.");
+
+            if (range.getFrom() > range.getTo() || (type == PropertyType.INTEGER && Math.ceil(range.getFrom()) > Math.floor(range.getTo())))
+                throw new IllegalArgumentException("The range of the parameter \"" + name + "\" is empty.");
+        }
+    }
+
+
+    /**
+     * @return the type of the values of the parameter, the initial amount of an entity is an integer.
+     */
+    private static PropertyType getParameterType(SweepParameterDTO parameterDTO, World model) {
+        if (parameterDTO.isEntityPopulation())
+            return PropertyType.INTEGER;
+
+        return model.environmentVariablesManager.getEnvironmentVariable(parameterDTO.getName()).getType();
+    }
+
+
+    private static Class<?> getValueClass(PropertyType type) {
+        switch (type) {
+            case INTEGER:
+                return Integer.class;
+
+            case FLOAT:
+                return Float.class;
+
+            case BOOLEAN:
+                return Boolean.class;
+
+            default:
+                return String.class;
+        }
+    }
+
+
+    /**
+     * Checks that the population of the point fits in the grid of the simulation.
+     */
+    private static void checkPopulationSize(SweepPoint point, World model) {
+        long nofEntities = 0;
+        for (EntityFactory entityFactory : model.entityManager.getEntityFactories().values()) {
+            Integer amount = point.getEntityPopulations().get(entityFactory.getName());
+            nofEntities += amount != null ? amount : entityFactory.getPopulationCount();
+        }
+
+        if (nofEntities > model.entityManager.getMaxNumOfEntities())
+            throw new IllegalArgumentException("Cannot create " + nofEntities + " entities in the point " + point.getParameterValues() + ", the grid can hold at most " + model.entityManager.getMaxNumOfEntities() + " entities.");
+    }
+}
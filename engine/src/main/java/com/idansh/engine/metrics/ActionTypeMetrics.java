@@ -0,0 +1,59 @@
+package com.idansh.engine.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The invocations of all the actions of a single type in a simulation, summed from the metrics of each action when read.
+ */
+public class ActionTypeMetrics implements InvocationMetricsMXBean {
+    private final String actionType;
+    private final List<InvocationMetrics> actionsMetrics;
+
+    public ActionTypeMetrics(String actionType) {
+        this.actionType = actionType;
+        this.actionsMetrics = new ArrayList<>();
+    }
+
+
+    public void addActionMetrics(InvocationMetrics actionMetrics) {
+        actionsMetrics.add(actionMetrics);
+    }
+
+    public String getActionType() {
+        return actionType;
+    }
+
+    @Override
+    public long getInvocationCount() {
+        long invocationCount = 0;
+        for (InvocationMetrics actionMetrics : actionsMetrics) {
+            invocationCount += actionMetrics.getInvocationCount();
+        }
+        return invocationCount;
+    }
+
+    @Override
+    public long getActivationCount() {
+        long activationCount = 0;
+        for (InvocationMetrics actionMetrics : actionsMetrics) {
+            activationCount += actionMetrics.getActivationCount();
+        }
+        return activationCount;
+    }
+
+    @Override
+    public double getActivationRate() {
+        long invocationCount = getInvocationCount();
+        return invocationCount == 0 ? 0 : (double) getActivationCount() / invocationCount;
+    }
+
+    @Override
+    public double getCumulativeTimeMillis() {
+        double cumulativeTimeMillis = 0;
+        for (InvocationMetrics actionMetrics : actionsMetrics) {
+            cumulativeTimeMillis += actionMetrics.getCumulativeTimeMillis();
+        }
+        return cumulativeTimeMillis;
+    }
+}
@@ -0,0 +1,103 @@
+package com.idansh.engine.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the invocations and activations of a single rule or action, from multiple threads (parallel ticks) without contention.
+ * Timing every activation would cost more than small actions do, so only a sample of the activations is timed
+ * (see isSampled), and the cumulative time is estimated from the sampled activations.
+ * The sampling uses its own random numbers, so it does not change the random values of the simulation.
+ */
+public class InvocationMetrics implements InvocationMetricsMXBean {
+    private static final int SAMPLE_MASK = 63;     // One of every 64 activations is timed, on average
+
+    private final LongAdder skippedInvocations;     // Invocations in which the activation probability was not achieved
+    private final LongAdder activations;
+    private final LongAdder sampledActivations;
+    private final LongAdder sampledNanos;
+
+    public InvocationMetrics() {
+        this.skippedInvocations = new LongAdder();
+        this.activations = new LongAdder();
+        this.sampledActivations = new LongAdder();
+        this.sampledNanos = new LongAdder();
+    }
+
+
+    /**
+     * @return true if the current activation should be timed, false otherwise.
+     */
+    public static boolean isSampled() {
+        return (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0;
+    }
+
+
+    /**
+     * Records an invocation in which the activation probability was not achieved.
+     */
+    public void recordSkippedInvocation() {
+        skippedInvocations.increment();
+    }
+
+
+    /**
+     * Records an activation that was not timed.
+     */
+    public void recordActivation() {
+        activations.increment();
+    }
+
+
+    /**
+     * Records an activation that was timed.
+     * @param nanos the duration of the activation, in nanoseconds.
+     */
+    public void recordActivation(long nanos) {
+        activations.increment();
+        sampledActivations.increment();
+        sampledNanos.add(nanos);
+    }
+
+
+    /**
+     * Records the counts of a tally at once (see InvocationTally).
+     */
+    void add(long nofSkippedInvocations, long nofActivations, long nofSampledActivations, long nanos) {
+        skippedInvocations.add(nofSkippedInvocations);
+        activations.add(nofActivations);
+        sampledActivations.add(nofSampledActivations);
+        sampledNanos.add(nanos);
+    }
+
+
+    @Override
+    public long getInvocationCount() {
+        return skippedInvocations.sum() + activations.sum();
+    }
+
+    @Override
+    public long getActivationCount() {
+        return activations.sum();
+    }
+
+    @Override
+    public double getActivationRate() {
+        long invocationCount = getInvocationCount();
+        return invocationCount == 0 ? 0 : (double) getActivationCount() / invocationCount;
+    }
+
+    @Override
+    public double getCumulativeTimeMillis() {
+        return getCumulativeTimeNanos() / 1_000_000.0;
+    }
+
+
+    /**
+     * @return the estimated time spent on the activations, by the mean time of the sampled activations, in nanoseconds.
+     */
+    public double getCumulativeTimeNanos() {
+        long nofSamples = sampledActivations.sum();
+        return nofSamples == 0 ? 0 : (double) sampledNanos.sum() / nofSamples * getActivationCount();
+    }
+}
@@ -0,0 +1,22 @@
+package com.idansh.engine.metrics;
+
+/**
+ * JMX view of the invocations of a rule, or of all the actions of a single type in a simulation.
+ * An invocation is a visit of an entity instance that the rule (or action) applies to,
+ * it is activated if the activation probability of the rule was achieved.
+ */
+public interface InvocationMetricsMXBean {
+    long getInvocationCount();
+
+    long getActivationCount();
+
+    /**
+     * @return the part of the invocations that were activated, 0 if there were no invocations.
+     */
+    double getActivationRate();
+
+    /**
+     * @return the estimated time spent on the activations, in milliseconds.
+     */
+    double getCumulativeTimeMillis();
+}
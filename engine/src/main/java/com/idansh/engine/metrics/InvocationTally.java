@@ -0,0 +1,82 @@
+package com.idansh.engine.metrics;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Counts the invocations and activations of rules and actions during a single speculative invoke of a parallel tick,
+ * without adding them to their metrics yet (see TickWriteBuffer).
+ * A chunk that is invoked again discards the tally of its first invoke, so only the invoke that is committed is counted,
+ * and the counts are the same as the sequential engine's.
+ */
+public class InvocationTally {
+    private static final int SKIPPED_INVOCATIONS = 0, ACTIVATIONS = 1, SAMPLED_ACTIVATIONS = 2, SAMPLED_NANOS = 3;
+
+    private final Map<InvocationMetrics, long[]> counts;    // The counts of each metrics, indexed by the constants above
+
+    public InvocationTally() {
+        this.counts = new IdentityHashMap<>();
+    }
+
+
+    private long[] getCounts(InvocationMetrics metrics) {
+        return counts.computeIfAbsent(metrics, key -> new long[4]);
+    }
+
+
+    /**
+     * Records an invocation in which the activation probability was not achieved.
+     */
+    public void recordSkippedInvocation(InvocationMetrics metrics) {
+        getCounts(metrics)[SKIPPED_INVOCATIONS]++;
+    }
+
+
+    /**
+     * Records an activation that was not timed.
+     */
+    public void recordActivation(InvocationMetrics metrics) {
+        getCounts(metrics)[ACTIVATIONS]++;
+    }
+
+
+    /**
+     * Records an activation that was timed.
+     * @param nanos the duration of the activation, in nanoseconds.
+     */
+    public void recordActivation(InvocationMetrics metrics, long nanos) {
+        long[] metricsCounts = getCounts(metrics);
+        metricsCounts[ACTIVATIONS]++;
+        metricsCounts[SAMPLED_ACTIVATIONS]++;
+        metricsCounts[SAMPLED_NANOS] += nanos;
+    }
+
+
+    /**
+     * Adds the counts of another tally to this tally, and empties the other tally.
+     */
+    public void addAll(InvocationTally other) {
+        other.counts.forEach(
+                (metrics, otherCounts) -> {
+                    long[] metricsCounts = getCounts(metrics);
+                    for (int i = 0; i < metricsCounts.length; i++) {
+                        metricsCounts[i] += otherCounts[i];
+                    }
+                }
+        );
+
+        other.counts.clear();
+    }
+
+
+    /**
+     * Adds the counts of the tally to their metrics, and empties the tally.
+     */
+    public void commit() {
+        counts.forEach(
+                (metrics, metricsCounts) -> metrics.add(metricsCounts[SKIPPED_INVOCATIONS], metricsCounts[ACTIVATIONS], metricsCounts[SAMPLED_ACTIVATIONS], metricsCounts[SAMPLED_NANOS])
+        );
+
+        counts.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package com.idansh.engine.metrics;
+
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.rule.Rule;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runtime metrics of a single simulation: the latency of its ticks, and the invocations of its rules and actions.
+ * The rules and actions count their own invocations (see Rule.getMetrics, Action.getMetrics) and this class only reads them.
+ * The metrics belong to the rule and action instances of this simulation, a run copied from it starts with its own empty metrics.
+ * The invocations are only counted if the simulation was set to count them (see World.setInvocationCounting), the ticks are always measured.
+ */
+public class SimulationMetrics implements SimulationMetricsMXBean {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Collection<Rule> rules;
+    private final StripedHistogram tickLatencies;   // In nanoseconds
+
+    /**
+     * @param rules the rules of the simulation, a live view so rules added after are included.
+     */
+    public SimulationMetrics(Collection<Rule> rules) {
+        this.rules = rules;
+        this.tickLatencies = new StripedHistogram();
+    }
+
+
+    /**
+     * Records the duration of a tick that ended.
+     * @param nanos the duration of the tick, in nanoseconds.
+     */
+    public void recordTick(long nanos) {
+        tickLatencies.record(nanos);
+    }
+
+
+    public Collection<Rule> getRules() {
+        return rules;
+    }
+
+
+    /**
+     * @return the metrics of the actions of the simulation's rules grouped by the type of the action, ordered by the type.
+     *         The actions invoked by condition actions are not included, their time is included in the time of the condition.
+     */
+    public Map<String, ActionTypeMetrics> getActionTypesMetrics() {
+        Map<String, ActionTypeMetrics> actionTypesMetrics = new TreeMap<>();
+
+        for (Rule rule : rules) {
+            for (Action action : rule.getActionsList()) {
+                actionTypesMetrics.computeIfAbsent(action.getActionTypeString(), ActionTypeMetrics::new)
+                        .addActionMetrics(action.getMetrics());
+            }
+        }
+
+        return actionTypesMetrics;
+    }
+
+
+    @Override
+    public long getMeasuredTickCount() {
+        return tickLatencies.getCount();
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        long tickNanos = tickLatencies.getSum();
+        return tickNanos == 0 ? 0 : tickLatencies.getCount() * NANOS_PER_MILLI * 1000 / tickNanos;
+    }
+
+    @Override
+    public double getTickLatencyMeanMillis() {
+        return tickLatencies.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickLatencyP50Millis() {
+        return tickLatencies.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickLatencyP90Millis() {
+        return tickLatencies.getPercentile(90) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickLatencyP99Millis() {
+        return tickLatencies.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickLatencyMaxMillis() {
+        return tickLatencies.getMax() / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,68 @@
+package com.idansh.engine.metrics;
+
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.world.World;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Abstract class that contains static methods which register the metrics of simulations in the platform MBean server,
+ * so they can be watched with any JMX client (e.g. JConsole) without attaching a profiler.
+ * A simulation is registered under the domain "com.idansh.predictions" as "type=Simulation,id=[ID]",
+ * its rules as "type=Simulation,id=[ID],rule=[name]" and its action types as "type=Simulation,id=[ID],actionType=[type]".
+ */
+public abstract class SimulationMetricsMBeans {
+    private static final String DOMAIN = "com.idansh.predictions";
+
+
+    /**
+     * Registers the metrics of a simulation, replacing the metrics registered for a previous simulation with the same ID.
+     * @param world a world that has an ID, set up for a run.
+     * @throws IllegalStateException in case the metrics could not be registered.
+     */
+    public static void register(World world) {
+        unregister(world.getId());
+
+        SimulationMetrics metrics = world.getMetrics();
+        registerMBean(metrics, getSimulationName(world.getId()));
+
+        for (Rule rule : metrics.getRules()) {
+            registerMBean(rule.getMetrics(), getSimulationName(world.getId()) + ",rule=" + ObjectName.quote(rule.getName()));
+        }
+
+        metrics.getActionTypesMetrics().forEach(
+                (actionType, actionTypeMetrics) -> registerMBean(actionTypeMetrics, getSimulationName(world.getId()) + ",actionType=" + actionType)
+        );
+    }
+
+
+    /**
+     * Unregisters the metrics of the simulation with the given ID, if they are registered.
+     * @throws IllegalStateException in case the metrics could not be unregistered.
+     */
+    public static void unregister(int simulationID) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName objectName : mBeanServer.queryNames(new ObjectName(getSimulationName(simulationID) + ",*"), null)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister the metrics of the simulation " + simulationID + ": " + e.getMessage(), e);
+        }
+    }
+
+
+    private static String getSimulationName(int simulationID) {
+        return DOMAIN + ":type=Simulation,id=" + simulationID;
+    }
+
+
+    private static void registerMBean(Object mBean, String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mBean, new ObjectName(name));
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the metrics \"" + name + "\": " + e.getMessage(), e);
+        }
+    }
+}
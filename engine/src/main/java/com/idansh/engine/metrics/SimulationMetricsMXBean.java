@@ -0,0 +1,26 @@
+package com.idansh.engine.metrics;
+
+/**
+ * JMX view of the ticks of a simulation, the rules and action types of the simulation have views of their own.
+ */
+public interface SimulationMetricsMXBean {
+    /**
+     * @return the amount of ticks measured, ticks that a simulation resumed from a checkpoint did not run are not included.
+     */
+    long getMeasuredTickCount();
+
+    /**
+     * @return the amount of ticks run per second while the simulation was running, pauses are not included.
+     */
+    double getTicksPerSecond();
+
+    double getTickLatencyMeanMillis();
+
+    double getTickLatencyP50Millis();
+
+    double getTickLatencyP90Millis();
+
+    double getTickLatencyP99Millis();
+
+    double getTickLatencyMaxMillis();
+}
@@ -0,0 +1,124 @@
+package com.idansh.engine.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative long values (e.g. durations in nanoseconds), that can be recorded from multiple threads without contention,
+ * since each bucket is striped per thread (LongAdder).
+ * The buckets are log-linear: each power of two is split into 8 buckets, so a percentile is within 12.5% of the value recorded,
+ * and the histogram has a fixed size for the whole range of long values.
+ */
+public class StripedHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int NOF_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NOF_BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * NOF_SUB_BUCKETS + NOF_SUB_BUCKETS;
+
+    private final LongAdder[] buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public StripedHistogram() {
+        this.buckets = new LongAdder[NOF_BUCKETS];
+        for (int i = 0; i < NOF_BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+
+    /**
+     * Records a value, negative values are recorded as 0.
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        buckets[getBucketIndex(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+
+    /**
+     * @return the index of the bucket the value is counted in.
+     */
+    private static int getBucketIndex(long value) {
+        if (value < NOF_SUB_BUCKETS)
+            return (int) value;
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (NOF_SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * NOF_SUB_BUCKETS + subBucket;
+    }
+
+
+    /**
+     * @return the highest value that is counted in the bucket with the given index.
+     */
+    private static long getBucketUpperBound(int bucketIndex) {
+        if (bucketIndex < NOF_SUB_BUCKETS)
+            return bucketIndex;
+
+        int exponent = bucketIndex / NOF_SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucketIndex % NOF_SUB_BUCKETS;
+        long lowerBound = (long) (NOF_SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+
+    /**
+     * Returns the value at the given percentile of the recorded values,
+     * the values recorded while the percentile is calculated may or may not be included.
+     * @param percentile the percentile in [0, 100].
+     * @return the highest value of the bucket of the percentile, at most the max value recorded, 0 if no values were recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Invalid percentile " + percentile + ", the percentile must be between 0 and 100.");
+
+        long[] bucketCounts = new long[NOF_BUCKETS];
+        long totalCount = 0;
+        for (int i = 0; i < NOF_BUCKETS; i++) {
+            bucketCounts[i] = buckets[i].sum();
+            totalCount += bucketCounts[i];
+        }
+
+        if (totalCount == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < NOF_BUCKETS; i++) {
+            cumulativeCount += bucketCounts[i];
+            if (cumulativeCount >= rank)
+                return Math.min(getBucketUpperBound(i), getMax());
+        }
+
+        return getMax();
+    }
+
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, 0 if no values were recorded.
+     */
+    public double getMean() {
+        long currentCount = getCount();
+        return currentCount == 0 ? 0 : (double) getSum() / currentCount;
+    }
+}
@@ -0,0 +1,21 @@
+package com.idansh.engine.property.column;
+
+/**
+ * Static helpers for a bitset that is kept in an array of longs.
+ */
+abstract class Bits {
+    static int getNofWords(int nofBits) {
+        return (nofBits + 63) >>> 6;
+    }
+
+    static boolean get(long[] words, int bit) {
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    static void set(long[] words, int bit, boolean value) {
+        if (value)
+            words[bit >>> 6] |= 1L << bit;
+        else
+            words[bit >>> 6] &= ~(1L << bit);
+    }
+}
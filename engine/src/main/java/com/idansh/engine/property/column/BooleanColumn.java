@@ -0,0 +1,95 @@
+package com.idansh.engine.property.column;
+
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.property.distribution.CategoricalValueDistribution;
+import com.idansh.engine.property.distribution.ValueDistribution;
+
+import java.util.Arrays;
+
+/**
+ * Column of a boolean property, the values are kept as a bitset.
+ * The code of a value in the distribution of the values is 1 for true and 0 for false.
+ */
+public class BooleanColumn extends PropertyColumn {
+    private long[][] valueBits;     // By page
+    private CategoricalValueDistribution valueDistribution;
+
+
+    BooleanColumn(PropertyFactory propertyFactory) {
+        super(propertyFactory);
+        this.valueBits = new long[0][];
+        this.valueDistribution = new CategoricalValueDistribution();
+    }
+
+
+    public boolean getBoolean(int row) {
+        return Bits.get(valueBits[row >>> PAGE_BITS], row & PAGE_MASK);
+    }
+
+
+    /**
+     * Sets a new value to a row without boxing, and marks it as changed.
+     */
+    public void setBoolean(int row, boolean value) {
+        prepareWrite(row);
+        removeFromDistribution(row);
+        Bits.set(valueBits[row >>> PAGE_BITS], row & PAGE_MASK, value);
+        addToDistribution(row);
+        markValueChanged(row);
+    }
+
+
+    @Override
+    public Object getValue(int row) {
+        return getBoolean(row);
+    }
+
+
+    @Override
+    public ValueDistribution getValueDistribution() {
+        return valueDistribution;
+    }
+
+
+    @Override
+    protected void addToDistribution(int row) {
+        boolean value = getBoolean(row);
+        valueDistribution.add(value ? 1 : 0, value);
+    }
+
+
+    @Override
+    protected void removeFromDistribution(int row) {
+        valueDistribution.remove(getBoolean(row) ? 1 : 0);
+    }
+
+
+    @Override
+    protected void storeValue(int row, Object value) {
+        Bits.set(valueBits[row >>> PAGE_BITS], row & PAGE_MASK, (Boolean) value);
+    }
+
+
+    @Override
+    protected void growValuePages(int newNofPages) {
+        int nofPages = valueBits.length;
+        valueBits = Arrays.copyOf(valueBits, newNofPages);
+        for (int page = nofPages; page < newNofPages; page++) {
+            valueBits[page] = new long[Bits.getNofWords(PAGE_ROWS)];
+        }
+    }
+
+
+    @Override
+    protected void shareValuePagesOf(PropertyColumn source) {
+        BooleanColumn booleanSource = (BooleanColumn) source;
+        valueBits = booleanSource.valueBits.clone();
+        valueDistribution = (CategoricalValueDistribution) booleanSource.valueDistribution.copy();
+    }
+
+
+    @Override
+    protected void copySharedValuePage(int page) {
+        valueBits[page] = valueBits[page].clone();
+    }
+}
@@ -0,0 +1,96 @@
+package com.idansh.engine.property.column;
+
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.property.distribution.NumericValueDistribution;
+import com.idansh.engine.property.distribution.ValueDistribution;
+
+import java.util.Arrays;
+
+/**
+ * Column of a numeric property, the values are kept as primitive floats.
+ */
+public class FloatColumn extends PropertyColumn {
+    private float[][] values;   // By page
+    private NumericValueDistribution valueDistribution;
+
+
+    FloatColumn(PropertyFactory propertyFactory) {
+        super(propertyFactory);
+        this.values = new float[0][];
+        this.valueDistribution = new NumericValueDistribution(getRange());
+    }
+
+
+    public float getFloat(int row) {
+        return values[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+
+    /**
+     * Sets a new value to a row without boxing, and marks it as changed.
+     */
+    public void setFloat(int row, float value) {
+        prepareWrite(row);
+        float[] page = values[row >>> PAGE_BITS];
+        valueDistribution.replace(page[row & PAGE_MASK], value);
+        page[row & PAGE_MASK] = value;
+        markValueChanged(row);
+    }
+
+
+    @Override
+    public Object getValue(int row) {
+        return getFloat(row);
+    }
+
+
+    @Override
+    public ValueDistribution getValueDistribution() {
+        return valueDistribution;
+    }
+
+
+    @Override
+    protected void addToDistribution(int row) {
+        valueDistribution.add(getFloat(row));
+    }
+
+
+    @Override
+    protected void removeFromDistribution(int row) {
+        valueDistribution.remove(getFloat(row));
+    }
+
+
+    @Override
+    protected void storeValue(int row, Object value) {
+        if (value instanceof Integer)
+            values[row >>> PAGE_BITS][row & PAGE_MASK] = (Integer) value;
+        else
+            values[row >>> PAGE_BITS][row & PAGE_MASK] = (Float) value;
+    }
+
+
+    @Override
+    protected void growValuePages(int newNofPages) {
+        int nofPages = values.length;
+        values = Arrays.copyOf(values, newNofPages);
+        for (int page = nofPages; page < newNofPages; page++) {
+            values[page] = new float[PAGE_ROWS];
+        }
+    }
+
+
+    @Override
+    protected void shareValuePagesOf(PropertyColumn source) {
+        FloatColumn floatSource = (FloatColumn) source;
+        values = floatSource.values.clone();
+        valueDistribution = (NumericValueDistribution) floatSource.valueDistribution.copy();
+    }
+
+
+    @Override
+    protected void copySharedValuePage(int page) {
+        values[page] = values[page].clone();
+    }
+}
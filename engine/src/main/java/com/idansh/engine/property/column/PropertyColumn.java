@@ -0,0 +1,354 @@
+package com.idansh.engine.property.column;
+
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.property.distribution.ValueDistribution;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.util.Arrays;
+
+/**
+ * Holds the values of a single property for all the instances of an entity factory,
+ * where each entity instance is a row in the column.
+ * Also keeps for each row if its value changed during the current tick,
+ * and for how many ticks its value was unchanged.
+ * The amount of unchanged ticks is kept as the check from which the row is unchanged, so only changed rows are written on each check.
+ * The rows are kept in pages of a fixed amount of rows, which can be shared copy-on-write with copies of the column (see copy()),
+ * a column copies a shared page on its first write to a row of the page, so a write copies a single page and not the whole column.
+ * Also keeps the distribution of the values of the rows in use, updated on every write (see ValueDistribution),
+ * a row is in use from when it is initialized until it is released.
+ * Extend to add value types.
+ */
+public abstract class PropertyColumn {
+    protected static final int PAGE_BITS = 10;
+    protected static final int PAGE_ROWS = 1 << PAGE_BITS;      // Amount of rows in a page
+    protected static final int PAGE_MASK = PAGE_ROWS - 1;
+
+    private final PropertyFactory propertyFactory;  // The property factory that defines the property, also keeps the consistency of the property
+    private int[][] unchangedSinceCheck;            // The check from which the value of each row is unchanged, the unchanged ticks are counted from it, by page
+    private long[][] valueChangedBits;              // By page
+    private long[] ownedPages;                      // Bits of the pages that are not shared with another column, and can be written in place
+    private int nofChecks;                          // Amount of times the rows were checked for changes
+    private int nofPages;
+    private int modificationCount;                  // Increased on every change of a value, to know when values read from the column are outdated
+
+
+    protected PropertyColumn(PropertyFactory propertyFactory) {
+        this.propertyFactory = propertyFactory;
+        this.unchangedSinceCheck = new int[0][];
+        this.valueChangedBits = new long[0][];
+        this.ownedPages = new long[0];
+        this.nofChecks = 0;
+        this.nofPages = 0;
+        this.modificationCount = 0;
+    }
+
+
+    /**
+     * Creates an empty column for the values of the property defined by the received property factory.
+     * @apiNote Integer properties hold their values as floats, same as standalone properties.
+     */
+    public static PropertyColumn create(PropertyFactory propertyFactory) {
+        switch (propertyFactory.getType()) {
+            case INTEGER:
+            case FLOAT:
+                return new FloatColumn(propertyFactory);
+
+            case BOOLEAN:
+                return new BooleanColumn(propertyFactory);
+
+            case STRING:
+                return new StringColumn(propertyFactory);
+
+            default:
+                throw new IllegalArgumentException("Unhandled property type received \"" + propertyFactory.getType() + "\", cannot create a property column.");
+        }
+    }
+
+
+    public String getName() {
+        return propertyFactory.getName();
+    }
+
+    public PropertyType getType() {
+        return propertyFactory.getType();
+    }
+
+    public Range getRange() {
+        return propertyFactory.getRange();
+    }
+
+
+    /**
+     * Makes sure the column can hold at least the received amount of rows.
+     * New pages are added without copying the existing ones.
+     */
+    public void ensureCapacity(int minCapacity) {
+        int minNofPages = (minCapacity + PAGE_MASK) >>> PAGE_BITS;
+        if (minNofPages <= nofPages)
+            return;
+
+        int newNofPages = Math.max(minNofPages, nofPages * 2);
+        unchangedSinceCheck = Arrays.copyOf(unchangedSinceCheck, newNofPages);
+        valueChangedBits = Arrays.copyOf(valueChangedBits, newNofPages);
+        ownedPages = Arrays.copyOf(ownedPages, Bits.getNofWords(newNofPages));
+        growValuePages(newNofPages);
+
+        for (int page = nofPages; page < newNofPages; page++) {
+            unchangedSinceCheck[page] = new int[PAGE_ROWS];
+            valueChangedBits[page] = new long[Bits.getNofWords(PAGE_ROWS)];
+            Bits.set(ownedPages, page, true);
+        }
+        nofPages = newNofPages;
+    }
+
+
+    /**
+     * Sets the initial value of a newly allocated row.
+     */
+    public void initRow(int row, Object value) {
+        initRow(row, value, 0, false);
+    }
+
+
+    /**
+     * Sets the value of a newly allocated row to the value of a row in another column,
+     * and keeps the change tracking of the other row.
+     * @param row the row in this column to set.
+     * @param source column of the same type to copy from.
+     * @param sourceRow the row in the source column to copy.
+     */
+    public void copyRow(int row, PropertyColumn source, int sourceRow) {
+        initRow(row, source.getValue(sourceRow), source.getNofTicksValueUnchanged(sourceRow), source.wasValueChanged(sourceRow));
+    }
+
+
+    /**
+     * Sets the value of a newly allocated row together with its change tracking,
+     * used when a row is copied, or when the rows of a column are restored from a checkpoint.
+     */
+    public void initRow(int row, Object value, int ticksValueUnchanged, boolean wasValueChanged) {
+        prepareWrite(row);
+        storeValue(row, value);
+        addToDistribution(row);
+        unchangedSinceCheck[row >>> PAGE_BITS][row & PAGE_MASK] = nofChecks - ticksValueUnchanged;
+        Bits.set(valueChangedBits[row >>> PAGE_BITS], row & PAGE_MASK, wasValueChanged);
+    }
+
+
+    /**
+     * Clears the change tracking of a row that is no longer in use, so it is not visited by the checks for changes,
+     * and removes its value from the distribution of the values.
+     */
+    public void releaseRow(int row) {
+        removeFromDistribution(row);
+        if (wasValueChanged(row)) {
+            prepareWrite(row);
+            Bits.set(valueChangedBits[row >>> PAGE_BITS], row & PAGE_MASK, false);
+        }
+    }
+
+
+    /**
+     * @return a copy of the column with all its rows, which is not changed when this column is changed and vice versa.
+     *         The pages are shared copy-on-write, so the copy only copies the table of the pages,
+     *         and each column copies a page on its next write to it.
+     *         The copy shares the property factory of this column.
+     */
+    public PropertyColumn copy() {
+        PropertyColumn copy = create(propertyFactory);
+        copy.copyRowsFrom(this);
+        return copy;
+    }
+
+
+    /**
+     * Replaces all the rows of the column with the rows of another column of the same type, shared copy-on-write.
+     * @param source the column to copy from, should not be written by another thread while it is copied.
+     */
+    public void copyRowsFrom(PropertyColumn source) {
+        if (source.getType() != getType())
+            throw new IllegalArgumentException("Cannot copy the rows of a column of type \"" + source.getType() + "\" into a column of type \"" + getType() + "\".");
+
+        // The pages of the source are now shared, the source is only written when it owns pages, so a shared source can be copied by several threads
+        if (source.isOwningAnyPage())
+            Arrays.fill(source.ownedPages, 0);
+
+        unchangedSinceCheck = source.unchangedSinceCheck.clone();
+        valueChangedBits = source.valueChangedBits.clone();
+        ownedPages = new long[source.ownedPages.length];
+        nofChecks = source.nofChecks;
+        nofPages = source.nofPages;
+        shareValuePagesOf(source);
+        modificationCount++;
+    }
+
+
+    private boolean isOwningAnyPage() {
+        for (long word : ownedPages) {
+            if (word != 0)
+                return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Copies the page of a row if it may be shared with another column, should be called before any write to the row.
+     */
+    protected final void prepareWrite(int row) {
+        int page = row >>> PAGE_BITS;
+        if (Bits.get(ownedPages, page))
+            return;
+
+        unchangedSinceCheck[page] = unchangedSinceCheck[page].clone();
+        valueChangedBits[page] = valueChangedBits[page].clone();
+        copySharedValuePage(page);
+        Bits.set(ownedPages, page, true);
+    }
+
+
+    /**
+     * Sets a new value to a row, and marks it as changed.
+     * The value is not checked, should be of the type of the column.
+     */
+    public void setValue(int row, Object value) {
+        prepareWrite(row);
+        removeFromDistribution(row);
+        storeValue(row, value);
+        addToDistribution(row);
+        markValueChanged(row);
+    }
+
+
+    /**
+     * @return a count that is increased whenever a value in the column is changed.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+
+    public int getNofTicksValueUnchanged(int row) {
+        return nofChecks - unchangedSinceCheck[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+    public boolean wasValueChanged(int row) {
+        return Bits.get(valueChangedBits[row >>> PAGE_BITS], row & PAGE_MASK);
+    }
+
+
+    /**
+     * Checks a single row for a change of its value,
+     * if the row's value changed then reset its unchanged value ticks counter,
+     * otherwise increase it by one.
+     * Should only be used on a row that is not checked by checkValueChanges().
+     */
+    public void checkValueChange(int row) {
+        prepareWrite(row);
+        int page = row >>> PAGE_BITS, rowInPage = row & PAGE_MASK;
+
+        // If the value changed, reset the tick counter
+        if (Bits.get(valueChangedBits[page], rowInPage)) {
+            int ticksValueUnchanged = getNofTicksValueUnchanged(row);
+            if(ticksValueUnchanged != 0)
+                propertyFactory.addTicksToConsistency(ticksValueUnchanged);
+            Bits.set(valueChangedBits[page], rowInPage, false);
+            unchangedSinceCheck[page][rowInPage] = nofChecks;
+        } else {
+            unchangedSinceCheck[page][rowInPage]--;
+        }
+    }
+
+
+    /**
+     * Call this function on each simulation tick, same as checking each row in use for a change of its value.
+     * The unchanged value ticks counter of every row is increased by one,
+     * while the counters of the rows that changed are reset.
+     * Only the changed rows are visited, rows that are not in use must not be marked as changed (see releaseRow()),
+     * so only the pages with changed rows are copied if they are shared.
+     */
+    public void checkValueChanges() {
+        nofChecks++;
+
+        for (int page = 0; page < nofPages; page++) {
+            for (int word = 0; word < valueChangedBits[page].length; word++) {
+                long changedBits = valueChangedBits[page][word];
+                if (changedBits == 0)
+                    continue;
+
+                prepareWrite(page << PAGE_BITS);
+                int[] pageUnchangedSinceCheck = unchangedSinceCheck[page];
+                while (changedBits != 0) {
+                    int rowInPage = (word << 6) + Long.numberOfTrailingZeros(changedBits);
+                    int ticksValueUnchanged = nofChecks - 1 - pageUnchangedSinceCheck[rowInPage];
+                    if(ticksValueUnchanged != 0)
+                        propertyFactory.addTicksToConsistency(ticksValueUnchanged);
+                    pageUnchangedSinceCheck[rowInPage] = nofChecks;
+                    changedBits &= changedBits - 1;
+                }
+                valueChangedBits[page][word] = 0;
+            }
+        }
+    }
+
+
+    /**
+     * Marks the value of a row as changed, used by the typed setters of the extending columns after they called prepareWrite().
+     */
+    protected void markValueChanged(int row) {
+        Bits.set(valueChangedBits[row >>> PAGE_BITS], row & PAGE_MASK, true);
+        modificationCount++;
+    }
+
+
+    /**
+     * @return the value of the row, boxed.
+     */
+    public abstract Object getValue(int row);
+
+
+    /**
+     * @return the distribution of the values of the rows in use, to be read by other threads it should be copied on the thread of the world (see WorldSnapshot).
+     */
+    public abstract ValueDistribution getValueDistribution();
+
+
+    /**
+     * Adds the value of a row that is now in use to the distribution of the values.
+     */
+    protected abstract void addToDistribution(int row);
+
+
+    /**
+     * Removes the value of a row that is in use from the distribution of the values, before it is changed or released.
+     */
+    protected abstract void removeFromDistribution(int row);
+
+
+    /**
+     * Stores a value in a row, without changing the change tracking of the row.
+     * Called after prepareWrite().
+     */
+    protected abstract void storeValue(int row, Object value);
+
+
+    /**
+     * Grows the table of the value pages of the column to the new amount of pages, and creates the new pages.
+     */
+    protected abstract void growValuePages(int newNofPages);
+
+
+    /**
+     * Sets the value pages of the column and their distribution to those of another column of the same class,
+     * copying only the table of the pages.
+     */
+    protected abstract void shareValuePagesOf(PropertyColumn source);
+
+
+    /**
+     * Replaces a value page of the column with a copy of it, when it may be shared with another column.
+     */
+    protected abstract void copySharedValuePage(int page);
+}
@@ -0,0 +1,124 @@
+package com.idansh.engine.property.column;
+
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.property.distribution.CategoricalValueDistribution;
+import com.idansh.engine.property.distribution.ValueDistribution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column of a string property, the values are kept as codes into a dictionary of the distinct strings of the column.
+ * The distribution of the values is kept by the same codes.
+ * The dictionary only grows, so it is shared with the copies of the column until a string is added to it.
+ */
+public class StringColumn extends PropertyColumn {
+    private int[][] codes;                          // By page
+    private List<String> dictionary;                // The string of each code
+    private Map<String, Integer> dictionaryCodes;   // The code of each string in the dictionary
+    private boolean isDictionaryShared;             // True if the dictionary may be shared with another column, and must be copied before a string is added
+    private CategoricalValueDistribution valueDistribution;
+
+
+    StringColumn(PropertyFactory propertyFactory) {
+        super(propertyFactory);
+        this.codes = new int[0][];
+        this.dictionary = new ArrayList<>();
+        this.dictionaryCodes = new HashMap<>();
+        this.isDictionaryShared = false;
+        this.valueDistribution = new CategoricalValueDistribution();
+    }
+
+
+    /**
+     * @return the dictionary code of the value of the row.
+     */
+    public int getCode(int row) {
+        return codes[row >>> PAGE_BITS][row & PAGE_MASK];
+    }
+
+
+    @Override
+    public Object getValue(int row) {
+        return dictionary.get(getCode(row));
+    }
+
+
+    @Override
+    public ValueDistribution getValueDistribution() {
+        return valueDistribution;
+    }
+
+
+    @Override
+    protected void addToDistribution(int row) {
+        int code = getCode(row);
+        valueDistribution.add(code, dictionary.get(code));
+    }
+
+
+    @Override
+    protected void removeFromDistribution(int row) {
+        valueDistribution.remove(getCode(row));
+    }
+
+
+    @Override
+    protected void storeValue(int row, Object value) {
+        codes[row >>> PAGE_BITS][row & PAGE_MASK] = getOrAddCode((String) value);
+    }
+
+
+    /**
+     * @return the code of the received string, adds it to the dictionary if it is not already there.
+     */
+    private int getOrAddCode(String value) {
+        Integer code = dictionaryCodes.get(value);
+
+        if (code == null) {
+            if (isDictionaryShared) {
+                dictionary = new ArrayList<>(dictionary);
+                dictionaryCodes = new HashMap<>(dictionaryCodes);
+                isDictionaryShared = false;
+            }
+
+            code = dictionary.size();
+            dictionary.add(value);
+            dictionaryCodes.put(value, code);
+        }
+
+        return code;
+    }
+
+
+    @Override
+    protected void growValuePages(int newNofPages) {
+        int nofPages = codes.length;
+        codes = Arrays.copyOf(codes, newNofPages);
+        for (int page = nofPages; page < newNofPages; page++) {
+            codes[page] = new int[PAGE_ROWS];
+        }
+    }
+
+
+    @Override
+    protected void shareValuePagesOf(PropertyColumn source) {
+        StringColumn stringSource = (StringColumn) source;
+        codes = stringSource.codes.clone();
+        dictionary = stringSource.dictionary;
+        dictionaryCodes = stringSource.dictionaryCodes;
+        isDictionaryShared = true;
+        if (!stringSource.isDictionaryShared)
+            stringSource.isDictionaryShared = true;
+        valueDistribution = (CategoricalValueDistribution) stringSource.valueDistribution.copy();
+    }
+
+
+    @Override
+    protected void copySharedValuePage(int page) {
+        codes[page] = codes[page].clone();
+    }
+}
@@ -5,6 +5,7 @@ import com.idansh.engine.helpers.Range;
 import com.idansh.engine.property.creator.generator.value.fixed.FixedValueGenerator;
 import com.idansh.engine.property.instance.Property;
 import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.property.instance.ValueProperty;
 import com.idansh.engine.property.creator.generator.value.api.ValueGenerator;
 
 /**
@@ -16,7 +17,7 @@ public class PropertyCreator<T> implements PropertyFactory{
     private final PropertyType type;
     private ValueGenerator<T> valueGenerator;
     private final Range range;
-    private final Consistency ticksConsistency;
+    private Consistency ticksConsistency;
 
 
     /**
@@ -59,9 +60,9 @@ public class PropertyCreator<T> implements PropertyFactory{
     public Property createProperty() {
         // Add range only for numeric properties
         if(type.equals(PropertyType.FLOAT))
-            return new Property(this, name, type, valueGenerator.generateValue(), range);
+            return new ValueProperty(this, name, type, valueGenerator.generateValue(), range);
         else
-            return new Property(this, name, type, valueGenerator.generateValue());
+            return new ValueProperty(this, name, type, valueGenerator.generateValue());
     }
 
     @Override
@@ -82,6 +83,16 @@ public class PropertyCreator<T> implements PropertyFactory{
         return ticksConsistency.getConsistency();
     }
 
+    @Override
+    public Consistency getTicksConsistency() {
+        return new Consistency(ticksConsistency);
+    }
+
+    @Override
+    public void setTicksConsistency(Consistency ticksConsistency) {
+        this.ticksConsistency = new Consistency(ticksConsistency);
+    }
+
     @Override
     public String getName() {
         return name;
@@ -1,5 +1,6 @@
 package com.idansh.engine.property.creator.factory;
 
+import com.idansh.engine.helpers.Consistency;
 import com.idansh.engine.helpers.Range;
 import com.idansh.engine.property.instance.Property;
 import com.idansh.engine.property.instance.PropertyType;
@@ -75,4 +76,16 @@ public interface PropertyFactory {
      * Get the consistency of the value of the property.
      */
     float getConsistency();
+
+
+    /**
+     * @return a copy of the ticks added to the consistency, to be kept in a checkpoint of the simulation.
+     */
+    Consistency getTicksConsistency();
+
+
+    /**
+     * Replaces the ticks added to the consistency, when a simulation is resumed from a checkpoint.
+     */
+    void setTicksConsistency(Consistency ticksConsistency);
 }
@@ -0,0 +1,113 @@
+package com.idansh.engine.property.distribution;
+
+import com.idansh.dto.property.PropertyValuesDTO;
+import com.idansh.dto.property.ValueCountDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Distribution of the values of a property that is not numeric, the amount of rows with each value.
+ * The values are identified by dense codes that are set by the column, e.g. the codes of the dictionary of a string column,
+ * so a change of a value only changes two counters.
+ */
+public class CategoricalValueDistribution extends ValueDistribution {
+    private int count;
+    private int nofDistinctValues;      // Amount of codes with rows
+    private int[] counts;               // Amount of rows with each code
+    private Object[] values;            // The value of each code that has rows
+
+
+    public CategoricalValueDistribution() {
+        this.count = 0;
+        this.nofDistinctValues = 0;
+        this.counts = new int[0];
+        this.values = new Object[0];
+    }
+
+
+    private CategoricalValueDistribution(CategoricalValueDistribution source) {
+        this.count = source.count;
+        this.nofDistinctValues = source.nofDistinctValues;
+        this.counts = source.counts;
+        this.values = source.values;
+    }
+
+
+    /**
+     * Adds a row with the received value.
+     * @param code the code of the value, the same value should always have the same code.
+     */
+    public void add(int code, Object value) {
+        prepareWrite();
+        if (code >= counts.length) {
+            int newLength = Math.max(code + 1, Math.max(4, counts.length * 2));
+            counts = Arrays.copyOf(counts, newLength);
+            values = Arrays.copyOf(values, newLength);
+        }
+
+        if (counts[code]++ == 0) {
+            values[code] = value;
+            nofDistinctValues++;
+        }
+        count++;
+    }
+
+
+    /**
+     * Removes a row with the value of the received code, which was added before.
+     */
+    public void remove(int code) {
+        prepareWrite();
+        if (--counts[code] == 0)
+            nofDistinctValues--;
+        count--;
+    }
+
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+
+    public int getNofDistinctValues() {
+        return nofDistinctValues;
+    }
+
+
+    /**
+     * Creates a DTO of the most common values and the amount of rows with each of them, the most common first.
+     * @param maxValues max amount of values to include.
+     */
+    @Override
+    public PropertyValuesDTO createPropertyValuesDTO(String propertyName, int maxValues) {
+        List<Integer> codes = new ArrayList<>(nofDistinctValues);
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0)
+                codes.add(code);
+        }
+        codes.sort((first, second) -> Integer.compare(counts[second], counts[first]));
+
+        PropertyValuesDTO propertyValuesDTO = new PropertyValuesDTO(propertyName, count, nofDistinctValues);
+        for (int code : codes.subList(0, Math.min(maxValues, codes.size()))) {
+            propertyValuesDTO.addValueCountDTO(new ValueCountDTO(values[code], counts[code]));
+        }
+
+        return propertyValuesDTO;
+    }
+
+
+    @Override
+    protected ValueDistribution shareArrays() {
+        return new CategoricalValueDistribution(this);
+    }
+
+
+    @Override
+    protected void copySharedArrays() {
+        counts = counts.clone();
+        values = values.clone();
+    }
+}
@@ -0,0 +1,296 @@
+package com.idansh.engine.property.distribution;
+
+import com.idansh.dto.property.PropertyValuesDTO;
+import com.idansh.dto.property.ValueBucketDTO;
+import com.idansh.engine.helpers.Range;
+
+/**
+ * Distribution of the values of a numeric property: the count, mean and variance of the values,
+ * and the amount of values in each of NOF_BUCKETS buckets of equal width.
+ * The mean and variance are kept as the sums of the deviations of the values from the origin and of their squares,
+ * which can be updated on every change of a value without a division. The variance loses precision when the values are far
+ * from the origin compared with their spread, or after values far larger than the spread were added and removed.
+ * The buckets of a property with a range divide the range, the buckets of a property without a range are placed around its first value.
+ * A value outside the buckets doubles their width, merging every two adjacent buckets, until they contain it.
+ * The bucket of a value is computed from its unit index (its index in buckets of the initial width), which never changes,
+ * so a removed value is always removed from the bucket it was added to.
+ * Each bucket keeps the min and max values added to it since it was last empty, so the min and max values are exact
+ * as long as the rows with them were not changed, otherwise they are bounded by the lowest and highest buckets with values.
+ * Values that are not finite (e.g. after a division by zero) are only counted, they are not part of the mean, variance and buckets.
+ */
+public class NumericValueDistribution extends ValueDistribution {
+    private static final int NOF_BUCKETS = 32;
+    private static final long MAX_UNIT_INDEX = 1L << 56;    // Further values are counted in the first or last bucket
+
+    private final Range range;              // Optional
+    private int count;                      // Amount of finite values
+    private int nofNonFiniteValues;
+    private double sumOfDeviations;         // Sum of the deviations of the values from the origin
+    private double sumOfSquaredDeviations;
+    private double origin;                  // Lowest value of the unit with the index 0
+    private double unitWidth;               // Initial width of a bucket, 0 until the first value of a property without a range
+    private double unitsPerValue;           // 1 / unitWidth
+    private long firstUnit;                 // Unit index of the first bucket
+    private int bucketShift;                // Each bucket has 2^bucketShift units
+    private int[] counts;
+    private double[] mins;
+    private double[] maxs;
+
+
+    /**
+     * @param range the range of the property, or null if it has no range.
+     */
+    public NumericValueDistribution(Range range) {
+        this.range = range;
+        this.counts = new int[NOF_BUCKETS];
+        this.mins = new double[NOF_BUCKETS];
+        this.maxs = new double[NOF_BUCKETS];
+        this.bucketShift = 0;
+
+        if (range != null && range.getTop() > range.getBottom()) {
+            this.origin = range.getBottom();
+            this.unitWidth = (range.getTop() - range.getBottom()) / NOF_BUCKETS;
+            this.unitsPerValue = 1 / unitWidth;
+        }
+    }
+
+
+    private NumericValueDistribution(NumericValueDistribution source) {
+        this.range = source.range;
+        this.count = source.count;
+        this.nofNonFiniteValues = source.nofNonFiniteValues;
+        this.sumOfDeviations = source.sumOfDeviations;
+        this.sumOfSquaredDeviations = source.sumOfSquaredDeviations;
+        this.origin = source.origin;
+        this.unitWidth = source.unitWidth;
+        this.unitsPerValue = source.unitsPerValue;
+        this.firstUnit = source.firstUnit;
+        this.bucketShift = source.bucketShift;
+        this.counts = source.counts;
+        this.mins = source.mins;
+        this.maxs = source.maxs;
+    }
+
+
+    public void add(double value) {
+        prepareWrite();
+        if (!isFinite(value)) {
+            nofNonFiniteValues++;
+            return;
+        }
+
+        if (unitWidth == 0) {
+            // Place the buckets around the first value, so they contain the values between 0 and twice the first value
+            origin = value;
+            unitWidth = Math.max(1, Math.abs(value)) / (NOF_BUCKETS / 2);
+            unitsPerValue = 1 / unitWidth;
+            firstUnit = -NOF_BUCKETS / 2;
+        }
+
+        count++;
+        double deviation = value - origin;
+        sumOfDeviations += deviation;
+        sumOfSquaredDeviations += deviation * deviation;
+        addToBucket(value, getUnit(value));
+    }
+
+
+    /**
+     * Removes a value that was added before.
+     */
+    public void remove(double value) {
+        prepareWrite();
+        if (!isFinite(value)) {
+            nofNonFiniteValues--;
+            return;
+        }
+
+        count--;
+        if (count == 0) {
+            // Drop the rounding errors of the sums
+            sumOfDeviations = 0;
+            sumOfSquaredDeviations = 0;
+        } else {
+            double deviation = value - origin;
+            sumOfDeviations -= deviation;
+            sumOfSquaredDeviations -= deviation * deviation;
+        }
+
+        counts[getBucket(getUnit(value))]--;
+    }
+
+
+    /**
+     * Replaces a value that was added before with a new value, cheaper than removing it and adding the new value,
+     * since a change of a value usually keeps it in the same bucket.
+     */
+    public void replace(double oldValue, double newValue) {
+        if (!isFinite(oldValue) || !isFinite(newValue)) {
+            remove(oldValue);
+            add(newValue);
+            return;
+        }
+
+        prepareWrite();
+        double oldDeviation = oldValue - origin, newDeviation = newValue - origin;
+        sumOfDeviations += newDeviation - oldDeviation;
+        sumOfSquaredDeviations += newDeviation * newDeviation - oldDeviation * oldDeviation;
+
+        long oldUnit = getUnit(oldValue), newUnit = getUnit(newValue);
+        if (oldUnit != newUnit) {
+            counts[getBucket(oldUnit)]--;
+            addToBucket(newValue, newUnit);
+        } else {
+            int bucket = getBucket(newUnit);
+            mins[bucket] = Math.min(mins[bucket], newValue);
+            maxs[bucket] = Math.max(maxs[bucket], newValue);
+        }
+    }
+
+
+    @Override
+    public int getCount() {
+        return count + nofNonFiniteValues;
+    }
+
+
+    /**
+     * @return the mean of the finite values, or 0 if there are none.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : origin + sumOfDeviations / count;
+    }
+
+
+    /**
+     * @return the population variance of the finite values, or 0 if there are none.
+     */
+    public double getVariance() {
+        if (count == 0)
+            return 0;
+
+        double meanDeviation = sumOfDeviations / count;
+        return Math.max(0, sumOfSquaredDeviations / count - meanDeviation * meanDeviation);
+    }
+
+
+    /**
+     * Creates a DTO of the moments of the values, and of the buckets from the lowest to the highest bucket with values.
+     * @param maxValues not used, the amount of buckets is fixed.
+     */
+    @Override
+    public PropertyValuesDTO createPropertyValuesDTO(String propertyName, int maxValues) {
+        if (count == 0)
+            return new PropertyValuesDTO(propertyName, getCount(), null, null, null, null);
+
+        int firstBucket = 0, lastBucket = NOF_BUCKETS - 1;
+        while (counts[firstBucket] == 0)
+            firstBucket++;
+        while (counts[lastBucket] == 0)
+            lastBucket--;
+
+        PropertyValuesDTO propertyValuesDTO = new PropertyValuesDTO(propertyName, getCount(), getMean(), getVariance(), mins[firstBucket], maxs[lastBucket]);
+        long unitsPerBucket = 1L << bucketShift;
+        double bucketWidth = unitWidth * unitsPerBucket;
+        for (int bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            double from = origin + (firstUnit + bucket * unitsPerBucket) * unitWidth;
+            propertyValuesDTO.addValueBucketDTO(new ValueBucketDTO(from, from + bucketWidth, counts[bucket]));
+        }
+
+        return propertyValuesDTO;
+    }
+
+
+    /**
+     * @return the index of the unit of the value, where the units divide the values into buckets of the initial width.
+     */
+    private long getUnit(double value) {
+        long unit = (long) Math.floor((value - origin) * unitsPerValue);
+
+        // The top of the range is part of the last bucket of the range, and not of the bucket after it
+        if (range != null && value <= range.getTop() && value >= range.getBottom())
+            unit = Math.max(0, Math.min(NOF_BUCKETS - 1, unit));
+
+        return Math.max(-MAX_UNIT_INDEX, Math.min(MAX_UNIT_INDEX - 1, unit));
+    }
+
+
+    private int getBucket(long unit) {
+        return (int) ((unit - firstUnit) >> bucketShift);
+    }
+
+
+    /**
+     * Adds a value to its bucket, first doubling the width of the buckets until they contain its unit.
+     */
+    private void addToBucket(double value, long unit) {
+        while (unit < firstUnit || unit >= firstUnit + ((long) NOF_BUCKETS << bucketShift)) {
+            doubleBucketWidth(unit < firstUnit);
+        }
+
+        int bucket = getBucket(unit);
+        if (counts[bucket] == 0) {
+            mins[bucket] = value;
+            maxs[bucket] = value;
+        } else {
+            mins[bucket] = Math.min(mins[bucket], value);
+            maxs[bucket] = Math.max(maxs[bucket], value);
+        }
+        counts[bucket]++;
+    }
+
+
+    /**
+     * Doubles the width of the buckets by merging every two adjacent buckets,
+     * so the buckets cover twice the values, either below or above the current buckets.
+     * @param isExtendedDown true if the buckets should cover the values below them, false if above them.
+     */
+    private void doubleBucketWidth(boolean isExtendedDown) {
+        // The current buckets become either the upper or the lower half of the new buckets
+        int offset = isExtendedDown ? NOF_BUCKETS / 2 : 0;
+        int[] newCounts = new int[NOF_BUCKETS];
+        double[] newMins = new double[NOF_BUCKETS];
+        double[] newMaxs = new double[NOF_BUCKETS];
+
+        for (int bucket = 0; bucket < NOF_BUCKETS; bucket++) {
+            if (counts[bucket] == 0)
+                continue;
+
+            int newBucket = offset + bucket / 2;
+            if (newCounts[newBucket] == 0) {
+                newMins[newBucket] = mins[bucket];
+                newMaxs[newBucket] = maxs[bucket];
+            } else {
+                newMins[newBucket] = Math.min(newMins[newBucket], mins[bucket]);
+                newMaxs[newBucket] = Math.max(newMaxs[newBucket], maxs[bucket]);
+            }
+            newCounts[newBucket] += counts[bucket];
+        }
+
+        if (isExtendedDown)
+            firstUnit -= (long) NOF_BUCKETS << bucketShift;
+        bucketShift++;
+        counts = newCounts;
+        mins = newMins;
+        maxs = newMaxs;
+    }
+
+
+    private static boolean isFinite(double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+
+    @Override
+    protected ValueDistribution shareArrays() {
+        return new NumericValueDistribution(this);
+    }
+
+
+    @Override
+    protected void copySharedArrays() {
+        counts = counts.clone();
+        mins = mins.clone();
+        maxs = maxs.clone();
+    }
+}
@@ -0,0 +1,66 @@
+package com.idansh.engine.property.distribution;
+
+import com.idansh.dto.property.PropertyValuesDTO;
+
+/**
+ * The distribution of the values of a property over the rows in use of its column (see PropertyColumn),
+ * updated on every change of a value and whenever a row is initialized or released,
+ * so the values of the population can be queried in O(buckets) without visiting the population.
+ * The arrays of a distribution are shared copy-on-write with its copies, same as the pages of the columns,
+ * so a copy taken at a tick boundary is not changed by the ticks that follow,
+ * and can be read from other threads once it was safely published (see WorldSnapshot).
+ */
+public abstract class ValueDistribution {
+    private boolean isShared;   // True if the arrays may be shared with another distribution, and must be copied before a write
+
+
+    /**
+     * @return a copy of the distribution, taken in O(1), which is not changed when this distribution is changed and vice versa.
+     */
+    public ValueDistribution copy() {
+        ValueDistribution copy = shareArrays();
+        copy.isShared = true;
+        if (!isShared)
+            isShared = true;    // A shared distribution is not written, so copies of it can be taken from several threads
+        return copy;
+    }
+
+
+    /**
+     * Copies the arrays of the distribution if they may be shared with another distribution, should be called before any write to them.
+     */
+    protected final void prepareWrite() {
+        if (!isShared)
+            return;
+
+        copySharedArrays();
+        isShared = false;
+    }
+
+
+    /**
+     * @return the amount of values in the distribution, which is the amount of rows in use.
+     */
+    public abstract int getCount();
+
+
+    /**
+     * Creates a DTO of the distribution, in O(buckets).
+     * @param propertyName name of the property the values are of.
+     * @param maxValues max amount of values to include, the most common values are included.
+     *                  Not used by distributions that keep a fixed amount of buckets.
+     */
+    public abstract PropertyValuesDTO createPropertyValuesDTO(String propertyName, int maxValues);
+
+
+    /**
+     * @return a new distribution with the same values, which shares the arrays of this distribution without copying them.
+     */
+    protected abstract ValueDistribution shareArrays();
+
+
+    /**
+     * Replaces the arrays of the distribution with copies of them, when they may be shared with another distribution.
+     */
+    protected abstract void copySharedArrays();
+}
@@ -0,0 +1,83 @@
+package com.idansh.engine.property.instance;
+
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.column.FloatColumn;
+import com.idansh.engine.property.column.PropertyColumn;
+import com.idansh.engine.world.TickWriteBuffer;
+
+
+/**
+ * A property of an entity instance, which is a view of the entity's row in a property column of its entity factory.
+ * The view does not hold any state of its own, so it can be created on every access.
+ */
+public class ColumnProperty extends Property {
+    private final PropertyColumn column;
+    private final int row;
+
+    public ColumnProperty(PropertyColumn column, int row) {
+        this.column = column;
+        this.row = row;
+    }
+
+    @Override
+    public String getName() {
+        return column.getName();
+    }
+
+    @Override
+    public PropertyType getType() {
+        return column.getType();
+    }
+
+    @Override
+    public Range getRange() {
+        return column.getRange();
+    }
+
+    @Override
+    public Object getValue() {
+        // During a parallel tick, read through the buffer of the chunk so its own writes are seen
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        return writeBuffer == null ? column.getValue(row) : writeBuffer.readValue(column, row);
+    }
+
+    @Override
+    public int getNofTicksValueUnchanged() {
+        return column.getNofTicksValueUnchanged(row);
+    }
+
+    @Override
+    public boolean wasValueChanged() {
+        return column.wasValueChanged(row);
+    }
+
+    @Override
+    public void checkValueChange() {
+        column.checkValueChange(row);
+    }
+
+    @Override
+    protected void storeValue(Object newValue) {
+        // During a parallel tick, defer the write until the chunk is committed
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        if (writeBuffer != null)
+            writeBuffer.storeValue(column, row, newValue);
+        else
+            column.setValue(row, newValue);
+    }
+
+    @Override
+    protected float getNumericValue() {
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        return writeBuffer == null ? ((FloatColumn) column).getFloat(row) : writeBuffer.readFloat((FloatColumn) column, row);
+    }
+
+    @Override
+    protected void storeNumericValue(float newValue) {
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        if (writeBuffer != null)
+            writeBuffer.storeFloat((FloatColumn) column, row, newValue);
+        else
+            ((FloatColumn) column).setFloat(row, newValue);
+    }
+}
@@ -0,0 +1,208 @@
+package com.idansh.engine.property.instance;
+
+import com.idansh.engine.helpers.Range;
+
+
+/**
+ * A property for an entity or an environment variable, base class without the value storage,
+ * Extend to define where the value is kept.
+ * @apiNote Current possible value types: int, float, boolean, string
+ */
+public abstract class Property {
+    public abstract String getName();
+
+    public abstract PropertyType getType();
+
+    public abstract Range getRange();
+
+    public abstract Object getValue();
+
+    public abstract int getNofTicksValueUnchanged();
+
+    public abstract boolean wasValueChanged();
+
+
+    /**
+     * Call this function on each simulation tick,
+     * if the property's value changed then reset the unchanged value ticks counter,
+     * otherwise increase it by one.
+     */
+    public abstract void checkValueChange();
+
+
+    /**
+     * Stores an already checked value as the property's value, and marks the value as changed.
+     * @param newValue value of the property's type, numeric values are received as Float.
+     */
+    protected abstract void storeValue(Object newValue);
+
+
+    /**
+     * @return the value of a numeric property, without boxing.
+     */
+    protected abstract float getNumericValue();
+
+
+    /**
+     * Stores an already checked value as the value of a numeric property without boxing,
+     * and marks the value as changed.
+     */
+    protected abstract void storeNumericValue(float newValue);
+
+
+    /**
+     * Checks if the property is of the type FLOAT or INTEGER.
+     * @return true if the property factory given is numeric, false otherwise.
+     */
+    public boolean isNumericProperty() {
+        return PropertyType.FLOAT.equals(getType());
+    }
+
+
+    /**
+     * Sets a new value to the property.
+     * @param newValue the number to set as the property's value.
+     */
+    public void setValue(Object newValue) {
+        // Check that the type of the new value is of the property
+        if(!isNewValueOfPropertyType(newValue))
+            throw new IllegalArgumentException("value received in setValue is not of the property's type! new value received is of type " + newValue.getClass() + ", while the property's type is " + getType().getTypeString());
+
+        // Check if the new value is not within the property range
+        if(isRangeOverflow(newValue))
+            return;
+
+        // Update the value
+        if(newValue instanceof Integer)
+            storeValue(new Float((Integer) newValue));
+        else
+            storeValue(newValue);
+    }
+
+
+    /**
+     * Sets a new value to a numeric property without boxing.
+     * The type of the value should be checked beforehand, when the setting action is created.
+     * @param newValue the number to set as the property's value.
+     */
+    public void setNumericValue(float newValue) {
+        // Check if the new value is not within the property range
+        if(isRangeOverflow(newValue))
+            return;
+
+        storeNumericValue(newValue);
+    }
+
+
+    /**
+     * Checks if the received newValue is of the type of the property.
+     * if so returns true, otherwise returns false.
+     */
+    private boolean isNewValueOfPropertyType(Object newValue) {
+        switch(getType()) {
+            case INTEGER:
+                if (newValue instanceof Integer)
+                    return true;
+                break;
+
+            case FLOAT:
+                if (newValue instanceof Float || newValue instanceof Integer)
+                    return true;
+                break;
+
+            case BOOLEAN:
+                if (newValue instanceof Boolean)
+                    return true;
+                break;
+
+            case STRING:
+                if (newValue instanceof String)
+                    return true;
+                break;
+        }
+        return false;
+    }
+
+
+    /**
+     * Adds a number of the type Float to the property's value.
+     * If the addition exceeds the range bounds, continue without updating the property's value.
+     * @param toAdd the number to add to the property's value.
+     */
+    public void addNumToValue(Object toAdd) {
+        if(!isNumericProperty())
+            throw new IllegalArgumentException("can preform addNumToValue only on numeric properties! the property's type is \"" + getType().getTypeString() + "\".");
+
+        if(!(toAdd instanceof Integer) && !(toAdd instanceof Float))
+            throw new IllegalArgumentException("can only add a number to the property's value! got value of type \" + toAdd.getClass()");
+
+        // Perform the addition
+        float newValue;
+        if(toAdd instanceof Integer) {
+            newValue = getNumericValue() + (int) toAdd;
+        }
+        else {
+            newValue = getNumericValue() + (float) toAdd;
+        }
+
+        // Check if exceeded the range, if so then continue without updating (without throwing en exception)
+        if(isRangeOverflow(newValue))
+            return;
+
+        storeNumericValue(newValue);
+    }
+
+
+    /**
+     * Adds a number to the value of a numeric property without boxing.
+     * If the addition exceeds the range bounds, continue without updating the property's value.
+     * @param toAdd the number to add to the property's value.
+     */
+    public void addNumToValue(float toAdd) {
+        if(!isNumericProperty())
+            throw new IllegalArgumentException("can preform addNumToValue only on numeric properties! the property's type is \"" + getType().getTypeString() + "\".");
+
+        float newValue = getNumericValue() + toAdd;
+
+        // Check if exceeded the range, if so then continue without updating (without throwing en exception)
+        if(isRangeOverflow(newValue))
+            return;
+
+        storeNumericValue(newValue);
+    }
+
+
+    /**
+     * Checks if a numeric value reached above the top of the range,
+     * or reached below the bottom of the range.
+     * @return true if reached outside the range, false otherwise.
+     */
+    private boolean isRangeOverflow(float newValue) {
+        Range range = getRange();
+
+        return range != null && (newValue > range.getTop() || newValue < range.getBottom());
+    }
+
+
+    /**
+     * Checks if the value reached above the top of the range,
+     * or reached below the bottom of the range.
+     * @param valueToSet a number of the type of the property's value to set to.
+     * @return true if reached outside the range, false otherwise.
+     */
+    private boolean isRangeOverflow(Object valueToSet) {
+        if(getRange() == null)
+            return false;
+
+        if(!getType().isNumeric())
+            throw new IllegalArgumentException("Can only check range overflow on numeric properties! the property is of type \"" + getType() + "\"");
+
+        if(valueToSet instanceof Integer)
+            return isRangeOverflow((int) valueToSet);
+
+        if(valueToSet instanceof Float)
+            return isRangeOverflow((float) valueToSet);
+
+        throw new IllegalArgumentException("Can only check range overflow with a numeric addition, got value to add of type \"" + valueToSet.getClass() + "\"");
+    }
+}
@@ -0,0 +1,99 @@
+package com.idansh.engine.property.instance;
+
+import com.idansh.engine.helpers.Counter;
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+
+
+/**
+ * A standalone property that keeps its own value, used for environment variables.
+ */
+public class ValueProperty extends Property {
+    private final PropertyFactory parentFactory;
+    private final String name;
+    private final PropertyType type;
+    private final Range range;  // Optional field, can be set for numeric properties.
+    private Object value;
+
+    private final Counter ticksValueUnchangedCounter;
+    private boolean wasValueChanged;
+
+    public ValueProperty(PropertyFactory parentFactory, String name, PropertyType type, Object value) {
+        this(parentFactory, name, type, value, null);
+    }
+
+    public ValueProperty(PropertyFactory parentFactory, String name, PropertyType type, Object value, Range range) {
+        this.name = name;
+        this.type = type;
+
+        if(value instanceof Integer)
+            this.value = new Float((Integer) value);
+        else
+            this.value = value;
+
+        this.range = range;
+        this.ticksValueUnchangedCounter = new Counter(0);
+        this.wasValueChanged = false;
+        this.parentFactory = parentFactory;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public PropertyType getType() {
+        return type;
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public Range getRange() {
+        return range;
+    }
+
+    @Override
+    public int getNofTicksValueUnchanged() {
+        return ticksValueUnchangedCounter.getCount();
+    }
+
+    @Override
+    public boolean wasValueChanged() {
+        return wasValueChanged;
+    }
+
+    @Override
+    public void checkValueChange() {
+        // If the value changed, reset the tick counter
+        if (wasValueChanged) {
+            if(getNofTicksValueUnchanged() != 0)
+                parentFactory.addTicksToConsistency(getNofTicksValueUnchanged());
+            wasValueChanged = false;
+            ticksValueUnchangedCounter.resetCount();
+        } else {
+            ticksValueUnchangedCounter.increaseCount();
+        }
+    }
+
+    @Override
+    protected void storeValue(Object newValue) {
+        this.value = newValue;
+        this.wasValueChanged = true;
+    }
+
+    @Override
+    protected float getNumericValue() {
+        return (float) value;
+    }
+
+    @Override
+    protected void storeNumericValue(float newValue) {
+        this.value = newValue;
+        this.wasValueChanged = true;
+    }
+}
@@ -0,0 +1,227 @@
+package com.idansh.engine.rule;
+
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.metrics.InvocationMetrics;
+import com.idansh.engine.metrics.InvocationTally;
+import com.idansh.engine.world.PairwiseInteractionKernel;
+import com.idansh.engine.world.TickWriteBuffer;
+import com.idansh.engine.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Rule {
+    private final String name;
+    private final RuleActivation activation;    // Determines when to activate the rule
+    private final List<Action> actionsList;       // Set of actions to be preformed when the rule is activated
+    private final List<List<Action>> actionsByEntityType;   // Dispatch table of the actions, by the type ID of the main entity the actions apply to (null if none apply)
+    private final World worldContext;
+    private final InvocationMetrics metrics;      // Invocations of the rule, counted only if the world counts invocations, not copied with the rule
+
+    public Rule(String name, RuleActivation activation, World worldContext) {
+        this.name = name;
+        this.activation = activation;
+        this.actionsList = new ArrayList<>();
+        this.actionsByEntityType = new ArrayList<>();
+        this.worldContext = worldContext;
+        this.metrics = new InvocationMetrics();
+    }
+
+    /**
+     * Copy constructor that creates a new rule from the given rule,
+     * while setting the world context as the given world context.
+     */
+    public Rule(Rule rule, World worldContext) {
+        this.name = rule.name;
+        this.activation = new RuleActivation(rule.getActivation());
+        this.actionsList = new ArrayList<>();
+        this.actionsByEntityType = new ArrayList<>();
+        copyActionsSet(rule, worldContext);
+        this.worldContext = worldContext;
+        this.metrics = new InvocationMetrics();
+    }
+
+    private void copyActionsSet(Rule rule, World worldContext) {
+        for(Action action : rule.getActionsList()) {
+            Action actionCopy = action.copy(worldContext);
+            this.actionsList.add(actionCopy);
+            addToDispatchTable(actionCopy);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RuleActivation getActivation() {
+        return activation;
+    }
+
+
+    /**
+     * Adds a new action to be preformed when the rule is activated.
+     * @param action must be unique.
+     */
+    public void addAction(Action action) {
+        if(actionsList.contains(action))
+            throw new IllegalArgumentException("action " + action.getClass() + " already exists in the rules set!");
+
+        actionsList.add(action);
+        addToDispatchTable(action);
+    }
+
+
+    /**
+     * Adds an action to the list of actions of its main entity,
+     * so on each invoke only the actions of the invoked entity will be visited.
+     */
+    private void addToDispatchTable(Action action) {
+        int typeId = action.getMainEntityTypeId();
+        if (typeId < 0)
+            return;
+
+        while (actionsByEntityType.size() <= typeId) {
+            actionsByEntityType.add(null);
+        }
+
+        if (actionsByEntityType.get(typeId) == null)
+            actionsByEntityType.set(typeId, new ArrayList<>());
+
+        actionsByEntityType.get(typeId).add(action);
+    }
+
+
+    /**
+     * @return the actions of the rule that apply to the entity type with the given ID, null if none apply.
+     */
+    private List<Action> getActionsForEntityType(int typeId) {
+        return typeId < actionsByEntityType.size() ? actionsByEntityType.get(typeId) : null;
+    }
+
+    public List<Action> getActionsList() {
+        return actionsList;
+    }
+
+    public InvocationMetrics getMetrics() {
+        return metrics;
+    }
+
+
+    /**
+     * @return true if at least one of the actions of the rule applies to the given entity, false otherwise.
+     */
+    public boolean isApplicableTo(int entityTypeId) {
+        return getActionsForEntityType(entityTypeId) != null;
+    }
+
+
+    /**
+     * Folds the constant parts of the expressions of the rule's actions,
+     * should be called once when the world is activated, before its first tick.
+     * @param activeEnvironmentVariables the environment variables of the activated world.
+     */
+    public void fold(ActiveEnvironmentVariables activeEnvironmentVariables) {
+        actionsList.forEach(
+                action -> action.fold(activeEnvironmentVariables)
+        );
+    }
+
+
+    /**
+     * Tries to activate the rule by invoking all actions defined in this rule.
+     * Should only be called on ticks in which the rule is due (see RuleScheduler),
+     * the rule will be activated if the probability was achieved.
+     * Entities that none of the rule's actions apply to are skipped without a probability check, and are not counted as invocations.
+     * If the world counts invocations (see World.setInvocationCounting), the invocation is counted for the rule,
+     * and an activation is counted for the rule and for each of its actions, with a sample of the activations timed (see InvocationMetrics).
+     * @param entity the current entity in which we try to invoke the rule.
+     */
+    public void invoke(Entity entity) {
+        // Get only the actions that are within the received main entity's context
+        List<Action> entityActions = getActionsForEntityType(entity.getTypeId());
+        if (entityActions == null)
+            return;
+
+        if (worldContext.isCountingInvocations()) {
+            invokeAndCount(entity, entityActions);
+            return;
+        }
+
+        // Check if the rule's activation probability is achieved
+        if (activation.isProbabilityActivated()) {
+            for (Action action : entityActions) {
+                invokeAction(action, entity);
+            }
+        }
+    }
+
+
+    /**
+     * Tries to activate the rule like invoke(), counting the invocation into the metrics of the rule and of its actions.
+     * The actions are only invoked when the rule is activated, so the invocations in which the rule is not activated are counted only for the rule.
+     * During a parallel tick the counts are kept in the bound buffer until it is committed, since the chunk may be invoked again,
+     * otherwise they are recorded immediately.
+     */
+    private void invokeAndCount(Entity entity, List<Action> entityActions) {
+        TickWriteBuffer writeBuffer = TickWriteBuffer.getBoundBuffer();
+        InvocationTally tally = writeBuffer == null ? null : writeBuffer.getInvocationTally();
+
+        if (!activation.isProbabilityActivated()) {
+            if (tally != null)
+                tally.recordSkippedInvocation(metrics);
+            else
+                metrics.recordSkippedInvocation();
+            return;
+        }
+
+        boolean isSampled = InvocationMetrics.isSampled();
+        long ruleStartTime = isSampled ? System.nanoTime() : 0;
+
+        for (Action action : entityActions) {
+            long actionStartTime = isSampled ? System.nanoTime() : 0;
+            invokeAction(action, entity);
+
+            recordActivation(tally, action.getMetrics(), isSampled, actionStartTime);
+        }
+
+        recordActivation(tally, metrics, isSampled, ruleStartTime);
+    }
+
+
+    /**
+     * Records an activation into the tally, or into the metrics if the tally is null, timed since the start time if it is sampled.
+     */
+    private static void recordActivation(InvocationTally tally, InvocationMetrics metrics, boolean isSampled, long startTime) {
+        if (tally == null) {
+            if (isSampled)
+                metrics.recordActivation(System.nanoTime() - startTime);
+            else
+                metrics.recordActivation();
+        } else {
+            if (isSampled)
+                tally.recordActivation(metrics, System.nanoTime() - startTime);
+            else
+                tally.recordActivation(metrics);
+        }
+    }
+
+
+    /**
+     * Invokes an action of the rule on the entity, and on the secondary entity instances chosen for it if a secondary entity was defined.
+     */
+    private static void invokeAction(Action action, Entity entity) {
+        if(action.getSecondaryEntity() == null || !action.getSecondaryEntity().isAmountDefined()) {
+            action.invoke(entity);
+        } else if (action.getSecondaryEntity().isChoosingAll()) {
+            PairwiseInteractionKernel.invokeOnAll(action, entity, action.chooseSecondaryEntities());
+        } else {
+            List<Entity> chosenEntities = action.chooseSecondaryEntities();
+
+            for (Entity chosenEntity : chosenEntities) {
+                action.invoke(entity, chosenEntity);
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.idansh.engine.rule;
 
-import com.idansh.engine.helpers.Counter;
 import com.idansh.engine.helpers.RandomValue;
 
 /**
@@ -9,7 +8,6 @@ import com.idansh.engine.helpers.RandomValue;
 public class RuleActivation {
     private final int ticks;          // In every how many clock ticks will the rule try to activate
     private final double probability; // number between 0 (never happens) and 1 (always happens)
-    private double generatedProbability;
 
 
     /**
@@ -59,27 +57,12 @@ public class RuleActivation {
     }
 
     /**
-     * Generate a random probability between 0 and 1 (included).
-     */
-    public void generateProbability() {
-        generatedProbability = RandomValue.getRandomDouble();
-    }
-
-    /**
+     * Generates a random probability between 0 and 1 (included).
+     * The generated probability is not kept in the activation, so it can be checked from multiple threads.
      * @return true if the probability of the activation is larger or equal to the generated probability,
      * false otherwise.
      */
     public boolean isProbabilityActivated() {
-        return probability >= generatedProbability;
-    }
-
-
-    /**
-     * Checks if the rule should be activated.
-     * @param tickCounter the counter of the ticks since the last activation attempt (according to the activation's ticks).
-     * @return true if the rule activation was activated, false otherwise.
-     */
-    public boolean isActivated(Counter tickCounter) {
-        return (ticks == tickCounter.getCount() && isProbabilityActivated());
+        return probability >= RandomValue.getRandomDouble();
     }
 }
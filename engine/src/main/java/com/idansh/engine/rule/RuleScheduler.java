@@ -0,0 +1,103 @@
+package com.idansh.engine.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Determines once per tick which rules of a simulation are due, according to the ticks of their activation.
+ * The rules are kept in a timing wheel with a slot for each tick of the longest period,
+ * so each tick only visits the rules that are due on it.
+ * Each slot keeps the indexes of its rules in ascending order, so the due rules are returned in their original order without sorting.
+ * A rule with an activation of N ticks is due on every N-th tick of the simulation.
+ */
+public class RuleScheduler {
+    private final List<Rule> rules;                 // All the rules, in the order they are invoked
+    private final int[][] wheel;                    // Each slot holds the indexes of the rules that are due on its tick, in ascending order
+    private final int[] slotSizes;                  // The amount of rule indexes in each slot
+    private final int[] dueRuleIndexes;             // The indexes of the rules that are due on the current tick, reused between ticks
+    private final List<Rule> dueRules;              // The rules that are due on the current tick, reused between ticks
+    private int currentTick;                        // The tick that will be scheduled on the next advance
+
+
+    /**
+     * @param rules the rules of the simulation, in the order they should be invoked.
+     * @param startTick the tick from which the simulation runs (0 for a new simulation).
+     */
+    public RuleScheduler(Collection<Rule> rules, int startTick) {
+        this.rules = new ArrayList<>(rules);
+        this.dueRuleIndexes = new int[this.rules.size()];
+        this.dueRules = new ArrayList<>(this.rules.size());
+        this.currentTick = startTick;
+
+        int wheelSize = 1;
+        for (Rule rule : this.rules) {
+            wheelSize = Math.max(wheelSize, rule.getActivation().getTicks());
+        }
+
+        this.wheel = new int[wheelSize][];
+        this.slotSizes = new int[wheelSize];
+
+        // Place each rule on the first tick it is due on, rules with no positive period are never due
+        for (int i = 0; i < this.rules.size(); i++) {
+            int ticks = this.rules.get(i).getActivation().getTicks();
+
+            if (ticks > 0) {
+                int firstDueTick = ((startTick + ticks) / ticks) * ticks - 1;
+                addToSlot(firstDueTick % wheelSize, i);
+            }
+        }
+    }
+
+
+    /**
+     * Advances the scheduler by one tick.
+     * @return the rules that are due on the current tick, in their original order.
+     *         The returned list is reused, and is valid only until the next advance.
+     */
+    public List<Rule> advance() {
+        int slotIndex = currentTick % wheel.length;
+        int nofDueRules = slotSizes[slotIndex];
+        dueRules.clear();
+
+        if (nofDueRules > 0) {
+            // A rule may be due again on the same slot, so the slot is emptied before the rules are moved
+            System.arraycopy(wheel[slotIndex], 0, dueRuleIndexes, 0, nofDueRules);
+            slotSizes[slotIndex] = 0;
+
+            // Move each due rule to the slot of the next tick it is due on
+            for (int i = 0; i < nofDueRules; i++) {
+                Rule rule = rules.get(dueRuleIndexes[i]);
+                addToSlot((currentTick + rule.getActivation().getTicks()) % wheel.length, dueRuleIndexes[i]);
+                dueRules.add(rule);
+            }
+        }
+
+        currentTick++;
+        return dueRules;
+    }
+
+
+    /**
+     * Inserts a rule index into a slot, keeping the indexes of the slot in ascending order.
+     * The array of a slot only grows, so after the first ticks no arrays are allocated.
+     */
+    private void addToSlot(int slotIndex, int ruleIndex) {
+        int[] slot = wheel[slotIndex];
+        int size = slotSizes[slotIndex];
+
+        if (slot == null)
+            slot = wheel[slotIndex] = new int[1];
+        else if (size == slot.length)
+            slot = wheel[slotIndex] = Arrays.copyOf(slot, Math.min(size * 2, rules.size()));
+
+        int i = size;
+        while (i > 0 && slot[i - 1] > ruleIndex) {
+            slot[i] = slot[i - 1];
+            i--;
+        }
+        slot[i] = ruleIndex;
+        slotSizes[slotIndex] = size + 1;
+    }
+}
@@ -0,0 +1,131 @@
+package com.idansh.engine.world;
+
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.helpers.RandomStream;
+import com.idansh.engine.helpers.RandomValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Abstract class that contains static methods which invoke an action with a main entity instance
+ * and all the instances of its secondary entity (secondary entity amount "ALL").
+ * The parts of the action that depend only on the main entity instance are evaluated once (see Action.bindMainEntity),
+ * then the secondary instances are invoked in blocks of a fixed size, each block with a random stream seeded in order from the stream of the chunk.
+ * During a parallel tick the blocks are forked in the tick's pool, each with its own TickWriteBuffer on top of the chunk's buffer.
+ * The buffers of the blocks are appended to the chunk's buffer in the order of the blocks, and a block that read a value
+ * written by an earlier block is invoked again first, so the results are the same as if the blocks were invoked one after the other.
+ */
+public abstract class PairwiseInteractionKernel {
+    private static final int BLOCK_SIZE = 1024;     // Amount of secondary entity instances invoked by a single task
+
+
+    /**
+     * Invokes the action with the main entity instance and each of the secondary entity instances, in order.
+     * @param secondaryEntities the secondary entity instances, should not change while they are invoked.
+     */
+    public static void invokeOnAll(Action action, Entity mainEntity, List<Entity> secondaryEntities) {
+        Consumer<Entity> pairInvoker = action.bindMainEntity(mainEntity);
+        int nofSecondaryEntities = secondaryEntities.size();
+
+        if (nofSecondaryEntities <= BLOCK_SIZE) {
+            invokeBlock(pairInvoker, secondaryEntities, 0, nofSecondaryEntities);
+            return;
+        }
+
+        RandomStream chunkStream = RandomValue.getStream();
+        int nofBlocks = (nofSecondaryEntities + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] blockStreamSeeds = new long[nofBlocks];
+        for (int block = 0; block < nofBlocks; block++) {
+            blockStreamSeeds[block] = chunkStream.nextLong();
+        }
+
+        // Writes are applied immediately outside a parallel tick, so the blocks must be invoked one after the other
+        TickWriteBuffer chunkBuffer = TickWriteBuffer.getBoundBuffer();
+        if (chunkBuffer == null || !ForkJoinTask.inForkJoinPool()) {
+            for (int block = 0; block < nofBlocks; block++) {
+                invokeBlockWithStream(pairInvoker, secondaryEntities, block, blockStreamSeeds[block]);
+            }
+            return;
+        }
+
+        List<ForkJoinTask<TickWriteBuffer>> blockTasks = new ArrayList<>(nofBlocks);
+        for (int block = 0; block < nofBlocks; block++) {
+            int blockIndex = block;
+            blockTasks.add(ForkJoinTask.adapt(() -> invokeBlockInTask(pairInvoker, secondaryEntities, blockIndex, blockStreamSeeds[blockIndex], chunkBuffer)));
+        }
+        ForkJoinTask.invokeAll(blockTasks);
+
+        TickWriteBuffer.CellSet appendedCells = new TickWriteBuffer.CellSet();
+        for (int block = 0; block < nofBlocks; block++) {
+            TickWriteBuffer blockBuffer = blockTasks.get(block).join();
+
+            // The earlier blocks are all appended, so invoking the block again reads the values it would read in order
+            if (blockBuffer == null || blockBuffer.isReadingAny(appendedCells))
+                blockBuffer = invokeBlockInBuffer(pairInvoker, secondaryEntities, block, blockStreamSeeds[block], chunkBuffer);
+
+            appendedCells.addAll(blockBuffer.getWrittenCells());
+            chunkBuffer.append(blockBuffer);
+        }
+    }
+
+
+    /**
+     * Invokes the pairs of the secondary entity instances in the range [from, to) on the current thread.
+     */
+    private static void invokeBlock(Consumer<Entity> pairInvoker, List<Entity> secondaryEntities, int from, int to) {
+        for (int i = from; i < to; i++) {
+            pairInvoker.accept(secondaryEntities.get(i));
+        }
+    }
+
+
+    /**
+     * Invokes the pairs of a block on the current thread, with the random stream of the block.
+     */
+    private static void invokeBlockWithStream(Consumer<Entity> pairInvoker, List<Entity> secondaryEntities, int block, long blockStreamSeed) {
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(from + BLOCK_SIZE, secondaryEntities.size());
+        RandomStream previousStream = RandomValue.bindStream(new RandomStream(blockStreamSeed));
+
+        try {
+            invokeBlock(pairInvoker, secondaryEntities, from, to);
+        } finally {
+            RandomValue.bindStream(previousStream);
+        }
+    }
+
+
+    /**
+     * Invokes a block of pairs in a forked task, on top of the chunk's buffer as it was when the blocks were forked.
+     * @return the buffer that holds the writes of the block, to be appended to the buffer of the chunk,
+     *         or null if the invoke failed, since it may have failed only because it read values that earlier blocks will change.
+     */
+    private static TickWriteBuffer invokeBlockInTask(Consumer<Entity> pairInvoker, List<Entity> secondaryEntities, int block, long blockStreamSeed, TickWriteBuffer chunkBuffer) {
+        try {
+            return invokeBlockInBuffer(pairInvoker, secondaryEntities, block, blockStreamSeed, chunkBuffer);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Invokes a block of pairs on the current thread, while recording all the writes into a new buffer on top of the chunk's buffer.
+     */
+    private static TickWriteBuffer invokeBlockInBuffer(Consumer<Entity> pairInvoker, List<Entity> secondaryEntities, int block, long blockStreamSeed, TickWriteBuffer chunkBuffer) {
+        TickWriteBuffer blockBuffer = new TickWriteBuffer(chunkBuffer);
+        TickWriteBuffer previousBuffer = blockBuffer.bind();
+
+        try {
+            invokeBlockWithStream(pairInvoker, secondaryEntities, block, blockStreamSeed);
+        } finally {
+            TickWriteBuffer.restore(previousBuffer);
+        }
+
+        return blockBuffer;
+    }
+}
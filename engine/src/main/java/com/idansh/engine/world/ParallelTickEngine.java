@@ -0,0 +1,184 @@
+package com.idansh.engine.world;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.EntityManager;
+import com.idansh.engine.helpers.RandomStream;
+import com.idansh.engine.helpers.RandomValue;
+import com.idansh.engine.rule.Rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Invokes the rules of a simulated world on its population using a fork-join pool.
+ * The partition of each entity type in the population is split into chunks of a fixed size, and the rules of each chunk are invoked
+ * in a separate task with its own TickWriteBuffer, on top of the population as it was at the start of the tick (speculative invoke).
+ * When all the chunks are done, the buffers are committed in the order of the chunks (two-phase commit).
+ * A chunk that read a property value that an earlier chunk wrote is invoked again right before it is committed,
+ * when all the earlier chunks were already committed, so each chunk reads the same values as it would in the sequential engine.
+ * Each chunk takes its random values from its own stream, seeded in order from the stream of the simulation's thread,
+ * and the sequential engine does the same (see invokeRulesInOrder()), so the results of a tick are the same as the sequential engine's,
+ * and do not depend on the number of threads or on the order in which they ran.
+ * @apiNote Chunks that interact with other chunks (e.g. by secondary entities) are invoked again more often,
+ *          in the worst case the tick is invoked about twice: once in parallel and once in order.
+ */
+public class ParallelTickEngine {
+    private static final int CHUNK_SIZE = 512;  // Amount of entity instances invoked by a single task
+    private final ForkJoinPool tickPool;
+
+    /**
+     * The entity instances in the range [from, to) of a population partition, and the rules to invoke on them.
+     */
+    private static class Chunk {
+        private final List<Entity> entityInstances;
+        private final int from, to;
+        private final List<Rule> rules;
+        private final long streamSeed;      // The seed of the random stream the chunk takes its random values from
+
+        private Chunk(List<Entity> entityInstances, int from, int to, List<Rule> rules, long streamSeed) {
+            this.entityInstances = entityInstances;
+            this.from = from;
+            this.to = to;
+            this.rules = rules;
+            this.streamSeed = streamSeed;
+        }
+
+
+        /**
+         * Invokes the rules of the chunk on its entity instances, in order, with the random stream of the chunk.
+         */
+        private void invoke() {
+            RandomStream previousStream = RandomValue.bindStream(new RandomStream(streamSeed));
+
+            try {
+                for (int i = from; i < to; i++) {
+                    Entity entity = entityInstances.get(i);
+                    for (Rule rule : rules) {
+                        rule.invoke(entity);
+                    }
+                }
+            } finally {
+                RandomValue.bindStream(previousStream);
+            }
+        }
+    }
+
+
+    public ParallelTickEngine(ForkJoinPool tickPool) {
+        this.tickPool = tickPool;
+    }
+
+
+    /**
+     * Invokes each rule on each entity instance in the population it applies to, in parallel.
+     * Returns after all the writes made by the rules were committed.
+     * @param entityManager holds the population on which the rules will be invoked.
+     * @param rulesByEntityType the rules to invoke on the instances of each entity type,
+     *                          in the order they will be invoked on each entity instance.
+     */
+    public void invokeRules(EntityManager entityManager, Map<String, List<Rule>> rulesByEntityType) {
+        List<Chunk> chunks = createChunks(entityManager, rulesByEntityType);
+        List<Callable<TickWriteBuffer>> chunkTasks = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            chunkTasks.add(() -> invokeChunkSpeculatively(chunk));
+        }
+
+        // Wait for all the chunks to finish before committing any of them,
+        // a single chunk is handed to the pool as well so the interactions invoked in it can fork (see PairwiseInteractionKernel)
+        List<TickWriteBuffer> writeBuffers = new ArrayList<>(chunkTasks.size());
+        try {
+            for (Future<TickWriteBuffer> chunkResult : tickPool.invokeAll(chunkTasks)) {
+                writeBuffers.add(chunkResult.get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Failed to invoke the rules on the population in parallel.", e);
+        }
+
+        TickWriteBuffer.CellSet committedCells = new TickWriteBuffer.CellSet();
+        for (int i = 0; i < writeBuffers.size(); i++) {
+            TickWriteBuffer writeBuffer = writeBuffers.get(i);
+
+            // The earlier chunks are all committed, so invoking the chunk again reads the values it would read in order
+            if (writeBuffer == null || writeBuffer.isReadingAny(committedCells))
+                writeBuffer = invokeChunk(chunks.get(i));
+
+            committedCells.addAll(writeBuffer.getWrittenCells());
+            writeBuffer.commit();
+        }
+    }
+
+
+    /**
+     * Invokes each rule on each entity instance in the population it applies to, on the current thread,
+     * going over the same chunks as invokeRules() with the same random streams, so both have the same results.
+     * The writes made by the rules are applied immediately.
+     * @param entityManager holds the population on which the rules will be invoked.
+     * @param rulesByEntityType the rules to invoke on the instances of each entity type,
+     *                          in the order they will be invoked on each entity instance.
+     */
+    public static void invokeRulesInOrder(EntityManager entityManager, Map<String, List<Rule>> rulesByEntityType) {
+        for (Chunk chunk : createChunks(entityManager, rulesByEntityType)) {
+            chunk.invoke();
+        }
+    }
+
+
+    /**
+     * Splits the partitions of the population into chunks, in the order of the entity types and then of the instances,
+     * and seeds the random stream of each chunk in that order from the stream of the current thread.
+     */
+    private static List<Chunk> createChunks(EntityManager entityManager, Map<String, List<Rule>> rulesByEntityType) {
+        RandomStream tickStream = RandomValue.getStream();
+        List<Chunk> chunks = new ArrayList<>();
+
+        rulesByEntityType.forEach(
+                (entityName, entityRules) -> {
+                    List<Entity> entityInstances = entityManager.getAllEntityInstancesInPopulation(entityName);
+
+                    for (int from = 0; from < entityInstances.size(); from += CHUNK_SIZE) {
+                        int to = Math.min(from + CHUNK_SIZE, entityInstances.size());
+                        chunks.add(new Chunk(entityInstances, from, to, entityRules, tickStream.nextLong()));
+                    }
+                }
+        );
+
+        return chunks;
+    }
+
+
+    /**
+     * Invokes the rules of a chunk on top of the population as it was at the start of the tick.
+     * @return the buffer that holds the writes of the chunk, not yet committed,
+     *         or null if the invoke failed, since it may have failed only because it read values that earlier chunks will change.
+     */
+    private static TickWriteBuffer invokeChunkSpeculatively(Chunk chunk) {
+        try {
+            return invokeChunk(chunk);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Invokes the rules of a chunk while recording all the writes into a new buffer.
+     * @return the buffer that holds the writes of the chunk, not yet committed.
+     */
+    private static TickWriteBuffer invokeChunk(Chunk chunk) {
+        TickWriteBuffer writeBuffer = new TickWriteBuffer();
+        TickWriteBuffer previousBuffer = writeBuffer.bind();
+
+        try {
+            chunk.invoke();
+        } finally {
+            TickWriteBuffer.restore(previousBuffer);
+        }
+
+        return writeBuffer;
+    }
+}
@@ -0,0 +1,518 @@
+package com.idansh.engine.world;
+
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.metrics.InvocationTally;
+import com.idansh.engine.property.column.BooleanColumn;
+import com.idansh.engine.property.column.FloatColumn;
+import com.idansh.engine.property.column.PropertyColumn;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the writes that were made by the rules on a single chunk of the population during a parallel tick.
+ * While a buffer is bound to the current thread, property values and entities record their changes into it
+ * instead of applying them, and property values are read through it, so the chunk reads its own writes
+ * on top of the population as it was when the chunk started (speculative invoke).
+ * The buffer also keeps which property values the chunk read and wrote, so when the buffers are committed in the order of the chunks,
+ * a chunk that read a value written by an earlier chunk is known to be outdated, and is invoked again (see ParallelTickEngine).
+ * A buffer can be on top of another buffer (e.g. a block of PairwiseInteractionKernel on top of its chunk),
+ * in which case it reads the writes of the other buffer as well, and is appended to it instead of committed.
+ * The invocations counted by the rules are kept in the buffer as well (see InvocationTally), so only the committed invoke of a chunk is counted.
+ */
+public class TickWriteBuffer {
+    private static final ThreadLocal<TickWriteBuffer> boundBuffer = new ThreadLocal<>();
+    private static final AtomicInteger nofBoundThreads = new AtomicInteger();  // Threads with a bound buffer, when none are bound the thread local is not read
+    private final TickWriteBuffer parent;                           // The buffer this buffer is on top of, null if it is on top of the population
+    private final Map<PropertyColumn, ColumnWrites> columnsWrites;  // The writes to the property values, by column
+    private Entity[] lifecycleEntities;                             // The entities killed or replaced, in the order they were
+    private String[] entityNamesToCreate;                           // Name of the entity to create for each replaced entity, null for a killed entity
+    private boolean[] isFromScratch;                                // Only used by replaced entities
+    private int nofLifecycleWrites;
+    private final CellSet readCells;
+    private InvocationTally invocationTally;                        // Created when the first invocation is counted
+
+
+    /**
+     * Creates a buffer on top of the population.
+     */
+    public TickWriteBuffer() {
+        this(null);
+    }
+
+
+    /**
+     * Creates a buffer on top of another buffer, which reads the writes of the other buffer as well.
+     * @param parent the buffer to read through, the buffer should be appended to it when done (see append()).
+     */
+    public TickWriteBuffer(TickWriteBuffer parent) {
+        this.parent = parent;
+        this.columnsWrites = new IdentityHashMap<>();
+        this.lifecycleEntities = new Entity[0];
+        this.entityNamesToCreate = new String[0];
+        this.isFromScratch = new boolean[0];
+        this.nofLifecycleWrites = 0;
+        this.readCells = new CellSet();
+        this.invocationTally = null;
+    }
+
+
+    /**
+     * @return the buffer that is bound to the current thread,
+     * or null if writes on the current thread should be applied immediately.
+     */
+    public static TickWriteBuffer getBoundBuffer() {
+        return nofBoundThreads.get() == 0 ? null : boundBuffer.get();
+    }
+
+
+    /**
+     * Binds this buffer to the current thread, from now on every write
+     * made on the current thread will be recorded into this buffer.
+     * @return the buffer that was bound to the current thread before, or null if none was bound,
+     *         should be restored with restore() when done.
+     */
+    public TickWriteBuffer bind() {
+        return setBoundBuffer(this);
+    }
+
+
+    /**
+     * Unbinds the buffer of the current thread, so values are read from the population and writes are applied immediately.
+     * @return the buffer that was bound to the current thread, or null if none was bound, should be restored with restore() when done.
+     */
+    public static TickWriteBuffer unbind() {
+        return setBoundBuffer(null);
+    }
+
+
+    /**
+     * Binds back a buffer that was bound to the current thread before, as returned by bind().
+     * A worker thread can run tasks of other chunks while waiting for its own, so buffers are restored instead of unbound.
+     * @param previousBuffer the buffer to bind, if null writes on the current thread will be applied immediately.
+     */
+    public static void restore(TickWriteBuffer previousBuffer) {
+        setBoundBuffer(previousBuffer);
+    }
+
+
+    private static TickWriteBuffer setBoundBuffer(TickWriteBuffer buffer) {
+        TickWriteBuffer previousBuffer = boundBuffer.get();
+
+        if (buffer == null) {
+            boundBuffer.remove();
+            if (previousBuffer != null)
+                nofBoundThreads.decrementAndGet();
+        } else {
+            boundBuffer.set(buffer);
+            if (previousBuffer == null)
+                nofBoundThreads.incrementAndGet();
+        }
+
+        return previousBuffer;
+    }
+
+
+    /**
+     * @return the value of a row as seen by this buffer: the last value written to it by this buffer or the buffers under it,
+     *         or its value in the column if none was written. The row is recorded as read.
+     */
+    public Object readValue(PropertyColumn column, int row) {
+        readCells.add(column, row);
+        for (TickWriteBuffer buffer = this; buffer != null; buffer = buffer.parent) {
+            ColumnWrites columnWrites = buffer.columnsWrites.get(column);
+            int write = columnWrites == null ? -1 : columnWrites.getLastWrite(row);
+            if (write != -1)
+                return columnWrites.getValue(write);
+        }
+
+        return column.getValue(row);
+    }
+
+    public float readFloat(FloatColumn column, int row) {
+        readCells.add(column, row);
+        for (TickWriteBuffer buffer = this; buffer != null; buffer = buffer.parent) {
+            ColumnWrites columnWrites = buffer.columnsWrites.get(column);
+            int write = columnWrites == null ? -1 : columnWrites.getLastWrite(row);
+            if (write != -1)
+                return columnWrites.floats[write];
+        }
+
+        return column.getFloat(row);
+    }
+
+    public boolean readBoolean(BooleanColumn column, int row) {
+        readCells.add(column, row);
+        for (TickWriteBuffer buffer = this; buffer != null; buffer = buffer.parent) {
+            ColumnWrites columnWrites = buffer.columnsWrites.get(column);
+            int write = columnWrites == null ? -1 : columnWrites.getLastWrite(row);
+            if (write != -1)
+                return (Boolean) columnWrites.values[write];
+        }
+
+        return column.getBoolean(row);
+    }
+
+
+    /**
+     * Records that all the rows of the received columns were read, used when a result calculated from whole columns is read
+     * (see SecondaryEntityCandidates).
+     */
+    public void readColumns(PropertyColumn[] columns) {
+        for (PropertyColumn column : columns) {
+            readCells.addColumn(column);
+        }
+    }
+
+
+    /**
+     * @return true if this buffer or one of the buffers under it wrote a row of one of the received columns, false otherwise.
+     */
+    public boolean isAnyWritten(PropertyColumn[] columns) {
+        for (TickWriteBuffer buffer = this; buffer != null; buffer = buffer.parent) {
+            for (PropertyColumn column : columns) {
+                if (buffer.columnsWrites.containsKey(column))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Records a value to store in a row, the value should already be checked as it is stored as is.
+     */
+    public void storeValue(PropertyColumn column, int row, Object value) {
+        ColumnWrites columnWrites = getColumnWrites(column);
+        if (columnWrites.floats != null)
+            columnWrites.addFloat(row, ((Number) value).floatValue());
+        else
+            columnWrites.addValue(row, value);
+    }
+
+    public void storeFloat(FloatColumn column, int row, float value) {
+        getColumnWrites(column).addFloat(row, value);
+    }
+
+    private ColumnWrites getColumnWrites(PropertyColumn column) {
+        ColumnWrites columnWrites = columnsWrites.get(column);
+        if (columnWrites == null) {
+            columnWrites = new ColumnWrites(column);
+            columnsWrites.put(column, columnWrites);
+        }
+
+        return columnWrites;
+    }
+
+    public void addKill(Entity entity) {
+        addLifecycleWrite(entity, null, false);
+    }
+
+    public void addReplace(Entity entity, String entityName, boolean isFromScratch) {
+        addLifecycleWrite(entity, entityName, isFromScratch);
+    }
+
+    private void addLifecycleWrite(Entity entity, String entityNameToCreate, boolean isFromScratch) {
+        if (nofLifecycleWrites == lifecycleEntities.length) {
+            int capacity = Math.max(8, nofLifecycleWrites * 2);
+            lifecycleEntities = Arrays.copyOf(lifecycleEntities, capacity);
+            entityNamesToCreate = Arrays.copyOf(entityNamesToCreate, capacity);
+            this.isFromScratch = Arrays.copyOf(this.isFromScratch, capacity);
+        }
+
+        lifecycleEntities[nofLifecycleWrites] = entity;
+        entityNamesToCreate[nofLifecycleWrites] = entityNameToCreate;
+        this.isFromScratch[nofLifecycleWrites] = isFromScratch;
+        nofLifecycleWrites++;
+    }
+
+
+    /**
+     * @return the invocations counted while this buffer was bound, added to their metrics when the buffer is committed.
+     */
+    public InvocationTally getInvocationTally() {
+        if (invocationTally == null)
+            invocationTally = new InvocationTally();
+
+        return invocationTally;
+    }
+
+
+    /**
+     * @return the rows that were written by this buffer, and by the buffers that were appended to it,
+     *         should be taken before the buffer is committed or appended, which empties it.
+     */
+    CellSet getWrittenCells() {
+        CellSet writtenCells = new CellSet();
+        for (ColumnWrites columnWrites : columnsWrites.values()) {
+            writtenCells.addRows(columnWrites.column, columnWrites.writtenRows);
+        }
+
+        return writtenCells;
+    }
+
+
+    /**
+     * @return true if this buffer read a row that is in the received rows, false otherwise.
+     */
+    boolean isReadingAny(CellSet cells) {
+        return readCells.intersects(cells);
+    }
+
+
+    /**
+     * Moves all the writes of a buffer that is on top of this buffer to the end of this buffer, keeping their order.
+     * The rows read by the other buffer are recorded as read by this buffer.
+     * Used to merge the buffers of tasks that were forked from the task of this buffer.
+     */
+    public void append(TickWriteBuffer other) {
+        if (other.parent != this)
+            throw new IllegalArgumentException("Can only append a tick write buffer that is on top of this buffer.");
+
+        for (ColumnWrites otherColumnWrites : other.columnsWrites.values()) {
+            getColumnWrites(otherColumnWrites.column).addAll(otherColumnWrites);
+        }
+        for (int i = 0; i < other.nofLifecycleWrites; i++) {
+            addLifecycleWrite(other.lifecycleEntities[i], other.entityNamesToCreate[i], other.isFromScratch[i]);
+        }
+        readCells.addAll(other.readCells);
+        if (other.invocationTally != null)
+            getInvocationTally().addAll(other.invocationTally);
+
+        other.clear();
+    }
+
+
+    /**
+     * Applies all the writes recorded in the buffer: the writes to each column in the order they were made,
+     * then the kills and replacements in the order they were made (which only queue the entities until the next tick),
+     * and adds the invocations counted in the buffer to their metrics.
+     * The writes to different columns do not depend on each other, so they are applied column by column.
+     * Must be called from a thread without a bound buffer, on a buffer that is on top of the population.
+     */
+    public void commit() {
+        if (getBoundBuffer() != null)
+            throw new IllegalStateException("Cannot commit a tick write buffer from a thread that has a bound buffer.");
+
+        if (parent != null)
+            throw new IllegalStateException("Cannot commit a tick write buffer that is on top of another buffer, it should be appended to it.");
+
+        for (ColumnWrites columnWrites : columnsWrites.values()) {
+            columnWrites.commit();
+        }
+
+        for (int i = 0; i < nofLifecycleWrites; i++) {
+            if (entityNamesToCreate[i] == null)
+                lifecycleEntities[i].kill();
+            else
+                lifecycleEntities[i].replace(entityNamesToCreate[i], isFromScratch[i]);
+        }
+        if (invocationTally != null)
+            invocationTally.commit();
+
+        clear();
+    }
+
+
+    private void clear() {
+        columnsWrites.clear();
+        Arrays.fill(lifecycleEntities, 0, nofLifecycleWrites, null);
+        nofLifecycleWrites = 0;
+    }
+
+
+    /**
+     * The writes of a buffer to a single column in the order they were made, kept in primitive arrays:
+     * the written rows, and either the float values (of a float column) or the values (of any other column).
+     * The last write of each row is found by an open-addressing table of the indexes of the writes, keyed by the row,
+     * and the rows that were written are kept in a bit set, so reading a row that was not written does not probe the table.
+     */
+    private static final class ColumnWrites {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final PropertyColumn column;
+        private int[] rows;
+        private float[] floats;         // The values of the writes to a float column, null for other columns
+        private Object[] values;        // The values of the writes to other columns, null for a float column
+        private int size;
+        private final BitSet writtenRows;
+        private int[] lastWrites;       // 1 + the index of the last write of a row, in the slot of the row, 0 in an empty slot
+        private int nofWrittenRows;
+
+        private ColumnWrites(PropertyColumn column) {
+            this.column = column;
+            this.rows = new int[INITIAL_CAPACITY];
+            if (column instanceof FloatColumn)
+                this.floats = new float[INITIAL_CAPACITY];
+            else
+                this.values = new Object[INITIAL_CAPACITY];
+            this.size = 0;
+            this.writtenRows = new BitSet();
+            this.lastWrites = new int[INITIAL_CAPACITY * 2];
+            this.nofWrittenRows = 0;
+        }
+
+
+        /**
+         * @return the index of the last write of the row, or -1 if the row was not written.
+         */
+        private int getLastWrite(int row) {
+            if (!writtenRows.get(row))
+                return -1;
+
+            return lastWrites[findSlot(lastWrites, rows, row)] - 1;
+        }
+
+        private Object getValue(int write) {
+            return floats != null ? floats[write] : values[write];
+        }
+
+
+        private void addFloat(int row, float value) {
+            ensureCapacity();
+            floats[size] = value;
+            addRow(row);
+        }
+
+        private void addValue(int row, Object value) {
+            ensureCapacity();
+            values[size] = value;
+            addRow(row);
+        }
+
+        /**
+         * Adds the row of the write at the end of the log, and makes it the last write of the row.
+         */
+        private void addRow(int row) {
+            rows[size] = row;
+            int slot = findSlot(lastWrites, rows, row);
+            if (lastWrites[slot] == 0) {
+                writtenRows.set(row);
+                nofWrittenRows++;
+            }
+            lastWrites[slot] = ++size;
+
+            // Keep the table at most half full, so the probes stay short
+            if (nofWrittenRows * 2 > lastWrites.length)
+                rehash(lastWrites.length * 2);
+        }
+
+
+        /**
+         * Adds the writes of another log of the same column after the writes of this log, in their order.
+         */
+        private void addAll(ColumnWrites other) {
+            for (int write = 0; write < other.size; write++) {
+                if (floats != null)
+                    addFloat(other.rows[write], other.floats[write]);
+                else
+                    addValue(other.rows[write], other.values[write]);
+            }
+        }
+
+
+        private void commit() {
+            if (floats != null) {
+                FloatColumn floatColumn = (FloatColumn) column;
+                for (int write = 0; write < size; write++) {
+                    floatColumn.setFloat(rows[write], floats[write]);
+                }
+            } else {
+                for (int write = 0; write < size; write++) {
+                    column.setValue(rows[write], values[write]);
+                }
+            }
+        }
+
+
+        private void ensureCapacity() {
+            if (size < rows.length)
+                return;
+
+            rows = Arrays.copyOf(rows, size * 2);
+            if (floats != null)
+                floats = Arrays.copyOf(floats, size * 2);
+            else
+                values = Arrays.copyOf(values, size * 2);
+        }
+
+        private void rehash(int newLength) {
+            int[] newLastWrites = new int[newLength];
+            for (int lastWrite : lastWrites) {
+                if (lastWrite != 0)
+                    newLastWrites[findSlot(newLastWrites, rows, rows[lastWrite - 1])] = lastWrite;
+            }
+            lastWrites = newLastWrites;
+        }
+
+
+        /**
+         * @return the slot of the row in the table, or the empty slot the row should be added to if it is not in the table.
+         */
+        private static int findSlot(int[] lastWrites, int[] rows, int row) {
+            int mask = lastWrites.length - 1;
+            int hash = row * 0x9e3779b9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (lastWrites[slot] != 0 && rows[lastWrites[slot] - 1] != row) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+    }
+
+
+    /**
+     * A set of rows of property columns, where a whole column can be added at once.
+     */
+    static class CellSet {
+        private final Map<PropertyColumn, BitSet> rows;     // The rows in the set, by column
+        private final Set<PropertyColumn> columns;          // Columns all of whose rows are in the set
+
+        CellSet() {
+            this.rows = new IdentityHashMap<>();
+            this.columns = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+
+        void add(PropertyColumn column, int row) {
+            rows.computeIfAbsent(column, k -> new BitSet()).set(row);
+        }
+
+        void addRows(PropertyColumn column, BitSet columnRows) {
+            rows.computeIfAbsent(column, k -> new BitSet()).or(columnRows);
+        }
+
+        void addColumn(PropertyColumn column) {
+            columns.add(column);
+        }
+
+        void addAll(CellSet other) {
+            other.rows.forEach(
+                    (column, columnRows) -> rows.computeIfAbsent(column, k -> new BitSet()).or(columnRows)
+            );
+            columns.addAll(other.columns);
+        }
+
+        /**
+         * @return true if a row is in both sets, false otherwise.
+         */
+        boolean intersects(CellSet other) {
+            if (other.rows.isEmpty() && other.columns.isEmpty())
+                return false;
+
+            for (Map.Entry<PropertyColumn, BitSet> entry : rows.entrySet()) {
+                BitSet otherRows = other.rows.get(entry.getKey());
+                if ((otherRows != null && otherRows.intersects(entry.getValue())) || other.columns.contains(entry.getKey()))
+                    return true;
+            }
+
+            for (PropertyColumn column : columns) {
+                if (other.columns.contains(column) || other.rows.containsKey(column))
+                    return true;
+            }
+
+            return false;
+        }
+    }
+}
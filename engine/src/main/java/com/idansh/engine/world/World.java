@@ -0,0 +1,771 @@
+package com.idansh.engine.world;
+
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.EntityManager;
+import com.idansh.engine.environment.ActiveEnvironmentVariables;
+import com.idansh.engine.environment.EnvironmentVariablesManager;
+import com.idansh.engine.events.SimulationEventRecorder;
+import com.idansh.engine.events.SimulationLifecycleEvent;
+import com.idansh.engine.events.TickEvent;
+import com.idansh.engine.events.TickPhase;
+import com.idansh.engine.helpers.Countdown;
+import com.idansh.engine.helpers.Counter;
+import com.idansh.engine.helpers.RandomStream;
+import com.idansh.engine.helpers.RandomValue;
+import com.idansh.engine.helpers.SimulationIdGenerator;
+import com.idansh.engine.helpers.SimulationTime;
+import com.idansh.engine.manager.progress.ProgressListener;
+import com.idansh.engine.manager.result.SimulationResult;
+import com.idansh.engine.metrics.SimulationMetrics;
+import com.idansh.engine.property.creator.factory.PropertyFactory;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.rule.RuleScheduler;
+import com.idansh.engine.rule.TerminationRule;
+import com.idansh.engine.world.checkpoint.WorldCheckpoint;
+import com.idansh.engine.world.snapshot.WorldSnapshot;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Main engine component that in charge of a single simulation,
+ * and the various functions of the simulation.
+ */
+public class World implements Runnable {
+    public final EntityManager entityManager;                                       // Contains all the entities (population) of the simulation
+    private int id;                                                                 // The ID of the simulation, will be assigned on world run
+    private final Map<TerminationRule.Type, TerminationRule> terminationRules;      // Rules on when to end the simulation
+    private final Map<String, Rule> rulesMap;                                       // Rules that can activate during the simulation
+    private ActiveEnvironmentVariables activeEnvironmentVariables;                  // Contains all the activated environment variables
+    public final EnvironmentVariablesManager environmentVariablesManager;           // Contains all the environment variables factories
+    private final Counter tickCounter;                                              // The current iteration of the simulation
+    private final SimulationTime simulationTime;                                    // Holds the simulation's start and end times
+    private SimulationResult simulationResult;
+    private Integer threadCount;                                                    // The max number of threads that will be able to run simultaneously
+    private ParallelTickEngine parallelTickEngine;                                  // Optional, invokes the rules of each tick in parallel when set
+    private Long seed;                                                              // Optional seed defined in the world's definition
+    private final Long runSeed;                                                     // The seed all the random values of a simulation run are generated from, null if the world is not for a run
+    private final RandomStream environmentStream, tickStream;                       // Random streams split from the run seed, null if the world is not for a run
+    private boolean isRunning, isToResume, isToPause;                               // Flags for the simulation process
+    private volatile boolean isToStop;                                              // Set by other threads to stop the simulation, also before it started running
+    private volatile boolean isEnded;                                               // Set when the simulation ends, no more checkpoints can be taken after
+    private final Queue<CompletableFuture<WorldCheckpoint>> checkpointRequests;    // Requests to checkpoint the simulation at the next tick boundary
+    private final SimulationMetrics metrics;                                        // Tick latencies of the simulation, and the invocations of its rules
+    private boolean isRecordingEvents;                                              // If true, flight recorder events are emitted for the ticks and the lifecycle of the simulation
+    private boolean isCountingInvocations;                                          // If true, the rules and actions count their invocations into their metrics
+    private SimulationEventRecorder eventRecorder;                                  // Created when the simulation starts running, null if events are not recorded
+    private volatile ProgressListener progressListener;                            // Told about the progress of the simulation, null if no one listens
+    private volatile WorldSnapshot snapshot;                                        // The state of the simulation at a recent tick boundary, null if the world is not a run
+    private volatile boolean isSnapshotRequested;                                   // Set when the snapshot is read, so a new snapshot is published at the next tick boundary
+
+    /**
+     * Initialize the simulated world.
+     */
+    public World(int gridRows, int gridColumns) {
+        this.terminationRules = new HashMap<>();
+        this.rulesMap = new LinkedHashMap<>();
+        this.metrics = new SimulationMetrics(rulesMap.values());
+        this.environmentVariablesManager = new EnvironmentVariablesManager();
+        this.activeEnvironmentVariables = null;
+        this.entityManager = new EntityManager(gridRows, gridColumns);
+        this.tickCounter = new Counter(0);
+        this.simulationTime = new SimulationTime();
+        this.simulationResult = null;
+        this.threadCount = null;
+        this.parallelTickEngine = null;
+        this.isRecordingEvents = false;
+        this.isCountingInvocations = false;
+        this.eventRecorder = null;
+        this.progressListener = null;
+        this.snapshot = null;
+        this.isSnapshotRequested = false;
+        this.seed = null;
+        this.runSeed = null;
+        this.environmentStream = this.tickStream = null;
+        this.checkpointRequests = new ConcurrentLinkedQueue<>();
+        this.isRunning = this.isToPause = this.isToResume = this.isToStop = this.isEnded = false;
+    }
+
+
+    /**
+     * Deep copies a world, setting it up from another run.
+     * Only copy world that not previously ran.
+     * The run will use the seed of the copied world's definition, or a random seed if none was defined.
+     * @apiNote Does not copy the ID or the Active Environment Variables, creates them when the world is activated.
+     */
+    public World(World world) {
+        this(world, (Long) null);
+    }
+
+
+    /**
+     * Deep copies a world, setting it up from another run.
+     * Only copy world that not previously ran.
+     * Two runs created with the same seed from the same world, and with the same environment variables input,
+     * will have the same results.
+     * @param runSeed the seed to generate all the random values of the run from,
+     *                if null the seed of the copied world's definition is used, or a random seed if none was defined.
+     * @apiNote Does not copy the ID or the Active Environment Variables, creates them when the world is activated.
+     */
+    public World(World world, Long runSeed) {
+        this(world, runSeed != null ? runSeed : world.seed != null ? world.seed : new RandomStream().nextLong(), null, null);
+    }
+
+
+    /**
+     * Deep copies a world, setting it up from another run with different initial amounts of some of its entities,
+     * so runs with different populations can be created from the same world without changing it.
+     * Only copy world that not previously ran.
+     * @param runSeed the seed to generate all the random values of the run from.
+     * @param entityPopulations the initial amount of instances of each entity to replace, by the name of the entity.
+     * @throws IllegalArgumentException in case an entity does not exist, or the population does not fit in the grid.
+     * @apiNote Does not copy the ID or the Active Environment Variables, creates them when the world is activated.
+     */
+    public World(World world, long runSeed, Map<String, Integer> entityPopulations) {
+        this(world, runSeed, entityPopulations, null);
+    }
+
+
+    /**
+     * Deep copies a world, setting it up to resume a run from a checkpoint of the run.
+     * Only copy the world that the checkpointed run was created from, or a world with the same definition.
+     * The resumed run will have the same results as the checkpointed run had after the checkpoint.
+     * @param checkpoint the checkpoint to resume from, its environment variables are activated in the world.
+     * @apiNote Does not copy the ID.
+     */
+    public World(World world, WorldCheckpoint checkpoint) {
+        this(world, checkpoint.getRunSeed(), null, checkpoint);
+    }
+
+
+    private World(World world, long runSeed, Map<String, Integer> entityPopulations, WorldCheckpoint checkpoint) {
+        // Check if the world ran, or if it's a newly created one
+        if(world.getTickCount() != 0)
+            throw new IllegalArgumentException("Cannot copy world that ran! Please only copy a world object that was only initialized...");
+
+        this.entityManager = new EntityManager(world.entityManager);
+        if (entityPopulations != null)
+            setEntityPopulations(entityPopulations);
+
+        this.terminationRules = new HashMap<>();
+        world.getTerminationRules().forEach(
+                (type, terminationRule) -> this.terminationRules.put(type, new TerminationRule(type, terminationRule.getValue()))
+        );
+
+        this.rulesMap = new LinkedHashMap<>();
+        world.getRulesMap().forEach(
+                (name, rule) -> this.rulesMap.put(name, new Rule(rule, this))
+        );
+        this.metrics = new SimulationMetrics(rulesMap.values());
+
+        this.environmentVariablesManager = new EnvironmentVariablesManager(world.environmentVariablesManager);
+        this.activeEnvironmentVariables = null;
+        this.checkpointRequests = new ConcurrentLinkedQueue<>();
+
+        // Split a separate random stream for each stage of the run, so each stage does not depend on the amount of random values used by the others
+        this.seed = world.seed;
+        this.runSeed = runSeed;
+        RandomStream runStream = new RandomStream(this.runSeed);
+        RandomStream populationStream = runStream.split();
+        this.environmentStream = runStream.split();
+
+        if (checkpoint == null) {
+            this.tickStream = runStream.split();
+            this.tickCounter = new Counter(0);
+            this.simulationTime = new SimulationTime();
+
+            RandomStream previousStream = RandomValue.bindStream(populationStream);
+            try {
+                this.entityManager.initEntityPopulation();
+            } finally {
+                RandomValue.bindStream(previousStream);
+            }
+        } else {
+            // Continue the tick stream from its state at the checkpoint
+            this.tickStream = new RandomStream(checkpoint.getStreamSeed(), checkpoint.getStreamGamma());
+            this.tickCounter = new Counter(checkpoint.getTickCount());
+            this.simulationTime = new SimulationTime(checkpoint.getElapsedTime());
+            this.entityManager.restoreCheckpoint(checkpoint.getEntityFactories());
+
+            checkpoint.getEnvironmentVariables().forEach(
+                    (name, value) -> environmentVariablesManager.getEnvironmentVariable(name).updateValue(value)
+            );
+            initEnvironmentVariables();
+        }
+
+        this.simulationResult = null;
+        this.id = world.id;
+        this.threadCount = world.threadCount;
+        this.parallelTickEngine = world.parallelTickEngine;
+        this.isRecordingEvents = world.isRecordingEvents;
+        this.isCountingInvocations = world.isCountingInvocations;
+        this.eventRecorder = null;
+        this.progressListener = null;
+        this.isRunning = this.isToPause = this.isToResume = this.isToStop = this.isEnded = false;
+        publishSnapshot();
+    }
+
+    /**
+     * Replaces the initial amount of instances of the received entities, before the population is initialized.
+     */
+    private void setEntityPopulations(Map<String, Integer> entityPopulations) {
+        entityPopulations.forEach(
+                (entityName, amount) -> {
+                    if (amount < 0)
+                        throw new IllegalArgumentException("Invalid amount " + amount + " of the entity \"" + entityName + "\", the amount cannot be negative.");
+
+                    entityManager.getEntityFactory(entityName).setInitPopulation(amount);
+                }
+        );
+
+        int nofEntities = 0;
+        for (EntityFactory entityFactory : entityManager.getEntityFactories().values()) {
+            nofEntities += entityFactory.getPopulationCount();
+        }
+
+        if (nofEntities > entityManager.getMaxNumOfEntities())
+            throw new IllegalArgumentException("Cannot create " + nofEntities + " entities, the grid can hold at most " + entityManager.getMaxNumOfEntities() + " entities.");
+    }
+
+
+    public void generateNewID() {
+        this.id = SimulationIdGenerator.getID();
+    }
+
+
+    /**
+     * Adds a new environment variable factory to the simulated world,
+     * which will be used to create an active environment variable.
+     */
+    public void addEnvironmentVariableFactory(PropertyFactory propertyFactory) {
+        environmentVariablesManager.addEnvironmentVariableFactory(propertyFactory);
+    }
+
+
+    /**
+     * Creates the environment variables for the simulation to use,
+     * according to the environment variable factories defined.
+     */
+    public void initEnvironmentVariables() {
+        if (environmentStream == null) {
+            activeEnvironmentVariables = environmentVariablesManager.createActiveEnvironmentVariables();
+            return;
+        }
+
+        RandomStream previousStream = RandomValue.bindStream(environmentStream);
+        try {
+            activeEnvironmentVariables = environmentVariablesManager.createActiveEnvironmentVariables();
+        } finally {
+            RandomValue.bindStream(previousStream);
+        }
+    }
+
+
+    /**
+     * Adds a new Termination Rule to the simulated world.
+     * There can only be one termination rule of each type - seconds or ticks.
+     */
+    public void addTerminationRule(TerminationRule terminationRule) {
+        if(terminationRules.containsKey(terminationRule.getType()))
+            throw new IllegalArgumentException("Received terminationRule's type - " + terminationRule.getType() + " already exists!");
+
+        if(terminationRule.getType().equals(TerminationRule.Type.USER_DEFINED) && !terminationRules.isEmpty())
+            throw new IllegalArgumentException("Cannot add user-defined termination rule with other types of termination rules!");
+
+        terminationRules.put(terminationRule.getType(), terminationRule);
+    }
+
+
+    /**
+     * Adds a new Rule to the simulated world.
+     * Rules have unique names, if the rule's name already exist, throws IllegalArgumentException.
+     */
+    public void addRule(Rule rule) {
+        if(rulesMap.containsKey(rule.getName()))
+            throw new IllegalArgumentException("received Rule's name - " + rule.getName() + " already exists!");
+
+        rulesMap.put(rule.getName(), rule);
+    }
+
+
+    /**
+     * Start running the simulated world.
+     * Saves the details of the simulation result.
+     */
+    @Override
+    public void run() {
+        if (tickStream == null) {
+            runSimulation();
+        } else {
+            // All the random values of the ticks are taken from the run's tick stream
+            RandomStream previousStream = RandomValue.bindStream(tickStream);
+            try {
+                runSimulation();
+            } finally {
+                RandomValue.bindStream(previousStream);
+            }
+        }
+
+        // The result is set only after the run, so the end is published here and not in endSimulation
+        if (simulationResult != null)
+            publishSnapshot();
+        notifyProgress();
+    }
+
+
+    /**
+     * Runs the ticks of the simulation until one of the termination rules is met,
+     * or until the simulation is stopped by the user.
+     */
+    private void runSimulation() {
+        this.isRunning = true;
+        long timeToStop = -1;
+
+        // Timer countdown for the termination rule SECONDS
+        Countdown countdown = new Countdown();
+
+        // The environment variables do not change from now on, fold them and the constant expressions of the rules
+        rulesMap.values().forEach(
+                rule -> rule.fold(activeEnvironmentVariables)
+        );
+
+        // Determines on each tick which of the rules are due
+        RuleScheduler ruleScheduler = new RuleScheduler(rulesMap.values(), tickCounter.getCount());
+
+        // The due rules grouped by entity type, by the set of due rules.
+        // The entity types do not change during the run and the due sets repeat with the scheduler's wheel, so each set is grouped once
+        Map<List<Rule>, Map<String, List<Rule>>> rulesByEntityTypeCache = new HashMap<>();
+
+        // Emit flight recorder events from now on, if the simulation was set to
+        if (isRecordingEvents) {
+            eventRecorder = new SimulationEventRecorder(this);
+            entityManager.setEventRecorder(eventRecorder);
+        }
+        recordLifecycleEvent(SimulationLifecycleEvent.START, null);
+
+        // If a termination rule of SECONDS was set, starts a timer.
+        if (terminationRules.containsKey(TerminationRule.Type.SECONDS)) {
+            timeToStop = terminationRules.get(TerminationRule.Type.SECONDS).getValue() * 1000L; // Get the amount of seconds and multiply by 1000 to get in milliseconds
+        }
+
+        // Check if the current tick has reached the termination rule tick defined, if one does not exist keeps going until reached the timer defined or the user decided to stop the simulation
+        while ((!terminationRules.containsKey(TerminationRule.Type.TICKS)) || (terminationRules.containsKey(TerminationRule.Type.TICKS) && tickCounter.getCount() < terminationRules.get(TerminationRule.Type.TICKS).getValue())) {
+            long tickStartTime = System.nanoTime();
+            TickEvent tickEvent = eventRecorder != null ? eventRecorder.beginTick() : null;
+
+            // Tell the entity manager the tick advanced
+            entityManager.tickAdvance();
+
+            // Checks if the timer exists and is expired, if so end simulation
+            if (timeToStop != -1 && timeToStop < simulationTime.getElapsedTime()) {
+                simulationResult = endSimulation("Timer Expired");
+                return;
+            }
+
+            // Check if the simulation was ordered to stop, if so then stops without completing this tick
+            if (isToStop) {
+                recordLifecycleEvent(SimulationLifecycleEvent.STOP, null);
+                simulationResult = endSimulation("Stopped By User");
+                return;
+            }
+
+            // Get the rules that are due on this tick
+            List<Rule> dueRules = ruleScheduler.advance();
+
+            // Try to invoke each due rule of the simulation on each entity instance it applies to,
+            // going over the population one entity type at a time
+            Map<String, List<Rule>> dueRulesByEntityType = getRulesByEntityType(dueRules, rulesByEntityTypeCache);
+            if (!dueRulesByEntityType.isEmpty()) {
+                if (eventRecorder == null)
+                    invokeRules(dueRulesByEntityType);
+                else
+                    eventRecorder.recordPhase(TickPhase.RULE_EVALUATION, () -> invokeRules(dueRulesByEntityType));
+            }
+
+            if (tickEvent != null)
+                eventRecorder.commitTick(tickEvent);
+
+            tickCounter.increaseCount();  // Increase the tick counter of the simulation
+            metrics.recordTick(System.nanoTime() - tickStartTime);
+
+            // Building a snapshot copies the whole state, so it is built only if it was read since the last one
+            if (isSnapshotRequested)
+                publishSnapshot();
+            notifyProgress();
+
+            // Take the requested checkpoints at the boundary between this tick and the next one
+            if (!checkpointRequests.isEmpty())
+                takeCheckpoint();
+
+            // Check if the simulation was ordered to pause, if so then go into an infinite loop until ordered to resume.
+            // The simulation pauses at the tick boundary, so checkpoints can still be taken while it is paused
+            if (isToPause) {
+                recordLifecycleEvent(SimulationLifecycleEvent.PAUSE, null);
+                try {
+                    simulationTime.pauseElapsedTime();
+                    publishSnapshot();
+                    notifyProgress();
+                    // Check every 300 milliseconds if the simulation was ordered to resume running
+                    do {
+                        if (isToStop) {
+                            recordLifecycleEvent(SimulationLifecycleEvent.STOP, null);
+                            simulationResult = endSimulation("Stopped By User");
+                            return;
+                        }
+
+                        if (!checkpointRequests.isEmpty())
+                            takeCheckpoint();
+
+                        Thread.sleep(300);
+                    } while (!isToResume);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+                simulationTime.resumeElapsedTime();
+                notifyProgress();
+                recordLifecycleEvent(SimulationLifecycleEvent.RESUME, null);
+            }
+        }
+        entityManager.checkPropertiesValueChange();         // Check if the properties' values have changed for each entity in the population
+        entityManager.removeDeadEntitiesFromPopulation();   // Remove all previously killed entities from the population
+
+        // Ticks reached, end simulation
+        simulationResult = endSimulation("Ticks Reached");
+    }
+
+
+    /**
+     * Invokes each of the received rules on each entity instance it applies to,
+     * going over the population one entity type at a time, in parallel if a tick pool was set.
+     * Both ways have the same results (see ParallelTickEngine).
+     */
+    private void invokeRules(Map<String, List<Rule>> rulesByEntityType) {
+        if (parallelTickEngine != null)
+            parallelTickEngine.invokeRules(entityManager, rulesByEntityType);
+        else
+            ParallelTickEngine.invokeRulesInOrder(entityManager, rulesByEntityType);
+    }
+
+
+    /**
+     * Publishes the current state of the simulation as its snapshot, should only be called at a tick boundary on the thread of the simulation.
+     * The snapshot is final once the simulation's result was set.
+     */
+    private void publishSnapshot() {
+        isSnapshotRequested = false;
+        snapshot = WorldSnapshot.create(getTickCount(), simulationTime.getElapsedTimeMillis(), simulationResult != null, entityManager);
+    }
+
+
+    /**
+     * Tells the progress listener that the progress of the simulation changed, if one was set.
+     */
+    private void notifyProgress() {
+        ProgressListener listener = progressListener;
+        if (listener != null)
+            listener.onProgress(this);
+    }
+
+
+    /**
+     * Records a flight recorder event of a change of the simulation's state, if the simulation records events.
+     */
+    private void recordLifecycleEvent(String state, String endReason) {
+        if (eventRecorder != null)
+            eventRecorder.recordLifecycle(state, endReason);
+    }
+
+
+    /**
+     * Takes a checkpoint of the simulation and completes all the pending checkpoint requests with it.
+     * The checkpoint keeps the state of the tick stream without advancing it, so the simulation continues as if no checkpoint was taken,
+     * and a run that is resumed from the checkpoint takes the same random values as this run.
+     */
+    private void takeCheckpoint() {
+        Map<String, Object> environmentVariables = new TreeMap<>();
+        activeEnvironmentVariables.getEnvironmentVariables().forEach(
+                (name, environmentVariable) -> environmentVariables.put(name, environmentVariable.getValue())
+        );
+
+        WorldCheckpoint checkpoint = new WorldCheckpoint(
+                runSeed,
+                tickStream.getSeed(),
+                tickStream.getGamma(),
+                getTickCount(),
+                simulationTime.getElapsedTimeMillis(),
+                environmentVariables,
+                entityManager.createCheckpoint()
+        );
+
+        CompletableFuture<WorldCheckpoint> checkpointRequest;
+        while ((checkpointRequest = checkpointRequests.poll()) != null) {
+            checkpointRequest.complete(checkpoint);
+        }
+    }
+
+
+    /**
+     * Requests to checkpoint the simulation at the next tick boundary, or right away if the simulation is paused.
+     * The checkpoint is taken on the simulation's thread in O(pages) per property column, since the pages of the columns are shared copy-on-write,
+     * so it can be written or forked on another thread without stopping the simulation.
+     * After the checkpoint the simulation continues with the same results as a simulation resumed from the checkpoint.
+     * @return a future that is completed with the checkpoint on the simulation's thread,
+     *         or completed exceptionally in case the simulation ends before the next tick boundary.
+     *         Dependent work should be run asynchronously, so the simulation does not wait for it.
+     */
+    public CompletableFuture<WorldCheckpoint> requestCheckpoint() {
+        if (runSeed == null)
+            throw new IllegalStateException("Cannot checkpoint a world that is not set up for a run!");
+
+        CompletableFuture<WorldCheckpoint> checkpointRequest = new CompletableFuture<>();
+        checkpointRequests.add(checkpointRequest);
+
+        // The simulation may have ended before the request was added
+        if (isEnded)
+            failCheckpointRequests();
+
+        return checkpointRequest;
+    }
+
+
+    /**
+     * Fails all the pending checkpoint requests, since the simulation ended.
+     */
+    private void failCheckpointRequests() {
+        CompletableFuture<WorldCheckpoint> checkpointRequest;
+        while ((checkpointRequest = checkpointRequests.poll()) != null) {
+            checkpointRequest.completeExceptionally(new IllegalStateException("Cannot checkpoint the simulation " + id + ", the simulation ended."));
+        }
+    }
+
+
+    /**
+     * Groups the received rules by the entity types that their actions apply to, grouping each set of rules only once.
+     * @param rules the rules to group, the list is not kept so it can be reused by the caller.
+     * @param rulesByEntityTypeCache the groups of the sets of rules that were already grouped, the group of the received rules is added to it.
+     * @return map with the rules of each entity type, in the order of the entity factories, should not be changed.
+     */
+    private Map<String, List<Rule>> getRulesByEntityType(List<Rule> rules, Map<List<Rule>, Map<String, List<Rule>>> rulesByEntityTypeCache) {
+        Map<String, List<Rule>> rulesByEntityType = rulesByEntityTypeCache.get(rules);
+
+        if (rulesByEntityType == null) {
+            rulesByEntityType = getRulesByEntityType(rules);
+            rulesByEntityTypeCache.put(new ArrayList<>(rules), rulesByEntityType);
+        }
+
+        return rulesByEntityType;
+    }
+
+
+    /**
+     * Groups the received rules by the entity types that their actions apply to.
+     * Entity types that none of the rules apply to are not included.
+     * @param rules the rules to group, each group keeps their order.
+     * @return map with the rules of each entity type, in the order of the entity factories.
+     */
+    private Map<String, List<Rule>> getRulesByEntityType(List<Rule> rules) {
+        Map<String, List<Rule>> rulesByEntityType = new LinkedHashMap<>();
+
+        for (EntityFactory entityFactory : entityManager.getEntityFactories().values()) {
+            for (Rule rule : rules) {
+                if (rule.isApplicableTo(entityFactory.getTypeId()))
+                    rulesByEntityType.computeIfAbsent(entityFactory.getName(), k -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        return rulesByEntityType;
+    }
+
+
+    /**
+     * End a simulation with a String that defines why the simulation ended.
+     * Only ends simulations on intended events, on errors the simulation will end according to the exception thrown.
+     * @param endReason string that defines the reason of why the simulation ended, which Termination Rule was activated.
+     * @return the simulation's result details.
+     */
+    private SimulationResult endSimulation(String endReason) {
+        isEnded = true;
+        recordLifecycleEvent(SimulationLifecycleEvent.END, endReason);
+        failCheckpointRequests();
+        simulationTime.finish();
+        return new SimulationResult(
+                id,
+                simulationTime,
+                endReason,
+                entityManager,
+                getTickCount(),
+                terminationRules.containsKey(TerminationRule.Type.TICKS) ? terminationRules.get(TerminationRule.Type.TICKS).getValue() : null
+        );
+    }
+
+
+    public Map<TerminationRule.Type, TerminationRule> getTerminationRules() {
+        return terminationRules;
+    }
+
+    public Map<String, Rule> getRulesMap() {
+        return rulesMap;
+    }
+
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getTickCount() {
+        return tickCounter.getCount();
+    }
+
+    public SimulationTime getSimulationTime() {
+        return simulationTime;
+    }
+
+    public ActiveEnvironmentVariables getActiveEnvironmentVariables() {
+        return activeEnvironmentVariables;
+    }
+
+    public SimulationResult getSimulationResult() {
+        return simulationResult;
+    }
+
+    /**
+     * The snapshot is published when the run is created, when it pauses and when it ends, and while it runs
+     * only at the first tick boundary after the previous snapshot was read, so a simulation that no one reads does not build snapshots.
+     * Readers that read the snapshot periodically (e.g. ProgressPublisher) get the state of the simulation as it was at most one period ago.
+     * @return the state of the simulation at a recent tick boundary, which can be read from any thread while the simulation runs,
+     * or null if this world is not a run (e.g. a loaded world).
+     */
+    public WorldSnapshot getSnapshot() {
+        isSnapshotRequested = true;
+        return snapshot;
+    }
+
+    public boolean isSimulationFinished() {
+        return simulationResult != null;
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public Long getRunSeed() {
+        return runSeed;
+    }
+
+
+    /**
+     * Sets the pool that will be used to invoke the rules of each tick, and to move the entities in the grid, in parallel.
+     * Must be set before the simulation starts running.
+     * @param tickPool the fork-join pool to use, or null to invoke the rules on the simulation's thread.
+     */
+    public void setTickPool(ForkJoinPool tickPool) {
+        if(isRunning)
+            throw new IllegalStateException("Cannot change the tick pool of a running simulation!");
+
+        this.parallelTickEngine = tickPool == null ? null : new ParallelTickEngine(tickPool);
+        this.entityManager.setMovementPool(tickPool);
+    }
+
+
+    /**
+     * Sets whether the simulation emits flight recorder (JFR) events for the phases of its ticks and for the changes of its state,
+     * runs created from this world after are set the same. The events are only saved while a flight recording is running.
+     * Must be set before the simulation starts running, a simulation that does not record events does not create any events.
+     * @throws IllegalStateException in case the JVM does not support flight recording.
+     */
+    public void setEventRecording(boolean isRecordingEvents) {
+        if(isRunning)
+            throw new IllegalStateException("Cannot change the event recording of a running simulation!");
+
+        if (isRecordingEvents && !SimulationEventRecorder.isAvailable())
+            throw new IllegalStateException("Cannot record events, flight recording is not available in this JVM.");
+
+        this.isRecordingEvents = isRecordingEvents;
+    }
+
+    public boolean isRecordingEvents() {
+        return isRecordingEvents;
+    }
+
+
+    /**
+     * Sets whether the rules and actions of the simulation count their invocations and time a sample of their activations (see Rule.getMetrics),
+     * runs created from this world after are set the same. The latencies of the ticks are always measured.
+     * Off by default, so the invocation of a rule does no work for the metrics.
+     */
+    public void setInvocationCounting(boolean isCountingInvocations) {
+        if(isRunning)
+            throw new IllegalStateException("Cannot change the invocation counting of a running simulation!");
+
+        this.isCountingInvocations = isCountingInvocations;
+    }
+
+    public boolean isCountingInvocations() {
+        return isCountingInvocations;
+    }
+
+
+    /**
+     * Sets the listener that is told when the progress of the simulation changes: after each tick, when it pauses or resumes, and when it ends.
+     * The listener is called on the thread of the simulation, and is not copied to runs created from this world.
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+
+    /**
+     * Stops the simulation at the next Simulation Tick.
+     * A simulation that did not start running yet (e.g. is queued in a thread pool) ends before its first tick once it starts.
+     */
+    public void stop() {
+        if(isEnded)
+            return;
+
+        isToStop = true;
+        isRunning = false;
+    }
+
+
+    /**
+     * Pauses the simulation at the next Simulation Tick.
+     */
+    public void pause() {
+        if(!isRunning)
+            return;
+
+        isToPause = true;
+        isToResume = false;
+    }
+
+
+    /**
+     * Resumes the simulation from where it was last paused.
+     * @throws RuntimeException in case the simulation wasn't paused before the resume call.
+     */
+    public void resume() {
+        if(!isToPause || !isRunning)
+            return;
+
+        isToResume = true;
+        isToPause = false;
+    }
+}
+
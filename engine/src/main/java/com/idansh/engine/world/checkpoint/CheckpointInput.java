@@ -0,0 +1,117 @@
+package com.idansh.engine.world.checkpoint;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitive values of a checkpoint from a channel, through a fixed size buffer
+ * that is refilled from the channel whenever it runs out.
+ */
+class CheckpointInput {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+
+    CheckpointInput(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();     // Starts empty
+    }
+
+
+    /**
+     * Makes sure the buffer holds at least the received amount of bytes, refilling it from the channel if needed.
+     * @throws EOFException in case the channel ended first.
+     */
+    private void ensureAvailable(int nofBytes) throws IOException {
+        if (buffer.remaining() >= nofBytes)
+            return;
+
+        buffer.compact();
+        while (buffer.position() < nofBytes) {
+            if (channel.read(buffer) < 0)
+                throw new EOFException("The checkpoint ended unexpectedly.");
+        }
+        buffer.flip();
+    }
+
+
+    byte getByte() throws IOException {
+        ensureAvailable(Byte.BYTES);
+        return buffer.get();
+    }
+
+    boolean getBoolean() throws IOException {
+        return getByte() != 0;
+    }
+
+    int getInt() throws IOException {
+        ensureAvailable(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    long getLong() throws IOException {
+        ensureAvailable(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    float getFloat() throws IOException {
+        ensureAvailable(Float.BYTES);
+        return buffer.getFloat();
+    }
+
+
+    /**
+     * Reads an array that was written as its length followed by its values.
+     */
+    int[] getIntArray() throws IOException {
+        int[] values = new int[getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getInt();
+        }
+
+        return values;
+    }
+
+
+    /**
+     * Reads a string that was written as its length in bytes followed by its UTF-8 bytes, or null if the length is -1.
+     */
+    String getString() throws IOException {
+        int length = getInt();
+        if (length == -1)
+            return null;
+
+        if (length < 0)
+            throw new IOException("Invalid string length " + length + " in the checkpoint.");
+
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            ensureAvailable(1);
+            int nofBytes = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, nofBytes);
+            offset += nofBytes;
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Reads a length of an array or a list.
+     * @throws IOException in case the length is negative, which means the checkpoint is corrupted.
+     */
+    int getLength() throws IOException {
+        int length = getInt();
+        if (length < 0)
+            throw new IOException("Invalid length " + length + " in the checkpoint.");
+
+        return length;
+    }
+}
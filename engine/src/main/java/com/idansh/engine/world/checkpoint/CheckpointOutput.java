@@ -0,0 +1,102 @@
+package com.idansh.engine.world.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the primitive values of a checkpoint into a channel, through a fixed size buffer
+ * that is drained into the channel whenever it fills up.
+ */
+class CheckpointOutput {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+
+    CheckpointOutput(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+
+    /**
+     * Makes sure the buffer has room for the received amount of bytes, draining it into the channel if needed.
+     */
+    private void ensureRemaining(int nofBytes) throws IOException {
+        if (buffer.remaining() < nofBytes)
+            flush();
+    }
+
+
+    void putByte(byte value) throws IOException {
+        ensureRemaining(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    void putBoolean(boolean value) throws IOException {
+        putByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putFloat(float value) throws IOException {
+        ensureRemaining(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+
+    /**
+     * Writes the length of the array followed by its values.
+     */
+    void putIntArray(int[] values, int length) throws IOException {
+        putInt(length);
+        for (int i = 0; i < length; i++) {
+            putInt(values[i]);
+        }
+    }
+
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes, a null string is written as the length -1.
+     */
+    void putString(String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureRemaining(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+
+    /**
+     * Drains all the buffered bytes into the channel.
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
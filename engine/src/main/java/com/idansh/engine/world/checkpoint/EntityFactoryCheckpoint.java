@@ -0,0 +1,358 @@
+package com.idansh.engine.world.checkpoint;
+
+import com.idansh.engine.entity.AmountBuckets;
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.helpers.Consistency;
+import com.idansh.engine.property.column.BooleanColumn;
+import com.idansh.engine.property.column.FloatColumn;
+import com.idansh.engine.property.column.PropertyColumn;
+import com.idansh.engine.property.instance.PropertyType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The state of a single entity factory and of its instances in the population, at a tick boundary of a simulation.
+ * The columns are copies of the factory's columns that share their pages copy-on-write, so the checkpoint is not changed by the ticks that follow.
+ * Each instance is kept as its row in the columns, in the order of the population's partition of the factory.
+ */
+public class EntityFactoryCheckpoint {
+    public static final byte STATE_ALIVE = 1;                   // Flags of the state of an instance
+    public static final byte STATE_CREATE_FROM_SCRATCH = 2;
+    public static final byte STATE_CREATE_DERIVED = 4;
+
+    private final String name;
+    private final int populationCount;
+    private final AmountBuckets amountBuckets;  // The amount histogram of the older ticks
+    private final int[] recentAmounts;          // The amount histogram of the recent ticks, that follow the buckets
+    private final int nofRows;                  // Amount of rows allocated in the columns, including released rows
+    private final int[] rowGenerations;         // Generation of each allocated row
+    private final int[] releasedRows;           // Stack of the released rows, from the bottom
+    private final PropertyColumn[] columns;     // Copy of each column, by the slot of its property
+    private final Consistency[] consistencies;  // Consistency of each property, by its slot
+    private final int[] instanceRows;           // The row of each instance
+    private final int[] populationIndexes;      // The index of each instance in the whole population
+    private final int[] gridRows;               // The grid location of each instance
+    private final int[] gridColumns;
+    private final byte[] instanceStates;        // The state flags of each instance
+    private final String[] entityNamesToCreate; // The name of the entity to replace each instance with, null if it is not replaced
+    private final int[] deadRows;               // The rows of the instances that died and were not removed yet, in the order they died
+
+
+    public EntityFactoryCheckpoint(String name, int populationCount, AmountBuckets amountBuckets, int[] recentAmounts,
+                                   int nofRows, int[] rowGenerations, int[] releasedRows,
+                                   PropertyColumn[] columns, Consistency[] consistencies,
+                                   int[] instanceRows, int[] populationIndexes, int[] gridRows, int[] gridColumns,
+                                   byte[] instanceStates, String[] entityNamesToCreate, int[] deadRows) {
+        this.name = name;
+        this.populationCount = populationCount;
+        this.amountBuckets = amountBuckets;
+        this.recentAmounts = recentAmounts;
+        this.nofRows = nofRows;
+        this.rowGenerations = rowGenerations;
+        this.releasedRows = releasedRows;
+        this.columns = columns;
+        this.consistencies = consistencies;
+        this.instanceRows = instanceRows;
+        this.populationIndexes = populationIndexes;
+        this.gridRows = gridRows;
+        this.gridColumns = gridColumns;
+        this.instanceStates = instanceStates;
+        this.entityNamesToCreate = entityNamesToCreate;
+        this.deadRows = deadRows;
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPopulationCount() {
+        return populationCount;
+    }
+
+    public AmountBuckets getAmountBuckets() {
+        return amountBuckets;
+    }
+
+    public int[] getRecentAmounts() {
+        return recentAmounts;
+    }
+
+    public int getNofRows() {
+        return nofRows;
+    }
+
+    public int[] getRowGenerations() {
+        return rowGenerations;
+    }
+
+    public int[] getReleasedRows() {
+        return releasedRows;
+    }
+
+    public PropertyColumn getColumn(int slot) {
+        return columns[slot];
+    }
+
+    public Consistency getConsistency(int slot) {
+        return consistencies[slot];
+    }
+
+    public int getNofInstances() {
+        return instanceRows.length;
+    }
+
+    public int getInstanceRow(int instance) {
+        return instanceRows[instance];
+    }
+
+    public int getPopulationIndex(int instance) {
+        return populationIndexes[instance];
+    }
+
+    public int getGridRow(int instance) {
+        return gridRows[instance];
+    }
+
+    public int getGridColumn(int instance) {
+        return gridColumns[instance];
+    }
+
+    public byte getInstanceState(int instance) {
+        return instanceStates[instance];
+    }
+
+    public String getEntityNameToCreate(int instance) {
+        return entityNamesToCreate[instance];
+    }
+
+    public int[] getDeadRows() {
+        return deadRows;
+    }
+
+
+    /**
+     * Writes the checkpoint of the entity factory.
+     * Strings are written once per column, later rows with the same string only write its index.
+     */
+    void write(CheckpointOutput output) throws IOException {
+        output.putString(name);
+        output.putInt(populationCount);
+        writeAmountBuckets(output, amountBuckets);
+        output.putIntArray(recentAmounts, recentAmounts.length);
+        output.putIntArray(rowGenerations, nofRows);
+        output.putIntArray(releasedRows, releasedRows.length);
+
+        output.putInt(columns.length);
+        for (int slot = 0; slot < columns.length; slot++) {
+            writeColumn(output, columns[slot], consistencies[slot]);
+        }
+
+        output.putInt(instanceRows.length);
+        for (int instance = 0; instance < instanceRows.length; instance++) {
+            output.putInt(instanceRows[instance]);
+            output.putInt(populationIndexes[instance]);
+            output.putInt(gridRows[instance]);
+            output.putInt(gridColumns[instance]);
+            output.putByte(instanceStates[instance]);
+            output.putString(entityNamesToCreate[instance]);
+        }
+
+        output.putIntArray(deadRows, deadRows.length);
+    }
+
+
+    private static void writeAmountBuckets(CheckpointOutput output, AmountBuckets amountBuckets) throws IOException {
+        output.putInt(amountBuckets.getWidth());
+        output.putInt(amountBuckets.size());
+        for (int bucket = 0; bucket < amountBuckets.size(); bucket++) {
+            output.putInt(amountBuckets.getCount(bucket));
+            output.putInt(amountBuckets.getMin(bucket));
+            output.putInt(amountBuckets.getMax(bucket));
+            output.putLong(amountBuckets.getSum(bucket));
+        }
+    }
+
+
+    private void writeColumn(CheckpointOutput output, PropertyColumn column, Consistency consistency) throws IOException {
+        output.putString(column.getName());
+        output.putByte((byte) column.getType().ordinal());
+        output.putInt(consistency.getSum());
+        output.putInt(consistency.getNofItems());
+
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        for (int row = 0; row < nofRows; row++) {
+            switch (column.getType()) {
+                case INTEGER:
+                case FLOAT:
+                    output.putFloat(((FloatColumn) column).getFloat(row));
+                    break;
+
+                case BOOLEAN:
+                    output.putBoolean(((BooleanColumn) column).getBoolean(row));
+                    break;
+
+                case STRING:
+                    String value = (String) column.getValue(row);
+                    Integer stringIndex = stringIndexes.get(value);
+                    if (stringIndex == null) {
+                        output.putInt(stringIndexes.size());
+                        output.putString(value);
+                        stringIndexes.put(value, stringIndexes.size());
+                    } else {
+                        output.putInt(stringIndex);
+                    }
+                    break;
+            }
+
+            output.putInt(column.getNofTicksValueUnchanged(row));
+            output.putBoolean(column.wasValueChanged(row));
+        }
+    }
+
+
+    /**
+     * Reads a checkpoint of an entity factory, and checks that it matches the definition of the entity factory.
+     * @param definition the entity factory of the loaded world, the columns are created from its property factories.
+     * @throws IllegalArgumentException in case the checkpoint was written by a world with a different definition of the entity.
+     * @throws IOException in case the checkpoint is corrupted.
+     */
+    static EntityFactoryCheckpoint read(CheckpointInput input, EntityFactory definition) throws IOException {
+        String name = input.getString();
+        if (!definition.getName().equals(name))
+            throw new IllegalArgumentException("The checkpoint has the entity \"" + name + "\" where the loaded simulation has the entity \"" + definition.getName() + "\".");
+
+        int populationCount = input.getInt();
+        AmountBuckets amountBuckets = readAmountBuckets(input);
+        int[] recentAmounts = input.getIntArray();
+        int[] rowGenerations = input.getIntArray();
+        int nofRows = rowGenerations.length;
+        int[] releasedRows = input.getIntArray();
+        for (int releasedRow : releasedRows) {
+            checkRow(releasedRow, nofRows);
+        }
+
+        int nofColumns = input.getLength();
+        if (nofColumns != definition.getPropertiesToAssign().size())
+            throw new IllegalArgumentException("The checkpoint has " + nofColumns + " properties for the entity \"" + name + "\", where the loaded simulation has " + definition.getPropertiesToAssign().size() + ".");
+
+        PropertyColumn[] columns = new PropertyColumn[nofColumns];
+        Consistency[] consistencies = new Consistency[nofColumns];
+        for (int slot = 0; slot < nofColumns; slot++) {
+            String columnName = input.getString();
+            PropertyColumn definitionColumn = definition.getPropertyColumn(slot);
+            if (!definitionColumn.getName().equals(columnName))
+                throw new IllegalArgumentException("The checkpoint has the property \"" + columnName + "\" where the loaded simulation has the property \"" + definitionColumn.getName() + "\" for the entity \"" + name + "\".");
+
+            byte typeOrdinal = input.getByte();
+            if (typeOrdinal != definitionColumn.getType().ordinal())
+                throw new IllegalArgumentException("The type of the property \"" + columnName + "\" of the entity \"" + name + "\" in the checkpoint does not match the loaded simulation.");
+
+            consistencies[slot] = new Consistency(input.getInt(), input.getInt());
+            columns[slot] = readColumn(input, PropertyColumn.create(definition.getPropertyFactory(columnName)), nofRows, releasedRows);
+        }
+
+        int nofInstances = input.getLength();
+        int[] instanceRows = new int[nofInstances];
+        int[] populationIndexes = new int[nofInstances];
+        int[] gridRows = new int[nofInstances];
+        int[] gridColumns = new int[nofInstances];
+        byte[] instanceStates = new byte[nofInstances];
+        String[] entityNamesToCreate = new String[nofInstances];
+        for (int instance = 0; instance < nofInstances; instance++) {
+            instanceRows[instance] = checkRow(input.getInt(), nofRows);
+            populationIndexes[instance] = input.getInt();
+            gridRows[instance] = input.getInt();
+            gridColumns[instance] = input.getInt();
+            instanceStates[instance] = input.getByte();
+            entityNamesToCreate[instance] = input.getString();
+        }
+
+        int[] deadRows = input.getIntArray();
+        for (int deadRow : deadRows) {
+            checkRow(deadRow, nofRows);
+        }
+
+        return new EntityFactoryCheckpoint(name, populationCount, amountBuckets, recentAmounts, nofRows, rowGenerations, releasedRows,
+                columns, consistencies, instanceRows, populationIndexes, gridRows, gridColumns, instanceStates, entityNamesToCreate, deadRows);
+    }
+
+
+    /**
+     * Reads the values of all the rows of a column, then releases the released rows so they are not part of the distribution of the values.
+     */
+    private static PropertyColumn readColumn(CheckpointInput input, PropertyColumn column, int nofRows, int[] releasedRows) throws IOException {
+        PropertyType type = column.getType();
+        column.ensureCapacity(nofRows);
+
+        Map<Integer, String> strings = new HashMap<>();
+        for (int row = 0; row < nofRows; row++) {
+            Object value;
+            switch (type) {
+                case INTEGER:
+                case FLOAT:
+                    value = input.getFloat();
+                    break;
+
+                case BOOLEAN:
+                    value = input.getBoolean();
+                    break;
+
+                default:
+                    int stringIndex = input.getInt();
+                    value = strings.get(stringIndex);
+                    if (value == null) {
+                        if (stringIndex != strings.size())
+                            throw new IOException("Invalid string index " + stringIndex + " in the checkpoint.");
+
+                        value = input.getString();
+                        strings.put(stringIndex, (String) value);
+                    }
+                    break;
+            }
+
+            column.initRow(row, value, input.getInt(), input.getBoolean());
+        }
+
+        for (int releasedRow : releasedRows) {
+            column.releaseRow(releasedRow);
+        }
+
+        return column;
+    }
+
+
+    private static AmountBuckets readAmountBuckets(CheckpointInput input) throws IOException {
+        int width = input.getInt();
+        int size = input.getLength();
+        if (width < 1)
+            throw new IOException("Invalid amount buckets width " + width + " in the checkpoint.");
+
+        int[] counts = new int[size];
+        int[] mins = new int[size];
+        int[] maxs = new int[size];
+        long[] sums = new long[size];
+        for (int bucket = 0; bucket < size; bucket++) {
+            counts[bucket] = input.getInt();
+            mins[bucket] = input.getInt();
+            maxs[bucket] = input.getInt();
+            sums[bucket] = input.getLong();
+
+            // All the buckets are full except the last one
+            if (counts[bucket] < 1 || counts[bucket] > width || (counts[bucket] < width && bucket < size - 1))
+                throw new IOException("Invalid amount bucket of " + counts[bucket] + " ticks in the checkpoint.");
+        }
+
+        return new AmountBuckets(width, size, counts, mins, maxs, sums);
+    }
+
+
+    private static int checkRow(int row, int nofRows) throws IOException {
+        if (row < 0 || row >= nofRows)
+            throw new IOException("Invalid row " + row + " in the checkpoint.");
+
+        return row;
+    }
+}
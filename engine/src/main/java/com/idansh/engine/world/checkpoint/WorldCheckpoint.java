@@ -0,0 +1,281 @@
+package com.idansh.engine.world.checkpoint;
+
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.EntityManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The state of a running simulation at a tick boundary, from which the simulation can be resumed as a new run.
+ * Holds everything that is not part of the world's definition: the population with its property columns and grid locations,
+ * the entity amount histograms, the tick counter (from which the due ticks of each rule are calculated),
+ * the values of the environment variables, and the state of the random stream the run continues with.
+ * The checkpoint is detached from the world (its property columns are shared copy-on-write), so it can be written
+ * on another thread, or resumed as several forked runs, while the simulation keeps running.
+ * <p>
+ * File format: a header of the magic number, the format version and a compression flag,
+ * followed by the body, which is compressed with GZIP when the flag is set.
+ */
+public class WorldCheckpoint {
+    private static final int MAGIC = 0x50524443;    // "PRDC"
+    private static final int VERSION = 3;
+
+    private static final byte VALUE_NULL = 0;       // Tags of the environment variables' values by their class
+    private static final byte VALUE_INTEGER = 1;
+    private static final byte VALUE_FLOAT = 2;
+    private static final byte VALUE_BOOLEAN = 3;
+    private static final byte VALUE_STRING = 4;
+
+    private final long runSeed;
+    private final long streamSeed, streamGamma;                     // The state of the random stream that the ticks after the checkpoint take their values from
+    private final int tickCount;
+    private final long elapsedTime;                                 // Milliseconds the simulation ran until the checkpoint
+    private final Map<String, Object> environmentVariables;         // The value of each environment variable, by its name
+    private final List<EntityFactoryCheckpoint> entityFactories;    // By the type ID of the entity factories
+
+
+    public WorldCheckpoint(long runSeed, long streamSeed, long streamGamma, int tickCount, long elapsedTime,
+                           Map<String, Object> environmentVariables, List<EntityFactoryCheckpoint> entityFactories) {
+        this.runSeed = runSeed;
+        this.streamSeed = streamSeed;
+        this.streamGamma = streamGamma;
+        this.tickCount = tickCount;
+        this.elapsedTime = elapsedTime;
+        this.environmentVariables = Collections.unmodifiableMap(new LinkedHashMap<>(environmentVariables));
+        this.entityFactories = Collections.unmodifiableList(new ArrayList<>(entityFactories));
+    }
+
+
+    public long getRunSeed() {
+        return runSeed;
+    }
+
+    public long getStreamSeed() {
+        return streamSeed;
+    }
+
+    public long getStreamGamma() {
+        return streamGamma;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public Map<String, Object> getEnvironmentVariables() {
+        return environmentVariables;
+    }
+
+    public List<EntityFactoryCheckpoint> getEntityFactories() {
+        return entityFactories;
+    }
+
+
+    /**
+     * Writes the checkpoint into a file, through a temporary file that replaces the file only when it is complete,
+     * so a file of a previous checkpoint is not lost if the writing fails.
+     * @param file the file to write into, replaced if it exists.
+     * @param isCompressed if true the body of the checkpoint is compressed with GZIP.
+     * @throws RuntimeException in case the file could not be written.
+     */
+    public void write(Path file, boolean isCompressed) {
+        Path absoluteFile = file.toAbsolutePath();
+        Path tempFile = null;
+
+        try {
+            tempFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+
+            try (FileChannel fileChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + Byte.BYTES);
+                header.putInt(MAGIC).putInt(VERSION).put(isCompressed ? (byte) 1 : (byte) 0);
+                header.flip();
+                while (header.hasRemaining()) {
+                    fileChannel.write(header);
+                }
+
+                if (isCompressed) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(Channels.newOutputStream(fileChannel), 1 << 16);
+                    writeBody(Channels.newChannel(gzipStream));
+                    gzipStream.finish();
+                } else {
+                    writeBody(fileChannel);
+                }
+
+                fileChannel.force(true);
+            }
+
+            try {
+                Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException deleteException) {
+                    e.addSuppressed(deleteException);
+                }
+            }
+
+            throw new RuntimeException("Could not write the checkpoint into the file \"" + file + "\".", e);
+        }
+    }
+
+
+    private void writeBody(WritableByteChannel channel) throws IOException {
+        CheckpointOutput output = new CheckpointOutput(channel);
+
+        output.putLong(runSeed);
+        output.putLong(streamSeed);
+        output.putLong(streamGamma);
+        output.putInt(tickCount);
+        output.putLong(elapsedTime);
+
+        output.putInt(environmentVariables.size());
+        for (Map.Entry<String, Object> environmentVariable : environmentVariables.entrySet()) {
+            output.putString(environmentVariable.getKey());
+            writeValue(output, environmentVariable.getValue());
+        }
+
+        output.putInt(entityFactories.size());
+        for (EntityFactoryCheckpoint entityFactory : entityFactories) {
+            entityFactory.write(output);
+        }
+
+        output.flush();
+    }
+
+
+    private static void writeValue(CheckpointOutput output, Object value) throws IOException {
+        if (value == null) {
+            output.putByte(VALUE_NULL);
+        } else if (value instanceof Integer) {
+            output.putByte(VALUE_INTEGER);
+            output.putInt((Integer) value);
+        } else if (value instanceof Float) {
+            output.putByte(VALUE_FLOAT);
+            output.putFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.putByte(VALUE_BOOLEAN);
+            output.putBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            output.putByte(VALUE_STRING);
+            output.putString((String) value);
+        } else {
+            throw new IllegalArgumentException("Cannot write a value of type " + value.getClass() + " into a checkpoint.");
+        }
+    }
+
+
+    /**
+     * Reads a checkpoint from a file, and checks that it matches the definition of the loaded world.
+     * @param file a file that was written by write().
+     * @param definition the entity manager of the loaded world, that the simulation will be resumed in.
+     * @return the checkpoint read.
+     * @throws IllegalArgumentException in case the file is not a checkpoint,
+     *                                  or in case it was written by a world with a different definition.
+     * @throws RuntimeException in case the file could not be read.
+     */
+    public static WorldCheckpoint read(Path file, EntityManager definition) {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + Byte.BYTES);
+            while (header.hasRemaining()) {
+                if (fileChannel.read(header) < 0)
+                    throw new IllegalArgumentException("The file \"" + file + "\" is not a simulation checkpoint.");
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC)
+                throw new IllegalArgumentException("The file \"" + file + "\" is not a simulation checkpoint.");
+
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IllegalArgumentException("The checkpoint \"" + file + "\" is of version " + version + ", only version " + VERSION + " is supported.");
+
+            if (header.get() != 0) {
+                InputStream gzipStream = new GZIPInputStream(Channels.newInputStream(fileChannel), 1 << 16);
+                return readBody(Channels.newChannel(gzipStream), definition);
+            }
+
+            return readBody(fileChannel, definition);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the checkpoint from the file \"" + file + "\".", e);
+        }
+    }
+
+
+    private static WorldCheckpoint readBody(ReadableByteChannel channel, EntityManager definition) throws IOException {
+        CheckpointInput input = new CheckpointInput(channel);
+
+        long runSeed = input.getLong();
+        long streamSeed = input.getLong();
+        long streamGamma = input.getLong();
+        int tickCount = input.getInt();
+        long elapsedTime = input.getLong();
+
+        int nofEnvironmentVariables = input.getLength();
+        Map<String, Object> environmentVariables = new LinkedHashMap<>();
+        for (int i = 0; i < nofEnvironmentVariables; i++) {
+            String name = input.getString();
+            environmentVariables.put(name, readValue(input));
+        }
+
+        int nofEntityFactories = input.getLength();
+        if (nofEntityFactories != definition.getEntityFactories().size())
+            throw new IllegalArgumentException("The checkpoint has " + nofEntityFactories + " entities, where the loaded simulation has " + definition.getEntityFactories().size() + ".");
+
+        List<EntityFactoryCheckpoint> entityFactories = new ArrayList<>();
+        for (EntityFactory entityFactory : definition.getEntityFactories().values()) {
+            entityFactories.add(EntityFactoryCheckpoint.read(input, entityFactory));
+        }
+
+        return new WorldCheckpoint(runSeed, streamSeed, streamGamma, tickCount, elapsedTime, environmentVariables, entityFactories);
+    }
+
+
+    private static Object readValue(CheckpointInput input) throws IOException {
+        byte tag = input.getByte();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+
+            case VALUE_INTEGER:
+                return input.getInt();
+
+            case VALUE_FLOAT:
+                return input.getFloat();
+
+            case VALUE_BOOLEAN:
+                return input.getBoolean();
+
+            case VALUE_STRING:
+                return input.getString();
+
+            default:
+                throw new IOException("Invalid value tag " + tag + " in the checkpoint.");
+        }
+    }
+}
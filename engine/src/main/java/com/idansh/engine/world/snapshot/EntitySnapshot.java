@@ -0,0 +1,51 @@
+package com.idansh.engine.world.snapshot;
+
+import com.idansh.engine.entity.AmountHistogramView;
+import com.idansh.engine.property.distribution.ValueDistribution;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The amount of instances of an entity at a tick boundary, its amount on each tick until then,
+ * and the distribution of the values of each of its properties over its instances.
+ */
+public class EntitySnapshot {
+    private final String name;
+    private final int populationCount;
+    private final AmountHistogramView amountHistogram;                  // Not copied (see AmountHistogram)
+    private final Map<String, ValueDistribution> valueDistributions;    // Copies, by the name of the property
+
+
+    public EntitySnapshot(String name, int populationCount, AmountHistogramView amountHistogram, Map<String, ValueDistribution> valueDistributions) {
+        this.name = name;
+        this.populationCount = populationCount;
+        this.amountHistogram = amountHistogram;
+        this.valueDistributions = Collections.unmodifiableMap(valueDistributions);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPopulationCount() {
+        return populationCount;
+    }
+
+    public AmountHistogramView getAmountHistogram() {
+        return amountHistogram;
+    }
+
+
+    /**
+     * @throws IllegalArgumentException in case the property does not exist in the entity.
+     */
+    public ValueDistribution getValueDistribution(String propertyName) {
+        ValueDistribution valueDistribution = valueDistributions.get(propertyName);
+
+        if (valueDistribution == null)
+            throw new IllegalArgumentException("The property \"" + propertyName + "\" does not exist in the entity \"" + name + "\"!");
+
+        return valueDistribution;
+    }
+}
@@ -0,0 +1,89 @@
+package com.idansh.engine.world.snapshot;
+
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.EntityManager;
+import com.idansh.engine.property.distribution.ValueDistribution;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable state of a simulation at a tick boundary: the completed ticks, the elapsed time, the amounts of the entities
+ * and the distributions of the values of their properties.
+ * A running world publishes a new snapshot after each tick through a volatile reference (see World.getSnapshot),
+ * so other threads read a consistent state of the simulation without locking it and without racing with its ticks.
+ * After the final snapshot of a simulation is published, the simulation does not change anymore,
+ * so reading its population then is safe as well.
+ */
+public class WorldSnapshot {
+    private final int tickCount;
+    private final long elapsedTimeMillis;
+    private final boolean isFinal;                               // True if the simulation ended, and its result was set
+    private final Map<String, EntitySnapshot> entitySnapshots;   // By the name of the entity, in the order of the entity factories
+
+
+    private WorldSnapshot(int tickCount, long elapsedTimeMillis, boolean isFinal, Map<String, EntitySnapshot> entitySnapshots) {
+        this.tickCount = tickCount;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+        this.isFinal = isFinal;
+        this.entitySnapshots = Collections.unmodifiableMap(entitySnapshots);
+    }
+
+
+    /**
+     * Takes a snapshot of the population of a world, on the thread of the world.
+     * The distributions of the values are copied copy-on-write, in O(1) for each property.
+     */
+    public static WorldSnapshot create(int tickCount, long elapsedTimeMillis, boolean isFinal, EntityManager entityManager) {
+        Map<String, EntitySnapshot> entitySnapshots = new LinkedHashMap<>();
+        entityManager.getEntityFactories().forEach(
+                (entityName, entityFactory) -> entitySnapshots.put(
+                        entityName,
+                        new EntitySnapshot(entityName, entityFactory.getPopulationCount(), entityFactory.getAmountHistogram().getView(), copyValueDistributions(entityFactory))
+                )
+        );
+
+        return new WorldSnapshot(tickCount, elapsedTimeMillis, isFinal, entitySnapshots);
+    }
+
+
+    private static Map<String, ValueDistribution> copyValueDistributions(EntityFactory entityFactory) {
+        Map<String, ValueDistribution> valueDistributions = new LinkedHashMap<>();
+        for (String propertyName : entityFactory.getPropertiesToAssign().keySet()) {
+            valueDistributions.put(propertyName, entityFactory.getPropertyColumn(propertyName).getValueDistribution().copy());
+        }
+
+        return valueDistributions;
+    }
+
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    public boolean isFinal() {
+        return isFinal;
+    }
+
+    public Map<String, EntitySnapshot> getEntitySnapshots() {
+        return entitySnapshots;
+    }
+
+
+    /**
+     * @throws IllegalArgumentException in case the entity does not exist.
+     */
+    public EntitySnapshot getEntitySnapshot(String entityName) {
+        EntitySnapshot entitySnapshot = entitySnapshots.get(entityName);
+
+        if (entitySnapshot == null)
+            throw new IllegalArgumentException("The entity \"" + entityName + "\" does not exist in the simulation!");
+
+        return entitySnapshot;
+    }
+}
@@ -0,0 +1,142 @@
+package com.idansh.engine;
+
+import com.idansh.engine.actions.CalculationAction;
+import com.idansh.engine.actions.DecreaseAction;
+import com.idansh.engine.actions.IncreaseAction;
+import com.idansh.engine.actions.KillAction;
+import com.idansh.engine.actions.ReplaceAction;
+import com.idansh.engine.actions.condition.ProximityConditionAction;
+import com.idansh.engine.actions.condition.SingleConditionAction;
+import com.idansh.engine.actions.condition.ThenOrElseActions;
+import com.idansh.engine.entity.Entity;
+import com.idansh.engine.entity.EntityFactory;
+import com.idansh.engine.entity.SecondaryEntity;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.expression.functions.EnvironmentFunctionExpression;
+import com.idansh.engine.expression.functions.EvaluateFunctionExpression;
+import com.idansh.engine.expression.functions.PercentFunctionExpression;
+import com.idansh.engine.expression.functions.RandomFunctionExpression;
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.creator.factory.PropertyCreator;
+import com.idansh.engine.property.creator.generator.value.fixed.FixedValueGenerator;
+import com.idansh.engine.property.creator.generator.value.random.RandomFloatValueGenerator;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.rule.RuleActivation;
+import com.idansh.engine.rule.TerminationRule;
+import com.idansh.engine.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Abstract class that contains static methods which create the worlds the tests run on, and read the state of their runs.
+ * A world has two entities, "prey" (80% of the population) and "predator" (20% of the population),
+ * with rules that use random values and that read and write instances of the other entity:
+ * predators hunt and kill the prey near them, graze on a few heavy prey (chosen from cached candidates),
+ * and on every fifth tick press all the prey at once (secondary entity amount "ALL").
+ */
+public abstract class TestWorlds {
+    public static final String PREY = "prey";
+    public static final String PREDATOR = "predator";
+    public static final String RATE = "rate";
+
+
+    /**
+     * Creates a world that is not activated, runs should be created from it with World(World, Long).
+     * @param nofEntities the amount of entity instances in the population.
+     * @param nofTicks the amount of ticks a run of the world runs.
+     */
+    public static World create(int nofEntities, int nofTicks) {
+        int gridSize = Math.max(10, (int) Math.ceil(Math.sqrt(nofEntities / 0.3)));
+        World world = new World(gridSize, gridSize);
+        world.setThreadCount(1);
+
+        world.addEnvironmentVariableFactory(new PropertyCreator<>(RATE, PropertyType.FLOAT, new FixedValueGenerator<>(1f), new Range(0, 10)));
+        world.initEnvironmentVariables();
+
+        EntityFactory prey = new EntityFactory(PREY);
+        prey.addProperty(new PropertyCreator<>("age", PropertyType.FLOAT, new RandomFloatValueGenerator(new Range(0, 100)), new Range(0, 100)));
+        prey.addProperty(new PropertyCreator<>("weight", PropertyType.FLOAT, new RandomFloatValueGenerator(new Range(1, 10)), new Range(0, 100)));
+        prey.setInitPopulation(nofEntities - nofEntities / 5);
+        world.entityManager.addEntityFactory(prey);
+
+        EntityFactory predator = new EntityFactory(PREDATOR);
+        predator.addProperty(new PropertyCreator<>("energy", PropertyType.FLOAT, new RandomFloatValueGenerator(new Range(0, 100)), new Range(0, 100)));
+        predator.setInitPopulation(nofEntities / 5);
+        world.entityManager.addEntityFactory(predator);
+
+        // The prey age, by a random amount, and are replaced by new prey when they are too old
+        Rule aging = new Rule("aging", new RuleActivation(), world);
+        aging.addAction(new IncreaseAction(world, PREY, PREY, "age", new EnvironmentFunctionExpression(world.getActiveEnvironmentVariables(), RATE)));
+        aging.addAction(new IncreaseAction(world, PREY, PREY, "age", new RandomFunctionExpression(2)));
+        ThenOrElseActions replaceOld = new ThenOrElseActions();
+        replaceOld.addAction(new ReplaceAction(world, PREY, null, PREY, PREY, "scratch"));
+        aging.addAction(new SingleConditionAction(world, PREY, PREY, new EvaluateFunctionExpression(world.entityManager, PREY, "age"),
+                "bt", new FixedValueExpression(97, PropertyType.INTEGER), replaceOld, new ThenOrElseActions(), true));
+        aging.addAction(new CalculationAction(world, PREY, PREY, "weight",
+                new EvaluateFunctionExpression(world.entityManager, PREY, "weight"), new FixedValueExpression(1.01f, PropertyType.FLOAT), CalculationAction.Type.MULTIPLY));
+        world.addRule(aging);
+
+        // The predators hunt a prey that is near, gain energy from it and kill it
+        Rule hunting = new Rule("hunting", new RuleActivation(0.1), world);
+        ThenOrElseActions eat = new ThenOrElseActions();
+        eat.addAction(new IncreaseAction(world, PREDATOR, new SecondaryEntity(PREY), PREDATOR, "energy",
+                new PercentFunctionExpression(new EvaluateFunctionExpression(world.entityManager, PREY, "weight"), new FixedValueExpression(10f, PropertyType.FLOAT))));
+        eat.addAction(new KillAction(world, PREDATOR, new SecondaryEntity(PREY), PREY));
+        hunting.addAction(new ProximityConditionAction(world, PREDATOR, new SecondaryEntity(PREY), PREDATOR, PREY, eat, new FixedValueExpression(1, PropertyType.INTEGER)));
+        hunting.addAction(new DecreaseAction(world, PREDATOR, PREDATOR, "energy", new FixedValueExpression(0.5f, PropertyType.FLOAT)));
+        world.addRule(hunting);
+
+        // The predators graze on a few of the heavy prey, which makes them lighter, so the cached heavy prey are outdated
+        Rule grazing = new Rule("grazing", new RuleActivation(0.5), world);
+        SecondaryEntity heavyPrey = new SecondaryEntity(PREY, "3");
+        heavyPrey.addNewConditionAction(new SingleConditionAction(world, PREDATOR, new SecondaryEntity(PREY), PREY, new EvaluateFunctionExpression(world.entityManager, PREY, "weight"),
+                "bt", new FixedValueExpression(5, PropertyType.INTEGER), new ThenOrElseActions(), new ThenOrElseActions(), true));
+        grazing.addAction(new DecreaseAction(world, PREDATOR, heavyPrey, PREY, "weight", new FixedValueExpression(1f, PropertyType.FLOAT)));
+        world.addRule(grazing);
+
+        // Every fifth tick, the predators press all the prey and lose energy for each of them
+        Rule pressing = new Rule("pressing", new RuleActivation(5), world);
+        pressing.addAction(new IncreaseAction(world, PREDATOR, new SecondaryEntity(PREY, "ALL"), PREY, "age", new FixedValueExpression(0.01f, PropertyType.FLOAT)));
+        pressing.addAction(new DecreaseAction(world, PREDATOR, new SecondaryEntity(PREY, "ALL"), PREDATOR, "energy", new FixedValueExpression(0.001f, PropertyType.FLOAT)));
+        world.addRule(pressing);
+
+        world.addTerminationRule(new TerminationRule(TerminationRule.Type.TICKS, nofTicks));
+        return world;
+    }
+
+
+    /**
+     * Creates a run of a world with its environment variables activated, ready to be run.
+     */
+    public static World createRun(World world, long seed) {
+        World run = new World(world, seed);
+        run.initEnvironmentVariables();
+        return run;
+    }
+
+
+    /**
+     * @return the state of the population of a world, one line per entity instance in the order of the entity types and then of the instances,
+     *         with the location of the instance and the values of its properties.
+     */
+    public static List<String> getState(World world) {
+        List<String> state = new ArrayList<>();
+
+        for (EntityFactory entityFactory : world.entityManager.getEntityFactories().values()) {
+            for (Entity entity : world.entityManager.getAllEntityInstancesInPopulation(entityFactory.getName())) {
+                StringBuilder line = new StringBuilder(entity.getName())
+                        .append(" (").append(entity.getGridLocation().x).append(", ").append(entity.getGridLocation().y).append(")");
+
+                for (String propertyName : entityFactory.getPropertiesToAssign().keySet()) {
+                    line.append(' ').append(propertyName).append('=').append(entity.getPropertyValue(entityFactory.getPropertySlot(propertyName)));
+                }
+
+                state.add(line.toString());
+            }
+        }
+
+        return state;
+    }
+}
@@ -0,0 +1,126 @@
+package com.idansh.engine.entity;
+
+import com.idansh.dto.entity.AmountPointDTO;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AmountHistogramTest {
+    /**
+     * @return the amount added on the given tick, not monotonic so the min, max and mean of a bucket differ.
+     */
+    private static int getAmount(int tick) {
+        return (int) ((tick * 31L) % 997);
+    }
+
+    private static AmountHistogram createHistogram(int nofTicks) {
+        AmountHistogram histogram = new AmountHistogram();
+        for (int tick = 0; tick < nofTicks; tick++) {
+            histogram.add(getAmount(tick));
+        }
+        return histogram;
+    }
+
+
+    @Test
+    public void recentTicksAreKeptAtFullResolution() {
+        int nofTicks = 3 * AmountHistogram.CHUNK_SIZE + 5;
+        AmountHistogramView view = createHistogram(nofTicks).getView();
+
+        assertEquals(nofTicks, view.getNofTicks());
+        assertEquals(0, view.getFirstRecentTick());
+
+        int[] recentAmounts = view.getRecentAmounts();
+        assertEquals(nofTicks, recentAmounts.length);
+        for (int tick = 0; tick < nofTicks; tick++) {
+            assertEquals(getAmount(tick), recentAmounts[tick]);
+        }
+    }
+
+
+    @Test
+    public void histogramStaysBoundedOverLongRuns() {
+        int nofTicks = 2_000_000;
+        AmountHistogramView view = createHistogram(nofTicks).getView();
+        AmountBuckets buckets = view.getBuckets();
+
+        assertEquals(nofTicks, view.getNofTicks());
+        assertTrue(buckets.size() <= AmountHistogram.MAX_BUCKETS);
+        assertTrue(view.getRecentAmounts().length <= (AmountHistogram.MAX_FULL_CHUNKS + 1) * AmountHistogram.CHUNK_SIZE);
+
+        // The buckets cover the ticks before the recent ticks, in order, with the min, max and sum of their amounts
+        int tick = 0;
+        for (int bucket = 0; bucket < buckets.size(); bucket++) {
+            assertEquals(tick, buckets.getFirstTick(bucket));
+
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            long sum = 0;
+            for (int i = 0; i < buckets.getCount(bucket); i++, tick++) {
+                min = Math.min(min, getAmount(tick));
+                max = Math.max(max, getAmount(tick));
+                sum += getAmount(tick);
+            }
+
+            assertEquals(min, buckets.getMin(bucket));
+            assertEquals(max, buckets.getMax(bucket));
+            assertEquals(sum, buckets.getSum(bucket));
+        }
+        assertEquals(tick, view.getFirstRecentTick());
+
+        int[] recentAmounts = view.getRecentAmounts();
+        for (int i = 0; i < recentAmounts.length; i++) {
+            assertEquals(getAmount(tick + i), recentAmounts[i]);
+        }
+    }
+
+
+    @Test
+    public void viewDoesNotChangeWhenAmountsAreAdded() {
+        AmountHistogram histogram = createHistogram(20 * AmountHistogram.CHUNK_SIZE + 3);
+        AmountHistogramView view = histogram.getView();
+        int nofTicks = view.getNofTicks();
+        int firstRecentTick = view.getFirstRecentTick();
+        int[] recentAmounts = view.getRecentAmounts();
+
+        for (int tick = 0; tick < 10 * AmountHistogram.CHUNK_SIZE; tick++) {
+            histogram.add(-1);
+        }
+
+        assertEquals(nofTicks, view.getNofTicks());
+        assertEquals(firstRecentTick, view.getFirstRecentTick());
+        assertArrayEquals(recentAmounts, view.getRecentAmounts());
+    }
+
+
+    @Test
+    public void pointsAreDownsampledToTheMaxAmount() {
+        AmountHistogramView view = createHistogram(50 * AmountHistogram.CHUNK_SIZE).getView();
+
+        for (int maxPoints : new int[] {2, 3, 100, 1000}) {
+            List<AmountPointDTO> points = view.getPoints(0, Integer.MAX_VALUE, maxPoints);
+            assertEquals(maxPoints, points.size());
+
+            for (int i = 1; i < points.size(); i++) {
+                assertTrue(points.get(i - 1).getTick() < points.get(i).getTick());
+            }
+            assertEquals(view.getNofTicks() - 1, points.get(points.size() - 1).getTick(), 0);
+        }
+
+        // A range of fewer recent ticks than the max amount of points is not downsampled
+        int fromTick = view.getFirstRecentTick() + 10;
+        List<AmountPointDTO> points = view.getPoints(fromTick, fromTick + 50, 100);
+        assertEquals(50, points.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(fromTick + i, points.get(i).getTick(), 0);
+            assertEquals(getAmount(fromTick + i), points.get(i).getAmount(), 0);
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRangeIsRejected() {
+        createHistogram(10).getView().getPoints(5, 4, 10);
+    }
+}
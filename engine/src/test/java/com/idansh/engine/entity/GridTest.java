@@ -0,0 +1,176 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.helpers.RandomStream;
+import com.idansh.engine.helpers.RandomValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class GridTest {
+    private RandomStream previousStream;
+
+
+    @Before
+    public void bindStream() {
+        previousStream = RandomValue.bindStream(new RandomStream(7));
+    }
+
+    @After
+    public void restoreStream() {
+        RandomValue.bindStream(previousStream);
+    }
+
+
+    private static List<Entity> createEntities(int nofEntities) {
+        EntityFactory entityFactory = new EntityFactory("entity");
+        new EntityManager(10, 10).addEntityFactory(entityFactory);    // Sets the type ID of the factory
+
+        List<Entity> entities = new ArrayList<>(nofEntities);
+        for (int i = 0; i < nofEntities; i++) {
+            entities.add(entityFactory.createEntityFromScratch());
+        }
+
+        return entities;
+    }
+
+
+    /**
+     * Checks that each entity is in the cell of its location, and that no other cell is occupied.
+     */
+    private static void assertGridHolds(Grid grid, List<Entity> entities) {
+        int nofOccupiedCells = 0;
+        for (int x = 0; x < grid.getNofRows(); x++) {
+            for (int y = 0; y < grid.getNofColumns(); y++) {
+                if (grid.getEntityFromGrid(new Point(x, y)) != null)
+                    nofOccupiedCells++;
+            }
+        }
+        assertEquals(entities.size(), nofOccupiedCells);
+
+        for (Entity entity : entities) {
+            assertSame(entity, grid.getEntityFromGrid(entity.getGridLocation()));
+        }
+    }
+
+
+    private static Grid populate(int nofRows, int nofColumns, List<Entity> entities) {
+        Grid grid = new Grid(nofRows, nofColumns);
+        grid.populateGrid(entities);
+        assertGridHolds(grid, entities);
+        return grid;
+    }
+
+
+    @Test
+    public void populateFillsSmallGrid() {
+        populate(20, 30, createEntities(600));
+    }
+
+    @Test
+    public void populateSmallGrid() {
+        populate(20, 30, createEntities(250));
+    }
+
+    @Test
+    public void populateCrowdedLargeGrid() {
+        populate(120, 100, createEntities(9000));
+    }
+
+    @Test
+    public void populateSparseLargeGrid() {
+        populate(300, 300, createEntities(2000));
+    }
+
+
+    /**
+     * @return the distance between two locations along an axis of the received size, the axis wraps around.
+     */
+    private static int getAxisDistance(int from, int to, int axisSize) {
+        int distance = Math.abs(from - to);
+        return Math.min(distance, axisSize - distance);
+    }
+
+
+    private static List<Point> getLocations(List<Entity> entities) {
+        List<Point> locations = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            locations.add(new Point(entity.getGridLocation()));
+        }
+
+        return locations;
+    }
+
+
+    /**
+     * Moves the entities for some ticks, checking that each entity moves at most one cell on each tick.
+     * @return the locations of the entities after the last tick.
+     */
+    private static List<Point> moveEntities(Grid grid, List<Entity> entities, int nofTicks) {
+        List<Point> locations = getLocations(entities);
+        int nofMoves = 0;
+
+        for (int tick = 0; tick < nofTicks; tick++) {
+            grid.moveEntities();
+            assertGridHolds(grid, entities);
+
+            List<Point> newLocations = getLocations(entities);
+            for (int i = 0; i < entities.size(); i++) {
+                int distance = getAxisDistance(locations.get(i).x, newLocations.get(i).x, grid.getNofRows())
+                        + getAxisDistance(locations.get(i).y, newLocations.get(i).y, grid.getNofColumns());
+                assertTrue("Entity moved " + distance + " cells in a single tick", distance <= 1);
+                nofMoves += distance;
+            }
+            locations = newLocations;
+        }
+
+        assertTrue("No entity moved", nofMoves > 0);
+        return locations;
+    }
+
+
+    @Test
+    public void movementKeepsEntitiesInTheirCells() {
+        // Too few tile rows for strips, the grid is moved row by row
+        List<Entity> entities = createEntities(300);
+        moveEntities(populate(20, 30, entities), entities, 20);
+    }
+
+    @Test
+    public void stripMovementKeepsEntitiesInTheirCells() {
+        List<Entity> entities = createEntities(4000);
+        moveEntities(populate(64, 100, entities), entities, 20);
+    }
+
+    @Test
+    public void stripMovementWithPoolMatchesMovementWithout() {
+        List<Entity> entities = createEntities(3000);
+        Grid grid = populate(64, 100, entities);
+        Grid copy = new Grid(grid);
+        List<Entity> copyEntities = new ArrayList<>();
+        for (Entity entity : entities) {
+            Entity copyEntity = new Entity(entity.getEntityFactory(), entity.getRow(), 0);
+            copyEntity.setGridLocation(entity.getGridLocation());
+            copy.addEntityToGrid(copyEntity.getGridLocation(), copyEntity);
+            copyEntities.add(copyEntity);
+        }
+
+        RandomValue.bindStream(new RandomStream(11));
+        List<Point> locations = moveEntities(grid, entities, 10);
+
+        ForkJoinPool movementPool = new ForkJoinPool(3);
+        try {
+            copy.setMovementPool(movementPool);
+            RandomValue.bindStream(new RandomStream(11));
+            assertEquals(locations, moveEntities(copy, copyEntities, 10));
+        } finally {
+            movementPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.idansh.engine.entity;
+
+import com.idansh.engine.actions.Action;
+import com.idansh.engine.actions.DecreaseAction;
+import com.idansh.engine.actions.condition.SingleConditionAction;
+import com.idansh.engine.actions.condition.ThenOrElseActions;
+import com.idansh.engine.expression.fixed.FixedValueExpression;
+import com.idansh.engine.expression.functions.EnvironmentFunctionExpression;
+import com.idansh.engine.expression.functions.EvaluateFunctionExpression;
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.creator.factory.PropertyCreator;
+import com.idansh.engine.property.creator.generator.value.fixed.FixedValueGenerator;
+import com.idansh.engine.property.instance.PropertyType;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.rule.RuleActivation;
+import com.idansh.engine.rule.TerminationRule;
+import com.idansh.engine.world.World;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SecondaryEntityTest {
+    private static final String PREY = "prey";
+    private static final String PREDATOR = "predator";
+    private static final String THRESHOLD = "threshold";
+    private static final float WEIGHT = 50;
+
+
+    /**
+     * Creates a world in which the predators graze on a prey heavier than the environment variable "threshold", which is above all the prey by default.
+     */
+    private static World createWorld() {
+        World world = new World(10, 10);
+        world.setThreadCount(1);
+
+        world.addEnvironmentVariableFactory(new PropertyCreator<>(THRESHOLD, PropertyType.FLOAT, new FixedValueGenerator<>(1000f), new Range(0, 1000)));
+        world.initEnvironmentVariables();
+
+        EntityFactory prey = new EntityFactory(PREY);
+        prey.addProperty(new PropertyCreator<>("weight", PropertyType.FLOAT, new FixedValueGenerator<>(WEIGHT), new Range(0, 100)));
+        prey.setInitPopulation(20);
+        world.entityManager.addEntityFactory(prey);
+
+        EntityFactory predator = new EntityFactory(PREDATOR);
+        predator.setInitPopulation(5);
+        world.entityManager.addEntityFactory(predator);
+
+        SecondaryEntity heavyPrey = new SecondaryEntity(PREY, "1");
+        heavyPrey.addNewConditionAction(new SingleConditionAction(world, PREDATOR, new SecondaryEntity(PREY), PREY, new EvaluateFunctionExpression(world.entityManager, PREY, "weight"),
+                "bt", new EnvironmentFunctionExpression(world.getActiveEnvironmentVariables(), THRESHOLD), new ThenOrElseActions(), new ThenOrElseActions(), true));
+
+        Rule grazing = new Rule("grazing", new RuleActivation(), world);
+        grazing.addAction(new DecreaseAction(world, PREDATOR, heavyPrey, PREY, "weight", new FixedValueExpression(1f, PropertyType.FLOAT)));
+        world.addRule(grazing);
+
+        world.addTerminationRule(new TerminationRule(TerminationRule.Type.TICKS, 3));
+        return world;
+    }
+
+
+    /**
+     * Runs the world with the given threshold.
+     * @return the sum of the weights the prey lost.
+     */
+    private static float runWithThreshold(World world, float threshold) {
+        World run = new World(world, 42L);
+        run.environmentVariablesManager.getEnvironmentVariable(THRESHOLD).updateValue(threshold);
+        run.initEnvironmentVariables();
+        run.run();
+
+        int weightSlot = run.entityManager.getEntityFactory(PREY).getPropertySlot("weight");
+        float lostWeight = 0;
+        for (Entity entity : run.entityManager.getAllEntityInstancesInPopulation(PREY)) {
+            lostWeight += WEIGHT - entity.getFloatPropertyValue(weightSlot);
+        }
+
+        return lostWeight;
+    }
+
+
+    @Test
+    public void selectionConditionReadsTheEnvironmentOfTheRun() {
+        World world = createWorld();
+
+        assertEquals(0, runWithThreshold(world, 1000), 0);
+        assertEquals(3 * 5, runWithThreshold(world, 10), 0);
+    }
+
+
+    @Test
+    public void copyOfActionDoesNotShareTheConditionsOfItsSecondaryEntity() {
+        World world = createWorld();
+        World copy = new World(world);
+
+        Action action = world.getRulesMap().get("grazing").getActionsList().get(0);
+        Action actionCopy = copy.getRulesMap().get("grazing").getActionsList().get(0);
+        List<?> conditions = action.getSecondaryEntity().getConditions();
+        List<?> conditionsCopy = actionCopy.getSecondaryEntity().getConditions();
+
+        assertNotSame(action.getSecondaryEntity(), actionCopy.getSecondaryEntity());
+        assertEquals(conditions.size(), conditionsCopy.size());
+        assertNotSame(conditions.get(0), conditionsCopy.get(0));
+        assertSame(copy, ((Action) conditionsCopy.get(0)).getWorldContext());
+    }
+}
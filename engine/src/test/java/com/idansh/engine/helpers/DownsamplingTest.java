@@ -0,0 +1,74 @@
+package com.idansh.engine.helpers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DownsamplingTest {
+    private static double[] createTicks(int nofPoints) {
+        double[] ticks = new double[nofPoints];
+        for (int i = 0; i < nofPoints; i++) {
+            ticks[i] = i;
+        }
+        return ticks;
+    }
+
+
+    @Test
+    public void seriesWithoutMorePointsIsNotDownsampled() {
+        double[] x = createTicks(10);
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, Downsampling.largestTriangleThreeBuckets(x, x, 10, 10));
+        assertArrayEquals(new int[] {0, 1, 2}, Downsampling.largestTriangleThreeBuckets(x, x, 3, 10));
+        assertArrayEquals(new int[0], Downsampling.largestTriangleThreeBuckets(x, x, 0, 10));
+    }
+
+
+    @Test
+    public void chosenPointsAreTheMaxAmountInOrder() {
+        RandomStream stream = new RandomStream(3);
+
+        for (int nofPoints = 3; nofPoints <= 300; nofPoints += 7) {
+            double[] x = createTicks(nofPoints);
+            double[] y = new double[nofPoints];
+            for (int i = 0; i < nofPoints; i++) {
+                y[i] = stream.nextInt(100);
+            }
+
+            for (int maxPoints = 2; maxPoints < nofPoints; maxPoints += 5) {
+                int[] chosenPoints = Downsampling.largestTriangleThreeBuckets(x, y, nofPoints, maxPoints);
+
+                assertEquals(maxPoints, chosenPoints.length);
+                assertEquals(0, chosenPoints[0]);
+                assertEquals(nofPoints - 1, chosenPoints[maxPoints - 1]);
+                for (int i = 1; i < maxPoints; i++) {
+                    assertTrue(chosenPoints[i - 1] < chosenPoints[i]);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void spikeIsKept() {
+        int nofPoints = 1000;
+        double[] x = createTicks(nofPoints);
+        double[] y = new double[nofPoints];
+        y[437] = 100;
+
+        int[] chosenPoints = Downsampling.largestTriangleThreeBuckets(x, y, nofPoints, 20);
+
+        boolean isSpikeChosen = false;
+        for (int chosenPoint : chosenPoints) {
+            isSpikeChosen |= chosenPoint == 437;
+        }
+        assertTrue(isSpikeChosen);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lessThanTwoPointsAreRejected() {
+        double[] x = createTicks(10);
+        Downsampling.largestTriangleThreeBuckets(x, x, 10, 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.idansh.engine.helpers;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class RandomStreamTest {
+    @Test
+    public void generatesTheValuesOfSplittableRandom() {
+        RandomStream stream = new RandomStream(42);
+        SplittableRandom splittableRandom = new SplittableRandom(42);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(splittableRandom.nextLong(), stream.nextLong());
+            assertEquals(splittableRandom.nextInt(), stream.nextInt());
+            assertEquals(splittableRandom.nextInt(1 + i), stream.nextInt(1 + i));
+            assertEquals(splittableRandom.nextDouble(), stream.nextDouble(), 0);
+            assertEquals(splittableRandom.nextBoolean(), stream.nextBoolean());
+        }
+
+        RandomStream splitStream = stream.split();
+        SplittableRandom splitSplittableRandom = splittableRandom.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(splitSplittableRandom.nextLong(), splitStream.nextLong());
+        }
+    }
+
+
+    @Test
+    public void restoredStreamContinuesTheSavedStream() {
+        RandomStream stream = new RandomStream(7).split();
+        stream.nextLong();
+
+        RandomStream restoredStream = new RandomStream(stream.getSeed(), stream.getGamma());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(stream.nextInt(1000), restoredStream.nextInt(1000));
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotRestoreStreamWithEvenGamma() {
+        new RandomStream(7, 2);
+    }
+}
@@ -0,0 +1,83 @@
+package com.idansh.engine.manager.sweep;
+
+import com.idansh.dto.sweep.SweepDTO;
+import com.idansh.dto.sweep.SweepResultDTO;
+import com.idansh.dto.sweep.SweepRunResultDTO;
+import com.idansh.engine.TestWorlds;
+import com.idansh.engine.world.World;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SweepTest {
+    private static final int NOF_REPLICAS = 4;
+    private static final String TICKS_REACHED = "Ticks Reached";
+
+
+    @Test
+    public void stoppedSweepDoesNotRunItsQueuedRuns() throws Exception {
+        // Long runs, so the sweep is stopped long before any of them would end
+        World model = TestWorlds.create(300, 1_000_000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        try {
+            // Keep the only thread busy, so all the runs of the sweep are queued when it is stopped
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            Sweep sweep = new Sweep(model, new SweepDTO(SweepDTO.GRID, 0, NOF_REPLICAS, 7L), executor, null);
+            sweep.stop();
+            blocker.countDown();
+
+            SweepResultDTO sweepResultDTO = sweep.getResult().get(30, TimeUnit.SECONDS);
+            assertEquals(NOF_REPLICAS, sweepResultDTO.getNofRuns());
+            assertEquals(NOF_REPLICAS, sweepResultDTO.getNofFailedRuns());
+            assertTrue(sweepResultDTO.getRunResultDTOList().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void stoppedSweepStopsItsRunningRuns() throws Exception {
+        World model = TestWorlds.create(300, 1_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Sweep sweep = new Sweep(model, new SweepDTO(SweepDTO.GRID, 0, NOF_REPLICAS, 7L), executor, null);
+            Thread.sleep(200);
+            sweep.stop();
+
+            SweepResultDTO sweepResultDTO = sweep.getResult().get(30, TimeUnit.SECONDS);
+            assertEquals(NOF_REPLICAS, sweepResultDTO.getNofRuns());
+            for (SweepRunResultDTO runResultDTO : sweepResultDTO.getRunResultDTOList()) {
+                assertNotEquals(TICKS_REACHED, runResultDTO.getEndReason());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void worldStoppedBeforeItStartsEndsBeforeItsFirstTick() {
+        World run = TestWorlds.createRun(TestWorlds.create(300, 1_000_000), 7);
+        run.stop();
+        run.run();
+
+        assertEquals("Stopped By User", run.getSimulationResult().getEndReason());
+        assertEquals(0, run.getSimulationResult().getCompletedTicks());
+    }
+}
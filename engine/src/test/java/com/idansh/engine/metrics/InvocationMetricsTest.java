@@ -0,0 +1,87 @@
+package com.idansh.engine.metrics;
+
+import com.idansh.engine.TestWorlds;
+import com.idansh.engine.rule.Rule;
+import com.idansh.engine.world.World;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InvocationMetricsTest {
+    private static final long SEED = 42;
+
+
+    private static World runCounting(World world, long seed, int parallelism) {
+        World run = TestWorlds.createRun(world, seed);
+        ForkJoinPool tickPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+
+        try {
+            run.setInvocationCounting(true);
+            run.setTickPool(tickPool);
+            run.run();
+        } finally {
+            if (tickPool != null)
+                tickPool.shutdown();
+        }
+
+        return run;
+    }
+
+
+    /**
+     * @return the invocation and activation counts of each rule and of each action type of the run.
+     */
+    private static List<String> getCounts(World run) {
+        List<String> counts = new ArrayList<>();
+        for (Rule rule : run.getMetrics().getRules()) {
+            counts.add(rule.getName() + ": " + rule.getMetrics().getInvocationCount() + "/" + rule.getMetrics().getActivationCount());
+        }
+        run.getMetrics().getActionTypesMetrics().forEach(
+                (actionType, actionTypeMetrics) -> counts.add(actionType + ": " + actionTypeMetrics.getInvocationCount() + "/" + actionTypeMetrics.getActivationCount())
+        );
+
+        return counts;
+    }
+
+
+    @Test
+    public void parallelRunCountsTheSameInvocationsAsSequentialRun() {
+        // Chunks that interact with earlier chunks are invoked again, only their committed invoke should be counted
+        World world = TestWorlds.create(2000, 30);
+
+        assertEquals(getCounts(runCounting(world, SEED, 1)), getCounts(runCounting(world, SEED, 4)));
+    }
+
+
+    @Test
+    public void countingInvocationsDoesNotChangeTheRun() {
+        World world = TestWorlds.create(500, 10);
+        World run = TestWorlds.createRun(world, SEED);
+        run.run();
+
+        World countingRun = runCounting(world, SEED, 2);
+
+        assertEquals(TestWorlds.getState(run), TestWorlds.getState(countingRun));
+        for (Rule rule : countingRun.getMetrics().getRules()) {
+            assertTrue(rule.getName(), rule.getMetrics().getInvocationCount() > 0);
+        }
+    }
+
+
+    @Test
+    public void invocationsAreNotCountedByDefault() {
+        World world = TestWorlds.create(500, 10);
+        World run = TestWorlds.createRun(world, SEED);
+        run.run();
+
+        for (Rule rule : run.getMetrics().getRules()) {
+            assertEquals(rule.getName(), 0, rule.getMetrics().getInvocationCount());
+        }
+        assertEquals(10, run.getMetrics().getMeasuredTickCount());
+    }
+}
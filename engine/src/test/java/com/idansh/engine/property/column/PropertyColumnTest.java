@@ -0,0 +1,129 @@
+package com.idansh.engine.property.column;
+
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.creator.factory.PropertyCreator;
+import com.idansh.engine.property.creator.generator.value.fixed.FixedValueGenerator;
+import com.idansh.engine.property.instance.PropertyType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PropertyColumnTest {
+    private static final int NOF_ROWS = 3 * PropertyColumn.PAGE_ROWS + 100;    // Rows on several pages, the last one not full
+
+
+    private static FloatColumn createFloatColumn() {
+        FloatColumn column = (FloatColumn) PropertyColumn.create(new PropertyCreator<>("float", PropertyType.FLOAT, new FixedValueGenerator<>(0f), new Range(0, 1000000)));
+        column.ensureCapacity(NOF_ROWS);
+        for (int row = 0; row < NOF_ROWS; row++) {
+            column.initRow(row, (float) row);
+        }
+
+        return column;
+    }
+
+
+    private static void assertRows(FloatColumn column, int changedRow, float changedValue) {
+        for (int row = 0; row < NOF_ROWS; row++) {
+            assertEquals("Row " + row, row == changedRow ? changedValue : row, column.getFloat(row), 0);
+        }
+    }
+
+
+    @Test
+    public void writeToCopyDoesNotChangeTheColumn() {
+        FloatColumn column = createFloatColumn();
+        FloatColumn copy = (FloatColumn) column.copy();
+
+        int row = PropertyColumn.PAGE_ROWS + 5;
+        copy.setFloat(row, -1);
+
+        assertRows(column, -1, 0);
+        assertRows(copy, row, -1);
+        assertTrue(copy.wasValueChanged(row));
+        assertFalse(column.wasValueChanged(row));
+    }
+
+
+    @Test
+    public void writeToColumnDoesNotChangeItsCopies() {
+        FloatColumn column = createFloatColumn();
+        FloatColumn copy = (FloatColumn) column.copy();
+        FloatColumn copyOfCopy = (FloatColumn) copy.copy();
+
+        int row = 3 * PropertyColumn.PAGE_ROWS + 7;
+        column.setValue(row, -2f);
+
+        assertRows(column, row, -2);
+        assertRows(copy, -1, 0);
+        assertRows(copyOfCopy, -1, 0);
+    }
+
+
+    @Test
+    public void changeTrackingOfCopyIsSeparate() {
+        FloatColumn column = createFloatColumn();
+        column.setFloat(10, -1);
+        column.setFloat(PropertyColumn.PAGE_ROWS * 2, -1);
+        FloatColumn copy = (FloatColumn) column.copy();
+
+        copy.checkValueChanges();
+        copy.checkValueChanges();
+        assertFalse(copy.wasValueChanged(10));
+        assertEquals(1, copy.getNofTicksValueUnchanged(10));
+        assertEquals(2, copy.getNofTicksValueUnchanged(11));
+
+        assertTrue(column.wasValueChanged(10));
+        assertTrue(column.wasValueChanged(PropertyColumn.PAGE_ROWS * 2));
+        assertEquals(0, column.getNofTicksValueUnchanged(11));
+    }
+
+
+    @Test
+    public void copyCanGrow() {
+        FloatColumn column = createFloatColumn();
+        FloatColumn copy = (FloatColumn) column.copy();
+
+        copy.ensureCapacity(NOF_ROWS * 3);
+        copy.initRow(NOF_ROWS * 3 - 1, -3f);
+
+        assertEquals(-3, copy.getFloat(NOF_ROWS * 3 - 1), 0);
+        assertRows(copy, -1, 0);
+        assertRows(column, -1, 0);
+    }
+
+
+    @Test
+    public void stringsAddedToCopyAreNotAddedToTheColumn() {
+        StringColumn column = (StringColumn) PropertyColumn.create(new PropertyCreator<>("string", PropertyType.STRING, new FixedValueGenerator<>("a")));
+        column.ensureCapacity(NOF_ROWS);
+        for (int row = 0; row < NOF_ROWS; row++) {
+            column.initRow(row, row % 2 == 0 ? "a" : "b");
+        }
+
+        StringColumn copy = (StringColumn) column.copy();
+        copy.setValue(1, "c");
+        column.setValue(3, "d");
+
+        assertEquals("c", copy.getValue(1));
+        assertEquals("b", copy.getValue(3));
+        assertEquals("b", column.getValue(1));
+        assertEquals("d", column.getValue(3));
+    }
+
+
+    @Test
+    public void writeToBooleanCopyDoesNotChangeTheColumn() {
+        BooleanColumn column = (BooleanColumn) PropertyColumn.create(new PropertyCreator<>("boolean", PropertyType.BOOLEAN, new FixedValueGenerator<>(false)));
+        column.ensureCapacity(NOF_ROWS);
+        for (int row = 0; row < NOF_ROWS; row++) {
+            column.initRow(row, false);
+        }
+
+        BooleanColumn copy = (BooleanColumn) column.copy();
+        copy.setBoolean(NOF_ROWS - 1, true);
+
+        assertTrue(copy.getBoolean(NOF_ROWS - 1));
+        assertFalse(column.getBoolean(NOF_ROWS - 1));
+    }
+}
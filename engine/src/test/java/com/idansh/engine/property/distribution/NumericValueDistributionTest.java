@@ -0,0 +1,194 @@
+package com.idansh.engine.property.distribution;
+
+import com.idansh.dto.property.PropertyValuesDTO;
+import com.idansh.dto.property.ValueBucketDTO;
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.helpers.RandomStream;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NumericValueDistributionTest {
+    private static final double DELTA = 1e-6;
+
+
+    /**
+     * @return a random value on a grid of quarters, so the values fall exactly on the edges of buckets, and some outside the range [0, 64).
+     */
+    private static double nextValue(RandomStream stream) {
+        return stream.nextInt(8) == 0 ? stream.nextInt(1200) * 0.25 - 100 : stream.nextInt(256) * 0.25;
+    }
+
+
+    /**
+     * Asserts that the distribution has the count, mean and variance of the values, and that each of its buckets has the amount of values in it.
+     * @param range the range of the property, its top is part of the bucket below it. Null if the property has no range.
+     */
+    private static void assertMatches(List<Double> values, NumericValueDistribution distribution, Range range) {
+        assertEquals(values.size(), distribution.getCount());
+
+        double mean = 0;
+        for (double value : values) {
+            mean += value;
+        }
+        mean = values.isEmpty() ? 0 : mean / values.size();
+
+        double variance = 0;
+        for (double value : values) {
+            variance += (value - mean) * (value - mean);
+        }
+        variance = values.isEmpty() ? 0 : variance / values.size();
+
+        assertEquals(mean, distribution.getMean(), DELTA);
+        assertEquals(variance, distribution.getVariance(), DELTA);
+
+        PropertyValuesDTO propertyValuesDTO = distribution.createPropertyValuesDTO("value", 0);
+        if (values.isEmpty()) {
+            assertNull(propertyValuesDTO.getMean());
+            return;
+        }
+
+        int nofBucketValues = 0;
+        for (ValueBucketDTO valueBucketDTO : propertyValuesDTO.getValueBucketDTOList()) {
+            int nofValuesInBucket = 0;
+            for (double value : values) {
+                if (range != null && value == range.getTop())
+                    value = Math.nextDown(value);
+
+                if (value >= valueBucketDTO.getFrom() && value < valueBucketDTO.getTo())
+                    nofValuesInBucket++;
+            }
+
+            assertEquals("Bucket [" + valueBucketDTO.getFrom() + ", " + valueBucketDTO.getTo() + ")", nofValuesInBucket, valueBucketDTO.getCount());
+            nofBucketValues += valueBucketDTO.getCount();
+        }
+        assertEquals(values.size(), nofBucketValues);
+
+        // The min and max are bounded by the buckets with values, even after the rows with them were changed
+        assertTrue(propertyValuesDTO.getMin() <= Collections.min(values));
+        assertTrue(propertyValuesDTO.getMax() >= Collections.max(values));
+    }
+
+
+    private static void addRemoveAndReplace(Range range, long seed) {
+        RandomStream stream = new RandomStream(seed);
+        NumericValueDistribution distribution = new NumericValueDistribution(range);
+        List<Double> values = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int operation = values.isEmpty() ? 0 : stream.nextInt(3);
+            if (operation == 0) {
+                double value = nextValue(stream);
+                values.add(value);
+                distribution.add(value);
+            } else if (operation == 1) {
+                distribution.remove(values.remove(stream.nextInt(values.size())));
+            } else {
+                int index = stream.nextInt(values.size());
+                double newValue = nextValue(stream);
+                distribution.replace(values.get(index), newValue);
+                values.set(index, newValue);
+            }
+
+            if (i % 100 == 0)
+                assertMatches(values, distribution, range);
+        }
+
+        assertMatches(values, distribution, range);
+
+        // Removing all the values leaves an empty distribution
+        for (double value : values) {
+            distribution.remove(value);
+        }
+        assertMatches(Collections.emptyList(), distribution, range);
+    }
+
+
+    @Test
+    public void distributionOfPropertyWithRangeMatchesItsValues() {
+        addRemoveAndReplace(new Range(0, 64), 1);
+    }
+
+
+    @Test
+    public void distributionOfPropertyWithoutRangeMatchesItsValues() {
+        addRemoveAndReplace(null, 2);
+    }
+
+
+    @Test
+    public void minAndMaxAreExactWhileNoValueWasRemoved() {
+        NumericValueDistribution distribution = new NumericValueDistribution(new Range(0, 100));
+        for (double value : new double[] {42.5, 17.25, 99.75, 3, 250, -7.5}) {
+            distribution.add(value);
+        }
+
+        PropertyValuesDTO propertyValuesDTO = distribution.createPropertyValuesDTO("value", 0);
+        assertEquals(-7.5, propertyValuesDTO.getMin(), 0);
+        assertEquals(250, propertyValuesDTO.getMax(), 0);
+    }
+
+
+    @Test
+    public void topOfRangeIsInTheLastBucketOfTheRange() {
+        NumericValueDistribution distribution = new NumericValueDistribution(new Range(0, 64));
+        distribution.add(0);
+        distribution.add(64);
+
+        List<ValueBucketDTO> valueBucketDTOList = distribution.createPropertyValuesDTO("value", 0).getValueBucketDTOList();
+        ValueBucketDTO lastBucket = valueBucketDTOList.get(valueBucketDTOList.size() - 1);
+        assertEquals(64, lastBucket.getTo(), 0);
+        assertEquals(1, lastBucket.getCount());
+    }
+
+
+    @Test
+    public void nonFiniteValuesAreOnlyCounted() {
+        Range range = new Range(0, 10);
+        NumericValueDistribution distribution = new NumericValueDistribution(range);
+        distribution.add(2);
+        distribution.add(4);
+        distribution.add(Double.NaN);
+        distribution.replace(4, Double.POSITIVE_INFINITY);
+
+        assertEquals(3, distribution.getCount());
+        assertEquals(2, distribution.getMean(), 0);
+        assertEquals(0, distribution.getVariance(), 0);
+
+        distribution.replace(Double.POSITIVE_INFINITY, 6);
+        distribution.remove(Double.NaN);
+        assertMatches(Arrays.asList(2.0, 6.0), distribution, range);
+    }
+
+
+    @Test
+    public void copyIsNotChangedByChangesOfTheDistribution() {
+        RandomStream stream = new RandomStream(3);
+        Range range = new Range(0, 64);
+        NumericValueDistribution distribution = new NumericValueDistribution(range);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            double value = nextValue(stream);
+            values.add(value);
+            distribution.add(value);
+        }
+
+        NumericValueDistribution copy = (NumericValueDistribution) distribution.copy();
+        List<Double> copyValues = new ArrayList<>(values);
+
+        // Values far outside the buckets double their width in the distribution, but not in the copy
+        distribution.replace(values.get(0), 10_000);
+        values.set(0, 10_000.0);
+        distribution.remove(values.remove(1));
+        copy.add(-5_000);
+        copyValues.add(-5_000.0);
+
+        assertMatches(values, distribution, range);
+        assertMatches(copyValues, copy, range);
+    }
+}
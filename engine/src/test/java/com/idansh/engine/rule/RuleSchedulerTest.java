@@ -0,0 +1,64 @@
+package com.idansh.engine.rule;
+
+import com.idansh.engine.world.World;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RuleSchedulerTest {
+    private static List<Rule> createRules(int... ticksOfRules) {
+        World world = new World(10, 10);
+        List<Rule> rules = new ArrayList<>();
+
+        for (int i = 0; i < ticksOfRules.length; i++) {
+            rules.add(new Rule("rule" + i, new RuleActivation(ticksOfRules[i]), world));
+        }
+
+        return rules;
+    }
+
+
+    /**
+     * @return the rules that are due on a tick, by the definition of the rule activation.
+     */
+    private static List<Rule> getDueRules(List<Rule> rules, int tick) {
+        List<Rule> dueRules = new ArrayList<>();
+
+        for (Rule rule : rules) {
+            int ticks = rule.getActivation().getTicks();
+            if (ticks > 0 && (tick + 1) % ticks == 0)
+                dueRules.add(rule);
+        }
+
+        return dueRules;
+    }
+
+
+    @Test
+    public void dueRulesAreInOriginalOrder() {
+        List<Rule> rules = createRules(6, 1, 3, 2, 6, 4, 0, 1);
+        RuleScheduler ruleScheduler = new RuleScheduler(rules, 0);
+
+        for (int tick = 0; tick < 50; tick++) {
+            assertEquals("Tick " + tick, getDueRules(rules, tick), ruleScheduler.advance());
+        }
+    }
+
+
+    @Test
+    public void resumedSchedulerContinuesFromStartTick() {
+        List<Rule> rules = createRules(5, 2, 7, 1);
+
+        for (int startTick : Arrays.asList(1, 4, 13, 35)) {
+            RuleScheduler ruleScheduler = new RuleScheduler(rules, startTick);
+
+            for (int tick = startTick; tick < startTick + 40; tick++) {
+                assertEquals("Start tick " + startTick + ", tick " + tick, getDueRules(rules, tick), ruleScheduler.advance());
+            }
+        }
+    }
+}
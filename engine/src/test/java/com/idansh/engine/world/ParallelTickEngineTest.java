@@ -0,0 +1,59 @@
+package com.idansh.engine.world;
+
+import com.idansh.engine.TestWorlds;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ParallelTickEngineTest {
+    private static final long SEED = 42;
+
+
+    private static List<String> runAndGetState(World world, long seed, int parallelism) {
+        World run = TestWorlds.createRun(world, seed);
+        ForkJoinPool tickPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+
+        try {
+            run.setTickPool(tickPool);
+            run.run();
+        } finally {
+            if (tickPool != null)
+                tickPool.shutdown();
+        }
+
+        assertEquals("Ticks Reached", run.getSimulationResult().getEndReason());
+        return TestWorlds.getState(run);
+    }
+
+
+    @Test
+    public void parallelRunMatchesSequentialRun() {
+        World world = TestWorlds.create(2000, 30);
+        List<String> sequentialState = runAndGetState(world, SEED, 1);
+
+        for (int parallelism : new int[] {2, 4}) {
+            assertEquals("Parallelism " + parallelism, sequentialState, runAndGetState(world, SEED, parallelism));
+        }
+    }
+
+
+    @Test
+    public void parallelRunOfSmallPopulationMatchesSequentialRun() {
+        // A single chunk of each entity, with fewer secondary instances than a block of the pairwise kernel
+        World world = TestWorlds.create(300, 30);
+
+        assertEquals(runAndGetState(world, SEED, 1), runAndGetState(world, SEED, 3));
+    }
+
+
+    @Test
+    public void runsWithDifferentSeedsDiffer() {
+        World world = TestWorlds.create(500, 10);
+
+        assertNotEquals(runAndGetState(world, SEED, 2), runAndGetState(world, SEED + 1, 2));
+    }
+}
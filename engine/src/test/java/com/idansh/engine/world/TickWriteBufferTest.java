@@ -0,0 +1,115 @@
+package com.idansh.engine.world;
+
+import com.idansh.engine.helpers.Range;
+import com.idansh.engine.property.column.BooleanColumn;
+import com.idansh.engine.property.column.FloatColumn;
+import com.idansh.engine.property.column.PropertyColumn;
+import com.idansh.engine.property.creator.factory.PropertyCreator;
+import com.idansh.engine.property.creator.generator.value.fixed.FixedValueGenerator;
+import com.idansh.engine.property.instance.PropertyType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TickWriteBufferTest {
+    private static final int NOF_ROWS = 5000;
+
+
+    private static FloatColumn createFloatColumn() {
+        FloatColumn column = (FloatColumn) PropertyColumn.create(new PropertyCreator<>("float", PropertyType.FLOAT, new FixedValueGenerator<>(0f), new Range(-1000000, 1000000)));
+        column.ensureCapacity(NOF_ROWS);
+        for (int row = 0; row < NOF_ROWS; row++) {
+            column.initRow(row, (float) row);
+        }
+
+        return column;
+    }
+
+    private static BooleanColumn createBooleanColumn() {
+        BooleanColumn column = (BooleanColumn) PropertyColumn.create(new PropertyCreator<>("boolean", PropertyType.BOOLEAN, new FixedValueGenerator<>(false)));
+        column.ensureCapacity(NOF_ROWS);
+        for (int row = 0; row < NOF_ROWS; row++) {
+            column.initRow(row, false);
+        }
+
+        return column;
+    }
+
+
+    @Test
+    public void bufferReadsItsLastWriteOfEachRow() {
+        FloatColumn column = createFloatColumn();
+        TickWriteBuffer buffer = new TickWriteBuffer();
+
+        // Enough rows to grow the log and the table of the last writes several times, each row written twice
+        for (int row = 0; row < NOF_ROWS; row += 3) {
+            buffer.storeFloat(column, row, -row);
+        }
+        for (int row = 0; row < NOF_ROWS; row += 6) {
+            buffer.storeValue(column, row, row * 10);
+        }
+
+        for (int row = 0; row < NOF_ROWS; row++) {
+            float expectedValue = row % 6 == 0 ? row * 10 : row % 3 == 0 ? -row : row;
+            assertEquals("Row " + row, expectedValue, buffer.readFloat(column, row), 0);
+            assertEquals("Row " + row, expectedValue, (Float) buffer.readValue(column, row), 0);
+            assertEquals("Row " + row, row, column.getFloat(row), 0);
+        }
+    }
+
+
+    @Test
+    public void commitAppliesTheWritesInOrder() {
+        FloatColumn floatColumn = createFloatColumn();
+        BooleanColumn booleanColumn = createBooleanColumn();
+        TickWriteBuffer buffer = new TickWriteBuffer();
+
+        buffer.storeFloat(floatColumn, 7, 1);
+        buffer.storeValue(booleanColumn, 7, true);
+        buffer.storeFloat(floatColumn, 7, 2);
+        buffer.storeValue(booleanColumn, 8, true);
+        buffer.storeValue(booleanColumn, 8, false);
+        assertTrue(buffer.readBoolean(booleanColumn, 7));
+        assertFalse(buffer.readBoolean(booleanColumn, 8));
+        assertFalse(booleanColumn.getBoolean(7));
+
+        buffer.commit();
+
+        assertEquals(2, floatColumn.getFloat(7), 0);
+        assertTrue(floatColumn.wasValueChanged(7));
+        assertTrue(booleanColumn.getBoolean(7));
+        assertFalse(booleanColumn.getBoolean(8));
+    }
+
+
+    @Test
+    public void appendedBufferKeepsTheWritesOfBothBuffers() {
+        FloatColumn column = createFloatColumn();
+        TickWriteBuffer chunkBuffer = new TickWriteBuffer();
+        chunkBuffer.storeFloat(column, 1, -1);
+        chunkBuffer.storeFloat(column, 2, -2);
+
+        // The block reads the writes of the chunk under it, its own writes hide them
+        TickWriteBuffer blockBuffer = new TickWriteBuffer(chunkBuffer);
+        assertEquals(-1, blockBuffer.readFloat(column, 1), 0);
+        blockBuffer.storeFloat(column, 2, -20);
+        blockBuffer.storeFloat(column, 3, -30);
+        assertEquals(-20, blockBuffer.readFloat(column, 2), 0);
+        assertEquals(-2, chunkBuffer.readFloat(column, 2), 0);
+
+        TickWriteBuffer.CellSet blockCells = blockBuffer.getWrittenCells();
+        chunkBuffer.append(blockBuffer);
+        assertEquals(-20, chunkBuffer.readFloat(column, 2), 0);
+        assertEquals(-30, chunkBuffer.readFloat(column, 3), 0);
+
+        // The chunk read the row the block wrote, and the rows the block read are read by the chunk
+        assertTrue(chunkBuffer.isReadingAny(blockCells));
+        assertTrue(chunkBuffer.getWrittenCells().intersects(blockCells));
+
+        chunkBuffer.commit();
+        assertEquals(-1, column.getFloat(1), 0);
+        assertEquals(-20, column.getFloat(2), 0);
+        assertEquals(-30, column.getFloat(3), 0);
+        assertEquals(4, column.getFloat(4), 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.idansh.engine.world.checkpoint;
+
+import com.idansh.engine.TestWorlds;
+import com.idansh.engine.world.World;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+public class WorldCheckpointTest {
+    private static final long SEED = 7;
+    private static final int NOF_TICKS = 60;
+    private static final int CHECKPOINT_TICK = 25;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final World world = TestWorlds.create(1500, NOF_TICKS);
+
+
+    private static List<String> runAndGetState(World run) {
+        run.run();
+        assertEquals(NOF_TICKS, run.getTickCount());
+        return TestWorlds.getState(run);
+    }
+
+
+    /**
+     * Runs the world, taking a checkpoint at the boundary after the checkpoint tick.
+     * @param checkpoints receives the checkpoint that was taken.
+     * @return the state of the run at its end.
+     */
+    private List<String> runWithCheckpoint(List<WorldCheckpoint> checkpoints) {
+        World run = TestWorlds.createRun(world, SEED);
+        run.setProgressListener(
+                progressWorld -> {
+                    // Called on the simulation's thread at the tick boundary, before the checkpoint requests are taken
+                    if (progressWorld.getTickCount() == CHECKPOINT_TICK && checkpoints.isEmpty()) {
+                        CompletableFuture<WorldCheckpoint> checkpointRequest = progressWorld.requestCheckpoint();
+                        checkpointRequest.thenAccept(checkpoints::add);
+                    }
+                }
+        );
+
+        List<String> state = runAndGetState(run);
+        assertEquals(1, checkpoints.size());
+        assertEquals(CHECKPOINT_TICK, checkpoints.get(0).getTickCount());
+        return state;
+    }
+
+
+    @Test
+    public void checkpointDoesNotChangeTheRun() {
+        List<String> state = runAndGetState(TestWorlds.createRun(world, SEED));
+
+        assertEquals(state, runWithCheckpoint(new ArrayList<>()));
+    }
+
+
+    @Test
+    public void resumedRunMatchesTheCheckpointedRun() {
+        List<WorldCheckpoint> checkpoints = new ArrayList<>();
+        List<String> state = runWithCheckpoint(checkpoints);
+
+        // Each run resumed from the same checkpoint has the same results, so the checkpoint is not changed by the runs
+        for (int i = 0; i < 2; i++) {
+            assertEquals(state, runAndGetState(new World(world, checkpoints.get(0))));
+        }
+    }
+
+
+    @Test
+    public void runResumedFromFileMatchesTheCheckpointedRun() throws Exception {
+        List<WorldCheckpoint> checkpoints = new ArrayList<>();
+        List<String> state = runWithCheckpoint(checkpoints);
+
+        for (boolean isCompressed : new boolean[] {false, true}) {
+            Path file = temporaryFolder.newFile("checkpoint-" + isCompressed + ".prdc").toPath();
+            checkpoints.get(0).write(file, isCompressed);
+
+            WorldCheckpoint checkpoint = WorldCheckpoint.read(file, world.entityManager);
+            assertEquals(state, runAndGetState(new World(world, checkpoint)));
+        }
+    }
+
+
+    @Test
+    public void branchesForkedFromRunningSimulationDoNotChangeIt() throws Exception {
+        List<String> state = runAndGetState(TestWorlds.createRun(world, SEED));
+
+        // Fork branches at the checkpoint that run while the simulation keeps running, sharing its property columns
+        ExecutorService branchesPool = Executors.newFixedThreadPool(2);
+        List<Future<List<String>>> branchStates = new ArrayList<>();
+        try {
+            World run = TestWorlds.createRun(world, SEED);
+            run.setProgressListener(
+                    progressWorld -> {
+                        if (progressWorld.getTickCount() == CHECKPOINT_TICK) {
+                            progressWorld.requestCheckpoint().thenAccept(
+                                    checkpoint -> {
+                                        for (int i = 0; i < 2; i++) {
+                                            branchStates.add(branchesPool.submit(() -> runAndGetState(new World(world, checkpoint))));
+                                        }
+                                    }
+                            );
+                        }
+                    }
+            );
+            assertEquals(state, runAndGetState(run));
+
+            assertEquals(2, branchStates.size());
+            for (Future<List<String>> branchState : branchStates) {
+                assertEquals(state, branchState.get());
+            }
+        } finally {
+            branchesPool.shutdown();
+        }
+    }
+}
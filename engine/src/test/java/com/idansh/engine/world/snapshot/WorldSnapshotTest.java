@@ -0,0 +1,34 @@
+package com.idansh.engine.world.snapshot;
+
+import com.idansh.engine.TestWorlds;
+import com.idansh.engine.world.World;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WorldSnapshotTest {
+    private static final long SEED = 42;
+
+
+    @Test
+    public void snapshotIsPublishedOnlyAfterItWasRead() {
+        World run = TestWorlds.createRun(TestWorlds.create(500, 10), SEED);
+
+        // Read on every third tick, each read gets the snapshot published at the tick boundary after the previous read
+        List<Integer> readTickCounts = new ArrayList<>();
+        run.setProgressListener(world -> {
+            if (!world.isSimulationFinished() && world.getTickCount() % 3 == 0)
+                readTickCounts.add(world.getSnapshot().getTickCount());
+        });
+        run.run();
+
+        assertEquals(Arrays.asList(0, 4, 7), readTickCounts);
+        assertTrue(run.getSnapshot().isFinal());
+        assertEquals(10, run.getSnapshot().getTickCount());
+    }
+}
@@ -1,9 +1,11 @@
 package com.idansh.javafx.controllers;
 
+import com.idansh.dto.property.PropertyValuesDTO;
 import com.idansh.dto.simulation.LoadedSimulationDTO;
+import com.idansh.dto.simulation.ProgressUpdateDTO;
 import com.idansh.dto.simulation.ThreadsDTO;
+import com.idansh.engine.manager.progress.ProgressSubscription;
 import com.idansh.javafx.manager.EngineHandler;
-import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
@@ -15,8 +17,8 @@ import javafx.stage.Stage;
 
 import java.io.File;
 import java.net.URL;
-import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 
 /**
  * Main FXML Controller class of the application.
@@ -110,28 +112,17 @@ public class AppController implements Initializable {
         popupStage.setScene(popupScene);
         popupStage.show();
 
-        // Create and start a thread that displays the current number of threads in the system
-        Thread taskThread = new Thread(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(200); // Pause for 200 milliseconds
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-
-                // Update the UI from the JavaFX Application Thread
-                Platform.runLater(() -> {
-                    ThreadsDTO threadsDTO = engineHandler.getThreadsDTO();
-
-                    queueManagementListView.getItems().clear();
-                    queueManagementListView.getItems().add("Running Threads: " + threadsDTO.getNofRunningThreads());
-                    queueManagementListView.getItems().add("Queueing Threads: " + threadsDTO.getNofQueueThreads());
-                    queueManagementListView.getItems().add("Finished Threads: " + threadsDTO.getNofFinishedThreads());
-                });
-            }
+        // Display the current number of threads in the system whenever it changes, until the popup is closed
+        ProgressSubscription progressSubscription = engineHandler.subscribeToProgress(progressUpdateDTO -> {
+            ThreadsDTO threadsDTO = progressUpdateDTO.getThreadsDTO();
+
+            queueManagementListView.getItems().clear();
+            queueManagementListView.getItems().add("Running Threads: " + threadsDTO.getNofRunningThreads());
+            queueManagementListView.getItems().add("Queueing Threads: " + threadsDTO.getNofQueueThreads());
+            queueManagementListView.getItems().add("Finished Threads: " + threadsDTO.getNofFinishedThreads());
         });
 
-        taskThread.start();
+        popupStage.setOnHidden(event -> progressSubscription.cancel());
     }
 
 
@@ -268,6 +259,15 @@ public class AppController implements Initializable {
     }
 
 
+    /**
+     * Subscribe to the progress of the simulation executions in the engine,
+     * the subscriber is called on the JavaFX Application Thread.
+     */
+    public ProgressSubscription subscribeToProgress(Consumer<ProgressUpdateDTO> subscriber) {
+        return engineHandler.subscribeToProgress(subscriber);
+    }
+
+
     /**
      *  Send the received entity amount input to the engine to be saved for the simulation run process.
      */
@@ -276,12 +276,10 @@ public class AppController implements Initializable {
     }
 
     /**
-     * Gets from the simulation manager a map of:
-     * 1. key: the property's value
-     * 2. value: the amount of entities in the population with this value
+     * Gets from the simulation manager the distribution of the values of a property over the population of an entity.
      */
-    public Map<Object, Integer> getPropertyValues(int simulationResultID, String entityName, String propertyName) {
-        return engineHandler.getPropertyValues(simulationResultID, entityName, propertyName);
+    public PropertyValuesDTO getPropertyValuesDTO(int simulationID, String entityName, String propertyName) {
+        return engineHandler.getPropertyValuesDTO(simulationID, entityName, propertyName);
     }
 
 
@@ -1,10 +1,17 @@
 package com.idansh.javafx.controllers;
 
+import com.idansh.dto.entity.AmountPointDTO;
 import com.idansh.dto.entity.EntityDTO;
 import com.idansh.dto.property.PropertyDTO;
+import com.idansh.dto.property.PropertyValuesDTO;
+import com.idansh.dto.property.ValueBucketDTO;
+import com.idansh.dto.property.ValueCountDTO;
 import com.idansh.dto.simulation.LoadedSimulationDTO;
+import com.idansh.dto.simulation.ProgressUpdateDTO;
 import com.idansh.dto.simulation.RunningSimulationDTO;
+import com.idansh.dto.simulation.SimulationProgressDTO;
 import com.idansh.dto.simulation.SimulationResultDTO;
+import com.idansh.engine.manager.progress.ProgressSubscription;
 import com.idansh.javafx.helpers.ResultsTableItem;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -30,39 +37,12 @@ import java.util.function.Function;
  * this screen will be in charge of showing the result of previous ran simulations.
  */
 public class ResultsController implements Initializable {
-    /**
-     * a Thread that when being run will go through every currently running execution,
-     * and update its data by pulling it from the engine.
-     * After all currently running executions are finished, the thread will die,
-     * so every time a new execution is added into the system, it will be checked if the thread is running,
-     * and if not - a new one will be created.
-     */
-    private class UpdaterThread extends Thread {
-        @Override
-        public void run() {
-            try {
-                while (!runningExecutionsIdSet.isEmpty()) {
-                    Iterator<Integer> idIterator = runningExecutionsIdSet.iterator();
-                    while (idIterator.hasNext()) {
-                        int id = idIterator.next();                                     // Get the ID of the simulation execution
-                        if (updateExecution(id)) idIterator.remove();                   // Update the simulation execution with the ID, if the simulation has ended, removes it from the runningExecutionsIdSet
-
-                        Platform.runLater(ResultsController.this::selectTableItem);     // Tell the JAT to show the updated chosen execution info
-                    }
-                    sleep(200);     // Pause updating
-                }
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
-        }
-    }
-
     private final String COMPLETED = "Completed", IN_PROGRESS = "In Progress";
 
     private AppController mainController;
     private Set<Integer> runningExecutionsIdSet;
     private Map<Integer, ResultsTableItem> executionsPool;
-    private Thread updaterThread;
+    private ProgressSubscription progressSubscription;     // Pushes the progress of the running executions, null when no execution is running
 
     // Execution List Components:
     @FXML
@@ -129,7 +109,7 @@ public class ResultsController implements Initializable {
         // Setup running executions data:
         executionsPool = new HashMap<>();
         runningExecutionsIdSet = new HashSet<>();
-        updaterThread = new UpdaterThread();        // Will update the running executions' info
+        progressSubscription = null;
     }
 
 
@@ -161,10 +141,42 @@ public class ResultsController implements Initializable {
                 + execution.getClass()
                 + "\", only accepts executions of type SimulationResultDTO or CurrentSimulationDTO");
 
-        // Check if there is an updater already running, if not then create and start one
-        if(!updaterThread.isAlive()) {
-            updaterThread = new UpdaterThread();
-            updaterThread.start();
+        // Check if the progress of the running executions is already received, if not then subscribe to it
+        if(progressSubscription == null) {
+            progressSubscription = mainController.subscribeToProgress(this::onProgressUpdate);
+        }
+    }
+
+
+    /**
+     * Receives the progress of the executions that changed, on the JavaFX Application Thread,
+     * and updates the running executions among them. A finished execution is updated once with its full result.
+     * After all currently running executions are finished, the subscription is cancelled,
+     * and a new one is created when a new execution is added into the system.
+     * @param progressUpdateDTO the progress of the executions that changed since the previous update.
+     */
+    private void onProgressUpdate(ProgressUpdateDTO progressUpdateDTO) {
+        for (SimulationProgressDTO simulationProgressDTO : progressUpdateDTO.getSimulationProgressDTOList()) {
+            int id = simulationProgressDTO.getSimulationID();
+            if (!runningExecutionsIdSet.contains(id))
+                continue;
+
+            if (simulationProgressDTO.isFinished()) {
+                if (updateExecution(id)) runningExecutionsIdSet.remove(id);     // Update the simulation execution with its result, and remove it from the runningExecutionsIdSet
+            } else {
+                executionsPool.get(id).updateProgress(
+                        simulationProgressDTO.getCompletedTicks(),
+                        simulationProgressDTO.getElapsedTimeMillis(),
+                        simulationProgressDTO.getEntityAmounts()
+                );
+            }
+        }
+
+        selectTableItem();      // Show the updated chosen execution info
+
+        if (runningExecutionsIdSet.isEmpty() && progressSubscription != null) {
+            progressSubscription.cancel();
+            progressSubscription = null;
         }
     }
 
@@ -252,12 +264,12 @@ public class ResultsController implements Initializable {
             if(selectedItem.getMaxTicks() != null) {
                 progressListView.getItems().addAll(
                         ticksFormatterWithMax.apply(selectedItem.getCompletedTicks(), selectedItem.getMaxTicks()),
-                        timerFormatter.apply(selectedItem.getSimulationTime().getElapsedTime())
+                        timerFormatter.apply(selectedItem.getElapsedTime())
                 );
             } else {
                 progressListView.getItems().addAll(
                         ticksFormatterWithoutMax.apply(selectedItem.getCompletedTicks()),
-                        timerFormatter.apply(selectedItem.getSimulationTime().getElapsedTime())
+                        timerFormatter.apply(selectedItem.getElapsedTime())
                 );
             }
 
@@ -303,31 +315,31 @@ public class ResultsController implements Initializable {
         if (propertyDTO != null) {
             boolean isNumeric = propertyDTO.getType().equals("float") || propertyDTO.getType().equals("decimal");
 
-            Float sum = 0f;     // Sum of all property values
-            Integer count = 0;  // Counter of how many different property values exist
+            // The distribution of the values is kept by the engine, so it is not computed here from the population
+            PropertyValuesDTO propertyValuesDTO = mainController.getPropertyValuesDTO(chosenExecutionID, entityDTO.getName(), propertyDTO.getName());
 
             TreeItem<String> root = propertyDetailsTreeView.getRoot();
             root.getChildren().clear();  // Clear previously added items
 
-            // For each property value, show the number of instances with said value
+            // For each property value (or range of values of a numeric property), show the number of instances with said value
             TreeItem<String> histogramItem = new TreeItem<>("Final Population's Property Values");
 
             // Check if the final population is at 0 entities
-            if (entityDTO.getCurrAmountInPopulation() == 0) {
+            if (propertyValuesDTO.getCount() == 0) {
                 histogramItem.getChildren().add(new TreeItem<>("Final population has no entities of this type..."));
+            } else if (isNumeric) {
+                for (ValueBucketDTO valueBucketDTO : propertyValuesDTO.getValueBucketDTOList()) {
+                    histogramItem.getChildren().add(new TreeItem<>(String.format("Values: %.2f to %.2f, Amount in population: %d",
+                            valueBucketDTO.getFrom(), valueBucketDTO.getTo(), valueBucketDTO.getCount())));
+                }
             } else {
-                for (Map.Entry<Object, Integer> entry : mainController.getPropertyValues(chosenExecutionID, entityDTO.getName(), propertyDTO.getName()).entrySet()) {
-                    if (isNumeric) {
-                        if ((entry.getKey() instanceof Integer))
-                            sum += (Integer) entry.getKey();
-                        else
-                            sum += (Float) entry.getKey();
-
-                        count++;
-                    }
-
-                    histogramItem.getChildren().add(new TreeItem<>("Value: " + entry.getKey() + ", Amount in population: " + entry.getValue()));
+                for (ValueCountDTO valueCountDTO : propertyValuesDTO.getValueCountDTOList()) {
+                    histogramItem.getChildren().add(new TreeItem<>("Value: " + valueCountDTO.getValue() + ", Amount in population: " + valueCountDTO.getCount()));
                 }
+
+                int nofOtherValues = propertyValuesDTO.getNofDistinctValues() - propertyValuesDTO.getValueCountDTOList().size();
+                if (nofOtherValues > 0)
+                    histogramItem.getChildren().add(new TreeItem<>("And " + nofOtherValues + " less common values..."));
             }
 
             // Show the consistency of the property's value
@@ -339,14 +351,19 @@ public class ResultsController implements Initializable {
                 consistencyItem.getChildren().add(new TreeItem<>(Float.valueOf(consistency).toString() + " Ticks"));
 
             // If property is numeric, and there are entities in the final population,
-            // show the average value of the property in the final population
-            if (isNumeric && entityDTO.getCurrAmountInPopulation() != 0) {
+            // show the average value of the property in the final population, and how its values are spread
+            if (isNumeric && propertyValuesDTO.getMean() != null) {
                 TreeItem<String> averageValueItem = new TreeItem<>("Average Value in Final Population");
+                averageValueItem.getChildren().add(new TreeItem<>(String.valueOf(propertyValuesDTO.getMean())));
 
-                float average = sum / count;
-                averageValueItem.getChildren().add(new TreeItem<>(String.valueOf(average)));
+                TreeItem<String> spreadItem = new TreeItem<>("Spread of Values in Final Population");
+                spreadItem.getChildren().addAll(Arrays.asList(
+                        new TreeItem<>("Standard Deviation: " + Math.sqrt(propertyValuesDTO.getVariance())),
+                        new TreeItem<>("Min: " + propertyValuesDTO.getMin()),
+                        new TreeItem<>("Max: " + propertyValuesDTO.getMax())
+                ));
 
-                root.getChildren().addAll(Arrays.asList(histogramItem, consistencyItem, averageValueItem));
+                root.getChildren().addAll(Arrays.asList(histogramItem, consistencyItem, averageValueItem, spreadItem));
             } else {
                 root.getChildren().addAll(Arrays.asList(histogramItem, consistencyItem));
             }
@@ -403,10 +420,9 @@ public class ResultsController implements Initializable {
             XYChart.Series<Number, Number> entitySeries = new XYChart.Series<>();
             entitySeries.setName("Entity \"" + entityDTO.getName() + "\"");
 
-            // Add data points to the series
-            int tick = 0;
-            for (Integer amount : entityDTO.getAmountHistogram()) {
-                entitySeries.getData().add(new XYChart.Data<>(tick++, amount));
+            // Add data points to the series, the histogram is already downsampled by the engine so the chart opens at once however long the run was
+            for (AmountPointDTO amountPointDTO : entityDTO.getAmountHistogram()) {
+                entitySeries.getData().add(new XYChart.Data<>(amountPointDTO.getTick(), amountPointDTO.getAmount()));
             }
 
             // Add the series to the line chart
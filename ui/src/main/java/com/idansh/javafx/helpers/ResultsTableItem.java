@@ -5,7 +5,9 @@ import com.idansh.engine.helpers.SimulationTime;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines an item in the table view of the simulation executions in the "Results" tab.
@@ -17,6 +19,7 @@ public class ResultsTableItem {
     private final StringProperty status;
 
     private SimulationTime simulationTime;
+    private float elapsedTime;      // In seconds, also updated by the progress of the running execution
     private List<EntityDTO> entityDTOList;
 
     private int completedTicks;
@@ -31,6 +34,7 @@ public class ResultsTableItem {
         this.endTime = new SimpleStringProperty(simulationTime.getEndDateString());
 
         this.simulationTime = simulationTime;
+        this.elapsedTime = simulationTime.getElapsedTime();
         this.completedTicks = completedTicks;
         this.maxTicks = maxTicks;
         this.status = new SimpleStringProperty(status);
@@ -45,10 +49,34 @@ public class ResultsTableItem {
         this.status.set(status);
 
         this.simulationTime = simulationTime;
+        this.elapsedTime = simulationTime.getElapsedTime();
         this.completedTicks = completedTicks;
         this.entityDTOList = entityDTOList;
     }
 
+
+    /**
+     * Update the running execution table item with its progress, keeping the rest of its data.
+     * @param entityAmounts the current amount of each entity in the population, by the entity's name.
+     */
+    public void updateProgress(int completedTicks, long elapsedTimeMillis, Map<String, Integer> entityAmounts) {
+        this.completedTicks = completedTicks;
+        this.elapsedTime = elapsedTimeMillis / 1000f;
+
+        List<EntityDTO> updatedEntityDTOList = new ArrayList<>();
+        for (EntityDTO entityDTO : entityDTOList) {
+            EntityDTO updatedEntityDTO = new EntityDTO(
+                    entityDTO.getName(),
+                    entityAmounts.getOrDefault(entityDTO.getName(), entityDTO.getCurrAmountInPopulation()),
+                    entityDTO.getInitAmountInPopulation(),
+                    entityDTO.getAmountHistogram()
+            );
+            entityDTO.getPropertyDTOList().forEach(updatedEntityDTO::addPropertyDTOtoList);
+            updatedEntityDTOList.add(updatedEntityDTO);
+        }
+        this.entityDTOList = updatedEntityDTOList;
+    }
+
     public int getId() {
         return id;
     }
@@ -61,6 +89,10 @@ public class ResultsTableItem {
         return simulationTime;
     }
 
+    public float getElapsedTime() {
+        return elapsedTime;
+    }
+
     public int getCompletedTicks() {
         return completedTicks;
     }
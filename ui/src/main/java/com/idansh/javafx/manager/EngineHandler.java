@@ -1,17 +1,22 @@
 package com.idansh.javafx.manager;
 
 import com.idansh.dto.environment.EnvironmentVariablesListDTO;
+import com.idansh.dto.property.PropertyValuesDTO;
 import com.idansh.dto.simulation.LoadedSimulationDTO;
+import com.idansh.dto.simulation.ProgressUpdateDTO;
 import com.idansh.dto.simulation.ThreadsDTO;
 import com.idansh.engine.manager.EngineManager;
+import com.idansh.engine.manager.progress.ProgressSubscription;
+import javafx.application.Platform;
 
 import java.io.File;
-import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Connects the UI with the engine components through the various DTOs.
  */
 public class EngineHandler {
+    private final long PROGRESS_INTERVAL_MILLIS = 200;     // Minimal time between two progress updates of the UI
     private final EngineManager engineManager;
 
     public EngineHandler() {
@@ -76,12 +81,10 @@ public class EngineHandler {
 
 
     /**
-     * Gets from the engine a map of:
-     * 1. key: the property's value
-     * 2. value: the amount of entities in the population with this value
+     * Gets from the engine the distribution of the values of a property over the population of an entity.
      */
-    public Map<Object, Integer> getPropertyValues(int simulationResultID, String entityName, String propertyName) {
-        return engineManager.getPropertyValues(simulationResultID, entityName, propertyName);
+    public PropertyValuesDTO getPropertyValuesDTO(int simulationID, String entityName, String propertyName) {
+        return engineManager.getPropertyValuesDTO(simulationID, entityName, propertyName);
     }
 
 
@@ -90,6 +93,16 @@ public class EngineHandler {
     }
 
 
+    /**
+     * Subscribes to the progress of the simulation executions, the subscriber is called on the JavaFX Application Thread
+     * with the executions that changed since its previous call, and with the current threads info.
+     * @return the subscription, should be cancelled when the progress is no longer shown.
+     */
+    public ProgressSubscription subscribeToProgress(Consumer<ProgressUpdateDTO> subscriber) {
+        return engineManager.subscribeToProgress(subscriber, Platform::runLater, PROGRESS_INTERVAL_MILLIS);
+    }
+
+
     public void stopSimulation(int simulationID) {
         engineManager.stopSimulation(simulationID);
     }